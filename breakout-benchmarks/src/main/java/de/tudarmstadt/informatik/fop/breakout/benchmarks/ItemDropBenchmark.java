@@ -0,0 +1,50 @@
+package de.tudarmstadt.informatik.fop.breakout.benchmarks;
+
+import de.tudarmstadt.informatik.fop.breakout.models.BlockType;
+import de.tudarmstadt.informatik.fop.breakout.models.DropTable;
+import de.tudarmstadt.informatik.fop.breakout.models.ItemType;
+import de.tudarmstadt.informatik.fop.breakout.util.AliasTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the weighted item drops
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ItemDropBenchmark {
+
+    @Param({"8", "1024", "65536"})
+    int tableSize;
+
+    private final Random random = new Random(42);
+    private AliasTable<Integer> table;
+
+    @Setup
+    public void setup() {
+        Integer[] elements = new Integer[tableSize];
+        double[] weights = new double[tableSize];
+        for (int i = 0; i < tableSize; i++) {
+            elements[i] = i;
+            weights[i] = random.nextDouble() * 10;
+        }
+
+        table = new AliasTable<>(elements, element -> weights[element]);
+    }
+
+    @Benchmark
+    public ItemType dropItem() {
+        return DropTable.sample(BlockType.SIMPLE, random);
+    }
+
+    @Benchmark
+    public Integer sampleAliasTable() {
+        return table.sample(random);
+    }
+}
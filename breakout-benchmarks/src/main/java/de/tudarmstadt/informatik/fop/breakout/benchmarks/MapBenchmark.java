@@ -0,0 +1,113 @@
+package de.tudarmstadt.informatik.fop.breakout.benchmarks;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.MapController;
+import de.tudarmstadt.informatik.fop.breakout.exceptions.InvalidMapFileException;
+import de.tudarmstadt.informatik.fop.breakout.headless.HeadlessSimulation;
+import de.tudarmstadt.informatik.fop.breakout.models.BlockDefinition;
+import de.tudarmstadt.informatik.fop.breakout.util.MapParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks map loading. The map size is fixed by {@link GameParameters#MAP_COLUMNS} and
+ * {@link GameParameters#MAP_ROWS}, so the generated maps grow by the share of filled cells instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapBenchmark {
+
+    @Param({"0.1", "0.5", "1.0"})
+    double density;
+
+    private byte[] content;
+    private Path directory;
+    private Path textMap;
+    private Path compiledMap;
+
+    private HeadlessSimulation simulation;
+
+    @Setup
+    public void setup() throws IOException, InvalidMapFileException, org.newdawn.slick.SlickException {
+        content = generateMap(density, new Random(42)).getBytes(StandardCharsets.US_ASCII);
+
+        directory = Files.createTempDirectory("breakout-maps");
+        textMap = directory.resolve(GameParameters.MAP_FILE_PREFIX + GameParameters.MAP_FILE_EXT);
+        compiledMap = directory.resolve(GameParameters.MAP_FILE_PREFIX + GameParameters.MAP_COMPILED_FILE_EXT);
+        Files.write(textMap, content);
+        MapParser.compile(textMap, compiledMap);
+
+        simulation = new HeadlessSimulation(1, false, 42L);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(textMap);
+        Files.deleteIfExists(compiledMap);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<BlockDefinition> parseText() throws InvalidMapFileException {
+        return MapParser.parse(content, "benchmark");
+    }
+
+    @Benchmark
+    public List<BlockDefinition> readText() throws IOException, InvalidMapFileException {
+        return MapParser.read(textMap);
+    }
+
+    @Benchmark
+    public List<BlockDefinition> readCompiled() throws IOException, InvalidMapFileException {
+        return MapParser.read(compiledMap);
+    }
+
+    /**
+     * Parses the generated text map and creates its block models
+     */
+    @Benchmark
+    public MapController prepareLevel() {
+        MapController mapController = new MapController(simulation.getBreakout(), simulation.getGameplayState(), false);
+        mapController.prepare(1, textMap);
+        return mapController;
+    }
+
+    /**
+     * Generates a random text map with simple and ram blocks
+     *
+     * @param density the share of filled cells
+     * @param random  the random number generator to use
+     * @return the content of the map file
+     */
+    static String generateMap(double density, Random random) {
+        String[] directions = {"u", "d", "l", "r"};
+        StringBuilder builder = new StringBuilder();
+
+        for (int row = 0; row < GameParameters.MAP_ROWS; row++) {
+            for (int column = 0; column < GameParameters.MAP_COLUMNS; column++) {
+                if (column > 0) builder.append(',');
+
+                if (random.nextDouble() >= density)
+                    builder.append('0');
+                else if (random.nextInt(5) == 0)
+                    builder.append(directions[random.nextInt(directions.length)]).append(1 + random.nextInt(3));
+                else
+                    builder.append(1 + random.nextInt(3));
+            }
+            builder.append('\n');
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package de.tudarmstadt.informatik.fop.breakout.benchmarks;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.CollisionGrid;
+import de.tudarmstadt.informatik.fop.breakout.headless.HeadlessSimulation;
+import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
+import de.tudarmstadt.informatik.fop.breakout.util.SweptCollision;
+import eea.engine.entity.Entity;
+import org.newdawn.slick.SlickException;
+import org.newdawn.slick.geom.Vector2f;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the collision detection and a complete gameplay tick
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhysicsBenchmark {
+
+    /**
+     * Random ball movements against a block
+     */
+    @State(Scope.Thread)
+    public static class SweepState {
+
+        private static final int COUNT = 1024;
+
+        final float[] positions = new float[COUNT * 4];
+        final float[] normal = new float[2];
+        int index = 0;
+
+        @Setup
+        public void setup() {
+            Random random = new Random(42);
+            for (int i = 0; i < positions.length; i++)
+                positions[i] = random.nextFloat() * 200 - 100;
+        }
+
+        int next() {
+            index = (index + 4) % positions.length;
+            return index;
+        }
+    }
+
+    /**
+     * A collision grid filled with a map of blocks
+     */
+    @State(Scope.Thread)
+    public static class GridState {
+
+        final CollisionGrid grid = new CollisionGrid();
+        final List<Entity> result = new ArrayList<>();
+        final Random random = new Random(42);
+
+        @Setup
+        public void setup() {
+            for (int row = 0; row < GameParameters.MAP_ROWS; row++) {
+                for (int column = 0; column < GameParameters.MAP_COLUMNS; column++) {
+                    Entity block = new Entity("block" + column + '_' + row);
+                    block.setSize(new Vector2f(GameParameters.BLOCK_WIDTH, GameParameters.BLOCK_HEIGHT));
+                    block.setPosition(new Vector2f(column * GameParameters.BLOCK_WIDTH + GameParameters.BLOCK_WIDTH / 2,
+                            row * GameParameters.BLOCK_HEIGHT + GameParameters.BLOCK_HEIGHT / 2));
+                    grid.add(block);
+                }
+            }
+        }
+    }
+
+    /**
+     * A running headless game with the given amount of balls
+     */
+    @State(Scope.Benchmark)
+    public static class GameState {
+
+        @Param({"1", "16", "128"})
+        int balls;
+
+        HeadlessSimulation simulation;
+
+        @Setup(Level.Iteration)
+        public void setup() throws SlickException {
+            simulation = new HeadlessSimulation(1, false, 42L);
+            PlayerModel player = simulation.getGameplayState().getPlayers()[0];
+            for (int i = 1; i < balls; i++)
+                simulation.addBall(player);
+
+            simulation.start();
+        }
+    }
+
+    @Benchmark
+    public float sweptTimeOfImpact(SweepState state) {
+        int i = state.next();
+        float[] p = state.positions;
+        return SweptCollision.timeOfImpact(p[i], p[i + 1], p[i + 2], p[i + 3], 10, -25, -15, 25, 15, state.normal);
+    }
+
+    @Benchmark
+    public float penetration(SweepState state) {
+        int i = state.next();
+        float[] p = state.positions;
+        return SweptCollision.penetration(p[i] * 0.3F, p[i + 1] * 0.3F, 10, -25, -15, 25, 15, state.normal);
+    }
+
+    @Benchmark
+    public void gridQuery(GridState state, Blackhole blackhole) {
+        float x = state.random.nextFloat() * GameParameters.WINDOW_WIDTH;
+        float y = state.random.nextFloat() * GameParameters.WINDOW_HEIGHT * 0.5F;
+
+        state.result.clear();
+        state.grid.query(x - 10, y - 10, x + 10, y + 10, state.result);
+        blackhole.consume(state.result);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void gameplayTick(GameState state) throws SlickException {
+        state.simulation.autoPlay();
+        state.simulation.step();
+    }
+}
@@ -0,0 +1,97 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers;
+
+import de.tudarmstadt.informatik.fop.breakout.exceptions.IllegalHighscoreFormat;
+import de.tudarmstadt.informatik.fop.breakout.models.LeaderboardKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks the leaderboards. Lives in the package of the controller to access its protected load method.
+ * <p>
+ * The entries are loaded as journal lines, so they are kept in memory like the entries added during a session. The
+ * store and the journals are written into a temporary directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HighScoreBenchmark {
+
+    private static final LeaderboardKey KEY = new LeaderboardKey(0, false);
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int entries;
+
+    private final Random random = new Random(42);
+    private final List<String> lines = new ArrayList<>();
+    private Path directory;
+    private PersistenceWorker persistenceWorker;
+    private HighScoreController loadedController;
+    private HighScoreController addingController;
+
+    @Setup
+    public void setup() throws IOException, IllegalHighscoreFormat {
+        directory = Files.createTempDirectory("breakout-highscores");
+        persistenceWorker = new PersistenceWorker();
+
+        loadedController = createController();
+        String period = loadedController.getCurrentPeriod();
+        for (int i = 0; i < entries; i++)
+            lines.add(KEY.getMapId() + ":s:" + period + ':' + random.nextInt(1000) + ':'
+                    + (1 + random.nextInt(600)) + ".5:player" + i);
+
+        loadedController.load(lines);
+
+        addingController = createController();
+        addingController.load(lines);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        loadedController.close();
+        addingController.close();
+        persistenceWorker.shutdown(10_000);
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public HighScoreController load() throws IllegalHighscoreFormat {
+        HighScoreController controller = createController();
+        controller.load(lines);
+        return controller;
+    }
+
+    @Benchmark
+    public int getRank() {
+        return loadedController.getRank(KEY, random.nextFloat() * 1000);
+    }
+
+    /**
+     * Every entry is kept, so the leaderboard grows by one entry per invocation. The journal is written by the
+     * persistence worker, only queueing the line is measured.
+     */
+    @Benchmark
+    public HighScoreController addEntry() {
+        addingController.addEntry(KEY, "player", random.nextInt(1000), 1 + random.nextInt(600));
+        return addingController;
+    }
+
+    private HighScoreController createController() {
+        return new HighScoreController(persistenceWorker, directory.resolve("leaderboards"));
+    }
+}
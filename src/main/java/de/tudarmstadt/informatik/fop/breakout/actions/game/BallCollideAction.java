@@ -1,6 +1,9 @@
 package de.tudarmstadt.informatik.fop.breakout.actions.game;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.CollisionGrid;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.MapController;
+import de.tudarmstadt.informatik.fop.breakout.jfr.BallCollisionEvent;
 import de.tudarmstadt.informatik.fop.breakout.models.Direction;
 import de.tudarmstadt.informatik.fop.breakout.models.SoundType;
 import de.tudarmstadt.informatik.fop.breakout.models.game.BallModel;
@@ -8,6 +11,7 @@ import de.tudarmstadt.informatik.fop.breakout.models.game.StickModel;
 import de.tudarmstadt.informatik.fop.breakout.models.game.blocks.AbstractBlockModel;
 import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 import de.tudarmstadt.informatik.fop.breakout.ui.Breakout;
+import de.tudarmstadt.informatik.fop.breakout.util.SweptCollision;
 import de.tudarmstadt.informatik.fop.breakout.util.Utility;
 import eea.engine.action.Action;
 import eea.engine.component.Component;
@@ -16,74 +20,161 @@ import eea.engine.event.basicevents.CollisionEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.newdawn.slick.GameContainer;
-import org.newdawn.slick.geom.Shape;
 import org.newdawn.slick.geom.Vector2f;
 import org.newdawn.slick.state.StateBasedGame;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Handles ball collision with another entity
+ * Moves the ball and handles its collisions with other entities.
+ * <p>
+ * The movement is swept: the ball travels along its velocity and stops at the earliest time of impact, bounces off and
+ * continues with the remaining part of the frame. This way fast balls can't tunnel through blocks and multiple contacts
+ * in one frame are handled in the correct order. Overlaps that aren't caused by the ball itself (i.e. a moving stick or
+ * ram block) are resolved by {@link #update(GameContainer, StateBasedGame, int, Component)}.
  */
 public class BallCollideAction implements Action {
 
+    // More contacts in a single frame are very unlikely - the rest of the movement is dropped to avoid endless loops
+    private static final int MAX_CONTACTS_PER_FRAME = 4;
+    // The ball is placed this far away from the contact point, so it doesn't touch the entity anymore
+    private static final float SKIN = 0.01F;
+
     private final Logger logger = LogManager.getLogger();
     private final BallModel ballModel;
+    private final BlockCollideAction blockCollideAction;
+
+    // Reused for every movement to keep the hit path allocation free
+    private final List<Entity> candidates = new ArrayList<>();
+    private final float[] normal = new float[2];
+    private final float[] contactNormal = new float[2];
+    private final float[] bumpVelocity = new float[2];
 
     /**
      * Will be called if the connected ball collides with anything else. Even another ball.
      *
      * @param ballModel the ball that collided with another entity
+     * @param breakout  the game instance
      */
-    public BallCollideAction(BallModel ballModel) {
+    public BallCollideAction(BallModel ballModel, Breakout breakout) {
         this.ballModel = ballModel;
+        this.blockCollideAction = new BlockCollideAction(ballModel, breakout);
+    }
+
+    /**
+     * Moves the ball by its velocity and handles all collisions on the way in the order they occur.
+     *
+     * @param breakout  the game instance
+     * @param timeScale the factor the velocity is scaled with (elapsed time multiplied by the game speed)
+     */
+    public void move(Breakout breakout, float timeScale) {
+        GameplayState state = (GameplayState) breakout.getState(GameParameters.GAMEPLAY_STATE);
+        CollisionGrid collisionGrid = state.getCollisionGrid();
+        MapController mapController = state.getMapController();
+
+        Vector2f position = ballModel.getPosition();
+        Vector2f velocity = ballModel.getVelocity();
+        float radius = ballModel.getRadius();
+        float remaining = 1;
+
+        for (int contact = 0; contact < MAX_CONTACTS_PER_FRAME; contact++) {
+            float x = position.x, y = position.y;
+            float dx = velocity.x * timeScale * remaining;
+            float dy = velocity.y * timeScale * remaining;
+
+            // Only ask the broad phase for the entities within the swept area
+            collisionGrid.query(Math.min(x, x + dx) - radius, Math.min(y, y + dy) - radius,
+                    Math.max(x, x + dx) + radius, Math.max(y, y + dy) + radius, candidates);
+
+            Entity collidedEntity = null;
+            float earliest = Float.POSITIVE_INFINITY;
+
+            for (int i = 0; i < candidates.size(); i++) {
+                Entity candidate = candidates.get(i);
+                if (candidate.isPassable()) continue;
+
+                Vector2f candidatePosition = candidate.getPosition();
+                Vector2f candidateSize = candidate.getSize();
+                float t = SweptCollision.timeOfImpact(x, y, dx, dy, radius,
+                        candidatePosition.x - candidateSize.x / 2, candidatePosition.y - candidateSize.y / 2,
+                        candidatePosition.x + candidateSize.x / 2, candidatePosition.y + candidateSize.y / 2, normal);
+
+                if (t != SweptCollision.NO_HIT && t < earliest) {
+                    earliest = t;
+                    collidedEntity = candidate;
+                    contactNormal[0] = normal[0];
+                    contactNormal[1] = normal[1];
+                }
+            }
+
+            if (collidedEntity == null) {
+                position.set(x + dx, y + dy);
+                return;
+            }
+
+            // Move to the contact point and slightly away from the collided entity
+            position.set(x + dx * earliest + contactNormal[0] * SKIN, y + dy * earliest + contactNormal[1] * SKIN);
+            remaining *= 1 - earliest;
+
+            handleCollision(collidedEntity, contactNormal[0], contactNormal[1], breakout);
+
+            // The last block has been destroyed - the ball will be replaced by the next level at the end of the tick
+            if (mapController.isEmpty()) return;
+        }
     }
 
     @Override
     public void update(GameContainer gameContainer, StateBasedGame stateBasedGame, int delta, Component component) {
         // Get collision event &
         CollisionEvent collisionEvent = (CollisionEvent) component;
-        GameplayState state = (GameplayState) stateBasedGame.getState(GameParameters.GAMEPLAY_STATE);
 
         // Gain some information about the collided entity
         Entity collidedEntity = collisionEvent.getCollidedEntity();
-        String collidedId = collidedEntity.getID();
 
         // Instantly abort the collision handling if the other item is not passable! Total disaster.
         if (collidedEntity.isPassable()) return;
 
-        logger.debug("Ball collision with {}", collidedId);
+        // The ball itself never moves into an entity, so the entity has been moved into the ball - push the ball out
+        Vector2f position = ballModel.getPosition();
+        Vector2f collidedPosition = collidedEntity.getPosition();
+        Vector2f collidedSize = collidedEntity.getSize();
+        float depth = SweptCollision.penetration(position.x, position.y, ballModel.getRadius(),
+                collidedPosition.x - collidedSize.x / 2, collidedPosition.y - collidedSize.y / 2,
+                collidedPosition.x + collidedSize.x / 2, collidedPosition.y + collidedSize.y / 2, normal);
 
-        // Do some magical stuff to ensure the collision was real.
-        Shape collidedShape = collidedEntity.getShape();
-        boolean collisionValid = checkCollision(collidedShape);
+        if (depth <= 0) return;
 
-        if (collisionValid) {
-            handleCollision(collidedEntity, state, (Breakout) stateBasedGame);
-            increaseBallSpeed();
-        }
+        position.set(position.x + normal[0] * (depth + SKIN), position.y + normal[1] * (depth + SKIN));
+
+        // Only bounce off if the ball is still moving towards the entity
+        Vector2f velocity = ballModel.getVelocity();
+        if (velocity.x * normal[0] + velocity.y * normal[1] < 0)
+            handleCollision(collidedEntity, normal[0], normal[1], (Breakout) stateBasedGame);
     }
 
     /**
      * Increases the ball speed by a given value. Should be called when a ball hits a block.
      */
     private void increaseBallSpeed() {
-        Vector2f oldSpeed = ballModel.getVelocity();
+        Vector2f velocity = ballModel.getVelocity();
 
-        Vector2f speedup = oldSpeed.copy().normalise().scale(GameParameters.SPEEDUP_VALUE);
-        ballModel.setVelocity(oldSpeed.copy().add(speedup));
-        logger.debug("Ball speed increases on hit. Old speed {}, New speed: {}", oldSpeed, ballModel.getVelocity());
+        float length = velocity.length();
+        if (length > 0)
+            velocity.set(velocity.x + velocity.x / length * GameParameters.SPEEDUP_VALUE,
+                    velocity.y + velocity.y / length * GameParameters.SPEEDUP_VALUE);
     }
 
     /**
-     * Handles the collision by updating ball position and velocity
+     * Handles the collision by triggering the entity specific actions and updating the ball velocity
      *
      * @param collidedEntity the entity the ball collided with
-     * @param state          the gameplay state
+     * @param normalX        the x component of the contact normal (pointing away from the collided entity)
+     * @param normalY        the y component of the contact normal
+     * @param breakout       the game instance
      */
-    private void handleCollision(Entity collidedEntity, GameplayState state, Breakout breakout) {
-        Shape ballShape = ballModel.getShape();
-        Shape collidedShape = collidedEntity.getShape();
+    private void handleCollision(Entity collidedEntity, float normalX, float normalY, Breakout breakout) {
+        logger.debug("Ball collision with {}", collidedEntity.getID());
 
         // Decide if the collided entity is a stick (multiplayer -> plural) or a block
         if (collidedEntity instanceof StickModel) {
@@ -94,209 +185,91 @@ public class BallCollideAction implements Action {
             // Set ball's controlling player
             ballModel.setControllingPlayer(((StickModel) collidedEntity).getOwner());
         } else if (collidedEntity instanceof AbstractBlockModel) {
-            // Do the fancy stuff an a dedicated function
-            onBlockCollide(breakout, (AbstractBlockModel) collidedEntity);
+            // Trigger the specific block action
+            blockCollideAction.onCollision((AbstractBlockModel) collidedEntity);
         }
 
         // The default collision handling method
-        updateBallPositionAndVelocity(getCollisionDirection(ballShape, collidedShape), collidedShape, collidedEntity);
+        Direction direction = getCollisionDirection(normalX, normalY);
+        updateBallVelocity(direction, normalX, normalY, collidedEntity);
+        increaseBallSpeed();
+
+        BallCollisionEvent event = new BallCollisionEvent();
+        if (event.shouldCommit()) {
+            event.ballId = ballModel.getID();
+            event.entityId = collidedEntity.getID();
+            event.entityType = collidedEntity.getClass().getSimpleName();
+            event.direction = direction.name();
+            event.smashMode = ballModel.isSmashMode();
+            event.commit();
+        }
     }
 
-
     /**
-     * The default method for handling a collision by updating the balls position and velocity
+     * The default method for handling a collision by reflecting the ball velocity at the contact normal
      *
      * @param collisionDirection the direction the ball bumped against the entity from
-     * @param collidedShape      the shape of the entity the ball collided with
+     * @param normalX            the x component of the contact normal
+     * @param normalY            the y component of the contact normal
      * @param collidedEntity     the collided entity itself
      */
-    private void updateBallPositionAndVelocity(Direction collisionDirection, Shape collidedShape, Entity collidedEntity) {
+    private void updateBallVelocity(Direction collisionDirection, float normalX, float normalY, Entity collidedEntity) {
         // Abort bumping on blocks if the ball is in smash mode
         if (ballModel.isSmashMode() && (collidedEntity instanceof AbstractBlockModel)) return;
 
-        // Obvious.
-        boolean isStick = (collidedEntity instanceof StickModel);
-
-        // Get current
-        Vector2f position = ballModel.getPosition();
         Vector2f velocity = ballModel.getVelocity();
-
-        // Set the ball a little bit back.
-        position.add(velocity.copy().scale(-1));
-
-        // Do the fancy stuff.
-        switch (collisionDirection) {
-            case UP:
-                velocity.set(velocity.getX(), -velocity.getY());
-                if (isStick) velocity.set(getStickBumpVelocity((StickModel) collidedEntity, velocity));
-                if (checkCollision(collidedShape))
-                    position.set(position.getX(), collidedShape.getMinY() - ballModel.getShape().getHeight() / 2 - 1); //it's checked whether the objects are still colliding (due to non ball movement)
-                break;
-            case DOWN:
-                // NOTICE: Downside stick check collision check is only relevant for multiplayer
-                velocity.set(velocity.getX(), -velocity.getY());
-                if (isStick) velocity.set(getStickBumpVelocity((StickModel) collidedEntity, velocity));
-                if (checkCollision(collidedShape))
-                    position.set(position.getX(), collidedShape.getMaxY() + ballModel.getShape().getHeight() / 2 + 1);
-                break;
-            case LEFT:
-                // Stick collisions on the sides should been handled normally to avoid bugs.
-                velocity.set(-velocity.getX(), velocity.getY());
-                if (checkCollision(collidedShape))
-                    position.set(collidedShape.getMinX() - ballModel.getShape().getWidth() / 2 - 1, position.getY());
-                break;
-            case RIGHT:
-                // Stick collisions on the sides should been handled normally to avoid bugs.
-                velocity.set(-velocity.getX(), velocity.getY());
-                if (checkCollision(collidedShape))
-                    position.set(collidedShape.getMaxX() + ballModel.getShape().getWidth() / 2 + 1, position.getY());
-                break;
-        }
-    }
-
-
-    /**
-     * Method for handling collision with blocks specifically
-     *
-     * @param breakout the game instance
-     * @param block    the block the ball collided with
-     */
-    private void onBlockCollide(Breakout breakout, AbstractBlockModel block) {
-        // Trigger the specific block action
-        new BlockCollideAction(block, ballModel, breakout).onCollision();
+        float dot = velocity.x * normalX + velocity.y * normalY;
+        velocity.set(velocity.x - 2 * dot * normalX, velocity.y - 2 * dot * normalY);
+
+        // Stick collisions on the sides should been handled normally to avoid bugs.
+        // NOTICE: Downside stick collision is only relevant for multiplayer
+        if (collidedEntity instanceof StickModel
+                && (collisionDirection == Direction.UP || collisionDirection == Direction.DOWN))
+            applyStickBumpVelocity((StickModel) collidedEntity);
     }
 
-
     /**
-     * Calculates where the collided shape has been hit.
-     * (pretty complicated, very math)
+     * Calculates where the collided entity has been hit based on the contact normal.
+     * Corner hits are assigned to the dominant axis.
      *
-     * @param ballShape     the shape of the ball
-     * @param collidedShape the shape of the collided entity
-     * @return the direction the has been hit
+     * @param normalX the x component of the contact normal
+     * @param normalY the y component of the contact normal
+     * @return the side of the collided entity that has been hit
      */
-    private Direction getCollisionDirection(Shape ballShape, Shape collidedShape) {
-        //the borders of the block as an X or Y coordinate (dependent of the border being horizontal or vertical)
-        float lBorder = collidedShape.getMinX() - ballShape.getWidth() / 2;
-        float tBorder = collidedShape.getMinY() - ballShape.getHeight() / 2;
-        float rBorder = collidedShape.getMaxX() + ballShape.getWidth() / 2;
-        float bBorder = collidedShape.getMaxY() + ballShape.getHeight() / 2;
-
-        //get some necessary information about the whereabouts of the ball
-        Vector2f position = ballModel.getPosition().copy();
-        Vector2f velocity = ballModel.getVelocity().copy();
-        // Adding the velocity is necessary because the ball was set back a few lines above
-        Vector2f oldPosition = position.copy().add(velocity.copy().scale(-1));
-        Vector2f direction = velocity.copy().normalise();
-
-        /*	soooo this now is the complicated part, the goal of these calculations is to to find position vectors on the borders,
-         *	where the extended velocity vector added to the the previous position vector intersects the borders.
-         *	The scalingDistances are scalers by which the direction vector has to be scaled in order to land on the border
-         */
-        float lScalingDistance = (lBorder - oldPosition.getX()) / direction.getX();
-        Vector2f positionOnLeftBorder = oldPosition.copy().add(direction.copy().scale(lScalingDistance));
-
-        float rScalingDistance = (rBorder - oldPosition.getX()) / direction.getX();
-        Vector2f positionOnRightBorder = oldPosition.copy().add(direction.copy().scale(rScalingDistance));
-
-        float tScalingDistance = (tBorder - oldPosition.getY()) / direction.getY();
-        Vector2f positionOnTopBorder = oldPosition.copy().add(direction.copy().scale(tScalingDistance));
-
-        float bScalingDistance = (bBorder - oldPosition.getY()) / direction.getY();
-        Vector2f positionOnBottomBorder = oldPosition.copy().add(direction.copy().scale(bScalingDistance));
-
-
-        logger.debug("===========================================================");
-        logger.debug(position.toString());
-        logger.debug("l: " + lBorder + " r: " + rBorder + " t: " + tBorder + " b:" + bBorder);
-        logger.debug("-----------------------------------------------------------");
-        logger.debug(positionOnLeftBorder.toString() + oldPosition.distance(positionOnLeftBorder));
-        logger.debug(positionOnRightBorder.toString() + oldPosition.distance(positionOnRightBorder));
-        logger.debug(positionOnTopBorder.toString() + oldPosition.distance(positionOnTopBorder));
-        logger.debug(positionOnBottomBorder.toString() + oldPosition.distance(positionOnBottomBorder));
-
-
-        boolean[] isBorder = {true, true, true, true}; //left, right, bottom, top
-
-        if (positionOnLeftBorder.getY() > bBorder || positionOnLeftBorder.getY() < tBorder) isBorder[0] = false;
-        if (positionOnRightBorder.getY() > bBorder || positionOnRightBorder.getY() < tBorder) isBorder[1] = false;
-        if (positionOnTopBorder.getX() > rBorder || positionOnTopBorder.getX() < lBorder) isBorder[2] = false;
-        if (positionOnBottomBorder.getX() > rBorder || positionOnBottomBorder.getX() < lBorder) isBorder[3] = false;
-
-        logger.debug(Arrays.toString(isBorder));
-
-        Direction reboundDirection = null;
-
-        float currentMinDistance = Float.POSITIVE_INFINITY;
-
-        if (isBorder[0])
-            if (oldPosition.distance(positionOnLeftBorder) < currentMinDistance) {
-                reboundDirection = Direction.LEFT;
-                currentMinDistance = oldPosition.distance(positionOnLeftBorder);
-            }
-
-        if (isBorder[1])
-            if (oldPosition.distance(positionOnRightBorder) < currentMinDistance) {
-                reboundDirection = Direction.RIGHT;
-                currentMinDistance = oldPosition.distance(positionOnRightBorder);
-            }
-
-        if (isBorder[2])
-            if (oldPosition.distance(positionOnTopBorder) < currentMinDistance) {
-                reboundDirection = Direction.UP;
-                currentMinDistance = oldPosition.distance(positionOnTopBorder);
-            }
-
-        if (isBorder[3])
-            if (oldPosition.distance(positionOnBottomBorder) < currentMinDistance) {
-                reboundDirection = Direction.DOWN;
-                currentMinDistance = oldPosition.distance(positionOnBottomBorder);
-            }
-
-        if (reboundDirection == null) {
-            logger.error("Something went wrong during calculation of the rebound direction");
-            reboundDirection = Direction.LEFT;
-        }
-
-        logger.debug(reboundDirection);
-        return reboundDirection;
+    private Direction getCollisionDirection(float normalX, float normalY) {
+        if (Math.abs(normalY) >= Math.abs(normalX))
+            return (normalY < 0) ? Direction.UP : Direction.DOWN;
+        else
+            return (normalX < 0) ? Direction.LEFT : Direction.RIGHT;
     }
 
     /**
-     * Checks whether something has actually collided with the ball by checking
-     * if any of the balls outline points are contained within the shape
+     * Changes the ball velocity after bumping against a stick entity depending on the position the stick has been hit
      *
-     * @param collidedShape the shape of the collided entity
-     * @return true if the collision was ok; else false
+     * @param stick the stick the ball collided with
      */
-    private boolean checkCollision(Shape collidedShape) {
-        Vector2f[] outline = ballModel.getOutline();
-        Vector2f position = ballModel.getPosition();
-
-        for (Vector2f outlinePoint : outline) {
-            Vector2f absolutePosition = outlinePoint.copy().add(position);
-            if (absolutePosition.getX() <= collidedShape.getMaxX() &&
-                    absolutePosition.getX() >= collidedShape.getMinX() &&
-                    absolutePosition.getY() <= collidedShape.getMaxY() &&
-                    absolutePosition.getY() >= collidedShape.getMinY()) return true;
-        }
+    private void applyStickBumpVelocity(StickModel stick) {
+        Vector2f velocity = ballModel.getVelocity();
 
-        return false;
+        bumpVelocity[0] = velocity.x;
+        bumpVelocity[1] = velocity.y;
+        applyStickBumpVelocity(stick, ballModel.getPosition().getX(), bumpVelocity);
+        velocity.set(bumpVelocity[0], bumpVelocity[1]);
     }
 
-
     /**
-     * Returns a velocity vector the ball should have after bumping against a stick entity
+     * Changes a ball velocity after bumping against a stick entity depending on the position the stick has been hit.
+     * Shared with the pooled balls, which don't have a {@link Vector2f} velocity.
      *
-     * @param stick            the stick the ball collided with
-     * @param previousVelocity the velocity the ball had before bumping against the stick
-     * @return the new vector the ball should have
+     * @param stick    the stick the ball collided with
+     * @param ballX    the center x of the ball
+     * @param velocity the x and y component of the velocity, which are updated in place
      */
-    private Vector2f getStickBumpVelocity(StickModel stick, Vector2f previousVelocity) {
+    public static void applyStickBumpVelocity(StickModel stick, float ballX, float[] velocity) {
         // Check position on stick
         float stickWidth = stick.getSize().getX();
         // NOTICE: FLOAT BETWEEN -1 (LEFT STICK SIDE) AND 1 (RIGHT STICK SIDE)
-        float positionOnStick = (2 * (ballModel.getPosition().getX() - (stick.getPosition().getX() - (stickWidth / 2))) / stickWidth) - 1;
+        float positionOnStick = (2 * (ballX - (stick.getPosition().getX() - (stickWidth / 2))) / stickWidth) - 1;
 
         // Invert position on stick for the opposite (player2)
         if (stick.getOwner().isSecondPlayer())
@@ -306,11 +279,11 @@ public class BallCollideAction implements Action {
         float addedAngle = Utility.map(positionOnStick, -1, 1, GameParameters.STICK_MAX_BALL_THETA, -GameParameters.STICK_MAX_BALL_THETA);
 
         //conversion from rect to polar
-        float length = previousVelocity.length();
-        Vector2f direction = previousVelocity.copy().normalise();
+        float length = (float) Math.sqrt(velocity[0] * velocity[0] + velocity[1] * velocity[1]);
+        if (length == 0) return;
 
         //calculate angle and convert to degrees
-        float angle = Utility.map((float) (Math.acos(direction.getX())), 0, (float) Math.PI * 2, 0, 360);
+        float angle = Utility.map((float) (Math.acos(velocity[0] / length)), 0, (float) Math.PI * 2, 0, 360);
 
         //add the angleshift caused by hitting the stick on one of its edges
         if (!stick.getOwner().isSecondPlayer()) angle += addedAngle;
@@ -320,18 +293,11 @@ public class BallCollideAction implements Action {
         if (angle > GameParameters.STICK_MAX_REBOUND_ANGLE) angle = GameParameters.STICK_MAX_REBOUND_ANGLE;
         if (angle < GameParameters.STICK_MIN_REBOUND_ANGLE) angle = GameParameters.STICK_MIN_REBOUND_ANGLE;
 
-        logger.debug("Stick rebound Angle: " + angle);
-
         // convert back to radians
         angle = Utility.map(angle, 0, 360, 0, (float) Math.PI * 2);
 
-        //mathmathmathmath....(polar to rect conversion for creation of the final vector)
-        Vector2f newVelocity;
-        if (!stick.getOwner().isSecondPlayer())
-            newVelocity = new Vector2f((float) Math.cos(angle), (float) Math.sin(-angle)).scale(length);
-        else newVelocity = new Vector2f((float) Math.cos(angle), (float) Math.sin(angle)).scale(length);
-
-        logger.debug("Changed new ball velocity to {}", newVelocity);
-        return newVelocity;
+        //mathmathmathmath....(polar to rect conversion for the final vector)
+        velocity[0] = (float) Math.cos(angle) * length;
+        velocity[1] = (!stick.getOwner().isSecondPlayer() ? (float) Math.sin(-angle) : (float) Math.sin(angle)) * length;
     }
 }
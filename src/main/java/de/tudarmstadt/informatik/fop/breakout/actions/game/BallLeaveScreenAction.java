@@ -7,6 +7,7 @@ import de.tudarmstadt.informatik.fop.breakout.models.game.ClockModel;
 import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
 import de.tudarmstadt.informatik.fop.breakout.states.GameoverState;
 import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
+import de.tudarmstadt.informatik.fop.breakout.ui.Breakout;
 import eea.engine.action.Action;
 import eea.engine.component.Component;
 import eea.engine.entity.StateBasedEntityManager;
@@ -91,6 +92,14 @@ public class BallLeaveScreenAction implements Action {
 
         // Check if all players are dead (game end)
         if (Arrays.stream(allPlayers).allMatch(playerModel -> playerModel.isDead())) {
+            gameplayState.setGameOver(true);
+
+            // There is no game over screen in headless mode
+            if (Breakout.isHeadless()) {
+                gameContainer.setPaused(true);
+                return;
+            }
+
             float time = ((ClockModel) entityManager.getEntity(GameParameters.GAMEPLAY_STATE, GameParameters.STOP_WATCH_ID)).getSeconds();
 
             GameoverState gameoverState = (GameoverState) stateBasedGame.getState(GameParameters.GAMEOVER_STATE);
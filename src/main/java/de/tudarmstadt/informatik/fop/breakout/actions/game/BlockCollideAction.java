@@ -3,6 +3,9 @@ package de.tudarmstadt.informatik.fop.breakout.actions.game;
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.controllers.game.ItemController;
 import de.tudarmstadt.informatik.fop.breakout.controllers.game.MapController;
+import de.tudarmstadt.informatik.fop.breakout.jfr.BlockDestroyedEvent;
+import de.tudarmstadt.informatik.fop.breakout.jfr.ItemDroppedEvent;
+import de.tudarmstadt.informatik.fop.breakout.models.DropTable;
 import de.tudarmstadt.informatik.fop.breakout.models.ItemType;
 import de.tudarmstadt.informatik.fop.breakout.models.SoundType;
 import de.tudarmstadt.informatik.fop.breakout.models.game.BallModel;
@@ -15,8 +18,9 @@ import de.tudarmstadt.informatik.fop.breakout.views.game.ItemView;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.newdawn.slick.SlickException;
+import org.newdawn.slick.geom.Vector2f;
 
-import java.util.stream.Stream;
+import java.util.Random;
 
 /**
  * Will be called if a ball collides with a block
@@ -25,34 +29,57 @@ public class BlockCollideAction {
 
     private final Logger logger = LogManager.getLogger();
 
-    private final AbstractBlockModel blockModel;
+    // Null for pooled balls, which pass their state on every collision
     private final BallModel ballModel;
     private final Breakout breakout;
 
     /**
-     * Will be called if a ball collides with a block
+     * Will be called if a ball collides with a block. Created once per ball and reused for every hit.
      *
-     * @param blockModel the block the ball collided with
-     * @param ballModel  the ball that collided with the block
-     * @param breakout   the game instance
+     * @param ballModel the ball that collides with the blocks
+     * @param breakout  the game instance
      */
-    BlockCollideAction(AbstractBlockModel blockModel, BallModel ballModel, Breakout breakout) {
-        this.blockModel = blockModel;
+    BlockCollideAction(BallModel ballModel, Breakout breakout) {
         this.ballModel = ballModel;
         this.breakout = breakout;
     }
 
+    /**
+     * Will be called if a pooled ball collides with a block. The ball is passed to
+     * {@link #onCollision(AbstractBlockModel, int, boolean, PlayerModel)} on every hit.
+     *
+     * @param breakout the game instance
+     */
+    public BlockCollideAction(Breakout breakout) {
+        this(null, breakout);
+    }
+
     /**
      * Will be called when the collision occurs
+     *
+     * @param blockModel the block the ball collided with
      */
-    public void onCollision() {
+    public void onCollision(AbstractBlockModel blockModel) {
+        onCollision(blockModel, ballModel.getHitPoints(), ballModel.isSmashMode(), ballModel.getControllingPlayer());
+    }
+
+    /**
+     * Will be called when the collision occurs
+     *
+     * @param blockModel        the block the ball collided with
+     * @param hitPoints         the hit points of the ball
+     * @param smashMode         true if the ball is in smash mode
+     * @param controllingPlayer the player gaining the points if the block is destroyed
+     */
+    public void onCollision(AbstractBlockModel blockModel, int hitPoints, boolean smashMode, PlayerModel controllingPlayer) {
         // Decrease remaining block hits by the balls hit points, afterwards check for remaining hit points (and smash mode ;)
-        blockModel.decreaseRemainingHits(ballModel.getHitPoints());
-        if (!blockModel.hasHitsLeft() || ballModel.isSmashMode()) {
-            destroy();
+        blockModel.decreaseRemainingHits(hitPoints);
+        if (!blockModel.hasHitsLeft() || smashMode) {
+            destroy(blockModel, smashMode, controllingPlayer);
         } else {
-            // Change render component based on remaining hits
-            blockModel.getView().updateImage(blockModel.getInitialHits() - blockModel.getHitsLeft());
+            // Change render component based on remaining hits (there is no view in headless mode)
+            if (blockModel.getView() != null)
+                blockModel.getView().updateImage(blockModel.getInitialHits() - blockModel.getHitsLeft());
         }
 
         // Play hit-stick-sound
@@ -61,90 +88,122 @@ public class BlockCollideAction {
 
     /**
      * Will be called if the block ran out of hit points and should been destroyed
+     *
+     * @param blockModel        the block that should been destroyed
+     * @param smashMode         true if the ball is in smash mode
+     * @param controllingPlayer the player gaining the points
      */
-    private void destroy() {
+    private void destroy(AbstractBlockModel blockModel, boolean smashMode, PlayerModel controllingPlayer) {
         // Get gameplay state
         GameplayState gameplayState = (GameplayState) breakout.getState(GameParameters.GAMEPLAY_STATE);
 
         // Call the state to remove this block
         blockModel.destroy();
 
+        // The death animation is still rendered, but no ball should bump against the block anymore
+        gameplayState.getCollisionGrid().remove(blockModel);
+
         // Remove block model in smash mode instantly (pass animation) to avoid border collision glitches
-        if (ballModel.isSmashMode())
+        // Without a view (headless mode) there is no death animation that would remove the block later
+        if (smashMode || blockModel.getView() == null)
             gameplayState.removeEntity(blockModel);
 
         // Drop an item if wanted (check total possibility) [possibly not in smash mode to avoid too much items]
-        if (!ballModel.isSmashMode() || GameParameters.ITEM_DROP_IN_SMASH_MODE)
-            dropItem();
+        if (!smashMode || GameParameters.ITEM_DROP_IN_SMASH_MODE)
+            dropItem(blockModel, controllingPlayer);
 
         // Add score points to the ball-controlling player (if there is one)
-        PlayerModel player = ballModel.getControllingPlayer();
-        player.destroyBlock(blockModel.getScorePoints());
+        controllingPlayer.destroyBlock(blockModel.getScorePoints());
 
-        // Check if this was the last block, then call 'nextLevel' in GameplayState
+        // Check if this was the last block, then request the next level in GameplayState
         MapController mapController = gameplayState.getMapController();
+
+        // The cell of the block is reset by removing it
+        int column = blockModel.getColumn(), row = blockModel.getRow();
         mapController.removeBlock(blockModel);
+
+        BlockDestroyedEvent event = new BlockDestroyedEvent();
+        if (event.shouldCommit()) {
+            event.blockId = blockModel.getID();
+            event.blockType = blockModel.getType().name();
+            event.column = column;
+            event.row = row;
+            event.scorePoints = blockModel.getScorePoints();
+            event.remainingBlocks = mapController.getRemainingBlocks();
+            event.commit();
+        }
+
         if (mapController.isEmpty())
-            gameplayState.nextLevel();
+            gameplayState.requestNextLevel();
     }
 
     /**
      * Will be probably called while block destruction and possibly drops an item
+     *
+     * @param blockModel        the destroyed block
+     * @param controllingPlayer the player the item will be assigned to
      */
-    private void dropItem() {
-        // Check if an item should be dropped
-        if (Math.random() <= GameParameters.ITEM_DROP_POSSIBILITY) {
-            // Get gameplay state
-            GameplayState gameplayState = (GameplayState) breakout.getState(GameParameters.GAMEPLAY_STATE);
+    private void dropItem(AbstractBlockModel blockModel, PlayerModel controllingPlayer) {
+        // Get gameplay state
+        GameplayState gameplayState = (GameplayState) breakout.getState(GameParameters.GAMEPLAY_STATE);
+        Random random = gameplayState.getRandom();
 
+        // Check if an item should be dropped
+        if (random.nextDouble() <= GameParameters.ITEM_DROP_POSSIBILITY) {
             // Get random item based on each item possibility
-            ItemType possibleItemTypes[] = blockModel.getDroppableItems();
-            ItemType itemType = getRandomItem(possibleItemTypes);
+            ItemType itemType = DropTable.sample(blockModel.getType(), random);
 
             // Determinate null pointer de.tudarmstadt.informatik.fop.breakout.exceptions
             if (itemType == null)
                 return;
 
-            // Generate item id based on the selected item type
-            String itemId = "item_" + itemType.name();
-
-            // Generate item with it's controller and render component (the usual stuff)
-            ItemModel item = new ItemModel(itemId, itemType.getDuration());
-            ItemController itemController = new ItemController(itemId + GameParameters.EXT_CONTROLLER, itemType, ballModel.getControllingPlayer());
-            item.addComponent(itemController);
-            itemController.init();
             try {
-                item.addComponent(new ItemView(itemId + GameParameters.EXT_VIEW, item, itemType));
+                // Reuse an item of this type that has been removed before, if there is one
+                ItemModel item = gameplayState.getEntityPools().acquireItem(itemType);
+                if (item == null) {
+                    item = createItem(itemType, gameplayState);
+                } else if (item.getView() != null) {
+                    item.getView().acquire();
+                }
+
+                item.getController().reset(controllingPlayer);
                 item.setPosition(blockModel.getPosition().copy());
                 gameplayState.addEntity(item);
+
+                ItemDroppedEvent event = new ItemDroppedEvent();
+                if (event.shouldCommit()) {
+                    event.itemType = itemType.name();
+                    event.blockId = blockModel.getID();
+                    event.commit();
+                }
             } catch (SlickException e) {
-                logger.error("Some error occurred during adding the render component of item '" + itemId + "': " + e);
+                logger.error("Some error occurred during adding the render component of item '" + itemType + "': " + e);
             }
         }
     }
 
     /**
-     * Returns a random item out of a given list based on their probability
+     * Creates a new item with its controller and render component (the usual stuff)
      *
-     * @param items a list of ItemTypes
-     * @return an item out of the given list
+     * @param itemType      the type of the item
+     * @param gameplayState the state the item will be added to
+     * @return the new item
+     * @throws SlickException if the image of the item cannot be loaded
      */
-    private ItemType getRandomItem(ItemType items[]) {
-        // Calculate sum of all given droppable items to norm probability
-        double totalPossibility = Stream.of(items)
-                .mapToDouble(ItemType::getPossibility)
-                .sum();
-
-        // Some fancy stuff to calculate a random item based on each items probability
-        double random = Math.random() * totalPossibility;
-        double cumulativeProbability = 0.0;
-        for (ItemType item : items) {
-            cumulativeProbability += item.getPossibility();
-            if (random <= cumulativeProbability)
-                return item;
-        }
+    private ItemModel createItem(ItemType itemType, GameplayState gameplayState) throws SlickException {
+        // Generate item id based on the selected item type
+        String itemId = "item_" + itemType.name();
+
+        ItemModel item = new ItemModel(itemId, itemType.getDuration());
+        ItemController itemController = new ItemController(itemId + GameParameters.EXT_CONTROLLER, itemType);
+        item.addComponent(itemController);
+        itemController.init(gameplayState.getCollisionGrid());
+
+        if (!Breakout.getDebug())
+            item.addComponent(new ItemView(itemId + GameParameters.EXT_VIEW, item, itemType, breakout.getAssetController()));
+        else
+            item.setSize(new Vector2f(GameParameters.ITEM_HEADLESS_SIZE, GameParameters.ITEM_HEADLESS_SIZE));
 
-        // If this happens, something went terribly wrong...
-        return null;
+        return item;
     }
 }
@@ -1,7 +1,9 @@
 package de.tudarmstadt.informatik.fop.breakout.actions.game;
 
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.models.Direction;
 import de.tudarmstadt.informatik.fop.breakout.models.game.StickModel;
+import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 import eea.engine.action.Action;
 import eea.engine.component.Component;
 import org.newdawn.slick.GameContainer;
@@ -39,5 +41,7 @@ public class StickMoveAction implements Action {
         } else {
             stickModel.setPosition(newPosition);
         }
+
+        ((GameplayState) stateBasedGame.getState(GameParameters.GAMEPLAY_STATE)).getCollisionGrid().update(stickModel);
     }
 }
@@ -2,6 +2,7 @@ package de.tudarmstadt.informatik.fop.breakout.actions.game.items;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.controllers.Timeout;
+import de.tudarmstadt.informatik.fop.breakout.jfr.ItemPickedUpEvent;
 import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
 import de.tudarmstadt.informatik.fop.breakout.models.SoundType;
 import de.tudarmstadt.informatik.fop.breakout.models.game.ItemModel;
@@ -33,6 +34,9 @@ public abstract class AbstractItemAction implements Action {
         if (collisionEvent.getCollidedEntity() instanceof StickModel) {
             logger.info("Item pickup {}", component.getOwnerEntity().getID());
 
+            ItemPickedUpEvent event = new ItemPickedUpEvent();
+            event.begin();
+
             // Get item & player who caught the item
             ItemModel item = (ItemModel) collisionEvent.getOwnerEntity();
             PlayerModel catchingPlayer = ((StickModel) collisionEvent.getCollidedEntity()).getOwner();
@@ -57,6 +61,14 @@ public abstract class AbstractItemAction implements Action {
                         .getClockController()
                         .addTimeout(new Timeout(item.getDuration(), wakeupTime -> onDisable()));
             }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.itemId = item.getID();
+                event.secondPlayer = catchingPlayer.isSecondPlayer();
+                event.temporary = item.getDuration() != 0;
+                event.commit();
+            }
         }
     }
 
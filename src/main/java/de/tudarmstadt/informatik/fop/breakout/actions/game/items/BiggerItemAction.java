@@ -3,6 +3,7 @@ package de.tudarmstadt.informatik.fop.breakout.actions.game.items;
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
 import de.tudarmstadt.informatik.fop.breakout.models.game.StickModel;
+import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 
 import eea.engine.entity.StateBasedEntityManager;
 
@@ -15,9 +16,11 @@ import org.newdawn.slick.state.StateBasedGame;
 public class BiggerItemAction extends AbstractItemAction {
 
     private StickModel stickModel;
+    private GameplayState gameplayState;
 
     @Override
     protected void init(StateBasedGame stateBasedGame, PlayerModel catchingPlayer) {
+        gameplayState = (GameplayState) stateBasedGame.getState(GameParameters.GAMEPLAY_STATE);
         stickModel = (StickModel) StateBasedEntityManager.getInstance().getEntity(GameParameters.GAMEPLAY_STATE, catchingPlayer.isSecondPlayer() ? GameParameters.STICK_ID_PLAYER2 : GameParameters.STICK_ID);
     }
 
@@ -27,5 +30,6 @@ public class BiggerItemAction extends AbstractItemAction {
         int newWidth = (int) (oldSize.getX() * GameParameters.ITEM_BIGGER_CHANGE_VALUE);
         if(newWidth > GameParameters.WINDOW_WIDTH) newWidth = GameParameters.WINDOW_WIDTH;
         stickModel.setWidth(newWidth);
+        gameplayState.getCollisionGrid().update(stickModel);
     }
 }
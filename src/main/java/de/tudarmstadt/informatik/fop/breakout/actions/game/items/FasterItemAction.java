@@ -2,6 +2,7 @@ package de.tudarmstadt.informatik.fop.breakout.actions.game.items;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.models.game.BallModel;
+import de.tudarmstadt.informatik.fop.breakout.models.game.BallPool;
 import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
 import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 import org.newdawn.slick.geom.Vector2f;
@@ -15,11 +16,14 @@ import java.util.List;
 public class FasterItemAction extends AbstractItemAction {
 
     private List<BallModel> allBalls;
+    private BallPool ballPool;
 
     @Override
     protected void init(StateBasedGame stateBasedGame, PlayerModel catchingPlayer) {
         // Get all balls from GameplayState
-        allBalls = ((GameplayState) stateBasedGame.getState(GameParameters.GAMEPLAY_STATE)).getBalls();
+        GameplayState gameplayState = (GameplayState) stateBasedGame.getState(GameParameters.GAMEPLAY_STATE);
+        allBalls = gameplayState.getBalls();
+        ballPool = gameplayState.getBallPool();
     }
 
     @Override
@@ -29,5 +33,6 @@ public class FasterItemAction extends AbstractItemAction {
             Vector2f oldVelocity = ball.getVelocity();
             ball.setVelocity(oldVelocity.scale(GameParameters.ITEM_FASTER_SPEEDUP_VALUE));
         });
+        ballPool.scaleVelocities(GameParameters.ITEM_FASTER_SPEEDUP_VALUE);
     }
 }
@@ -2,6 +2,7 @@ package de.tudarmstadt.informatik.fop.breakout.actions.game.items;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.models.game.BallModel;
+import de.tudarmstadt.informatik.fop.breakout.models.game.BallPool;
 import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
 import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 
@@ -16,11 +17,14 @@ import java.util.List;
 public class SlowerItemAction extends AbstractItemAction {
 
     private List<BallModel> allBalls;
+    private BallPool ballPool;
 
     @Override
     protected void init(StateBasedGame stateBasedGame, PlayerModel catchingPlayer) {
         // Get all balls from state
-        allBalls = ((GameplayState) stateBasedGame.getState(GameParameters.GAMEPLAY_STATE)).getBalls();
+        GameplayState gameplayState = (GameplayState) stateBasedGame.getState(GameParameters.GAMEPLAY_STATE);
+        allBalls = gameplayState.getBalls();
+        ballPool = gameplayState.getBallPool();
     }
 
     @Override
@@ -30,5 +34,6 @@ public class SlowerItemAction extends AbstractItemAction {
             Vector2f oldVelocity = ball.getVelocity();
             ball.setVelocity(oldVelocity.scale(GameParameters.ITEM_SLOWER_SPEED_VALUE));
         });
+        ballPool.scaleVelocities(GameParameters.ITEM_SLOWER_SPEED_VALUE);
     }
 }
@@ -3,6 +3,7 @@ package de.tudarmstadt.informatik.fop.breakout.actions.game.items;
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
 import de.tudarmstadt.informatik.fop.breakout.models.game.StickModel;
+import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 
 import eea.engine.entity.StateBasedEntityManager;
 import org.newdawn.slick.geom.Vector2f;
@@ -15,9 +16,11 @@ import org.newdawn.slick.state.StateBasedGame;
 public class SmallerItemAction extends AbstractItemAction {
 
     private StickModel stickModel;
+    private GameplayState gameplayState;
 
     @Override
     protected void init(StateBasedGame stateBasedGame, PlayerModel catchingPlayer) {
+        gameplayState = (GameplayState) stateBasedGame.getState(GameParameters.GAMEPLAY_STATE);
         stickModel = (StickModel) StateBasedEntityManager.getInstance().getEntity(GameParameters.GAMEPLAY_STATE, catchingPlayer.isSecondPlayer() ? GameParameters.STICK_ID_PLAYER2 : GameParameters.STICK_ID);
     }
 
@@ -28,5 +31,6 @@ public class SmallerItemAction extends AbstractItemAction {
         if(newWidth < GameParameters.STICK_MIN_WIDTH) newWidth = (int) GameParameters.STICK_MIN_WIDTH;
 
         stickModel.setSize(new Vector2f(newWidth, oldSize.getY()));
+        gameplayState.getCollisionGrid().update(stickModel);
     }
 }
@@ -2,6 +2,7 @@ package de.tudarmstadt.informatik.fop.breakout.actions.game.items;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.models.game.BallModel;
+import de.tudarmstadt.informatik.fop.breakout.models.game.BallPool;
 import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
 import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 import org.newdawn.slick.state.StateBasedGame;
@@ -14,19 +15,24 @@ import java.util.List;
 public class SmashBallItemAction extends AbstractItemAction {
 
     private List<BallModel> allBalls;
+    private BallPool ballPool;
 
     @Override
     protected void init(StateBasedGame stateBasedGame, PlayerModel catchingPlayer) {
-        allBalls = ((GameplayState) stateBasedGame.getState(GameParameters.GAMEPLAY_STATE)).getBalls();
+        GameplayState gameplayState = (GameplayState) stateBasedGame.getState(GameParameters.GAMEPLAY_STATE);
+        allBalls = gameplayState.getBalls();
+        ballPool = gameplayState.getBallPool();
     }
 
     @Override
     public void onEnable() {
         allBalls.forEach(ball -> ball.setSmashMode(true));
+        ballPool.setSmashMode(true);
     }
 
     @Override
     public void onDisable() {
         allBalls.forEach(ball -> ball.setSmashMode(false));
+        ballPool.setSmashMode(false);
     }
 }
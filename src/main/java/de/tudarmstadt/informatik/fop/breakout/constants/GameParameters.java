@@ -1,5 +1,6 @@
 package de.tudarmstadt.informatik.fop.breakout.constants;
 
+import org.newdawn.slick.Input;
 import org.newdawn.slick.geom.Vector2f;
 
 /**
@@ -19,6 +20,30 @@ public interface GameParameters {
     int WINDOW_HEIGHT = 600;
     int FRAME_RATE = 60;
 
+    // Simulation
+    int SIMULATION_TICK_RATE = 100;
+    int SIMULATION_MAX_CATCH_UP_STEPS = 10;
+
+    // Profiler
+    int PROFILER_TOGGLE_KEY = Input.KEY_F3;
+    int PROFILER_TOP_SECTIONS = 8;
+    String PROFILER_CSV_FILE = "profiler/frames.csv";
+    String PROFILER_JSON_FILE = "profiler/summary.json";
+
+    // Replays
+    String REPLAY_RECORDING_PATH = "recordings/";
+    String REPLAY_FILE_EXT = ".replay";
+    // Bounds the memory of reading a replay, about 46 hours at 100 ticks per second
+    int REPLAY_MAX_STEPS = 1 << 24;
+
+    // Persistence
+    // The time the game waits for the last saves when it's closed (in milliseconds)
+    long PERSISTENCE_SHUTDOWN_TIMEOUT = 2000;
+
+    // Management
+    String MANAGEMENT_OBJECT_NAME = "de.tudarmstadt.informatik.fop.breakout:type=Game";
+    int MANAGEMENT_FRAME_WINDOW = 120;
+
     // Game States
     int MAINMENU_STATE = 0;
     int GAMEPLAY_STATE = 1;
@@ -75,6 +100,23 @@ public interface GameParameters {
     float INITIAL_BALL_SPEED_MULTIPLAYER = 0.05f;
     float SPEEDUP_VALUE = 0.0001f;
     String BALL_SPRITESHEET = "src/main/resources/images/ball-spritesheet.png";
+    float BALL_RADIUS = 12.5F;
+
+    // Ball storm (pooled balls)
+    String BALL_POOL_ID = "pooled_ball";
+    int BALL_POOL_INITIAL_CAPACITY = 64;
+    // The balls are spread over this range of angles (in degrees) around the vertical axis
+    float BALL_STORM_SPREAD = 120;
+    // Below this amount of balls the pool is simulated on the game thread only
+    int BALL_POOL_PARALLEL_THRESHOLD = 512;
+    // The maximum amount of balls speculated by a single fork join task
+    int BALL_POOL_PARTITION_SIZE = 128;
+
+    // Entity pools (the maximum amount of removed entities kept for reuse)
+    int ENTITY_POOL_ITEMS_PER_TYPE = 8;
+    int ENTITY_POOL_BALLS = 16;
+    // Two maps may be prepared before the blocks of the current one are removed
+    int ENTITY_POOL_BLOCKS_PER_CELL = 2;
 
     // StickModel
     String STICK_ID = "stick";
@@ -125,10 +167,27 @@ public interface GameParameters {
     String ESCAPE_ID = "escape";
 
     // Highscore
+    // Index, data files and journals of the leaderboards are named after this path
+    String HIGHSCORE_STORE = "highscores/leaderboards";
+    // The single highscore list of older versions, it's moved into the leaderboards of the initial map
     String HIGHSCORE_FILE = "highscores/highscore.hsc";
     int HIGHSCORE_MAX_ENTRIES = 10;
+    // Names are stored with a fixed length in UTF-8 bytes, so every entry of a leaderboard can be read directly
+    int HIGHSCORE_NAME_MAX_LENGTH = 32;
+    // Besides the all-time leaderboards there is one per period (month) of each map and mode
+    String HIGHSCORE_PERIOD_PATTERN = "yyyy-MM";
+    // New entries are appended to a journal, which is compacted into the highscore file once it reaches this size
+    int HIGHSCORE_JOURNAL_COMPACTION_SIZE = 4096;
+    // Forces every appended entry to the disk, so it survives a crash of the whole system
+    boolean HIGHSCORE_JOURNAL_SYNC = true;
     //example format: "name:12345:123.0" or "name:1234:123.135"
     String HIGHSCORE_FILE_ENTRY_SCHEME = "[\\w]+:[\\d]{1,9}:[\\d]{1,9}\\.\\d{1,3}";
+    //example format: "1:s:2026-10:12345:123.0:name" (map, single- or multiplayer, period, blocks, time, name)
+    String HIGHSCORE_JOURNAL_ENTRY_SCHEME = "\\d{1,9}:[sm]:[\\w-]+:[\\d]{1,9}:[\\d]{1,9}\\.\\d{1,3}:.*";
+    // Merging highscore files sorts this many entries in memory and writes them as a sorted run to the disk
+    int HIGHSCORE_MERGE_RUN_SIZE = 65536;
+    // The maximum amount of runs merged at once, so only as many files are open and buffered
+    int HIGHSCORE_MERGE_FAN_IN = 64;
     String HIGHSCORE_BACKGROUND_IMAGE = "images/menu_highscore.png";
     int HIGHSCORE_ENTRY_START_Y = 200;
     int HIGHSCORE_ENTRY_GAP = 4;
@@ -148,6 +207,7 @@ public interface GameParameters {
     String MAP_FILE_PATH = System.getProperty("user.dir") + "/maps/";
     String MAP_FILE_PREFIX = "level";
     String MAP_FILE_EXT = ".map";
+    String MAP_COMPILED_FILE_EXT = ".mapb";
     double MAP_REAL_HEIGHT = 50000;
     double MAP_GRAVITY = 0; // Default value: 9.81F
 
@@ -173,6 +233,7 @@ public interface GameParameters {
     int ITEM_HP_HEALTHPOINTS = 1;
     float ITEM_DROP_POSSIBILITY = 0.25f;
     float ITEM_IMAGE_SIZE = 0.6f; //it's a scaling factor
+    int ITEM_HEADLESS_SIZE = 48; //scaled sprite height, used as item size if there is no view
 
     // Volume
     float DEFAULT_VOLUME = 0.5f;
@@ -0,0 +1,159 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.newdawn.slick.Image;
+import org.newdawn.slick.SlickException;
+import org.newdawn.slick.SpriteSheet;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Manages image loading and caching. Every image file is only decoded and uploaded once, no matter how many views use
+ * it. Scaled copies and sprite sheets share the texture of the loaded file and are cached as well.
+ * <p>
+ * The textures are reference counted: every acquired asset has to be released by its view again. Textures that aren't
+ * used anymore stay cached until {@link #purge()} is called (i.e. after a level has been loaded), so assets used by
+ * the old and the new level aren't reloaded in between.
+ */
+public class AssetController implements AutoCloseable {
+
+    private final Logger logger = LogManager.getLogger();
+
+    private final Map<String, Texture> textures = new HashMap<>();
+    private final Map<Image, Texture> owners = new IdentityHashMap<>();
+
+    /**
+     * Returns the image with the given path and scale. The image must not be modified, because it is shared.
+     *
+     * @param path  relative path to the image file
+     * @param scale the scale of the image (1 for the original size)
+     * @return the shared image
+     * @throws SlickException if the image cannot be loaded
+     */
+    public Image acquireImage(String path, float scale) throws SlickException {
+        Texture texture = getTexture(path);
+
+        String variantKey = "image@" + scale;
+        Image image = texture.variants.get(variantKey);
+        if (image == null) {
+            image = (scale == 1) ? texture.image : texture.image.getScaledCopy(scale);
+            texture.variants.put(variantKey, image);
+            owners.put(image, texture);
+        }
+
+        texture.references++;
+        return image;
+    }
+
+    /**
+     * Returns the sprite sheet with the given path, scale and tile size. The sub images are shared as well.
+     *
+     * @param path       relative path to the image file
+     * @param scale      the scale of the image (1 for the original size)
+     * @param tileWidth  the width of a single tile of the scaled image
+     * @param tileHeight the height of a single tile of the scaled image
+     * @return the shared sprite sheet
+     * @throws SlickException if the image cannot be loaded
+     */
+    public SpriteSheet acquireSpriteSheet(String path, float scale, int tileWidth, int tileHeight) throws SlickException {
+        Texture texture = getTexture(path);
+
+        String variantKey = "sheet@" + scale + ":" + tileWidth + "x" + tileHeight;
+        SpriteSheet spriteSheet = (SpriteSheet) texture.variants.get(variantKey);
+        if (spriteSheet == null) {
+            Image image = (scale == 1) ? texture.image : texture.image.getScaledCopy(scale);
+            spriteSheet = new SpriteSheet(image, tileWidth, tileHeight);
+            texture.variants.put(variantKey, spriteSheet);
+            owners.put(spriteSheet, texture);
+        }
+
+        texture.references++;
+        return spriteSheet;
+    }
+
+    /**
+     * Releases an asset acquired before. The texture will be destroyed on the next {@link #purge()} if no other view
+     * uses it anymore.
+     *
+     * @param asset the image or sprite sheet that isn't used anymore
+     */
+    public void release(Image asset) {
+        Texture texture = owners.get(asset);
+        if (texture == null) {
+            logger.warn("Tried to release an image that isn't managed by the asset controller");
+            return;
+        }
+
+        if (texture.references > 0)
+            texture.references--;
+    }
+
+    /**
+     * Destroys all textures that aren't used by any view anymore
+     */
+    public void purge() {
+        Iterator<Texture> iterator = textures.values().iterator();
+        while (iterator.hasNext()) {
+            Texture texture = iterator.next();
+            if (texture.references == 0) {
+                destroy(texture);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the amount of currently loaded image files
+     */
+    public int getTextureCount() {
+        return textures.size();
+    }
+
+    @Override
+    public void close() {
+        logger.debug("Cleaning up image resources");
+
+        textures.values().forEach(this::destroy);
+        textures.clear();
+    }
+
+    private Texture getTexture(String path) throws SlickException {
+        Texture texture = textures.get(path);
+        if (texture == null) {
+            logger.info("Loading image file: {}", path);
+            texture = new Texture(new Image(path));
+            textures.put(path, texture);
+        }
+
+        return texture;
+    }
+
+    private void destroy(Texture texture) {
+        texture.variants.values().forEach(owners::remove);
+
+        try {
+            // All variants share the texture of the original image
+            texture.image.destroy();
+        } catch (SlickException e) {
+            logger.error("Failed to destroy image - cause {}", e);
+        }
+    }
+
+    /**
+     * A loaded image file with all its cached variants
+     */
+    private static class Texture {
+
+        private final Image image;
+        private final Map<String, Image> variants = new HashMap<>();
+        private int references = 0;
+
+        private Texture(Image image) {
+            this.image = image;
+        }
+    }
+}
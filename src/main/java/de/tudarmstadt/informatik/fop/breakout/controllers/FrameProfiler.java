@@ -0,0 +1,399 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Measures how much time the phases of a frame (i.e. the updates of each entity type, rendering or sound effects)
+ * take.
+ * <p>
+ * Every measured code block is wrapped by {@link #start()} and {@link #stop(Section, long)}. The times are summed up
+ * per frame and stored in ring buffers holding the last {@link #HISTORY_SIZE} frames, so measuring doesn't allocate
+ * any memory once all sections have been registered. While the profiler is disabled, measuring is a no-op.
+ * <p>
+ * For an offline analysis every measured frame can be streamed into a CSV file (see {@link #setRecordingPath(Path)})
+ * and the totals of all measured frames can be written as JSON summary (see {@link #writeJson(Path)}).
+ */
+public class FrameProfiler {
+
+    /**
+     * The amount of frames kept in the history
+     */
+    public static final int HISTORY_SIZE = 256;
+
+    private static final Logger logger = LogManager.getLogger();
+
+    // The frames are written in large chunks, so the game thread rarely waits for the disk
+    private static final int RECORDING_BUFFER_SIZE = 1 << 16;
+
+    private final Map<Object, Section> sectionsByKey = new HashMap<>();
+    private final Map<String, Map<Class<?>, Section>> typeSectionsByPrefix = new HashMap<>();
+    private Section[] sections = new Section[0];
+
+    private final long[] frameTimes = new long[HISTORY_SIZE];
+    private long frameCount = 0;
+    private long frameStart = 0;
+
+    // Totals of all measured frames
+    private long totalFrameTime = 0;
+    private long maxFrameTime = 0;
+
+    private Path recordingPath;
+    private Writer recording;
+    private final char[] numberBuffer = new char[20];
+
+    private boolean enabled = false;
+
+    /**
+     * Returns the section with the given name and registers it on the first call
+     *
+     * @param name the name of the section
+     * @return the section
+     */
+    public Section section(String name) {
+        return section(name, name);
+    }
+
+    /**
+     * Returns the section of the given type (i.e. the class of an entity) and registers it on the first call
+     *
+     * @param prefix the prefix of the section name (i.e. the measured phase)
+     * @param type   the measured type
+     * @return the section
+     */
+    public Section section(String prefix, Class<?> type) {
+        Map<Class<?>, Section> typeSections = typeSectionsByPrefix.get(prefix);
+        if (typeSections == null) {
+            typeSections = new HashMap<>();
+            typeSectionsByPrefix.put(prefix, typeSections);
+        }
+
+        Section section = typeSections.get(type);
+        if (section == null) {
+            section = section(prefix + " " + type.getSimpleName(), prefix + " " + type.getName());
+            typeSections.put(type, section);
+        }
+
+        return section;
+    }
+
+    private Section section(String name, Object key) {
+        Section section = sectionsByKey.get(key);
+        if (section == null) {
+            section = new Section(name);
+            sectionsByKey.put(key, section);
+
+            sections = Arrays.copyOf(sections, sections.length + 1);
+            sections[sections.length - 1] = section;
+        }
+
+        return section;
+    }
+
+    /**
+     * Starts measuring a code block
+     *
+     * @return the start time which has to be passed to {@link #stop(Section, long)} or 0 if the profiler is disabled
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Stops measuring a code block and adds its duration to the current frame of the given section
+     *
+     * @param section the measured section
+     * @param start   the time returned by {@link #start()}
+     */
+    public void stop(Section section, long start) {
+        if (!enabled || start == 0) return;
+
+        section.current += System.nanoTime() - start;
+        section.calls++;
+    }
+
+    /**
+     * Finishes the current frame and moves its times into the history. Should be called once per frame.
+     */
+    public void endFrame() {
+        if (!enabled) return;
+
+        long now = System.nanoTime();
+        if (frameStart != 0) {
+            int index = (int) (frameCount % HISTORY_SIZE);
+            long frameTime = now - frameStart;
+            frameTimes[index] = frameTime;
+            totalFrameTime += frameTime;
+            maxFrameTime = Math.max(maxFrameTime, frameTime);
+
+            for (Section section : sections) {
+                section.history[index] = section.current;
+                section.callHistory[index] = section.calls;
+                section.total += section.current;
+                section.totalCalls += section.calls;
+                section.max = Math.max(section.max, section.current);
+                section.current = 0;
+                section.calls = 0;
+            }
+
+            if (recordingPath != null)
+                record(index);
+
+            frameCount++;
+        }
+
+        frameStart = now;
+    }
+
+    /**
+     * Enables or disables the measurement. The history is kept while the profiler is disabled.
+     *
+     * @param enabled true if the frames should be measured
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+
+        // The time between disabling and enabling isn't a frame
+        frameStart = 0;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the amount of measured frames since the creation
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return the amount of frames within the history
+     */
+    public int getHistoryLength() {
+        return (int) Math.min(frameCount, HISTORY_SIZE);
+    }
+
+    /**
+     * Returns the duration of a frame of the history
+     *
+     * @param age 0 for the last frame, 1 for the frame before and so on
+     * @return the duration of the frame in nanoseconds
+     */
+    public long getFrameTime(int age) {
+        return frameTimes[historyIndex(age)];
+    }
+
+    /**
+     * Fills the given array with the sections taking the most time on average over the history
+     *
+     * @param result the array to fill, its length is the amount of returned sections
+     * @return the amount of sections written into the array
+     */
+    public int getTopSections(Section[] result) {
+        for (Section section : sections)
+            section.updateAverage(getHistoryLength());
+
+        // Insertion into the sorted result array, so no memory is allocated
+        int count = 0;
+        for (Section section : sections) {
+            if (count == result.length && (count == 0 || result[count - 1].average >= section.average))
+                continue;
+
+            int position = (count < result.length) ? count : result.length - 1;
+            while (position > 0 && result[position - 1].average < section.average) {
+                result[position] = result[position - 1];
+                position--;
+            }
+
+            result[position] = section;
+            if (count < result.length) count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Streams every frame measured from now on into the given CSV file with one line per frame and section
+     * ({@code frame,section,calls,ns}). The frame itself is the section {@code "frame"}, sections without calls are
+     * left out. The file is replaced on the first measured frame.
+     *
+     * @param path the path of the CSV file or null to stop recording
+     */
+    public void setRecordingPath(Path path) {
+        close();
+        recordingPath = path;
+    }
+
+    /**
+     * Writes the recorded frames to the disk and closes the CSV file. Frames measured afterwards aren't recorded.
+     */
+    public void close() {
+        recordingPath = null;
+        if (recording == null) return;
+
+        try {
+            recording.close();
+        } catch (IOException e) {
+            logger.error("Error saving the recorded frames", e);
+        }
+        recording = null;
+    }
+
+    /**
+     * Writes the totals of all measured frames as JSON: the amount of frames, the average and maximum frame time and
+     * the average and maximum duration and the average calls per frame of every section (durations in nanoseconds)
+     *
+     * @param path the path of the JSON file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(Path path) throws IOException {
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+
+        long frames = Math.max(frameCount, 1);
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("{\n");
+            writer.write("  \"frames\": " + frameCount + ",\n");
+            writer.write("  \"frameNs\": { \"average\": " + totalFrameTime / frames + ", \"max\": " + maxFrameTime
+                    + " },\n");
+            writer.write("  \"sections\": [");
+            for (int i = 0; i < sections.length; i++) {
+                Section section = sections[i];
+                writer.write((i == 0) ? "\n" : ",\n");
+                String name = section.name.replace("\\", "\\\\").replace("\"", "\\\"");
+                writer.write("    { \"name\": \"" + name + '"'
+                        + ", \"averageNs\": " + section.total / frames
+                        + ", \"maxNs\": " + section.max
+                        + ", \"averageCalls\": "
+                        + String.format(Locale.ROOT, "%.2f", section.totalCalls / (double) frames) + " }");
+            }
+            writer.write("\n  ]\n}\n");
+        }
+    }
+
+    /**
+     * Appends the frame at the given history index to the CSV file without allocating memory
+     */
+    private void record(int index) {
+        try {
+            if (recording == null) {
+                if (recordingPath.getParent() != null)
+                    Files.createDirectories(recordingPath.getParent());
+
+                recording = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(recordingPath),
+                        StandardCharsets.UTF_8), RECORDING_BUFFER_SIZE);
+                recording.write("frame,section,calls,ns\n");
+            }
+
+            writeRow("\"frame\"", 1, frameTimes[index]);
+            for (Section section : sections)
+                if (section.callHistory[index] > 0)
+                    writeRow(section.quotedName, section.callHistory[index], section.history[index]);
+        } catch (IOException e) {
+            logger.error("Error recording the frames into " + recordingPath, e);
+            close();
+        }
+    }
+
+    private void writeRow(String section, int calls, long duration) throws IOException {
+        writeNumber(frameCount);
+        recording.write(',');
+        recording.write(section);
+        recording.write(',');
+        writeNumber(calls);
+        recording.write(',');
+        writeNumber(duration);
+        recording.write('\n');
+    }
+
+    /**
+     * Writes a non-negative number, unlike {@link Long#toString(long)} without creating a string
+     */
+    private void writeNumber(long value) throws IOException {
+        int position = numberBuffer.length;
+        do {
+            numberBuffer[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+
+        recording.write(numberBuffer, position, numberBuffer.length - position);
+    }
+
+    private int historyIndex(int age) {
+        return (int) ((frameCount - 1 - age) % HISTORY_SIZE);
+    }
+
+    /**
+     * A measured phase of the frame
+     */
+    public static class Section {
+
+        private final String name;
+        private final String quotedName;
+        private final long[] history = new long[HISTORY_SIZE];
+        private final int[] callHistory = new int[HISTORY_SIZE];
+        private long current;
+        private int calls;
+        private long total;
+        private long totalCalls;
+        private long max;
+        private long average;
+        private float averageCalls;
+
+        private Section(String name) {
+            this.name = name;
+            this.quotedName = '"' + name.replace("\"", "\"\"") + '"';
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the average duration per frame in nanoseconds, as calculated by the last
+         * {@link FrameProfiler#getTopSections(Section[])} call
+         */
+        public long getAverage() {
+            return average;
+        }
+
+        /**
+         * @return the average amount of measured calls per frame, as calculated by the last
+         * {@link FrameProfiler#getTopSections(Section[])} call
+         */
+        public float getAverageCalls() {
+            return averageCalls;
+        }
+
+        private void updateAverage(int length) {
+            if (length == 0) {
+                average = 0;
+                averageCalls = 0;
+                return;
+            }
+
+            long sum = 0, callSum = 0;
+            for (int i = 0; i < length; i++) {
+                sum += history[i];
+                callSum += callHistory[i];
+            }
+
+            average = sum / length;
+            averageCalls = callSum / (float) length;
+        }
+    }
+}
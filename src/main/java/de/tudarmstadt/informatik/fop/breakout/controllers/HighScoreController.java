@@ -4,6 +4,8 @@ import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.exceptions.IllegalHighscoreFormat;
 import de.tudarmstadt.informatik.fop.breakout.interfaces.IHighscoreEntry;
 import de.tudarmstadt.informatik.fop.breakout.models.HighScoreEntry;
+import de.tudarmstadt.informatik.fop.breakout.models.LeaderboardKey;
+import de.tudarmstadt.informatik.fop.breakout.util.OrderStatisticTree;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -12,26 +14,71 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
- * Controller for managing the list of highscore entries.
+ * Controller for managing the leaderboards of the highscore entries. There is an all-time leaderboard and one per
+ * period (month) for every initial map and mode.
+ * <p>
+ * The entries of previous sessions are read on demand from the {@link LeaderboardStore}. Entries added since then are
+ * kept in an order-statistic tree per leaderboard and appended to the {@link HighScoreJournal} right away. Both are
+ * merged when a leaderboard is queried, so adding an entry, looking up a rank and paging take O(log n) time. The
+ * menu only shows the best entries, which are cached.
+ * <p>
+ * All writes run on the {@link PersistenceWorker}, so adding an entry doesn't wait for the disk.
  */
 public class HighScoreController {
 
+    private static final Comparator<IHighscoreEntry> ORDER =
+            Comparator.comparingDouble(IHighscoreEntry::getPoints).reversed();
+
     private final Logger logger = LogManager.getLogger();
-    private final Pattern linePattern = Pattern.compile(GameParameters.HIGHSCORE_FILE_ENTRY_SCHEME);
-    private List<IHighscoreEntry> entries = new ArrayList<>(GameParameters.HIGHSCORE_MAX_ENTRIES);
+    private final Pattern linePattern = Pattern.compile(GameParameters.HIGHSCORE_JOURNAL_ENTRY_SCHEME);
+    private final DateTimeFormatter periodFormat = DateTimeFormatter.ofPattern(GameParameters.HIGHSCORE_PERIOD_PATTERN);
+
+    private final PersistenceWorker persistenceWorker;
+    private final Path storeDirectory;
+    private final LeaderboardStore store;
+    private final HighScoreJournal journal;
+
+    // The entries that aren't in the store yet
+    private final Map<LeaderboardKey, OrderStatisticTree<IHighscoreEntry>> added = new HashMap<>();
+    private final Map<LeaderboardKey, List<IHighscoreEntry>> topEntries = new HashMap<>();
+
+    /**
+     * @param persistenceWorker runs the writes of the highscores
+     * @param storePath         the path of the leaderboard store and its journals without extension
+     */
+    public HighScoreController(PersistenceWorker persistenceWorker, Path storePath) {
+        this.persistenceWorker = persistenceWorker;
+        this.storeDirectory = storePath.toAbsolutePath().getParent();
+        this.store = new LeaderboardStore(storePath);
+        this.journal = new HighScoreJournal(storePath, persistenceWorker,
+                ex -> logger.error("Error saving highscores", ex),
+                GameParameters.HIGHSCORE_JOURNAL_SYNC, GameParameters.HIGHSCORE_JOURNAL_COMPACTION_SIZE);
+    }
+
+    /**
+     * @param persistenceWorker runs the writes of the highscores
+     */
+    public HighScoreController(PersistenceWorker persistenceWorker) {
+        this(persistenceWorker, Paths.get(GameParameters.HIGHSCORE_STORE));
+    }
 
     /**
-     * Loads the highscore file from disk into an internal representation in memory. If the file doesn't exist
-     * at the moment it creates a new one.
+     * Opens the leaderboard store and loads the journal of the entries added since its last compaction into memory.
+     * The journal is opened for appending new entries afterwards. The highscore file of older versions is moved into
+     * the store.
      *
      * @throws IOException            if I/O occurred on reading file (i.e. FileNotFound, permission denied)
      * @throws IllegalHighscoreFormat if the lines are not correctly formatted
@@ -39,130 +86,335 @@ public class HighScoreController {
     public void loadFromFile() throws IOException, IllegalHighscoreFormat {
         logger.info("Loading highscore file");
 
-        //create new folder if it doesn't exist
-        Path highScoreFile = Paths.get(GameParameters.HIGHSCORE_FILE);
-        if (Files.notExists(highScoreFile)) {
-            Files.createDirectories(highScoreFile.getParent());
-            Files.createFile(highScoreFile);
-        }
+        long generation = store.open();
+        load(journal.open(generation));
 
-        load(Files.readAllLines(highScoreFile));
+        if (!store.exists())
+            importLegacyFile();
     }
 
     /**
-     * Loads the highscore based on a given list of lines
+     * Loads the highscore based on a given list of journal lines
      *
-     * @throws IOException            if I/O occurred on reading file (i.e. FileNotFound, permission denied)
      * @throws IllegalHighscoreFormat if the lines are not correctly formatted
      */
     protected void load(List<String> lines) throws IllegalHighscoreFormat {
         //read all lines and ignore empty lines for example at the end of the file
-        Stream<String> lineStream = lines.stream().filter(line -> !line.isEmpty());
-        if (!lineStream.allMatch(linePattern.asPredicate())) {
+        if (!lines.stream().filter(line -> !line.isEmpty()).allMatch(linePattern.asPredicate())) {
             throw new IllegalHighscoreFormat();
         }
 
-        entries = lines.stream()
-                .filter(line -> !line.isEmpty())
-                .map(line -> {
-                    String[] components = line.split(":");
+        added.clear();
+        topEntries.clear();
+        for (String line : lines) {
+            if (line.isEmpty())
+                continue;
+
+            // The name is the last component, so it may contain anything
+            String[] components = line.split(":", 6);
+
+            LeaderboardKey key = new LeaderboardKey(Integer.parseInt(components[0]), components[1].equals("m"));
+            String period = components[2];
+            int blocksDestroyed = Integer.parseInt(components[3]);
+            float elapsedTime = Float.parseFloat(components[4]);
+            HighScoreEntry entry = new HighScoreEntry(LeaderboardStore.truncateName(components[5]), blocksDestroyed,
+                    elapsedTime);
 
-                    String playerName = components[0];
-                    int blocksDestroyed = Integer.parseInt(components[1]);
-                    float elapsedTime = Float.parseFloat(components[2]);
-                    return new HighScoreEntry(playerName, blocksDestroyed, elapsedTime);
-                }).sorted().collect(Collectors.toList());
+            addToLeaderboards(key, period, entry);
+        }
     }
 
     /**
-     * Saves the currently in memory representation of the high scores to disk. It will replace or create a new
-     * file if it doesn't exist before automatically.
+     * Adds the entries of highscore files (i.e. collected from several machines) to the all-time leaderboard of a map
+     * and mode. The files are sorted by an external merge sort and streamed into a new snapshot of the store, so they
+     * may be larger than the memory. Equal entries of the files are only added once.
+     * <p>
+     * This waits until the store has been written, so it must be called after {@link #loadFromFile()} but not by the
+     * game loop.
      *
-     * @throws IOException if I/O error occurred on writing/creating the file
+     * @param key   the leaderboard, its period is ignored
+     * @param files the highscore files
+     * @return the amount of added entries
+     * @throws IOException            if I/O occurred on reading the files or writing the store
+     * @throws IllegalHighscoreFormat if the lines are not correctly formatted
      */
-    public void saveToFile() throws IOException {
-        logger.info("Saving highscore file");
+    public long importFiles(LeaderboardKey key, List<Path> files) throws IOException, IllegalHighscoreFormat {
+        LeaderboardKey allTimeKey = key.toAllTime();
+        Path sortedFile = Files.createTempFile(storeDirectory, "highscore-import", ".tmp");
+        long imported;
+        try {
+            imported = new HighScoreMerger(storeDirectory).merge(files, sortedFile);
+            journal.compactNow(store.snapshot(copyAdded(), allTimeKey, sortedFile));
+        } finally {
+            Files.deleteIfExists(sortedFile);
+        }
 
-        Path highScoreFile = Paths.get(GameParameters.HIGHSCORE_FILE);
+        // The snapshot contains the added entries as well
+        store.open();
+        added.clear();
+        topEntries.clear();
 
-        //create new folder if it doesn't exist
-        Files.createDirectories(highScoreFile.getParent());
+        logger.info("Imported {} highscore entries of {} files into the leaderboard {}", imported, files.size(),
+                allTimeKey);
+        return imported;
+    }
+
+    /**
+     * Saves the currently in memory representation of the high scores to disk in the background. The leaderboard
+     * store is replaced atomically and the journal is started over. Failures are logged on the game thread.
+     * <p>
+     * This is only needed after {@link #reset()}, added entries are saved by
+     * {@link #addEntry(LeaderboardKey, String, int, float)}.
+     */
+    public void saveToFile() {
+        logger.info("Saving highscore file");
+
+        journal.compact(store.snapshot(copyAdded()));
+    }
 
-        Files.write(highScoreFile, entries.stream()
-                .map(entry -> entry.getPlayerName()
-                        + ':' + entry.getNumberOfDestroyedBlocks()
-                        + ':' + entry.getElapsedTime())
-                .collect(Collectors.toList()));
+    /**
+     * Lets the persistence worker write the queued entries and close the journal and the store. Use
+     * {@link PersistenceWorker#shutdown(long)} to wait for it.
+     */
+    public void close() {
+        journal.close();
+        persistenceWorker.execute(store::close, ex -> logger.error("Error closing the leaderboard store", ex));
     }
 
     /**
-     * Creates a new highscore entry and inserts it at the correct position. The amount of entries will still be max
-     * 10.
+     * Creates a new highscore entry and inserts it into the all-time and the current period leaderboard of the
+     * game. All entries are kept, even if they don't make it into the top list.
      *
+     * @param key             the all-time leaderboard of the initial map and mode of the game
      * @param playerName      display name of that player
      * @param blocksDestroyed amount of blocks destroyed
      * @param elapsedTime     time since starting of the level
      * @throws IllegalArgumentException if blocksDestroyed or elapsed time is negative
      * @throws NullPointerException     if playername is negative
      */
-    public void addEntry(String playerName, int blocksDestroyed, float elapsedTime)
+    public void addEntry(LeaderboardKey key, String playerName, int blocksDestroyed, float elapsedTime)
             throws IllegalArgumentException, NullPointerException {
+        // Shortened like the store does, so the entry stays the same after the next compaction
+        if (playerName != null)
+            playerName = LeaderboardStore.truncateName(playerName);
+
         HighScoreEntry newEntry = new HighScoreEntry(playerName, blocksDestroyed, elapsedTime);
-        entries.add(newEntry);
+        String period = getCurrentPeriod();
+        addToLeaderboards(key.toAllTime(), period, newEntry);
+
+        logger.info("Added highscore entry {} to {}", newEntry, key.withPeriod(period));
 
-        entries = entries.stream()
-                .sorted()
-                .limit(GameParameters.HIGHSCORE_MAX_ENTRIES)
-                .collect(Collectors.toList());
+        // Save the entry right away, so it isn't lost if the game crashes
+        journal.append(key.getMapId() + ":" + (key.isMultiplayer() ? 'm' : 's') + ':' + period
+                + ':' + newEntry.getNumberOfDestroyedBlocks()
+                + ':' + newEntry.getElapsedTime()
+                + ':' + newEntry.getPlayerName());
 
-        logger.info("Added highscore entry - new state: {}", entries);
+        if (journal.needsCompaction())
+            journal.compact(store.snapshot(copyAdded()));
     }
 
     /**
-     * Removes all highscore entries.
+     * Removes all highscore entries of all leaderboards.
      * <p>
      * <b>Warning: It doesn't actually save it to disk</b>
      */
     public void reset() {
-        entries.clear();
+        store.clear();
+        added.clear();
+        topEntries.clear();
+    }
+
+    /**
+     * @return the period new entries are added to besides the all-time leaderboards
+     */
+    public String getCurrentPeriod() {
+        return LocalDate.now().format(periodFormat);
     }
 
     /**
-     * Gets a list of current highscores. The entries in this list are sorted by their points. The player with the
-     * highest points will be at the first position (index 0) and then the player with the second most points and
-     * ongoing.
+     * Gets a list of current highscores of a leaderboard. The entries in this list are sorted by their points. The
+     * player with the highest points will be at the first position (index 0) and then the player with the second
+     * most points and ongoing.
      * <p>
      * This list will only have maximum 10 entries. If there are less scores, the list will also be smaller.
      *
+     * @param key the leaderboard
      * @return unmodifiable sorted list of immutable highscore entries
      */
-    public List<IHighscoreEntry> getHighscores() {
+    public List<IHighscoreEntry> getHighscores(LeaderboardKey key) {
         //this controller should only handle modification - this prevents modifications without the knowledge of this
         //management class.
-        return Collections.unmodifiableList(entries);
+        return topEntries.computeIfAbsent(key, k ->
+                Collections.unmodifiableList(getEntries(k, 0, GameParameters.HIGHSCORE_MAX_ENTRIES)));
+    }
+
+    /**
+     * Gets a page of a leaderboard, sorted like {@link #getHighscores(LeaderboardKey)}. Only the entries of the page
+     * are read from the disk.
+     *
+     * @param key    the leaderboard
+     * @param offset the position of the first entry
+     * @param limit  the maximum amount of entries
+     * @return sorted list of immutable highscore entries, smaller than limit at the end of the leaderboard
+     */
+    public List<IHighscoreEntry> getEntries(LeaderboardKey key, int offset, int limit) {
+        if (offset < 0 || limit < 0)
+            throw new IllegalArgumentException("Negative offset or limit: " + offset + ", " + limit);
+
+        OrderStatisticTree<IHighscoreEntry> addedEntries = added.get(key);
+        if (addedEntries == null) {
+            try {
+                return store.read(key, offset, limit);
+            } catch (IOException ex) {
+                logger.error("Error reading leaderboard {}", key, ex);
+                return new ArrayList<>();
+            }
+        }
+
+        try {
+            // The amount of added entries in front of the page
+            int addedOffset = findAddedOffset(key, addedEntries, offset);
+            int storedOffset = offset - addedOffset;
+
+            List<IHighscoreEntry> stored = store.read(key, storedOffset, limit);
+            Iterator<IHighscoreEntry> addedIterator = addedEntries.iterator(addedOffset);
+            IHighscoreEntry nextAdded = addedIterator.hasNext() ? addedIterator.next() : null;
+
+            List<IHighscoreEntry> page = new ArrayList<>(limit);
+            int storedIndex = 0;
+            while (page.size() < limit && (storedIndex < stored.size() || nextAdded != null)) {
+                // Stored entries are older, so they stay in front of added entries with the same points
+                if (storedIndex < stored.size()
+                        && (nextAdded == null || stored.get(storedIndex).getPoints() >= nextAdded.getPoints())) {
+                    page.add(stored.get(storedIndex++));
+                } else {
+                    page.add(nextAdded);
+                    nextAdded = addedIterator.hasNext() ? addedIterator.next() : null;
+                }
+            }
+
+            return page;
+        } catch (IOException ex) {
+            logger.error("Error reading leaderboard {}", key, ex);
+            return addedEntries.subList(offset, limit);
+        }
+    }
+
+    /**
+     * @param key the leaderboard
+     * @return the amount of all entries of the leaderboard
+     */
+    public int getEntryCount(LeaderboardKey key) {
+        OrderStatisticTree<IHighscoreEntry> addedEntries = added.get(key);
+        return store.count(key) + (addedEntries == null ? 0 : addedEntries.size());
     }
 
     /**
      * Get the highscore entry at certain position. If the list is smaller Optional.empty is returned.
      *
+     * @param key      the leaderboard
      * @param position the position index with the player with the highest points at the first index
      * @return an Optional of that entry or Optional.empty() if the list is smaller or the position index is invalid.
      */
-    public Optional<IHighscoreEntry> getEntryAt(int position) {
-        if (position < 0 || position >= entries.size()) {
+    public Optional<IHighscoreEntry> getEntryAt(LeaderboardKey key, int position) {
+        if (position < 0 || position >= getEntryCount(key)) {
             return Optional.empty();
         }
 
-        return Optional.of(entries.get(position));
+        List<IHighscoreEntry> page = getEntries(key, position, 1);
+        return page.isEmpty() ? Optional.empty() : Optional.of(page.get(0));
+    }
+
+    /**
+     * @param key    the leaderboard
+     * @param points the points of a new score
+     * @return the position a new entry with these points would get (behind all entries with the same points)
+     */
+    public int getRank(LeaderboardKey key, float points) {
+        OrderStatisticTree<IHighscoreEntry> addedEntries = added.get(key);
+        int rank = addedEntries == null ? 0 : addedEntries.rank(entry -> entry.getPoints() >= points);
+
+        try {
+            rank += store.rank(key, points);
+        } catch (IOException ex) {
+            logger.error("Error reading leaderboard {}", key, ex);
+        }
+
+        return rank;
     }
 
-    public int getRank(float points) {
-        for (int i = 0; i < entries.size(); i++) {
-            IHighscoreEntry entry = entries.get(i);
-            if (entry.getPoints() < points)
-                return i;
+    private void addToLeaderboards(LeaderboardKey key, String period, HighScoreEntry entry) {
+        for (LeaderboardKey leaderboard : new LeaderboardKey[]{key, key.withPeriod(period)}) {
+            int position = added.computeIfAbsent(leaderboard, k -> new OrderStatisticTree<>(ORDER)).add(entry);
+
+            // Cheap check first, the rank in the store is only needed if the entry may be in the top list
+            if (position < GameParameters.HIGHSCORE_MAX_ENTRIES
+                    && getRank(leaderboard, (float) entry.getPoints()) <= GameParameters.HIGHSCORE_MAX_ENTRIES)
+                topEntries.remove(leaderboard);
         }
+    }
+
+    /**
+     * Finds how many added entries are in front of a position of the merged leaderboard by a binary search. Stored
+     * entries are in front of added entries with the same points.
+     */
+    private int findAddedOffset(LeaderboardKey key, OrderStatisticTree<IHighscoreEntry> addedEntries, int offset)
+            throws IOException {
+        int storedCount = store.count(key);
+        int low = Math.max(0, offset - storedCount);
+        int high = Math.min(offset, addedEntries.size());
+
+        while (low < high) {
+            int addedOffset = (low + high + 1) >>> 1;
+            int storedOffset = offset - addedOffset;
+
+            // Too many added entries, if the last of them isn't in front of the next stored one
+            if (storedOffset < storedCount
+                    && addedEntries.get(addedOffset - 1).getPoints() <= store.readPoints(key, storedOffset))
+                high = addedOffset - 1;
+            else
+                low = addedOffset;
+        }
+
+        return low;
+    }
+
+    private Map<LeaderboardKey, List<IHighscoreEntry>> copyAdded() {
+        Map<LeaderboardKey, List<IHighscoreEntry>> copy = new HashMap<>();
+        added.forEach((key, entries) -> copy.put(key, entries.subList(0, entries.size())));
+        return copy;
+    }
+
+    /**
+     * Moves the entries of the single highscore list of older versions into the all-time leaderboard of the initial
+     * map. The old files are deleted after the store has been written.
+     */
+    private void importLegacyFile() throws IOException, IllegalHighscoreFormat {
+        Path legacyFile = Paths.get(GameParameters.HIGHSCORE_FILE);
+        HighScoreJournal legacyJournal = new HighScoreJournal(legacyFile, persistenceWorker, null, false,
+                Long.MAX_VALUE);
+
+        List<Path> files = new ArrayList<>();
+        long legacyGeneration = 0;
+        if (Files.exists(legacyFile)) {
+            files.add(legacyFile);
+
+            // The generation header of the journaled version is in front of the first entry
+            try (HighScoreFileReader reader = new HighScoreFileReader(legacyFile)) {
+                reader.next();
+                legacyGeneration = reader.getGeneration();
+            }
+        }
+
+        // Drops the journals already contained in the file and an incomplete last line, the rest is streamed
+        legacyJournal.open(legacyGeneration);
+        files.addAll(legacyJournal.getFiles());
+
+        if (!files.isEmpty())
+            importFiles(new LeaderboardKey(GameParameters.MAP_INITIAL_ID, false), files);
 
-        return entries.size();
+        legacyJournal.discard();
+        Files.deleteIfExists(legacyFile);
     }
 }
@@ -0,0 +1,84 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.exceptions.IllegalHighscoreFormat;
+import de.tudarmstadt.informatik.fop.breakout.models.HighScoreEntry;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the entries of a highscore file (see {@link GameParameters#HIGHSCORE_FILE_ENTRY_SCHEME}) one by one, so the
+ * file doesn't have to fit into the memory. Every line is validated when it's read.
+ */
+public class HighScoreFileReader implements Closeable {
+
+    private static final Pattern LINE_PATTERN = Pattern.compile(GameParameters.HIGHSCORE_FILE_ENTRY_SCHEME);
+    // The header of the journaled version, i.e. "#generation=3"
+    private static final String GENERATION_HEADER = "#generation=";
+
+    private final Path path;
+    private final BufferedReader reader;
+    private long lineNumber;
+    private long generation;
+
+    /**
+     * @param path the highscore file
+     * @throws IOException if the file can't be opened
+     */
+    public HighScoreFileReader(Path path) throws IOException {
+        this.path = path;
+        this.reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the next entry or null at the end of the file
+     * @throws IOException            if the file can't be read
+     * @throws IllegalHighscoreFormat if the line isn't correctly formatted
+     */
+    public HighScoreEntry next() throws IOException, IllegalHighscoreFormat {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+
+            if (line.startsWith(GENERATION_HEADER)) {
+                try {
+                    generation = Long.parseLong(line.substring(GENERATION_HEADER.length()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalHighscoreFormat("Invalid generation in line " + lineNumber + " of " + path);
+                }
+                continue;
+            }
+
+            // Skip empty lines and other comments
+            if (line.isEmpty() || line.startsWith("#"))
+                continue;
+
+            if (!LINE_PATTERN.matcher(line).matches())
+                throw new IllegalHighscoreFormat("Invalid highscore entry in line " + lineNumber + " of " + path);
+
+            String[] components = line.split(":");
+            return new HighScoreEntry(components[0], Integer.parseInt(components[1]),
+                    Float.parseFloat(components[2]));
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the generation of the header written by the journaled version, 0 if it hasn't been read (yet)
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
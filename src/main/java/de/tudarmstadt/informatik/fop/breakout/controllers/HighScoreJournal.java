@@ -0,0 +1,328 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of the highscore lines. New lines are appended to a journal file, so saving an entry costs a
+ * single write. Once the journal exceeds a size threshold, a snapshot of all entries (i.e. the leaderboard store) is
+ * written through the given {@link SnapshotWriter}.
+ * <p>
+ * Snapshots and journals are numbered by generations: the snapshot of generation N contains everything of the
+ * journals below N, so these journals are deleted after it has been written. A compaction starts the journal of the
+ * next generation before the snapshot is written, so the game can keep appending meanwhile. If the game crashes during
+ * a compaction, the old snapshot and both journals are still there and nothing is lost.
+ * <p>
+ * All writes run on the {@link PersistenceWorker}. Appended lines are queued together with the generation they
+ * belong to, a burst of lines is written with a single write (and sync) of the worker.
+ */
+public class HighScoreJournal {
+
+    /**
+     * Writes the snapshot of a generation. The snapshot must be replaced atomically, i.e. by renaming a temporary
+     * file, and must remember its generation.
+     */
+    @FunctionalInterface
+    public interface SnapshotWriter {
+        void write(long generation) throws IOException;
+    }
+
+    private static final class Line {
+        private final long generation;
+        private final String text;
+
+        private Line(long generation, String text) {
+            this.generation = generation;
+            this.text = text;
+        }
+    }
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final String JOURNAL_EXT = ".journal";
+
+    private final Path prefix;
+    private final Pattern journalPattern;
+    private final PersistenceWorker worker;
+    private final Consumer<IOException> failureHandler;
+    private final boolean sync;
+    private final long compactionThreshold;
+
+    // Used by the game thread: the generation new lines belong to and their size since the last compaction
+    private long generation;
+    private long appendedBytes;
+    private final Queue<Line> pendingLines = new ConcurrentLinkedQueue<>();
+    private Future<?> pendingCompaction;
+
+    // Used by the worker
+    private FileChannel journal;
+    private long journalGeneration;
+
+    /**
+     * @param prefix              the path of the journals without generation and extension
+     * @param worker              runs the writes
+     * @param failureHandler      called on the game thread if a write fails
+     * @param sync                true if every appended line should be forced to the disk
+     * @param compactionThreshold the journal size in bytes after which a snapshot should be written
+     */
+    public HighScoreJournal(Path prefix, PersistenceWorker worker, Consumer<IOException> failureHandler,
+                            boolean sync, long compactionThreshold) {
+        this.prefix = prefix.toAbsolutePath();
+        this.journalPattern = Pattern.compile(Pattern.quote(this.prefix.getFileName().toString())
+                + "\\.(\\d+)" + Pattern.quote(JOURNAL_EXT));
+        this.worker = worker;
+        this.failureHandler = failureHandler;
+        this.sync = sync;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Replays all journals that haven't been compacted into the snapshot yet. Journals already contained in the
+     * snapshot are deleted. An incomplete last line (written while the game crashed) is dropped.
+     * <p>
+     * This reads the files on the calling thread, it's meant to be called once while the game is launched.
+     *
+     * @param snapshotGeneration the generation of the current snapshot (0 if there is none)
+     * @return all lines in the order they have been appended
+     * @throws IOException if I/O error occurred on reading the files
+     */
+    public List<String> open(long snapshotGeneration) throws IOException {
+        Files.createDirectories(prefix.getParent());
+
+        List<String> lines = new ArrayList<>();
+        generation = snapshotGeneration;
+        appendedBytes = 0;
+        for (long fileGeneration : listJournals()) {
+            Path journalFile = getJournalFile(fileGeneration);
+            if (fileGeneration < snapshotGeneration) {
+                // The last compaction has written its snapshot, but couldn't delete the journal anymore
+                Files.deleteIfExists(journalFile);
+                continue;
+            }
+
+            lines.addAll(readJournal(journalFile));
+            appendedBytes += Files.size(journalFile);
+            generation = fileGeneration;
+        }
+
+        return lines;
+    }
+
+    /**
+     * @return the journal files in the order they have been written, i.e. to stream them after {@link #open(long)}
+     * @throws IOException if I/O error occurred on listing the files
+     */
+    public List<Path> getFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (long fileGeneration : listJournals())
+            files.add(getJournalFile(fileGeneration));
+
+        return files;
+    }
+
+    /**
+     * Queues a line and lets the worker append it to the journal
+     *
+     * @param line the line without a line break
+     */
+    public void append(String line) {
+        pendingLines.add(new Line(generation, line));
+        appendedBytes += line.getBytes(StandardCharsets.UTF_8).length + 1;
+
+        // A burst of lines is written by a single task
+        worker.submit(prefix.toString(), this::writePendingLines, failureHandler);
+    }
+
+    /**
+     * @return true if the journal has grown beyond the threshold and should be compacted
+     */
+    public boolean needsCompaction() {
+        // While a snapshot is written, the journal keeps growing instead of queueing snapshots behind it
+        return appendedBytes >= compactionThreshold && (pendingCompaction == null || pendingCompaction.isDone());
+    }
+
+    /**
+     * Starts a new journal and lets the worker write the snapshot. The snapshot has to contain all lines appended so
+     * far, so its content must be captured before this method is called.
+     *
+     * @param writer writes the snapshot
+     * @return the pending compaction
+     */
+    public Future<?> compact(SnapshotWriter writer) {
+        return compact(writer, failureHandler);
+    }
+
+    /**
+     * Writes the snapshot like {@link #compact(SnapshotWriter)} and waits until it is on the disk. This must not be
+     * called by the game loop.
+     *
+     * @param writer writes the snapshot
+     * @throws IOException if I/O error occurred on writing
+     */
+    public void compactNow(SnapshotWriter writer) throws IOException {
+        waitFor(compact(writer, null));
+    }
+
+    /**
+     * Lets the worker write the queued lines and close the journal. Use {@link PersistenceWorker#shutdown(long)}
+     * to wait for it.
+     */
+    public void close() {
+        worker.execute(() -> {
+            writePendingLines();
+            closeJournal();
+        }, failureHandler);
+    }
+
+    /**
+     * Deletes all journal files and waits for it, i.e. after the lines have been moved into another store. This must
+     * not be called by the game loop.
+     *
+     * @throws IOException if I/O error occurred on deleting a file
+     */
+    public void discard() throws IOException {
+        pendingLines.clear();
+        waitFor(worker.execute(() -> {
+            closeJournal();
+            for (long fileGeneration : listJournals())
+                Files.deleteIfExists(getJournalFile(fileGeneration));
+        }, null));
+    }
+
+    private Future<?> compact(SnapshotWriter writer, Consumer<IOException> compactionFailureHandler) {
+        // Everything appended from now on belongs to the next snapshot
+        long snapshotGeneration = ++generation;
+        appendedBytes = 0;
+
+        pendingCompaction = worker.execute(() -> {
+            // The lines of the older generations have to be in their journals, before these can be deleted
+            writePendingLines();
+            writer.write(snapshotGeneration);
+
+            if (journal != null && journalGeneration < snapshotGeneration)
+                closeJournal();
+
+            for (long fileGeneration : listJournals())
+                if (fileGeneration < snapshotGeneration)
+                    Files.deleteIfExists(getJournalFile(fileGeneration));
+
+            logger.info("Compacted highscore journal into snapshot generation {}", snapshotGeneration);
+        }, compactionFailureHandler);
+        return pendingCompaction;
+    }
+
+    private void writePendingLines() throws IOException {
+        StringBuilder batch = new StringBuilder();
+        long batchGeneration = -1;
+
+        Line line;
+        while ((line = pendingLines.poll()) != null) {
+            if (line.generation != batchGeneration && batch.length() > 0) {
+                writeBatch(batchGeneration, batch);
+                batch.setLength(0);
+            }
+
+            batchGeneration = line.generation;
+            batch.append(line.text).append('\n');
+        }
+
+        if (batch.length() > 0)
+            writeBatch(batchGeneration, batch);
+    }
+
+    private void writeBatch(long batchGeneration, CharSequence batch) throws IOException {
+        if (journal == null || journalGeneration != batchGeneration) {
+            closeJournal();
+            journal = FileChannel.open(getJournalFile(batchGeneration), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            journalGeneration = batchGeneration;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining())
+            journal.write(buffer);
+
+        if (sync)
+            journal.force(false);
+    }
+
+    private void closeJournal() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    private static void waitFor(Future<?> task) throws IOException {
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing the highscores", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private List<String> readJournal(Path journalFile) throws IOException {
+        String content = new String(Files.readAllBytes(journalFile), StandardCharsets.UTF_8);
+        int end = content.lastIndexOf('\n') + 1;
+        if (end < content.length()) {
+            logger.warn("Dropping incomplete highscore line in {}", journalFile);
+
+            // Cut it off, otherwise the next appended line would be merged with it
+            try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                channel.truncate(content.substring(0, end).getBytes(StandardCharsets.UTF_8).length);
+            }
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (String line : content.substring(0, end).split("\n"))
+            if (!line.isEmpty())
+                lines.add(line);
+
+        return lines;
+    }
+
+    private List<Long> listJournals() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        if (Files.notExists(prefix.getParent()))
+            return generations;
+
+        try (Stream<Path> files = Files.list(prefix.getParent())) {
+            files.forEach(file -> {
+                Matcher matcher = journalPattern.matcher(file.getFileName().toString());
+                if (matcher.matches())
+                    generations.add(Long.parseLong(matcher.group(1)));
+            });
+        }
+
+        generations.sort(null);
+        return generations;
+    }
+
+    private Path getJournalFile(long fileGeneration) {
+        return prefix.resolveSibling(prefix.getFileName() + "." + fileGeneration + JOURNAL_EXT);
+    }
+}
@@ -0,0 +1,319 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.exceptions.IllegalHighscoreFormat;
+import de.tudarmstadt.informatik.fop.breakout.models.HighScoreEntry;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Merges highscore files (i.e. collected from several machines) into a single sorted list without duplicates. The
+ * files are read line by line, so the memory needed doesn't depend on their size:
+ * <ul>
+ * <li>{@link #top(List, int)} only keeps the best entries in a bounded heap</li>
+ * <li>{@link #merge(List, Path)} is an external merge sort: sorted runs of a fixed size are written to temporary files
+ * and merged with a bounded fan-in</li>
+ * </ul>
+ * Equal entries (see {@link HighScoreEntry#equals(Object)}) are only kept once.
+ */
+public class HighScoreMerger {
+
+    // Sorted like the leaderboards, the other components only put equal entries next to each other
+    private static final Comparator<HighScoreEntry> ORDER =
+            Comparator.comparingDouble(HighScoreEntry::getPoints).reversed()
+                    .thenComparing(HighScoreEntry::getPlayerName)
+                    .thenComparingInt(HighScoreEntry::getNumberOfDestroyedBlocks)
+                    .thenComparingDouble(HighScoreEntry::getElapsedTime);
+
+    private final Logger logger = LogManager.getLogger();
+
+    private final Path tempDirectory;
+    private final int runSize;
+    private final int fanIn;
+
+    // Statistics of the last merge
+    private long readEntries;
+    private long writtenEntries;
+
+    /**
+     * @param tempDirectory the directory of the sorted runs
+     * @param runSize       the amount of entries sorted in memory
+     * @param fanIn         the maximum amount of runs merged at once
+     * @throws IllegalArgumentException if the run size or the fan-in is too small
+     */
+    public HighScoreMerger(Path tempDirectory, int runSize, int fanIn) throws IllegalArgumentException {
+        if (runSize < 1 || fanIn < 2)
+            throw new IllegalArgumentException("Invalid run size or fan-in: " + runSize + ", " + fanIn);
+
+        this.tempDirectory = tempDirectory;
+        this.runSize = runSize;
+        this.fanIn = fanIn;
+    }
+
+    /**
+     * @param tempDirectory the directory of the sorted runs
+     */
+    public HighScoreMerger(Path tempDirectory) {
+        this(tempDirectory, GameParameters.HIGHSCORE_MERGE_RUN_SIZE, GameParameters.HIGHSCORE_MERGE_FAN_IN);
+    }
+
+    /**
+     * Finds the best entries of all files. Only the current best entries are kept in memory.
+     *
+     * @param inputs the highscore files
+     * @param limit  the maximum amount of entries
+     * @return the best entries, sorted by their points
+     * @throws IOException            if a file can't be read
+     * @throws IllegalHighscoreFormat if a line isn't correctly formatted
+     */
+    public List<HighScoreEntry> top(List<Path> inputs, int limit) throws IOException, IllegalHighscoreFormat {
+        readEntries = 0;
+
+        // The worst kept entry is at the head, so it can be replaced by a better one
+        PriorityQueue<HighScoreEntry> best = new PriorityQueue<>(ORDER.reversed());
+        // An evicted entry is worse than all kept ones, so a duplicate of it is dropped by the heap anyway
+        Set<HighScoreEntry> kept = new HashSet<>();
+
+        for (Path input : inputs) {
+            try (HighScoreFileReader reader = new HighScoreFileReader(input)) {
+                HighScoreEntry entry;
+                while ((entry = reader.next()) != null) {
+                    readEntries++;
+                    if (limit == 0 || kept.contains(entry))
+                        continue;
+
+                    if (best.size() < limit) {
+                        best.add(entry);
+                        kept.add(entry);
+                    } else if (ORDER.compare(entry, best.peek()) < 0) {
+                        kept.remove(best.poll());
+                        best.add(entry);
+                        kept.add(entry);
+                    }
+                }
+            }
+        }
+
+        List<HighScoreEntry> sorted = new ArrayList<>(best);
+        sorted.sort(ORDER);
+        writtenEntries = sorted.size();
+        return sorted;
+    }
+
+    /**
+     * Writes all entries of the files sorted by their points into a highscore file. The output is replaced
+     * atomically, so it may also be one of the inputs.
+     *
+     * @param inputs the highscore files
+     * @param output the merged highscore file
+     * @return the amount of written entries
+     * @throws IOException            if a file can't be read or written
+     * @throws IllegalHighscoreFormat if a line isn't correctly formatted
+     */
+    public long merge(List<Path> inputs, Path output) throws IOException, IllegalHighscoreFormat {
+        readEntries = 0;
+
+        // Runs of level i contain up to runSize * fanIn^i entries, a full level is merged into one run of the next
+        List<List<Path>> levels = new ArrayList<>();
+        try {
+            List<HighScoreEntry> run = new ArrayList<>(runSize);
+            for (Path input : inputs) {
+                try (HighScoreFileReader reader = new HighScoreFileReader(input)) {
+                    HighScoreEntry entry;
+                    while ((entry = reader.next()) != null) {
+                        readEntries++;
+                        run.add(entry);
+                        if (run.size() == runSize) {
+                            addRun(levels, 0, writeRun(run));
+                            run.clear();
+                        }
+                    }
+                }
+            }
+
+            List<Path> remaining = new ArrayList<>();
+            levels.forEach(remaining::addAll);
+
+            // The last entries don't have to take the way over the disk
+            run.sort(ORDER);
+            Path merged = Files.createTempFile(output.toAbsolutePath().getParent(), "highscore-merge", ".tmp");
+            try {
+                writtenEntries = mergeRuns(remaining, run.iterator(), merged);
+                Files.move(merged, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(merged);
+            }
+        } finally {
+            for (List<Path> level : levels) {
+                for (Path runFile : level)
+                    Files.deleteIfExists(runFile);
+            }
+        }
+
+        logger.info("Merged {} highscore entries of {} files into {} entries of {}", readEntries, inputs.size(),
+                writtenEntries, output);
+        return writtenEntries;
+    }
+
+    /**
+     * Writes entries in the format of the highscore file
+     *
+     * @param entries the entries, i.e. returned by {@link #top(List, int)}
+     * @param output  the highscore file
+     * @throws IOException if the file can't be written
+     */
+    public static void write(List<HighScoreEntry> entries, Path output) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            for (HighScoreEntry entry : entries)
+                writeEntry(writer, entry);
+        }
+    }
+
+    /**
+     * @return the amount of entries read by the last merge, including duplicates
+     */
+    public long getReadEntries() {
+        return readEntries;
+    }
+
+    /**
+     * @return the amount of entries the last merge has kept
+     */
+    public long getWrittenEntries() {
+        return writtenEntries;
+    }
+
+    private void addRun(List<List<Path>> levels, int level, Path runFile) throws IOException, IllegalHighscoreFormat {
+        if (levels.size() == level)
+            levels.add(new ArrayList<>(fanIn));
+
+        List<Path> runs = levels.get(level);
+        runs.add(runFile);
+        if (runs.size() < fanIn)
+            return;
+
+        Path merged = Files.createTempFile(tempDirectory, "highscore-run", ".tmp");
+        try {
+            mergeRuns(runs, null, merged);
+        } catch (IOException | IllegalHighscoreFormat e) {
+            Files.deleteIfExists(merged);
+            throw e;
+        }
+
+        for (Path mergedRun : runs)
+            Files.deleteIfExists(mergedRun);
+        runs.clear();
+
+        addRun(levels, level + 1, merged);
+    }
+
+    private Path writeRun(List<HighScoreEntry> run) throws IOException {
+        run.sort(ORDER);
+
+        Path runFile = Files.createTempFile(tempDirectory, "highscore-run", ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(runFile, StandardCharsets.UTF_8)) {
+            HighScoreEntry last = null;
+            for (HighScoreEntry entry : run) {
+                if (!entry.equals(last))
+                    writeEntry(writer, entry);
+                last = entry;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(runFile);
+            throw e;
+        }
+
+        return runFile;
+    }
+
+    /**
+     * Merges sorted runs and optionally sorted entries of the memory into a file
+     *
+     * @return the amount of written entries
+     */
+    private long mergeRuns(List<Path> runs, Iterator<HighScoreEntry> inMemory, Path output)
+            throws IOException, IllegalHighscoreFormat {
+        PriorityQueue<Head> heads = new PriorityQueue<>(runs.size() + 1, (a, b) -> ORDER.compare(a.entry, b.entry));
+        List<HighScoreFileReader> readers = new ArrayList<>(runs.size());
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            for (Path run : runs) {
+                HighScoreFileReader reader = new HighScoreFileReader(run);
+                readers.add(reader);
+
+                Head head = new Head(reader, null);
+                if (head.advance())
+                    heads.add(head);
+            }
+
+            if (inMemory != null) {
+                Head head = new Head(null, inMemory);
+                if (head.advance())
+                    heads.add(head);
+            }
+
+            HighScoreEntry last = null;
+            while (!heads.isEmpty()) {
+                Head head = heads.poll();
+                if (!head.entry.equals(last)) {
+                    writeEntry(writer, head.entry);
+                    written++;
+                }
+
+                last = head.entry;
+                if (head.advance())
+                    heads.add(head);
+            }
+        } finally {
+            for (HighScoreFileReader reader : readers)
+                reader.close();
+        }
+
+        return written;
+    }
+
+    private static void writeEntry(BufferedWriter writer, HighScoreEntry entry) throws IOException {
+        writer.write(entry.getPlayerName() + ':' + entry.getNumberOfDestroyedBlocks() + ':' + entry.getElapsedTime());
+        writer.newLine();
+    }
+
+    /**
+     * The next entry of a run that is merged
+     */
+    private static final class Head {
+        private final HighScoreFileReader reader;
+        private final Iterator<HighScoreEntry> iterator;
+        private HighScoreEntry entry;
+
+        private Head(HighScoreFileReader reader, Iterator<HighScoreEntry> iterator) {
+            this.reader = reader;
+            this.iterator = iterator;
+        }
+
+        /**
+         * @return false at the end of the run
+         */
+        private boolean advance() throws IOException, IllegalHighscoreFormat {
+            if (reader != null)
+                entry = reader.next();
+            else
+                entry = iterator.hasNext() ? iterator.next() : null;
+            return entry != null;
+        }
+    }
+}
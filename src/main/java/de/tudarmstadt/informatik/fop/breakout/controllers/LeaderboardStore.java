@@ -0,0 +1,547 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.exceptions.IllegalHighscoreFormat;
+import de.tudarmstadt.informatik.fop.breakout.interfaces.IHighscoreEntry;
+import de.tudarmstadt.informatik.fop.breakout.jfr.HighscoreSaveEvent;
+import de.tudarmstadt.informatik.fop.breakout.models.HighScoreEntry;
+import de.tudarmstadt.informatik.fop.breakout.models.LeaderboardKey;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * On-disk store of all leaderboards. The entries of all leaderboards are kept in one data file, every leaderboard as
+ * a sorted segment of fixed-size records. A small index file maps each leaderboard to its segment.
+ * <p>
+ * Only the index is read on startup. A page of a leaderboard is read directly from its position in the data file,
+ * ranks are looked up by a binary search over the segment, so the size of the store doesn't matter.
+ * <p>
+ * The store is immutable while the game is running: new entries are kept by the {@link HighScoreController} and
+ * merged into a new data file by {@link #snapshot(Map)}, which is written by the journal's background thread. The
+ * data file of the session stays open until the game is closed, so it is only deleted on the next start.
+ */
+public class LeaderboardStore {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final int INDEX_MAGIC = 0x4C424958; // "LBIX"
+    private static final int INDEX_VERSION = 1;
+    private static final String INDEX_EXT = ".idx";
+    private static final String DATA_EXT = ".dat";
+    private static final String TEMP_EXT = ".tmp";
+
+    // The name (UTF-8, padded with zeros, see truncateName), the destroyed blocks and the elapsed time
+    private static final int NAME_BYTES = GameParameters.HIGHSCORE_NAME_MAX_LENGTH;
+    private static final int RECORD_SIZE = NAME_BYTES + Integer.BYTES + Float.BYTES;
+
+    // The records copied at once while a snapshot is merged
+    private static final int MERGE_BATCH = 1024;
+
+    /**
+     * The position of a leaderboard in the data file
+     */
+    private static final class Segment {
+        private final long offset;
+        private final int count;
+
+        private Segment(long offset, int count) {
+            this.offset = offset;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Sorted entries that are merged into a leaderboard
+     */
+    @FunctionalInterface
+    private interface EntrySource {
+        /**
+         * @return the next entry or null at the end
+         */
+        IHighscoreEntry next() throws IOException;
+    }
+
+    private final Path prefix;
+    private final Path indexFile;
+    private final Pattern dataPattern;
+
+    private FileChannel data;
+    private long generation;
+    // Replaced, but never modified, so a pending snapshot can keep the segments it has been created with
+    private Map<LeaderboardKey, Segment> segments = Collections.emptyMap();
+
+    /**
+     * @param prefix the path of the index and data files without generation and extension
+     */
+    public LeaderboardStore(Path prefix) {
+        this.prefix = prefix.toAbsolutePath();
+        this.indexFile = this.prefix.resolveSibling(this.prefix.getFileName() + INDEX_EXT);
+        this.dataPattern = Pattern.compile(Pattern.quote(this.prefix.getFileName().toString())
+                + "\\.(\\d+)" + Pattern.quote(DATA_EXT));
+    }
+
+    /**
+     * Reads the index and opens the data file it refers to. Data files of other generations are deleted.
+     *
+     * @return the generation of the store or 0 if there is no store yet
+     * @throws IOException if I/O error occurred on reading the index or opening the data file
+     */
+    public long open() throws IOException {
+        close();
+        Files.createDirectories(prefix.getParent());
+
+        Map<LeaderboardKey, Segment> readSegments = new LinkedHashMap<>();
+        generation = 0;
+        if (Files.exists(indexFile)) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(indexFile))) {
+                if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION)
+                    throw new IOException("Unknown leaderboard index format: " + indexFile);
+
+                generation = in.readLong();
+                int boardCount = in.readInt();
+                for (int i = 0; i < boardCount; i++) {
+                    int mapId = in.readInt();
+                    boolean multiplayer = in.readBoolean();
+                    String period = in.readUTF();
+                    LeaderboardKey key = new LeaderboardKey(mapId, multiplayer, period.isEmpty() ? null : period);
+                    readSegments.put(key, new Segment(in.readLong(), in.readInt()));
+                }
+            }
+
+            data = FileChannel.open(getDataFile(generation), StandardOpenOption.READ);
+        }
+
+        segments = readSegments;
+        deleteDataFiles(generation, generation);
+
+        logger.info("Opened {} leaderboards of generation {}", segments.size(), generation);
+        return generation;
+    }
+
+    /**
+     * @return true if the store has been written before
+     */
+    public boolean exists() {
+        return data != null;
+    }
+
+    /**
+     * @param key the leaderboard
+     * @return the amount of stored entries
+     */
+    public int count(LeaderboardKey key) {
+        Segment segment = segments.get(key);
+        return segment == null ? 0 : segment.count;
+    }
+
+    /**
+     * @param key    the leaderboard
+     * @param points the points of a new score
+     * @return the amount of stored entries with at least these points
+     * @throws IOException if I/O error occurred on reading
+     */
+    public int rank(LeaderboardKey key, double points) throws IOException {
+        Segment segment = segments.get(key);
+        if (segment == null)
+            return 0;
+
+        // The first entry with less points
+        int low = 0, high = segment.count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (readPoints(segment, middle) >= points)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        return low;
+    }
+
+    /**
+     * @param key      the leaderboard
+     * @param position the position of the entry in the sorted leaderboard
+     * @return the points of the entry at that position
+     * @throws IOException if I/O error occurred on reading
+     */
+    public double readPoints(LeaderboardKey key, int position) throws IOException {
+        return readPoints(getSegment(key, position), position);
+    }
+
+    /**
+     * Reads a page of a leaderboard with a single read
+     *
+     * @param key    the leaderboard
+     * @param offset the position of the first entry
+     * @param limit  the maximum amount of entries
+     * @return the sorted entries, less than limit at the end of the leaderboard
+     * @throws IOException if I/O error occurred on reading
+     */
+    public List<IHighscoreEntry> read(LeaderboardKey key, int offset, int limit) throws IOException {
+        Segment segment = segments.get(key);
+        int count = segment == null ? 0 : Math.max(0, Math.min(limit, segment.count - offset));
+        List<IHighscoreEntry> entries = new ArrayList<>(count);
+        if (count == 0)
+            return entries;
+
+        ByteBuffer buffer = ByteBuffer.allocate(count * RECORD_SIZE);
+        readFully(buffer, segment.offset + (long) offset * RECORD_SIZE);
+        buffer.flip();
+        while (buffer.hasRemaining())
+            entries.add(readRecord(buffer));
+
+        return entries;
+    }
+
+    /**
+     * Forgets all stored entries. They are removed from the disk by the next snapshot.
+     */
+    public void clear() {
+        segments = Collections.emptyMap();
+    }
+
+    /**
+     * Captures the stored leaderboards and the given new entries. The returned writer merges them into a new data
+     * file, writes a new index and atomically replaces the old one.
+     *
+     * @param added the sorted entries per leaderboard that aren't stored yet, mustn't be modified afterwards
+     * @return the writer of the snapshot for the journal
+     */
+    public HighScoreJournal.SnapshotWriter snapshot(Map<LeaderboardKey, List<IHighscoreEntry>> added) {
+        return snapshot(added, null, null);
+    }
+
+    /**
+     * Captures the stored leaderboards and the given new entries like {@link #snapshot(Map)} and additionally merges
+     * a highscore file into a leaderboard. The file is streamed while the snapshot is written, so it may be larger
+     * than the memory.
+     *
+     * @param added      the sorted entries per leaderboard that aren't stored yet, mustn't be modified afterwards
+     * @param importKey  the leaderboard the file is merged into
+     * @param importFile a highscore file sorted by the points (i.e. by {@link HighScoreMerger#merge(List, Path)})
+     * @return the writer of the snapshot for the journal
+     */
+    public HighScoreJournal.SnapshotWriter snapshot(Map<LeaderboardKey, List<IHighscoreEntry>> added,
+                                                    LeaderboardKey importKey, Path importFile) {
+        Map<LeaderboardKey, Segment> capturedSegments = segments;
+        FileChannel capturedData = data;
+        long dataGeneration = generation;
+
+        return snapshotGeneration -> {
+            HighscoreSaveEvent event = new HighscoreSaveEvent();
+            event.begin();
+
+            // Sorted keys keep the file layout independent from the order of the hash maps
+            TreeSet<LeaderboardKey> keys = new TreeSet<>(Comparator.comparingInt(LeaderboardKey::getMapId)
+                    .thenComparing(LeaderboardKey::isMultiplayer)
+                    .thenComparing(key -> key.getPeriod() == null ? "" : key.getPeriod()));
+            keys.addAll(capturedSegments.keySet());
+            keys.addAll(added.keySet());
+            if (importKey != null)
+                keys.add(importKey);
+
+            Path dataFile = getDataFile(snapshotGeneration);
+            Map<LeaderboardKey, Segment> written = new LinkedHashMap<>();
+            long entries = 0;
+            try (FileChannel out = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (LeaderboardKey key : keys) {
+                    Segment segment = capturedSegments.get(key);
+                    Iterator<IHighscoreEntry> addedEntries =
+                            added.getOrDefault(key, Collections.emptyList()).iterator();
+                    EntrySource source = () -> addedEntries.hasNext() ? addedEntries.next() : null;
+
+                    long offset = out.position();
+                    int count;
+                    if (key.equals(importKey)) {
+                        try (HighScoreFileReader reader = new HighScoreFileReader(importFile)) {
+                            // The imported entries are older, so they stay in front of added entries
+                            count = merge(capturedData, segment, merge(fileSource(reader), source), out);
+                        }
+                    } else {
+                        count = merge(capturedData, segment, source, out);
+                    }
+
+                    written.put(key, new Segment(offset, count));
+                    entries += count;
+                }
+
+                out.force(true);
+            }
+
+            writeIndex(snapshotGeneration, written);
+
+            // The data file of the session is still read, it's deleted on the next start
+            deleteDataFiles(snapshotGeneration, dataGeneration);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.entries = (int) entries;
+                event.path = indexFile.toString();
+                event.commit();
+            }
+        };
+    }
+
+    /**
+     * Shortens a name to the part that fits into a record, so an entry doesn't change when it is written to the
+     * store. The limit is counted in UTF-8 bytes, a name with other than ASCII characters is shorter.
+     *
+     * @param name the name of a player
+     * @return the name as it would be stored
+     */
+    public static String truncateName(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int length = storedNameLength(bytes);
+        return length == bytes.length ? name : new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Closes the data file
+     *
+     * @throws IOException if I/O error occurred on closing
+     */
+    public void close() throws IOException {
+        if (data != null) {
+            data.close();
+            data = null;
+        }
+    }
+
+    /**
+     * Merges a stored segment with sorted entries into the output
+     *
+     * @return the amount of written entries
+     */
+    private int merge(FileChannel source, Segment segment, EntrySource addedEntries, FileChannel out)
+            throws IOException {
+        int storedCount = segment == null ? 0 : segment.count;
+        IHighscoreEntry nextAdded = addedEntries.next();
+        if (nextAdded == null) {
+            // Nothing to merge, the segment is copied as it is
+            long position = segment == null ? 0 : segment.offset;
+            long remaining = (long) storedCount * RECORD_SIZE;
+            while (remaining > 0) {
+                long transferred = source.transferTo(position, remaining, out);
+                position += transferred;
+                remaining -= transferred;
+            }
+
+            return storedCount;
+        }
+
+        ByteBuffer in = ByteBuffer.allocate(MERGE_BATCH * RECORD_SIZE);
+        in.flip();
+        ByteBuffer outBuffer = ByteBuffer.allocate(MERGE_BATCH * RECORD_SIZE);
+        int stored = 0;
+        int written = 0;
+
+        while (stored < storedCount || nextAdded != null) {
+            if (!in.hasRemaining() && stored < storedCount) {
+                in.clear();
+                in.limit(Math.min(MERGE_BATCH, storedCount - stored) * RECORD_SIZE);
+                readFully(source, in, segment.offset + (long) stored * RECORD_SIZE);
+                in.flip();
+            }
+
+            // Stored entries are older, so they stay in front of added entries with the same points
+            boolean takeStored = stored < storedCount && (nextAdded == null
+                    || pointsAt(in, in.position()) >= nextAdded.getPoints());
+            if (takeStored) {
+                int end = in.position() + RECORD_SIZE;
+                ByteBuffer record = in.duplicate();
+                record.limit(end);
+                outBuffer.put(record);
+                in.position(end);
+                stored++;
+            } else {
+                writeRecord(outBuffer, nextAdded);
+                nextAdded = addedEntries.next();
+            }
+
+            written++;
+            if (!outBuffer.hasRemaining()) {
+                flush(outBuffer, out);
+            }
+        }
+
+        flush(outBuffer, out);
+        return written;
+    }
+
+    /**
+     * Merges two sorted sources, the first one stays in front on the same points
+     */
+    private static EntrySource merge(EntrySource first, EntrySource second) throws IOException {
+        IHighscoreEntry[] heads = {first.next(), second.next()};
+        return () -> {
+            IHighscoreEntry next;
+            if (heads[1] == null || (heads[0] != null && heads[0].getPoints() >= heads[1].getPoints())) {
+                next = heads[0];
+                heads[0] = next == null ? null : first.next();
+            } else {
+                next = heads[1];
+                heads[1] = second.next();
+            }
+
+            return next;
+        };
+    }
+
+    private static EntrySource fileSource(HighScoreFileReader reader) {
+        return () -> {
+            try {
+                return reader.next();
+            } catch (IllegalHighscoreFormat e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+    }
+
+    private void writeIndex(long snapshotGeneration, Map<LeaderboardKey, Segment> written) throws IOException {
+        Path tempFile = indexFile.resolveSibling(indexFile.getFileName() + TEMP_EXT);
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream stream = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(INDEX_VERSION);
+            out.writeLong(snapshotGeneration);
+            out.writeInt(written.size());
+            for (Map.Entry<LeaderboardKey, Segment> board : written.entrySet()) {
+                LeaderboardKey key = board.getKey();
+                out.writeInt(key.getMapId());
+                out.writeBoolean(key.isMultiplayer());
+                out.writeUTF(key.getPeriod() == null ? "" : key.getPeriod());
+                out.writeLong(board.getValue().offset);
+                out.writeInt(board.getValue().count);
+            }
+
+            out.flush();
+            channel.force(true);
+        }
+
+        // Either the old or the new index is visible, never a partially written one
+        Files.move(tempFile, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void deleteDataFiles(long keptGeneration, long openGeneration) throws IOException {
+        List<Path> stale = new ArrayList<>();
+        try (Stream<Path> files = Files.list(prefix.getParent())) {
+            files.forEach(file -> {
+                Matcher matcher = dataPattern.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    long fileGeneration = Long.parseLong(matcher.group(1));
+                    if (fileGeneration != keptGeneration && fileGeneration != openGeneration)
+                        stale.add(file);
+                }
+            });
+        }
+
+        for (Path file : stale)
+            Files.deleteIfExists(file);
+    }
+
+    private Segment getSegment(LeaderboardKey key, int position) {
+        Segment segment = segments.get(key);
+        if (segment == null || position < 0 || position >= segment.count)
+            throw new IndexOutOfBoundsException("Position " + position + " of " + count(key) + " entries of " + key);
+
+        return segment;
+    }
+
+    private double readPoints(Segment segment, int position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + Float.BYTES);
+        readFully(buffer, segment.offset + (long) position * RECORD_SIZE + NAME_BYTES);
+        return HighScoreEntry.computePoints(buffer.getInt(0), buffer.getFloat(Integer.BYTES));
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        readFully(data, buffer, position);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0)
+                throw new IOException("Unexpected end of the leaderboard data file");
+
+            position += read;
+        }
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            out.write(buffer);
+
+        buffer.clear();
+    }
+
+    private static double pointsAt(ByteBuffer buffer, int recordPosition) {
+        return HighScoreEntry.computePoints(buffer.getInt(recordPosition + NAME_BYTES),
+                buffer.getFloat(recordPosition + NAME_BYTES + Integer.BYTES));
+    }
+
+    private static IHighscoreEntry readRecord(ByteBuffer buffer) {
+        byte[] name = new byte[NAME_BYTES];
+        buffer.get(name);
+        int length = 0;
+        while (length < NAME_BYTES && name[length] != 0)
+            length++;
+
+        return new HighScoreEntry(new String(name, 0, length, StandardCharsets.UTF_8), buffer.getInt(), buffer.getFloat());
+    }
+
+    private static void writeRecord(ByteBuffer buffer, IHighscoreEntry entry) {
+        byte[] name = entry.getPlayerName().getBytes(StandardCharsets.UTF_8);
+        int length = storedNameLength(name);
+        buffer.put(name, 0, length);
+        for (int i = length; i < NAME_BYTES; i++)
+            buffer.put((byte) 0);
+
+        buffer.putInt(entry.getNumberOfDestroyedBlocks());
+        buffer.putFloat(entry.getElapsedTime());
+    }
+
+    /**
+     * @return the amount of bytes of the name that fit into a record, without cutting a character in half
+     */
+    private static int storedNameLength(byte[] name) {
+        int length = Math.min(name.length, NAME_BYTES);
+        while (length < name.length && length > 0 && (name[length] & 0xC0) == 0x80)
+            length--;
+
+        return length;
+    }
+
+    private Path getDataFile(long dataGeneration) {
+        return prefix.resolveSibling(prefix.getFileName() + "." + dataGeneration + DATA_EXT);
+    }
+}
@@ -0,0 +1,184 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Runs all file writes of the game (i.e. highscores and recorded replays) on a single background thread, so the
+ * game loop never waits for the disk.
+ * <p>
+ * Tasks submitted with the same key are coalesced: while a task waits for the thread, submitting another one with
+ * the same key replaces it, so a burst of saves results in a single write of the latest state. Tasks run in the order
+ * they have been submitted first.
+ * <p>
+ * Failures are collected by the background thread and handed to their handlers on the game thread by
+ * {@link #dispatchFailures()}.
+ */
+public class PersistenceWorker {
+
+    /**
+     * A write to the disk
+     */
+    @FunctionalInterface
+    public interface Task {
+        void run() throws IOException;
+    }
+
+    private static final class Failure {
+        private final IOException exception;
+        private final Consumer<IOException> handler;
+
+        private Failure(IOException exception, Consumer<IOException> handler) {
+            this.exception = exception;
+            this.handler = handler;
+        }
+    }
+
+    private static final class Pending {
+        private final Task task;
+        private final Consumer<IOException> failureHandler;
+
+        private Pending(Task task, Consumer<IOException> failureHandler) {
+            this.task = task;
+            this.failureHandler = failureHandler;
+        }
+    }
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Persistence");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The latest task per key that hasn't been started yet
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Queue<Failure> failures = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Runs the task in the background. If a task with the same key is still waiting, it's replaced by this one.
+     *
+     * @param key            identifies the saved state, i.e. the file
+     * @param task           writes the latest state
+     * @param failureHandler called on the game thread if the task fails
+     */
+    public void submit(String key, Task task, Consumer<IOException> failureHandler) {
+        // Only the first waiting task of a key has to be scheduled, the others just replace it
+        if (pending.put(key, new Pending(task, failureHandler)) != null)
+            return;
+
+        try {
+            executor.execute(() -> {
+                Pending latest = pending.remove(key);
+                if (latest != null)
+                    run(latest.task, latest.failureHandler);
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(key);
+            logger.error("Dropped the save of {}, the persistence worker has been shut down", key);
+        }
+    }
+
+    /**
+     * Runs the task in the background without coalescing it with other tasks
+     *
+     * @param task           the write
+     * @param failureHandler called on the game thread if the task fails, may be null if the caller checks the result
+     * @return the pending task, it fails with the thrown exception. Runtime exceptions are logged as well.
+     */
+    public Future<?> execute(Task task, Consumer<IOException> failureHandler) {
+        return executor.submit(() -> {
+            try {
+                task.run();
+            } catch (IOException e) {
+                if (failureHandler != null)
+                    failures.add(new Failure(e, failureHandler));
+                throw e;
+            } catch (RuntimeException e) {
+                // Callers often ignore the returned future, so the exception wouldn't show up anywhere else
+                logger.error("A persistence task failed", e);
+                throw e;
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Hands the failures of the background tasks to their handlers. Has to be called by the game thread.
+     */
+    public void dispatchFailures() {
+        Failure failure;
+        while ((failure = failures.poll()) != null)
+            failure.handler.accept(failure.exception);
+    }
+
+    /**
+     * Waits until all tasks submitted so far have been run, but not longer than the timeout. Must not be called by
+     * the game loop.
+     *
+     * @param timeout the maximum time to wait in milliseconds
+     * @return true if all tasks have been run
+     */
+    public boolean flush(long timeout) {
+        try {
+            // Tasks run in order, so an empty task waits for all of them
+            executor.submit(() -> {
+            }).get(timeout, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | RejectedExecutionException e) {
+            // Not thrown by an empty task or the worker is busy or has been shut down
+        }
+
+        return false;
+    }
+
+    /**
+     * Runs the waiting tasks and stops the background thread, but doesn't wait longer than the timeout. Failures
+     * are handed to their handlers on the calling thread.
+     *
+     * @param timeout the maximum time to wait in milliseconds
+     * @return true if all tasks have been run
+     */
+    public boolean shutdown(long timeout) {
+        executor.shutdown();
+        boolean finished = false;
+        try {
+            finished = executor.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!finished)
+            logger.error("The persistence worker didn't finish within {} ms, the last saves may be lost", timeout);
+
+        dispatchFailures();
+        return finished;
+    }
+
+    private void run(Task task, Consumer<IOException> failureHandler) {
+        try {
+            task.run();
+        } catch (IOException e) {
+            failures.add(new Failure(e, failureHandler));
+        } catch (RuntimeException e) {
+            logger.error("A persistence task failed", e);
+        }
+    }
+}
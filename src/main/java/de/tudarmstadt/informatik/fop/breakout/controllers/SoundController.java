@@ -19,10 +19,33 @@ public class SoundController implements AutoCloseable {
     private final Logger logger = LogManager.getLogger();
     private final SoundStore soundStore = SoundStore.get();
     private final EnumMap<SoundType, Audio> loadedSound = new EnumMap<>(SoundType.class);
+    private final boolean enabled;
+    private final FrameProfiler profiler;
+    private final FrameProfiler.Section effectSection;
 
     public SoundController() {
+        this(true);
+    }
+
+    /**
+     * @param enabled false if no sound system should been used at all (i.e. in headless mode without OpenAL)
+     */
+    public SoundController(boolean enabled) {
+        this(enabled, new FrameProfiler());
+    }
+
+    /**
+     * @param enabled  false if no sound system should been used at all (i.e. in headless mode without OpenAL)
+     * @param profiler the profiler measuring how long playing the sound effects takes
+     */
+    public SoundController(boolean enabled, FrameProfiler profiler) {
+        this.enabled = enabled;
+        this.profiler = profiler;
+        this.effectSection = profiler.section("sound effects");
+
         //load sound drivers
-        soundStore.init();
+        if (enabled)
+            soundStore.init();
     }
 
     /**
@@ -32,12 +55,21 @@ public class SoundController implements AutoCloseable {
         return soundStore;
     }
 
+    /**
+     * @return the amount of sounds cached in memory
+     */
+    public int getLoadedSoundCount() {
+        return loadedSound.size();
+    }
+
     /**
      * Loads the sound file from disk and caches it into memory
      *
      * @param types a list of all sounds that should be loaded
      */
     public void load(SoundType... types) {
+        if (!enabled) return;
+
         if (!soundStore.soundWorks()) {
             logger.warn("Failed to connect to the sound system");
         }
@@ -59,6 +91,8 @@ public class SoundController implements AutoCloseable {
      * @param type the sound type that should be played
      */
     public void playEffect(SoundType type) {
+        if (!enabled) return;
+
         Audio audio = loadedSound.get(type);
         if (audio == null) {
             logger.warn("Sound file {} isn't loaded and cannot be played now", type.name());
@@ -66,7 +100,9 @@ public class SoundController implements AutoCloseable {
         }
 
         logger.info("Playing sound effect {}", type.name());
+        long start = profiler.start();
         audio.playAsSoundEffect(1f, 1f, false);
+        profiler.stop(effectSection, start);
     }
 
     /**
@@ -75,6 +111,8 @@ public class SoundController implements AutoCloseable {
      * @param type the sound type that should be played as a loop
      */
     public void playMusic(SoundType type) {
+        if (!enabled) return;
+
         Audio audio = loadedSound.get(type);
         if (audio == null) {
             logger.warn("Sound file {} isn't loaded and cannot be played now", type.name());
@@ -94,11 +132,15 @@ public class SoundController implements AutoCloseable {
      * @param pitch The pitch at which the current music is being played
      */
     public void setMusicPitch(float pitch) {
+        if (!enabled) return;
+
         soundStore.setMusicPitch(pitch);
     }
 
     @Override
     public void close() {
+        if (!enabled) return;
+
         logger.debug("Cleaning up sound resources");
 
         //stop the music in order to release the native data
@@ -2,14 +2,33 @@ package de.tudarmstadt.informatik.fop.breakout.controllers;
 
 import java.util.function.Consumer;
 
+/**
+ * A callback which will be called after the given game time. The timeout can also be used as handle to cancel it.
+ */
 public class Timeout {
     private float wakeupTime = 0;
     private final float timeoutTime;
     private final Consumer<Integer> callback;
+    private final boolean repeating;
+    private boolean cancelled = false;
 
     public Timeout(float timeoutTime, Consumer<Integer> callback) {
+        this(timeoutTime, callback, false);
+    }
+
+    /**
+     * @param timeoutTime the game time in seconds until the callback is called
+     * @param callback    receives the (truncated) game time the timeout woke up at
+     * @param repeating   true if the callback should be called every timeoutTime seconds until it is cancelled
+     * @throws IllegalArgumentException if a repeating timeout has no positive interval
+     */
+    public Timeout(float timeoutTime, Consumer<Integer> callback, boolean repeating) {
+        if (repeating && !(timeoutTime > 0))
+            throw new IllegalArgumentException("The interval of a repeating timeout has to be positive: " + timeoutTime);
+
         this.timeoutTime = timeoutTime;
         this.callback = callback;
+        this.repeating = repeating;
     }
 
     public Consumer<Integer> getCallback() {
@@ -20,7 +39,26 @@ public class Timeout {
         return wakeupTime;
     }
 
+    public float getTimeoutTime() {
+        return timeoutTime;
+    }
+
     public void setStartedAt(float startedAt) {
         wakeupTime = startedAt + timeoutTime;
     }
+
+    public boolean isRepeating() {
+        return repeating;
+    }
+
+    /**
+     * Prevents all further calls of the callback
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
 }
@@ -6,9 +6,10 @@ import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.models.game.BallModel;
 
 import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
+import de.tudarmstadt.informatik.fop.breakout.ui.Breakout;
+import de.tudarmstadt.informatik.fop.breakout.events.GridCollisionEvent;
 import eea.engine.component.Component;
 
-import eea.engine.event.basicevents.CollisionEvent;
 import eea.engine.event.basicevents.LeavingScreenEvent;
 import org.newdawn.slick.GameContainer;
 import org.newdawn.slick.geom.Vector2f;
@@ -17,6 +18,7 @@ import org.newdawn.slick.state.StateBasedGame;
 public class BallController extends Component {
 
     private boolean secondPlayer;
+    private BallCollideAction ballCollideAction;
 
     public BallController(String componentID) {
         super(componentID);
@@ -27,6 +29,14 @@ public class BallController extends Component {
         return (BallModel) super.getOwnerEntity();
     }
 
+    /**
+     * Places the ball at the start position of its player. The collision and leave screen events are only added once,
+     * so this is called again for pooled balls.
+     *
+     * @param gameContainer the game container
+     * @param game          the game instance
+     * @param secondPlayer  true if the ball starts at the stick of the second player
+     */
     public void init(GameContainer gameContainer, StateBasedGame game, boolean secondPlayer) {
         this.secondPlayer = secondPlayer;
 
@@ -35,8 +45,14 @@ public class BallController extends Component {
         // Reset position & velocity
         reset(gameContainer, game);
 
-        CollisionEvent collisionEvent = new CollisionEvent();
-        collisionEvent.addAction(new BallCollideAction(ball));
+        if (ballCollideAction != null)
+            return;
+
+        // Only test against the entities in the overlapped cells of the broad phase
+        GameplayState gameplayState = (GameplayState) game.getState(GameParameters.GAMEPLAY_STATE);
+        GridCollisionEvent collisionEvent = new GridCollisionEvent(gameplayState.getCollisionGrid());
+        ballCollideAction = new BallCollideAction(ball, (Breakout) game);
+        collisionEvent.addAction(ballCollideAction);
 
         // Add leave screen event
         LeavingScreenEvent leavingScreenEvent = new LeavingScreenEvent();
@@ -55,13 +71,12 @@ public class BallController extends Component {
         if (!gameplayState.isMultiplayer()) {
             double pixelPerMeter = gameContainer.getHeight() / GameParameters.MAP_REAL_HEIGHT;
             double gravityVelocity = GameParameters.MAP_GRAVITY * pixelPerMeter * (delta / 1000D) * gameplayState.getGameSpeedFactor();
-            ball.getVelocity().add(new Vector2f(0, (float) gravityVelocity));
+            Vector2f velocity = ball.getVelocity();
+            velocity.set(velocity.x, velocity.y + (float) gravityVelocity);
         }
 
-        // Update ball position
-        Vector2f oldPosition = ball.getPosition();
-        Vector2f newPosition = oldPosition.add(ball.getVelocity().copy().scale(gameplayState.getGameSpeedFactor()).scale(delta));
-        ball.setPosition(newPosition);
+        // Update ball position (sweeps against the broad phase and bounces off everything on the way)
+        ballCollideAction.move((Breakout) stateBasedGame, gameplayState.getGameSpeedFactor() * delta);
     }
 
     public void reset(GameContainer gameContainer, StateBasedGame stateBasedGame) {
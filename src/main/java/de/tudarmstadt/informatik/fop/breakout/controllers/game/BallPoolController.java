@@ -0,0 +1,479 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers.game;
+
+import de.tudarmstadt.informatik.fop.breakout.actions.game.BallCollideAction;
+import de.tudarmstadt.informatik.fop.breakout.actions.game.BlockCollideAction;
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.jfr.BallCollisionEvent;
+import de.tudarmstadt.informatik.fop.breakout.models.Direction;
+import de.tudarmstadt.informatik.fop.breakout.models.SoundType;
+import de.tudarmstadt.informatik.fop.breakout.models.game.BallPool;
+import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
+import de.tudarmstadt.informatik.fop.breakout.models.game.StickModel;
+import de.tudarmstadt.informatik.fop.breakout.models.game.blocks.AbstractBlockModel;
+import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
+import de.tudarmstadt.informatik.fop.breakout.ui.Breakout;
+import de.tudarmstadt.informatik.fop.breakout.util.SweptCollision;
+import eea.engine.entity.Entity;
+import org.newdawn.slick.geom.Vector2f;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Moves all balls of a {@link BallPool} and handles their collisions in a single loop per tick.
+ * <p>
+ * The pooled balls behave like the ball entities (gravity in singleplayer, swept movement against the collision grid,
+ * stick bumps, speedup, smash mode), but aren't entities themselves. A pooled ball leaving the screen is simply
+ * removed, the players don't lose any health points for it.
+ * <p>
+ * With many balls the tick is split into two phases:
+ * <ol>
+ * <li>Speculation: the balls are partitioned by the grid cell they are in and moved in parallel on a
+ * {@link ForkJoinPool}. The grid is only read and the new state as well as every stick or border contact is written
+ * into buffers. A ball whose next contact is a block stops speculating, because the hit changes the world.</li>
+ * <li>Merge: the balls are processed in slot order on the game thread, exactly like the serial loop. Speculated balls
+ * take their buffered state and the contacts are applied (sounds, stick thrust, flight recorder events). Balls that
+ * hit a block are simulated serially at this point, so block damage, scores and item drops happen in the same order
+ * as without threads.</li>
+ * </ol>
+ * Blocks are only removed from the grid during the merge. A removed block that wasn't the earliest contact of a
+ * speculated ball doesn't change its path, so the result is identical to the serial loop.
+ */
+public class BallPoolController {
+
+    // Same limits as for the ball entities, see BallCollideAction
+    private static final int MAX_CONTACTS_PER_FRAME = 4;
+    private static final float SKIN = 0.01F;
+
+    // One overlap resolution and the contacts of the movement
+    private static final int MAX_CONTACTS_PER_TICK = MAX_CONTACTS_PER_FRAME + 1;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final BallPool pool;
+    private final Breakout breakout;
+    private final BlockCollideAction blockCollideAction;
+
+    private final Step serialStep = new Step(false);
+    private final ThreadLocal<Step> speculativeSteps = ThreadLocal.withInitial(() -> new Step(true));
+
+    private ForkJoinPool forkJoinPool;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    // Results of the speculation, indexed by ball slot
+    private float[] resultX = new float[0], resultY = new float[0], resultVelocityX = new float[0], resultVelocityY = new float[0];
+    private int[] resultOwner = new int[0];
+    private boolean[] deferred = new boolean[0];
+    private Entity[] contactEntities = new Entity[0];
+    private byte[] contactDirections = new byte[0];
+    private int[] contactCounts = new int[0];
+
+    // Ball slots ordered by grid cell, so every task works on neighbouring balls
+    private int[] partitionOrder = new int[0];
+    private int[] cellStarts = new int[0];
+
+    // Constant for the current tick, read by the speculating threads
+    private GameplayState state;
+    private float gravity;
+    private float timeScale;
+
+    public BallPoolController(BallPool pool, Breakout breakout) {
+        this.pool = pool;
+        this.breakout = breakout;
+        this.blockCollideAction = new BlockCollideAction(breakout);
+    }
+
+    /**
+     * Sets the amount of threads speculating the ball movement
+     *
+     * @param parallelism the amount of threads, 1 simulates all balls on the game thread
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdown();
+            forkJoinPool = null;
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Updates all balls of the pool by one tick
+     *
+     * @param width  the width of the screen
+     * @param height the height of the screen
+     * @param delta  the tick length in milliseconds
+     */
+    public void update(int width, int height, int delta) {
+        if (pool.size() == 0) return;
+
+        state = (GameplayState) breakout.getState(GameParameters.GAMEPLAY_STATE);
+        timeScale = state.getGameSpeedFactor() * delta;
+
+        // Add gravity to the ball velocity (only singleplayer)
+        gravity = 0;
+        if (!state.isMultiplayer()) {
+            double pixelPerMeter = height / GameParameters.MAP_REAL_HEIGHT;
+            gravity = (float) (GameParameters.MAP_GRAVITY * pixelPerMeter * (delta / 1000D) * state.getGameSpeedFactor());
+        }
+
+        boolean parallel = parallelism > 1 && pool.size() >= GameParameters.BALL_POOL_PARALLEL_THRESHOLD;
+        if (parallel)
+            speculate();
+
+        MapController mapController = state.getMapController();
+        int slotCount = pool.getSlotCount();
+        for (int i = 0; i < slotCount; i++) {
+            if (!pool.isAlive(i)) continue;
+
+            if (parallel && !deferred[i])
+                applySpeculation(i);
+            else
+                serialStep.simulate(i);
+
+            // The last block has been destroyed - the balls will be replaced by the next level at the end of the tick
+            if (mapController.isEmpty()) return;
+
+            float x = pool.getX(i), y = pool.getY(i), radius = pool.getRadius(i);
+            if (x + radius < 0 || x - radius > width || y + radius < 0 || y - radius > height)
+                pool.remove(i);
+        }
+    }
+
+    /**
+     * Moves all balls in parallel without changing the pool or the world
+     */
+    private void speculate() {
+        ensureCapacity(pool.getCapacity());
+        int count = partition();
+
+        if (forkJoinPool == null)
+            forkJoinPool = new ForkJoinPool(parallelism);
+
+        forkJoinPool.invoke(new SpeculationTask(0, count));
+    }
+
+    /**
+     * Sorts the alive ball slots by their grid cell (counting sort)
+     *
+     * @return the amount of alive balls
+     */
+    private int partition() {
+        CollisionGrid collisionGrid = state.getCollisionGrid();
+        int cellCount = collisionGrid.getCellCount();
+        if (cellStarts.length != cellCount + 1)
+            cellStarts = new int[cellCount + 1];
+        else
+            Arrays.fill(cellStarts, 0);
+
+        int slotCount = pool.getSlotCount();
+        for (int i = 0; i < slotCount; i++)
+            if (pool.isAlive(i))
+                cellStarts[collisionGrid.getCellIndex(pool.getX(i), pool.getY(i)) + 1]++;
+
+        for (int cell = 0; cell < cellCount; cell++)
+            cellStarts[cell + 1] += cellStarts[cell];
+
+        for (int i = 0; i < slotCount; i++)
+            if (pool.isAlive(i))
+                partitionOrder[cellStarts[collisionGrid.getCellIndex(pool.getX(i), pool.getY(i))]++] = i;
+
+        return cellStarts[cellCount];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (deferred.length >= capacity) return;
+
+        resultX = new float[capacity];
+        resultY = new float[capacity];
+        resultVelocityX = new float[capacity];
+        resultVelocityY = new float[capacity];
+        resultOwner = new int[capacity];
+        deferred = new boolean[capacity];
+        contactEntities = new Entity[capacity * MAX_CONTACTS_PER_TICK];
+        contactDirections = new byte[capacity * MAX_CONTACTS_PER_TICK];
+        contactCounts = new int[capacity];
+        partitionOrder = new int[capacity];
+    }
+
+    /**
+     * Takes over the speculated state of the ball and applies the side effects of its contacts in their order
+     */
+    private void applySpeculation(int ball) {
+        pool.setPosition(ball, resultX[ball], resultY[ball]);
+        pool.setVelocity(ball, resultVelocityX[ball], resultVelocityY[ball]);
+        pool.setOwner(ball, resultOwner[ball]);
+
+        int offset = ball * MAX_CONTACTS_PER_TICK;
+        for (int contact = 0; contact < contactCounts[ball]; contact++) {
+            Entity entity = contactEntities[offset + contact];
+            contactEntities[offset + contact] = null;
+
+            if (entity instanceof StickModel)
+                hitStick((StickModel) entity);
+
+            commitEvent(ball, entity, DIRECTIONS[contactDirections[offset + contact]]);
+        }
+    }
+
+    private void hitStick(StickModel stick) {
+        breakout.getSoundController().playEffect(SoundType.STICK_HIT);
+        stick.setThrust(true);
+    }
+
+    private void commitEvent(int ball, Entity collidedEntity, Direction direction) {
+        BallCollisionEvent event = new BallCollisionEvent();
+        if (event.shouldCommit()) {
+            event.ballId = GameParameters.BALL_POOL_ID + "_" + ball;
+            event.entityId = collidedEntity.getID();
+            event.entityType = collidedEntity.getClass().getSimpleName();
+            event.direction = direction.name();
+            event.smashMode = pool.isSmashMode(ball);
+            event.commit();
+        }
+    }
+
+    /**
+     * Speculates the balls of a range of the partition order, splits the range while it is larger than a partition
+     */
+    private class SpeculationTask extends RecursiveAction {
+
+        private final int from, to;
+
+        private SpeculationTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GameParameters.BALL_POOL_PARTITION_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SpeculationTask(from, middle), new SpeculationTask(middle, to));
+                return;
+            }
+
+            Step step = speculativeSteps.get();
+            for (int i = from; i < to; i++)
+                step.simulate(partitionOrder[i]);
+        }
+    }
+
+    /**
+     * Moves a single ball by one tick. The serial step works on the pool and applies all side effects immediately, a
+     * speculative step only writes into the result buffers and stops at the first block.
+     */
+    private class Step {
+
+        private final boolean speculative;
+
+        // Reused for every ball to keep the loop allocation free
+        private final List<Entity> candidates = new ArrayList<>();
+        private final float[] normal = new float[2];
+        private final float[] contactNormal = new float[2];
+        private final float[] velocity = new float[2];
+
+        private int ball;
+        private float x, y, velocityX, velocityY, radius;
+        private int owner;
+        private boolean smashMode;
+        private int contactCount;
+        private boolean blocked;
+
+        private Step(boolean speculative) {
+            this.speculative = speculative;
+        }
+
+        private void simulate(int ball) {
+            this.ball = ball;
+            x = pool.getX(ball);
+            y = pool.getY(ball);
+            velocityX = pool.getVelocityX(ball);
+            velocityY = pool.getVelocityY(ball) + gravity;
+            radius = pool.getRadius(ball);
+            owner = pool.getOwner(ball);
+            smashMode = pool.isSmashMode(ball);
+            contactCount = 0;
+            blocked = false;
+
+            if (resolveOverlap())
+                move();
+
+            if (!speculative) {
+                pool.setPosition(ball, x, y);
+                pool.setVelocity(ball, velocityX, velocityY);
+                pool.setOwner(ball, owner);
+            } else if (blocked) {
+                deferred[ball] = true;
+                clearContacts();
+            } else {
+                deferred[ball] = false;
+                resultX[ball] = x;
+                resultY[ball] = y;
+                resultVelocityX[ball] = velocityX;
+                resultVelocityY[ball] = velocityY;
+                resultOwner[ball] = owner;
+                contactCounts[ball] = contactCount;
+            }
+        }
+
+        /**
+         * Pushes the ball out of an entity that has been moved into it (i.e. a stick or ram block)
+         *
+         * @return false if the speculation has to be stopped
+         */
+        private boolean resolveOverlap() {
+            state.getCollisionGrid().collect(x - radius, y - radius, x + radius, y + radius, candidates);
+
+            for (int i = 0; i < candidates.size(); i++) {
+                Entity candidate = candidates.get(i);
+                if (candidate.isPassable()) continue;
+
+                Vector2f position = candidate.getPosition();
+                Vector2f size = candidate.getSize();
+                float depth = SweptCollision.penetration(x, y, radius,
+                        position.x - size.x / 2, position.y - size.y / 2,
+                        position.x + size.x / 2, position.y + size.y / 2, normal);
+
+                if (depth <= 0) continue;
+
+                // A block may be damaged or destroyed, which only the serial step is allowed to do
+                if (speculative && candidate instanceof AbstractBlockModel) {
+                    blocked = true;
+                    return false;
+                }
+
+                x += normal[0] * (depth + SKIN);
+                y += normal[1] * (depth + SKIN);
+
+                // Only bounce off if the ball is still moving towards the entity
+                if (velocityX * normal[0] + velocityY * normal[1] < 0)
+                    handleCollision(candidate, normal[0], normal[1]);
+
+                return true;
+            }
+
+            return true;
+        }
+
+        /**
+         * Moves the ball by its velocity and handles all collisions on the way in the order they occur
+         */
+        private void move() {
+            CollisionGrid collisionGrid = state.getCollisionGrid();
+            float remaining = 1;
+
+            for (int contact = 0; contact < MAX_CONTACTS_PER_FRAME; contact++) {
+                float dx = velocityX * timeScale * remaining;
+                float dy = velocityY * timeScale * remaining;
+
+                collisionGrid.collect(Math.min(x, x + dx) - radius, Math.min(y, y + dy) - radius,
+                        Math.max(x, x + dx) + radius, Math.max(y, y + dy) + radius, candidates);
+
+                Entity collidedEntity = null;
+                float earliest = Float.POSITIVE_INFINITY;
+
+                for (int i = 0; i < candidates.size(); i++) {
+                    Entity candidate = candidates.get(i);
+                    if (candidate.isPassable()) continue;
+
+                    Vector2f position = candidate.getPosition();
+                    Vector2f size = candidate.getSize();
+                    float t = SweptCollision.timeOfImpact(x, y, dx, dy, radius,
+                            position.x - size.x / 2, position.y - size.y / 2,
+                            position.x + size.x / 2, position.y + size.y / 2, normal);
+
+                    if (t != SweptCollision.NO_HIT && t < earliest) {
+                        earliest = t;
+                        collidedEntity = candidate;
+                        contactNormal[0] = normal[0];
+                        contactNormal[1] = normal[1];
+                    }
+                }
+
+                if (collidedEntity == null) {
+                    x += dx;
+                    y += dy;
+                    return;
+                }
+
+                if (speculative && collidedEntity instanceof AbstractBlockModel) {
+                    blocked = true;
+                    return;
+                }
+
+                x = x + dx * earliest + contactNormal[0] * SKIN;
+                y = y + dy * earliest + contactNormal[1] * SKIN;
+                remaining *= 1 - earliest;
+
+                handleCollision(collidedEntity, contactNormal[0], contactNormal[1]);
+
+                if (!speculative && state.getMapController().isEmpty()) return;
+            }
+        }
+
+        /**
+         * Triggers the entity specific actions and reflects the ball velocity at the contact normal
+         */
+        private void handleCollision(Entity collidedEntity, float normalX, float normalY) {
+            if (collidedEntity instanceof StickModel) {
+                StickModel stick = (StickModel) collidedEntity;
+                if (!speculative)
+                    hitStick(stick);
+
+                owner = stick.getOwner().isSecondPlayer() ? 1 : 0;
+            } else if (collidedEntity instanceof AbstractBlockModel) {
+                PlayerModel[] players = state.getPlayers();
+                blockCollideAction.onCollision((AbstractBlockModel) collidedEntity, 1, smashMode,
+                        players[Math.min(owner, players.length - 1)]);
+            }
+
+            velocity[0] = velocityX;
+            velocity[1] = velocityY;
+
+            // Corner hits are assigned to the dominant axis
+            Direction direction = (Math.abs(normalY) >= Math.abs(normalX))
+                    ? ((normalY < 0) ? Direction.UP : Direction.DOWN)
+                    : ((normalX < 0) ? Direction.LEFT : Direction.RIGHT);
+
+            // Balls in smash mode don't bounce off blocks
+            if (!smashMode || !(collidedEntity instanceof AbstractBlockModel)) {
+                float dot = velocity[0] * normalX + velocity[1] * normalY;
+                velocity[0] -= 2 * dot * normalX;
+                velocity[1] -= 2 * dot * normalY;
+
+                if (collidedEntity instanceof StickModel && (direction == Direction.UP || direction == Direction.DOWN))
+                    BallCollideAction.applyStickBumpVelocity((StickModel) collidedEntity, x, velocity);
+            }
+
+            // Increase the ball speed on every hit
+            float length = (float) Math.sqrt(velocity[0] * velocity[0] + velocity[1] * velocity[1]);
+            if (length > 0) {
+                velocity[0] += velocity[0] / length * GameParameters.SPEEDUP_VALUE;
+                velocity[1] += velocity[1] / length * GameParameters.SPEEDUP_VALUE;
+            }
+
+            velocityX = velocity[0];
+            velocityY = velocity[1];
+
+            if (!speculative) {
+                commitEvent(ball, collidedEntity, direction);
+            } else {
+                int index = ball * MAX_CONTACTS_PER_TICK + contactCount++;
+                contactEntities[index] = collidedEntity;
+                contactDirections[index] = (byte) direction.ordinal();
+            }
+        }
+
+        private void clearContacts() {
+            int offset = ball * MAX_CONTACTS_PER_TICK;
+            Arrays.fill(contactEntities, offset, offset + contactCount, null);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package de.tudarmstadt.informatik.fop.breakout.controllers.game;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.controllers.Timeout;
+import de.tudarmstadt.informatik.fop.breakout.jfr.TimeoutFiredEvent;
 import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 import org.newdawn.slick.GameContainer;
 import org.newdawn.slick.geom.Vector2f;
@@ -9,13 +10,21 @@ import org.newdawn.slick.state.StateBasedGame;
 import de.tudarmstadt.informatik.fop.breakout.models.game.ClockModel;
 import eea.engine.component.Component;
 
-import java.util.ArrayList;
+import java.util.PriorityQueue;
 
+/**
+ * Measures the game time and schedules the timeouts.
+ * <p>
+ * The game time stops while the game is paused and runs slower or faster with the game speed. All timeouts due within
+ * a tick are called in the same tick, ordered by their wakeup time and (for equal wakeup times) the order they were
+ * added in.
+ */
 public class ClockController extends Component {
 
     private ClockModel clock;
 
-    private ArrayList<Timeout> timeouts = new ArrayList<>();
+    private final PriorityQueue<ScheduledTimeout> timeouts = new PriorityQueue<>();
+    private long sequence = 0;
 
     public ClockController(String componentID) {
         super(componentID);
@@ -41,16 +50,76 @@ public class ClockController extends Component {
             GameplayState gameplayState = (GameplayState) stateBasedGame.getState(GameParameters.GAMEPLAY_STATE);
             clock.addSeconds(delta * gameplayState.getGameSpeedFactor() / 1000F);
 
-            if (!timeouts.isEmpty() && (timeouts.get(0).getWakeupTime() <= clock.getSeconds())) {
-                timeouts.get(0).getCallback().accept((int) timeouts.get(0).getWakeupTime());
-                timeouts.remove(0);
+            float now = clock.getSeconds();
+            while (!timeouts.isEmpty() && timeouts.peek().wakeupTime <= now) {
+                ScheduledTimeout scheduled = timeouts.poll();
+                Timeout timeout = scheduled.timeout;
+                if (timeout.isCancelled()) continue;
+
+                TimeoutFiredEvent event = new TimeoutFiredEvent();
+                event.begin();
+
+                timeout.getCallback().accept((int) scheduled.wakeupTime);
+
+                event.end();
+                if (event.shouldCommit()) {
+                    event.wakeupTime = scheduled.wakeupTime;
+                    event.delay = now - scheduled.wakeupTime;
+                    event.repeating = timeout.isRepeating();
+                    event.commit();
+                }
+
+                // Repeating timeouts are rescheduled relative to their planned wakeup time, so they don't drift
+                if (timeout.isRepeating() && !timeout.isCancelled()) {
+                    timeout.setStartedAt(scheduled.wakeupTime);
+                    schedule(timeout);
+                }
             }
         }
     }
 
-    public void addTimeout(Timeout timeout) {
+    /**
+     * Schedules the given timeout relative to the current game time
+     *
+     * @param timeout the timeout that should been scheduled
+     * @return the given timeout, which can be used to cancel it
+     */
+    public Timeout addTimeout(Timeout timeout) {
         timeout.setStartedAt(clock.getSeconds());
-        timeouts.add(timeout);
-        timeouts.sort(((o1, o2) -> (o1.getWakeupTime() > o2.getWakeupTime()) ? 1 : -1));
+        schedule(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return the amount of scheduled timeouts (including cancelled ones which haven't been due yet)
+     */
+    public int getTimeoutCount() {
+        return timeouts.size();
+    }
+
+    private void schedule(Timeout timeout) {
+        timeouts.add(new ScheduledTimeout(timeout, timeout.getWakeupTime(), sequence++));
+    }
+
+    /**
+     * A single wakeup of a timeout within the queue
+     */
+    private static class ScheduledTimeout implements Comparable<ScheduledTimeout> {
+
+        private final Timeout timeout;
+        private final float wakeupTime;
+        private final long sequence;
+
+        private ScheduledTimeout(Timeout timeout, float wakeupTime, long sequence) {
+            this.timeout = timeout;
+            this.wakeupTime = wakeupTime;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(ScheduledTimeout other) {
+            int result = Float.compare(wakeupTime, other.wakeupTime);
+            return (result != 0) ? result : Long.compare(sequence, other.sequence);
+        }
     }
 }
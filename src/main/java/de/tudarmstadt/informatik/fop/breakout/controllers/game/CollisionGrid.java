@@ -0,0 +1,304 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers.game;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.models.game.BallModel;
+import eea.engine.entity.Entity;
+import org.newdawn.slick.geom.Vector2f;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Uniform grid broad phase for all non-passable entities (blocks, borders and sticks) of the gameplay state.
+ * <p>
+ * The cells have exactly the size of a single map block, so a moving entity like a ball or an item only has to be
+ * tested against the entities registered in the cells it overlaps instead of against every entity of the state.
+ * Entities that move (sticks and ram blocks) have to call {@link #update(Entity)} after changing their position.
+ */
+public class CollisionGrid {
+
+    private final int columns = (GameParameters.WINDOW_WIDTH + GameParameters.BLOCK_WIDTH - 1) / GameParameters.BLOCK_WIDTH;
+    private final int rows = (GameParameters.WINDOW_HEIGHT + GameParameters.BLOCK_HEIGHT - 1) / GameParameters.BLOCK_HEIGHT;
+
+    private final List<List<Entry>> cells = new ArrayList<>(columns * rows);
+    private final Map<Entity, Entry> entries = new IdentityHashMap<>();
+
+    // Every entity gets an increasing sequence number so the collision result doesn't depend on the cell order
+    private int sequenceCounter = 0;
+    // Used to visit entities spanning multiple cells only once per query
+    private int queryCounter = 0;
+
+    public CollisionGrid() {
+        for (int i = 0; i < columns * rows; i++) {
+            cells.add(new ArrayList<>(2));
+        }
+    }
+
+    /**
+     * Registers a new entity in all cells it overlaps. Entities that are already registered will be ignored.
+     *
+     * @param entity the non-passable entity
+     */
+    public void add(Entity entity) {
+        if (entries.containsKey(entity)) return;
+
+        Entry entry = new Entry(entity, sequenceCounter++);
+        entry.updateBounds();
+        entry.updateCells();
+        entries.put(entity, entry);
+
+        forEachCell(entry, cell -> cell.add(entry));
+    }
+
+    /**
+     * Removes the entity from all cells. Nothing happens if the entity isn't registered.
+     *
+     * @param entity the entity that should be removed
+     */
+    public void remove(Entity entity) {
+        Entry entry = entries.remove(entity);
+        if (entry != null)
+            forEachCell(entry, cell -> cell.remove(entry));
+    }
+
+    /**
+     * Refreshes the bounds of an already registered entity. The cell lists will only be touched if the covered cell
+     * range changed, so this is cheap to call every frame for moving entities.
+     *
+     * @param entity the entity that changed its position or size
+     */
+    public void update(Entity entity) {
+        Entry entry = entries.get(entity);
+        if (entry == null) return;
+
+        entry.updateBounds();
+
+        int minColumn = entry.minColumn, minRow = entry.minRow, maxColumn = entry.maxColumn, maxRow = entry.maxRow;
+        entry.updateCells();
+
+        if (minColumn != entry.minColumn || minRow != entry.minRow || maxColumn != entry.maxColumn || maxRow != entry.maxRow) {
+            for (int row = minRow; row <= maxRow; row++)
+                for (int column = minColumn; column <= maxColumn; column++)
+                    if (!entry.covers(column, row)) getCell(column, row).remove(entry);
+
+            for (int row = entry.minRow; row <= entry.maxRow; row++)
+                for (int column = entry.minColumn; column <= entry.maxColumn; column++)
+                    if (column < minColumn || column > maxColumn || row < minRow || row > maxRow)
+                        getCell(column, row).add(entry);
+        }
+    }
+
+    /**
+     * Removes all registered entities.
+     */
+    public void clear() {
+        entries.clear();
+        cells.forEach(List::clear);
+    }
+
+    /**
+     * Finds the entity the given entity collides with. Only entities in the overlapped cells are tested. If there are
+     * multiple collisions, the earliest registered entity wins.
+     *
+     * @param entity the moving entity (i.e. a ball)
+     * @param filter only entities of this type will be considered
+     * @return the collided entity or null if there is none
+     */
+    public Entity findCollision(Entity entity, Class<? extends Entity> filter) {
+        float minX, minY, maxX, maxY;
+        Vector2f position = entity.getPosition();
+
+        if (entity instanceof BallModel) {
+            float radius = ((BallModel) entity).getRadius();
+            minX = position.getX() - radius;
+            minY = position.getY() - radius;
+            maxX = position.getX() + radius;
+            maxY = position.getY() + radius;
+        } else {
+            Vector2f size = entity.getSize();
+            minX = position.getX() - size.getX() / 2;
+            minY = position.getY() - size.getY() / 2;
+            maxX = position.getX() + size.getX() / 2;
+            maxY = position.getY() + size.getY() / 2;
+        }
+
+        int query = ++queryCounter;
+        Entry result = null;
+
+        for (int row = toRow(minY); row <= toRow(maxY); row++) {
+            for (int column = toColumn(minX); column <= toColumn(maxX); column++) {
+                List<Entry> cell = getCell(column, row);
+                for (int i = 0; i < cell.size(); i++) {
+                    Entry candidate = cell.get(i);
+                    if (candidate.lastQuery == query) continue;
+                    candidate.lastQuery = query;
+
+                    // Cheap bounding box rejection before the exact shape test
+                    if (candidate.entity == entity || (result != null && candidate.sequence > result.sequence)
+                            || candidate.maxX < minX || candidate.minX > maxX
+                            || candidate.maxY < minY || candidate.minY > maxY
+                            || !filter.isInstance(candidate.entity))
+                        continue;
+
+                    if (entity.collides(candidate.entity))
+                        result = candidate;
+                }
+            }
+        }
+
+        return (result == null) ? null : result.entity;
+    }
+
+    /**
+     * Collects all registered entities whose bounding box overlaps the given area. Every entity is only added once,
+     * even if it spans multiple cells. The result list will be cleared first, so callers can reuse it.
+     *
+     * @param minX   the left side of the area
+     * @param minY   the top side of the area
+     * @param maxX   the right side of the area
+     * @param maxY   the bottom side of the area
+     * @param result the list the candidates are written to
+     */
+    public void query(float minX, float minY, float maxX, float maxY, List<Entity> result) {
+        result.clear();
+        int query = ++queryCounter;
+
+        for (int row = toRow(minY); row <= toRow(maxY); row++) {
+            for (int column = toColumn(minX); column <= toColumn(maxX); column++) {
+                List<Entry> cell = getCell(column, row);
+                for (int i = 0; i < cell.size(); i++) {
+                    Entry candidate = cell.get(i);
+                    if (candidate.lastQuery == query) continue;
+                    candidate.lastQuery = query;
+
+                    if (candidate.maxX >= minX && candidate.minX <= maxX
+                            && candidate.maxY >= minY && candidate.minY <= maxY)
+                        result.add(candidate.entity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the same entities in the same order as {@link #query(float, float, float, float, List)}, but doesn't
+     * mark the visited entries. Entities spanning multiple cells are filtered by searching the result instead, so this
+     * may be called from several threads at once as long as the grid isn't modified meanwhile.
+     *
+     * @param minX   the left side of the area
+     * @param minY   the top side of the area
+     * @param maxX   the right side of the area
+     * @param maxY   the bottom side of the area
+     * @param result the list the candidates are written to
+     */
+    public void collect(float minX, float minY, float maxX, float maxY, List<Entity> result) {
+        result.clear();
+
+        for (int row = toRow(minY); row <= toRow(maxY); row++) {
+            for (int column = toColumn(minX); column <= toColumn(maxX); column++) {
+                List<Entry> cell = getCell(column, row);
+                for (int i = 0; i < cell.size(); i++) {
+                    Entry candidate = cell.get(i);
+
+                    if (candidate.maxX >= minX && candidate.minX <= maxX
+                            && candidate.maxY >= minY && candidate.minY <= maxY
+                            && !containsEntity(result, candidate.entity))
+                        result.add(candidate.entity);
+                }
+            }
+        }
+    }
+
+    private static boolean containsEntity(List<Entity> entities, Entity entity) {
+        for (int i = 0; i < entities.size(); i++)
+            if (entities.get(i) == entity) return true;
+
+        return false;
+    }
+
+    /**
+     * @param x the x position
+     * @param y the y position
+     * @return the index of the cell containing the position (row by row), positions outside are clamped
+     */
+    public int getCellIndex(float x, float y) {
+        return toRow(y) * columns + toColumn(x);
+    }
+
+    /**
+     * @return the amount of cells
+     */
+    public int getCellCount() {
+        return columns * rows;
+    }
+
+    /**
+     * @return the amount of currently registered entities
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void forEachCell(Entry entry, Consumer<List<Entry>> consumer) {
+        for (int row = entry.minRow; row <= entry.maxRow; row++)
+            for (int column = entry.minColumn; column <= entry.maxColumn; column++)
+                consumer.accept(getCell(column, row));
+    }
+
+    private List<Entry> getCell(int column, int row) {
+        return cells.get(row * columns + column);
+    }
+
+    private int toColumn(float x) {
+        return clamp((int) Math.floor(x / GameParameters.BLOCK_WIDTH), columns);
+    }
+
+    private int toRow(float y) {
+        return clamp((int) Math.floor(y / GameParameters.BLOCK_HEIGHT), rows);
+    }
+
+    private static int clamp(int index, int count) {
+        return (index < 0) ? 0 : (index >= count) ? count - 1 : index;
+    }
+
+    /**
+     * A registered entity together with its cached bounding box and covered cell range
+     */
+    private class Entry {
+
+        private final Entity entity;
+        private final int sequence;
+
+        private float minX, minY, maxX, maxY;
+        private int minColumn, minRow, maxColumn, maxRow;
+        private int lastQuery;
+
+        private Entry(Entity entity, int sequence) {
+            this.entity = entity;
+            this.sequence = sequence;
+        }
+
+        private void updateBounds() {
+            Vector2f position = entity.getPosition();
+            Vector2f size = entity.getSize();
+
+            minX = position.getX() - size.getX() / 2;
+            minY = position.getY() - size.getY() / 2;
+            maxX = position.getX() + size.getX() / 2;
+            maxY = position.getY() + size.getY() / 2;
+        }
+
+        private void updateCells() {
+            minColumn = toColumn(minX);
+            minRow = toRow(minY);
+            maxColumn = toColumn(maxX);
+            maxRow = toRow(maxY);
+        }
+
+        private boolean covers(int column, int row) {
+            return column >= minColumn && column <= maxColumn && row >= minRow && row <= maxRow;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers.game;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import eea.engine.entity.Entity;
+import org.newdawn.slick.geom.Vector2f;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders entities between their last two simulated positions.
+ * <p>
+ * The position of every entity is captured before each simulation tick. While rendering, the positions are temporarily
+ * moved between the captured and the current position and restored afterwards, so the simulation itself never sees
+ * the interpolated values.
+ */
+public class EntityInterpolator {
+
+    // Entities moving further than this within a single tick have been teleported (i.e. reset) and aren't interpolated
+    private static final float MAX_TICK_DISTANCE = GameParameters.BLOCK_HEIGHT;
+
+    private final Map<Entity, Snapshot> snapshots = new IdentityHashMap<>();
+    private final List<Snapshot> snapshotList = new ArrayList<>();
+
+    private int generation = 0;
+
+    /**
+     * Remembers the current position of all given entities. Should be called right before every simulation tick.
+     *
+     * @param entities all entities of the gameplay state
+     */
+    public void capture(List<Entity> entities) {
+        generation++;
+
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            Snapshot snapshot = snapshots.get(entity);
+
+            if (snapshot == null) {
+                snapshot = new Snapshot(entity);
+                snapshots.put(entity, snapshot);
+                snapshotList.add(snapshot);
+            }
+
+            Vector2f position = entity.getPosition();
+            snapshot.previousX = position.x;
+            snapshot.previousY = position.y;
+            snapshot.generation = generation;
+        }
+
+        // Forget entities that have been removed from the state
+        if (snapshotList.size() > entities.size()) {
+            snapshotList.removeIf(snapshot -> snapshot.generation != generation);
+            snapshots.values().removeIf(snapshot -> snapshot.generation != generation);
+        }
+    }
+
+    /**
+     * Moves all captured entities between their previous and their current position.
+     * {@link #restore()} has to be called after rendering.
+     *
+     * @param alpha the interpolation factor between 0 (previous position) and 1 (current position)
+     */
+    public void apply(float alpha) {
+        for (int i = 0; i < snapshotList.size(); i++) {
+            Snapshot snapshot = snapshotList.get(i);
+            Vector2f position = snapshot.entity.getPosition();
+
+            snapshot.currentX = position.x;
+            snapshot.currentY = position.y;
+
+            float dx = position.x - snapshot.previousX;
+            float dy = position.y - snapshot.previousY;
+            if (Math.abs(dx) + Math.abs(dy) <= MAX_TICK_DISTANCE)
+                position.set(snapshot.previousX + dx * alpha, snapshot.previousY + dy * alpha);
+        }
+    }
+
+    /**
+     * Moves all entities back to their simulated position.
+     */
+    public void restore() {
+        for (int i = 0; i < snapshotList.size(); i++) {
+            Snapshot snapshot = snapshotList.get(i);
+            snapshot.entity.getPosition().set(snapshot.currentX, snapshot.currentY);
+        }
+    }
+
+    /**
+     * Forgets all captured positions, i.e. if a new level has been loaded.
+     */
+    public void clear() {
+        snapshots.clear();
+        snapshotList.clear();
+    }
+
+    /**
+     * The captured and the simulated position of a single entity
+     */
+    private static class Snapshot {
+
+        private final Entity entity;
+
+        private float previousX, previousY;
+        private float currentX, currentY;
+        private int generation;
+
+        private Snapshot(Entity entity) {
+            this.entity = entity;
+        }
+    }
+}
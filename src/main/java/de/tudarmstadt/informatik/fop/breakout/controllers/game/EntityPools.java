@@ -0,0 +1,135 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers.game;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.models.ItemType;
+import de.tudarmstadt.informatik.fop.breakout.models.game.BallModel;
+import de.tudarmstadt.informatik.fop.breakout.models.game.ItemModel;
+import de.tudarmstadt.informatik.fop.breakout.models.game.blocks.RamBlock;
+import de.tudarmstadt.informatik.fop.breakout.models.game.blocks.SimpleBlock;
+import de.tudarmstadt.informatik.fop.breakout.util.KeyedObjectPool;
+import de.tudarmstadt.informatik.fop.breakout.util.ObjectPool;
+import eea.engine.entity.Entity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Object pools for the entities the gameplay state creates and removes all the time: items, balls and blocks. A pooled
+ * entity keeps all its components (controller, view and events), so reusing it doesn't allocate anything.
+ * <p>
+ * Items are pooled per type and blocks per id, so a reused entity always has the id a new one would have. Blocks
+ * are created by the level preloader thread, that's why the pools are thread-safe.
+ * <p>
+ * The released entities keep their views, but the views have released their shared textures. Whoever acquires an
+ * entity has to configure it again and to re-acquire the textures of its view.
+ */
+public class EntityPools {
+
+    /**
+     * The names of the pools in the counter maps
+     */
+    public static final String ITEMS = "items", BALLS = "balls", SIMPLE_BLOCKS = "simpleBlocks", RAM_BLOCKS = "ramBlocks";
+
+    private final KeyedObjectPool<ItemType, ItemModel> items = new KeyedObjectPool<>(GameParameters.ENTITY_POOL_ITEMS_PER_TYPE,
+            item -> item.getController().release());
+    private final ObjectPool<BallModel> balls = new ObjectPool<>(GameParameters.ENTITY_POOL_BALLS,
+            ball -> ball.reset(null));
+    private final KeyedObjectPool<String, SimpleBlock> simpleBlocks = new KeyedObjectPool<>(GameParameters.ENTITY_POOL_BLOCKS_PER_CELL,
+            block -> block.setCell(-1, -1));
+    private final KeyedObjectPool<String, RamBlock> ramBlocks = new KeyedObjectPool<>(GameParameters.ENTITY_POOL_BLOCKS_PER_CELL,
+            block -> block.setCell(-1, -1));
+
+    /**
+     * @param itemType the type of the item
+     * @return a removed item of the given type or null if a new one has to be created
+     */
+    public ItemModel acquireItem(ItemType itemType) {
+        return items.acquire(itemType);
+    }
+
+    /**
+     * @return a removed ball or null if a new one has to be created
+     */
+    public BallModel acquireBall() {
+        return balls.acquire();
+    }
+
+    /**
+     * @param id the id of the block (depends on its cell)
+     * @return a removed block with the given id or null if a new one has to be created
+     */
+    public SimpleBlock acquireSimpleBlock(String id) {
+        return simpleBlocks.acquire(id);
+    }
+
+    /**
+     * @param id the id of the block (depends on its cell)
+     * @return a removed block with the given id or null if a new one has to be created
+     */
+    public RamBlock acquireRamBlock(String id) {
+        return ramBlocks.acquire(id);
+    }
+
+    /**
+     * @param entity an entity of the gameplay state
+     * @return true if the entity can be recycled
+     */
+    public boolean isPooled(Entity entity) {
+        return entity instanceof ItemModel || entity instanceof BallModel
+                || entity instanceof SimpleBlock || entity instanceof RamBlock;
+    }
+
+    /**
+     * Puts a removed entity into its pool. The entity must not be used by the game anymore. Other entities are ignored.
+     *
+     * @param entity the removed entity
+     */
+    public void recycle(Entity entity) {
+        if (entity instanceof ItemModel) {
+            ItemModel item = (ItemModel) entity;
+            items.release(item.getController().getItemType(), item);
+        } else if (entity instanceof BallModel) {
+            balls.release((BallModel) entity);
+        } else if (entity instanceof SimpleBlock) {
+            simpleBlocks.release(entity.getID(), (SimpleBlock) entity);
+        } else if (entity instanceof RamBlock) {
+            ramBlocks.release(entity.getID(), (RamBlock) entity);
+        }
+    }
+
+    /**
+     * @return the amount of reused entities per pool
+     */
+    public Map<String, Long> getHits() {
+        Map<String, Long> hits = new LinkedHashMap<>();
+        hits.put(ITEMS, items.getHits());
+        hits.put(BALLS, balls.getHits());
+        hits.put(SIMPLE_BLOCKS, simpleBlocks.getHits());
+        hits.put(RAM_BLOCKS, ramBlocks.getHits());
+        return hits;
+    }
+
+    /**
+     * @return the amount of entities that had to be created per pool
+     */
+    public Map<String, Long> getMisses() {
+        Map<String, Long> misses = new LinkedHashMap<>();
+        misses.put(ITEMS, items.getMisses());
+        misses.put(BALLS, balls.getMisses());
+        misses.put(SIMPLE_BLOCKS, simpleBlocks.getMisses());
+        misses.put(RAM_BLOCKS, ramBlocks.getMisses());
+        return misses;
+    }
+
+    /**
+     * @return the amount of idle entities per pool
+     */
+    public Map<String, Integer> getIdleCounts() {
+        Map<String, Integer> idle = new LinkedHashMap<>();
+        idle.put(ITEMS, items.getIdleCount());
+        idle.put(BALLS, balls.getIdleCount());
+        idle.put(SIMPLE_BLOCKS, simpleBlocks.getIdleCount());
+        idle.put(RAM_BLOCKS, ramBlocks.getIdleCount());
+        return idle;
+    }
+}
@@ -1,14 +1,13 @@
 package de.tudarmstadt.informatik.fop.breakout.controllers.game;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.events.GridCollisionEvent;
 import de.tudarmstadt.informatik.fop.breakout.models.ItemType;
 import de.tudarmstadt.informatik.fop.breakout.models.game.ItemModel;
 import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
+import de.tudarmstadt.informatik.fop.breakout.models.game.StickModel;
 import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
-import eea.engine.action.Action;
 import eea.engine.component.Component;
-import eea.engine.entity.StateBasedEntityManager;
-import eea.engine.event.basicevents.CollisionEvent;
 import eea.engine.event.basicevents.LeavingScreenEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -21,38 +20,62 @@ public class ItemController extends Component {
     private final Logger logger = LogManager.getLogger();
 
     private final ItemType itemType;
-    private final PlayerModel owner;
+    private GridCollisionEvent collisionEvent;
 
-    public ItemController(String componentID, ItemType itemType, PlayerModel owner) {
+    public ItemController(String componentID, ItemType itemType) {
         super(componentID);
 
         this.itemType = itemType;
-        this.owner = owner;
     }
 
-    public void init() {
+    /**
+     * Adds the leave screen and pickup events to the item. Has to be called once, a pooled item keeps its events.
+     *
+     * @param collisionGrid the broad phase of the gameplay state
+     */
+    public void init(CollisionGrid collisionGrid) {
         ItemModel itemModel = (ItemModel) getOwnerEntity();
 
-        // Invert direction if the second player shot the block
-        if (owner.isSecondPlayer())
-            itemModel.getVelocity().scale(-1);
-
         //destroyed the entity if the player couldn't pick it up
         LeavingScreenEvent leaveEvent = new LeavingScreenEvent();
         itemModel.addComponent(leaveEvent);
         leaveEvent.addAction(((gc, sb, delta, event) -> {
-            StateBasedEntityManager.getInstance().removeEntity(GameParameters.GAMEPLAY_STATE, itemModel);
+            ((GameplayState) sb.getState(GameParameters.GAMEPLAY_STATE)).removeEntity(itemModel);
         }));
 
-        // Add collision event listener
-        CollisionEvent collisionEvent = new CollisionEvent();
-        try {
-            // Fetch the right action handler for this type of block
-            collisionEvent.addAction((Action) itemType.getActionHandler().newInstance());
-            itemModel.addComponent(collisionEvent);
-        } catch (InstantiationException | IllegalAccessException e) {
-            logger.error("Some error occurred during the instantiation of the collision event handler of item '" + itemModel.getID() + "': " + e);
-        }
+        // Add collision event listener (items can only be picked up by sticks)
+        collisionEvent = new GridCollisionEvent(collisionGrid, StickModel.class);
+        itemModel.addComponent(collisionEvent);
+    }
+
+    /**
+     * Prepares the item for a new drop. Every drop gets its own action handler, because the handler of a picked up
+     * temporary item is still used by its timeout.
+     *
+     * @param owner the player who destroyed the block
+     */
+    public void reset(PlayerModel owner) {
+        ItemModel itemModel = (ItemModel) getOwnerEntity();
+        itemModel.getVelocity().set(0, GameParameters.ITEM_FALL_SPEED);
+
+        // Invert direction if the second player shot the block
+        if (owner.isSecondPlayer())
+            itemModel.getVelocity().scale(-1);
+
+        // Create the right action handler for this type of item
+        collisionEvent.clearActions();
+        collisionEvent.addAction(itemType.createActionHandler());
+    }
+
+    /**
+     * Drops the action handler of the last drop, so a pooled item doesn't keep the players of a finished game alive
+     */
+    public void release() {
+        collisionEvent.clearActions();
+    }
+
+    public ItemType getItemType() {
+        return itemType;
     }
 
     @Override
@@ -0,0 +1,80 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers.game;
+
+import de.tudarmstadt.informatik.fop.breakout.models.KeyBinding;
+import org.newdawn.slick.Input;
+
+/**
+ * The state of all key bindings within a single gameplay step.
+ * <p>
+ * The gameplay doesn't ask the Slick input directly, but this snapshot taken at the beginning of every step. This way
+ * the complete input of a game can be described by one integer per step, which is recorded and played back by the
+ * replays. The state packs the held down key bindings into the lower 8 bits and the pressed ones into the next 8 bits,
+ * each indexed by the ordinal of the {@link KeyBinding}.
+ */
+public class KeyBindingInput {
+
+    /**
+     * The bits of a state used by the key bindings
+     */
+    public static final int STATE_MASK = 0xFFFF;
+
+    private static final int PRESSED_SHIFT = 8;
+
+    private int down = 0;
+    private int pressed = 0;
+
+    /**
+     * Takes the state of all key bindings from the given input. Pressed keys are consumed from the input.
+     *
+     * @param input the input of the game container
+     */
+    public void poll(Input input) {
+        down = 0;
+        pressed = 0;
+
+        for (KeyBinding keyBinding : KeyBinding.values()) {
+            int bit = 1 << keyBinding.ordinal();
+            if (input.isKeyDown(keyBinding.getCurrentBinding())) down |= bit;
+            if (input.isKeyPressed(keyBinding.getCurrentBinding())) pressed |= bit;
+        }
+    }
+
+    /**
+     * @return the held down and pressed key bindings packed into an integer
+     */
+    public int getState() {
+        return down | (pressed << PRESSED_SHIFT);
+    }
+
+    /**
+     * Replaces the state of all key bindings, i.e. by a state played back from a replay
+     *
+     * @param state the held down and pressed key bindings as returned by {@link #getState()}
+     */
+    public void setState(int state) {
+        down = state & ((1 << PRESSED_SHIFT) - 1);
+        pressed = (state & STATE_MASK) >>> PRESSED_SHIFT;
+    }
+
+    /**
+     * @param keyBinding the key binding
+     * @return true if the key of the binding is held down within this step
+     */
+    public boolean isKeyDown(KeyBinding keyBinding) {
+        return (down & (1 << keyBinding.ordinal())) != 0;
+    }
+
+    /**
+     * Like the Slick input, a pressed key is only reported once and consumed afterwards
+     *
+     * @param keyBinding the key binding
+     * @return true if the key of the binding has been pressed since the last step
+     */
+    public boolean isKeyPressed(KeyBinding keyBinding) {
+        int bit = 1 << keyBinding.ordinal();
+        if ((pressed & bit) == 0) return false;
+
+        pressed &= ~bit;
+        return true;
+    }
+}
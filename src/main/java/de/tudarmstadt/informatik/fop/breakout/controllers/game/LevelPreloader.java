@@ -0,0 +1,118 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers.game;
+
+import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.newdawn.slick.state.StateBasedGame;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Prepares the next level on a background thread while the current level is played.
+ * <p>
+ * The map file is parsed and all block models are created and positioned in the background. Only the views (which
+ * need the OpenGL context) and the entities of the gameplay state are created on the game thread, when the prepared
+ * level is taken.
+ */
+public class LevelPreloader {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "LevelPreloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final StateBasedGame stateBasedGame;
+    private final GameplayState gameplayState;
+
+    private Future<MapController> pending;
+    private int pendingMapId;
+    private boolean pendingMultiplayer;
+
+    public LevelPreloader(StateBasedGame stateBasedGame, GameplayState gameplayState) {
+        this.stateBasedGame = stateBasedGame;
+        this.gameplayState = gameplayState;
+    }
+
+    /**
+     * Starts preparing the given map in the background. A previously requested map will be discarded.
+     *
+     * @param mapId       the id of the map
+     * @param multiplayer true if the map should been prepared for the multiplayer mode
+     */
+    public void preload(int mapId, boolean multiplayer) {
+        if (pending != null)
+            discard(pending);
+
+        pendingMapId = mapId;
+        pendingMultiplayer = multiplayer;
+        pending = executor.submit(() -> {
+            MapController mapController = new MapController(stateBasedGame, gameplayState, multiplayer);
+            mapController.prepare(mapId);
+            return mapController;
+        });
+    }
+
+    /**
+     * Returns the prepared map, if it has been requested before. Waits for the background thread if the preparation
+     * hasn't been finished yet.
+     *
+     * @param mapId       the id of the map
+     * @param multiplayer true if the map is needed for the multiplayer mode
+     * @return the prepared map controller or null if the map hasn't been requested or its preparation failed
+     */
+    public MapController take(int mapId, boolean multiplayer) {
+        if (pending == null)
+            return null;
+
+        Future<MapController> future = pending;
+        pending = null;
+
+        if (pendingMapId != mapId || pendingMultiplayer != multiplayer) {
+            discard(future);
+            return null;
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Failed to prepare map " + mapId + " in the background: " + e.getCause());
+        }
+
+        return null;
+    }
+
+    /**
+     * Stops the background thread. Pending preparations are discarded.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Discards a requested map. A preparation that has already been started can't be stopped, so its blocks are
+     * put back into the entity pools once it's finished.
+     */
+    private void discard(Future<MapController> future) {
+        if (future.cancel(false))
+            return;
+
+        // Runs after the preparation, the executor has a single thread
+        executor.execute(() -> {
+            try {
+                future.get().release();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                logger.error("Failed to prepare a discarded map in the background: " + e.getCause());
+            }
+        });
+    }
+}
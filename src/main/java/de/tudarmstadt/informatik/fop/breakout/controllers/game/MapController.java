@@ -1,16 +1,18 @@
 package de.tudarmstadt.informatik.fop.breakout.controllers.game;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.AssetController;
 import de.tudarmstadt.informatik.fop.breakout.controllers.game.blocks.RamBlockController;
 import de.tudarmstadt.informatik.fop.breakout.controllers.game.blocks.SimpleBlockController;
 import de.tudarmstadt.informatik.fop.breakout.exceptions.InvalidMapFileException;
-import de.tudarmstadt.informatik.fop.breakout.models.Direction;
+import de.tudarmstadt.informatik.fop.breakout.jfr.LevelLoadEvent;
+import de.tudarmstadt.informatik.fop.breakout.models.BlockDefinition;
 import de.tudarmstadt.informatik.fop.breakout.models.game.blocks.AbstractBlockModel;
 import de.tudarmstadt.informatik.fop.breakout.models.game.blocks.RamBlock;
 import de.tudarmstadt.informatik.fop.breakout.models.game.blocks.SimpleBlock;
 import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 import de.tudarmstadt.informatik.fop.breakout.ui.Breakout;
-import de.tudarmstadt.informatik.fop.breakout.util.Utility;
+import de.tudarmstadt.informatik.fop.breakout.util.MapParser;
 import de.tudarmstadt.informatik.fop.breakout.views.game.blocks.AbstractBlockView;
 import de.tudarmstadt.informatik.fop.breakout.views.game.blocks.RamBlockView;
 import de.tudarmstadt.informatik.fop.breakout.views.game.blocks.SimpleBlockView;
@@ -22,19 +24,26 @@ import org.newdawn.slick.geom.Vector2f;
 import org.newdawn.slick.state.StateBasedGame;
 
 import java.io.IOException;
-import java.io.StringReader;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Loads the maps and keeps track of all blocks of the current map.
+ * <p>
+ * The blocks are stored in a dense grid with {@link GameParameters#MAP_COLUMNS} columns and
+ * {@link GameParameters#MAP_ROWS} rows, so cells and their neighbourhood can be looked up by their index. Every cell
+ * holds at most one block.
+ */
 public class MapController {
 
     private static final Logger logger = LogManager.getLogger();
 
-    private Map<String, AbstractBlockModel> map = new HashMap<>();
+    private final AbstractBlockModel[] grid = new AbstractBlockModel[GameParameters.MAP_ROWS * GameParameters.MAP_COLUMNS];
+    private int remainingBlocks = 0;
 
     private int mapId;
     private final boolean multiplayer;
@@ -43,173 +52,224 @@ public class MapController {
     private final GameContainer gameContainer;
     private final StateBasedGame stateBasedGame;
 
+    // Geometry of the grid in screen coordinates
+    private final float columnWidth;
+    private final float rowHeight;
+    private final float offsetY;
+
+    // Durations of the last preparation in nanoseconds, recorded by the level load event
+    private long parseDuration;
+    private long modelDuration;
+
     public MapController(StateBasedGame stateBasedGame, GameplayState gameplayState, boolean multiplayer) {
         this.gameplayState = gameplayState;
         this.gameContainer = stateBasedGame.getContainer();
         this.stateBasedGame = stateBasedGame;
         this.multiplayer = multiplayer;
+
+        columnWidth = gameContainer.getWidth() / (float) GameParameters.MAP_COLUMNS;
+        rowHeight = gameContainer.getHeight() * 0.5F / (float) GameParameters.MAP_ROWS;
+
+        // Center map in multiplayer mode
+        int totalMapHeight = (int) rowHeight * GameParameters.MAP_ROWS;
+        offsetY = multiplayer ? totalMapHeight / 2 : 0;
     }
 
+    /**
+     * Loads the given map and adds all its blocks to the gameplay state
+     *
+     * @param mapId the id of the map
+     */
     public void loadMap(int mapId) {
+        prepare(mapId);
+        install();
+    }
+
+    /**
+     * Parses the given map and creates the positioned block models. Neither views nor entities of the gameplay state
+     * are touched, so this may be called from a background thread. {@link #install()} has to be called on the game
+     * thread afterwards.
+     *
+     * @param mapId the id of the map
+     */
+    public void prepare(int mapId) {
+        prepare(mapId, getMapPath(mapId));
+    }
+
+    /**
+     * Like {@link #prepare(int)}, but reads the blocks from the given map file instead of the maps directory
+     *
+     * @param mapId the id of the map
+     * @param path  the text or compiled map file
+     */
+    public void prepare(int mapId, Path path) {
         this.mapId = mapId;
 
-        ArrayList<String> rawMap;
+        Arrays.fill(grid, null);
+        remainingBlocks = 0;
+
+        List<BlockDefinition> definitions;
 
+        long start = System.nanoTime();
         try {
-            rawMap = loadMapFromFile(GameParameters.MAP_FILE_PATH + GameParameters.MAP_FILE_PREFIX + mapId + GameParameters.MAP_FILE_EXT);
+            definitions = MapParser.read(path);
             logger.info("Map with Id " + mapId + " succesfully loaded");
         } catch (InvalidMapFileException e) {
-            rawMap = new ArrayList<>();
+            definitions = new ArrayList<>();
             logger.error("Map with Id " + mapId + " is invalid. The following error occurred: " + e);
         } catch (IOException e) {
-            rawMap = new ArrayList<>();
+            definitions = new ArrayList<>();
             logger.error("Map with Id " + mapId + " failed to load. The following error occurred: " + e);
         }
 
-        createModels(rawMap);
+        long parsed = System.nanoTime();
+        createModels(definitions);
 
-        //assign de.tudarmstadt.informatik.fop.breakout.views to blocks
-        map.values().forEach(block -> createView(block));
-
-        //assign controller to blocks
-        map.values().forEach(block -> {
-            SimpleBlockController c = createController(block);
-            block.addComponent(c);
-            c.init(stateBasedGame);
-        });
-
-        //add block to game
-        map.values().forEach(gameplayState::addEntity);
+        parseDuration = parsed - start;
+        modelDuration = System.nanoTime() - parsed;
     }
 
-
     /**
-     * Loads a map-file, checks it for validity and converts it into a list of strings
-     *
-     * @param path path to the map-file
-     * @return List of Blocks in their String representation
-     * @throws InvalidMapFileException if the map is invalid
-     * @throws IOException
+     * Puts the prepared blocks back into the entity pools, if the prepared map isn't needed anymore. Like
+     * {@link #prepare(int)} this may be called from a background thread, {@link #install()} mustn't be called
+     * afterwards.
      */
-    private ArrayList<String> loadMapFromFile(String path) throws InvalidMapFileException, IOException {
-
-        List<String> lines = Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8); //read file into string list
-
-        if (lines.size() != GameParameters.MAP_ROWS)
-            throw new InvalidMapFileException("Invalid row count. The read row count was: " + lines.size()); //check row count
+    public void release() {
+        EntityPools entityPools = gameplayState.getEntityPools();
+        for (AbstractBlockModel block : grid)
+            if (block != null)
+                entityPools.recycle(block);
+
+        Arrays.fill(grid, null);
+        remainingBlocks = 0;
+    }
 
-        ArrayList<String> output = new ArrayList<String>();
+    /**
+     * Creates the views and controllers of the prepared blocks and adds them to the gameplay state. Has to be called on
+     * the game thread, because the views acquire their textures.
+     */
+    public void install() {
+        LevelLoadEvent event = new LevelLoadEvent();
+        event.begin();
 
-        int index = 1;
-        for (String line : lines) {
-            List<String> lineBuffer = new LinkedList<String>();
-            StringReader stringReader = new StringReader(line);
-            String stringBuffer = "";
+        long viewDuration = 0, controllerDuration = 0;
+        for (AbstractBlockModel block : grid) {
+            if (block == null) continue;
 
-            try {
-                for (int i = 0; ++i <= line.length(); ) { //interpret single lines of the map file
-                    int readChar = stringReader.read();
+            long start = System.nanoTime();
 
-                    if (readChar == ',') {
-                        lineBuffer.add(stringBuffer);
-                        stringBuffer = "";
-                    } else {
-                        stringBuffer += (char) readChar;
-                    }
-                }
+            //assign de.tudarmstadt.informatik.fop.breakout.views to blocks (pooled blocks keep their view)
+            if (block.getView() == null)
+                createView(block);
+            else
+                reuseView(block);
 
-                lineBuffer.add(stringBuffer); //at end of line there is no comma
+            long viewCreated = System.nanoTime();
 
-            } catch (IOException e) { //the StringReader can throw IOExceptions
-                throw e;
-            } finally {
-                stringReader.close();
+            //assign controller to blocks
+            SimpleBlockController c = block.getController();
+            if (c == null) {
+                c = createController(block);
+                block.addComponent(c);
             }
+            c.init(stateBasedGame);
 
-            if (lineBuffer.size() == GameParameters.MAP_COLUMNS) { //check column count
-                logger.debug("line " + index + " interpreted " + lineBuffer);
-                output = (ArrayList<String>) Stream.concat(output.stream(), lineBuffer.stream()).collect(Collectors.toList());
-            } else {
-                logger.debug("line " + index + " raw " + line);
-                logger.debug("line " + index + " interpreted " + lineBuffer);
-                throw new InvalidMapFileException("Invalid column count at row: " + index + " The read column count was: " + lineBuffer.size());
-            }
+            //add block to game
+            gameplayState.addEntity(block);
 
-            index++;
+            viewDuration += viewCreated - start;
+            controllerDuration += System.nanoTime() - viewCreated;
         }
 
-        return output;
+        event.end();
+        if (event.shouldCommit()) {
+            event.mapId = mapId;
+            event.multiplayer = multiplayer;
+            event.blocks = remainingBlocks;
+            event.parseDuration = parseDuration;
+            event.modelDuration = modelDuration;
+            event.viewDuration = viewDuration;
+            event.controllerDuration = controllerDuration;
+            event.commit();
+        }
     }
 
     /**
-     * Creates the Models of Blocks, adds them to the "map"-Collection and positions them
+     * Returns the path of the given map. A compiled map is preferred over the text map, if it exists and the text map
+     * hasn't been edited since it was compiled.
      *
-     * @param rawMap list of Blocks in their string representation
+     * @param mapId the id of the map
+     * @return path to the map file
      */
-    private void createModels(ArrayList<String> rawMap) {
+    private Path getMapPath(int mapId) {
+        String basePath = GameParameters.MAP_FILE_PATH + GameParameters.MAP_FILE_PREFIX + mapId;
 
-        int index = 0;              //index to keep track of the Blocks
-        int positioningIndex = 0; //index to keep track of the positioning of the blocks
+        Path textPath = Paths.get(basePath + GameParameters.MAP_FILE_EXT);
+        Path compiledPath = Paths.get(basePath + GameParameters.MAP_COMPILED_FILE_EXT);
+        if (!Files.isRegularFile(compiledPath))
+            return textPath;
 
-        float columnWidth = gameContainer.getWidth() / (float) GameParameters.MAP_COLUMNS;       //map.get(index).getSize().getX();
-        float rowHeight = gameContainer.getHeight() * 0.5F / (float) GameParameters.MAP_ROWS;  //map.get(index).getSize().getY();
-        int totalMapHeight = (int) rowHeight * GameParameters.MAP_ROWS;
+        try {
+            if (Files.isRegularFile(textPath)
+                    && Files.getLastModifiedTime(textPath).compareTo(Files.getLastModifiedTime(compiledPath)) > 0) {
+                logger.warn("{} is older than {}, loading the text map", compiledPath, textPath);
+                return textPath;
+            }
+        } catch (IOException e) {
+            logger.warn("Couldn't compare the modification times of {} and {}, loading the text map", compiledPath,
+                    textPath);
+            return textPath;
+        }
 
-        for (String blockRep : rawMap) {    //blockRep stands for the String representation of a Block
+        return compiledPath;
+    }
 
-            int row = (positioningIndex - (positioningIndex % GameParameters.MAP_COLUMNS)) / GameParameters.MAP_COLUMNS;
-            int column = positioningIndex - row * GameParameters.MAP_COLUMNS;
+    /**
+     * Creates the Models of Blocks, adds them to the "map"-Collection and positions them
+     *
+     * @param definitions the parsed blocks of the map
+     */
+    private void createModels(List<BlockDefinition> definitions) {
+        for (BlockDefinition definition : definitions) {
+            int row = definition.getRow();
+            int column = definition.getColumn();
 
             int x = (int) (columnWidth * column + columnWidth / 2);
-            int y = (int) (rowHeight * row + rowHeight / 2);
-
-            // Center map in multiplayer mode
-            if (multiplayer)
-                y += (totalMapHeight / 2);
-
-            if (blockRep.equals("0")) {
-                //don't add a Block when the string representation is "0"
-            } else if (Utility.isInteger(blockRep)) {
-                //block id formating is block{row}_{column}
-                SimpleBlock block = new SimpleBlock(GameParameters.BLOCK_ID + column + '_' + row, Integer.parseInt(blockRep));
-                map.put(block.getID(), block);
-                block.setPosition(new Vector2f(x, y));
-                index++;
-                logger.debug("created simpleblock " + Integer.parseInt(blockRep) + " at row " + row + " and column " + column + "::" + block.getID());
-            } else if (isRamBlock(blockRep)) {
-
-                Direction d;
-                switch (blockRep.charAt(0)) {
-                    case 'u':
-                        d = Direction.UP;
-                        break;
-                    case 'd':
-                        d = Direction.DOWN;
-                        break;
-                    case 'l':
-                        d = Direction.LEFT;
-                        break;
-                    case 'r':
-                        d = Direction.RIGHT;
-                        break;
-                    default:
-                        d = Direction.RIGHT;
-                        logger.error("Something went wrong during creation of RamBlock " + blockRep + " at row " + row + " and column " + column);
-                }
-
-                RamBlock block = new RamBlock(GameParameters.BLOCK_ID + column + '_' + row, d, Integer.parseInt(blockRep.substring(1)), gameplayState.getRBMC());
-                map.put(block.getID(), block);
-                block.setPosition(new Vector2f(x, y));
-                index++;
-                logger.debug("created ramblock " + d + Integer.parseInt(blockRep.substring(1)) + " at row " + row + " and column " + column + "::" + block.getID());
-            } else {
-                logger.error("Unknown Block type '" + blockRep + "'  at row " + (row + 1) + " column " + (column + 1));
+            int y = (int) (rowHeight * row + rowHeight / 2 + offsetY);
+
+            //block id formating is block{row}_{column}
+            String id = GameParameters.BLOCK_ID + column + '_' + row;
+
+            // Blocks removed from a previous map in the same cell are reused
+            EntityPools entityPools = gameplayState.getEntityPools();
+            AbstractBlockModel block;
+            switch (definition.getType()) {
+                case RAM:
+                    RamBlock ramBlock = entityPools.acquireRamBlock(id);
+                    if (ramBlock == null)
+                        ramBlock = new RamBlock(id, definition.getDirection(), definition.getDistance(), gameplayState.getRBMC());
+                    else
+                        ramBlock.reuse(definition.getDirection(), definition.getDistance());
+                    block = ramBlock;
+                    break;
+                default:
+                    SimpleBlock simpleBlock = entityPools.acquireSimpleBlock(id);
+                    if (simpleBlock == null)
+                        simpleBlock = new SimpleBlock(id, definition.getHits());
+                    else
+                        simpleBlock.reuse(definition.getHits());
+                    block = simpleBlock;
+                    break;
             }
-            positioningIndex++;
+
+            block.setPosition(new Vector2f(x, y));
+            block.setCell(column, row);
+            grid[getIndex(column, row)] = block;
+            remainingBlocks++;
+            logger.debug("created " + definition.getType() + " block at row " + row + " and column " + column + "::" + block.getID());
         }
     }
 
-
     /**
      * Creates the controller for a given block
      *
@@ -222,23 +282,13 @@ public class MapController {
             case SIMPLE:
                 return new SimpleBlockController(block.getID() + "Controller");
             case RAM:
-                return new RamBlockController(block.getID() + "Controller", ((RamBlock) block).getDirection(), ((RamBlock) block).getDistance());
+                return new RamBlockController(block.getID() + "Controller");
             default:
                 logger.error("Some error occured during the creation of the controller for block: " + block.getID());
                 return null;
         }
     }
 
-    /**
-     * Checks whether a given string is the string-representation of a RamBlock
-     *
-     * @param s the string to be checked
-     * @return
-     */
-    private boolean isRamBlock(String s) {
-        return s.startsWith("l") | s.startsWith("r") | s.startsWith("u") | s.startsWith("d") && Utility.isInteger(s.substring(1));
-    }
-
     /**
      * Creates the view for a given block
      *
@@ -250,18 +300,20 @@ public class MapController {
             return;
         }
 
+        AssetController assetController = ((Breakout) stateBasedGame).getAssetController();
+
         try {
             AbstractBlockView view;
             switch (block.getType()) {
                 case SIMPLE:
-                    view = new SimpleBlockView(block.getInitialHits(), block.getID() + GameParameters.EXT_VIEW);
+                    view = new SimpleBlockView(block.getInitialHits(), block.getID() + GameParameters.EXT_VIEW, assetController);
                     break;
                 case RAM:
-                    view = new RamBlockView(block.getID() + GameParameters.EXT_VIEW);
+                    view = new RamBlockView(block.getID() + GameParameters.EXT_VIEW, assetController);
                     break;
                 default:
                     logger.error("Some error occured during the creation of the view of the block: " + block.getID());
-                    view = new SimpleBlockView(1, block.getID() + GameParameters.EXT_VIEW);
+                    view = new SimpleBlockView(1, block.getID() + GameParameters.EXT_VIEW, assetController);
                     break;
             }
             block.addView(view);
@@ -271,24 +323,204 @@ public class MapController {
         }
     }
 
+    /**
+     * Acquires the textures of the view of a pooled block again
+     *
+     * @param block the pooled block
+     */
+    private void reuseView(AbstractBlockModel block) {
+        try {
+            block.getView().reuse(block);
+        } catch (SlickException e) {
+            logger.error("The following error occured during the reuse of block " + block.getID() + ": " + e);
+        }
+    }
+
     public int getMapId() {
         return mapId;
     }
 
     /**
-     * Removes a given block from map
+     * Removes a given block from map. Removing a block multiple times has no effect.
      *
      * @param block the block that should been removed
      */
     public void removeBlock(AbstractBlockModel block) {
-        map.remove(block.getID());
+        if (!block.hasCell()) return;
+
+        int index = getIndex(block.getColumn(), block.getRow());
+        if (grid[index] == block)
+            grid[index] = null;
+
+        block.setCell(-1, -1);
+        remainingBlocks--;
+    }
+
+    /**
+     * Moves a block to the cell containing its current position, i.e. after a ram block moved. If the cell is outside
+     * of the map or occupied by another block, the block stays in its previous cell.
+     *
+     * @param block the moved block
+     */
+    public void updateBlock(AbstractBlockModel block) {
+        if (!block.hasCell()) return;
+
+        Vector2f position = block.getPosition();
+        int column = getColumn(position.x);
+        int row = getRow(position.y);
+        if (!isInside(column, row) || (column == block.getColumn() && row == block.getRow()))
+            return;
+
+        int index = getIndex(column, row);
+        if (grid[index] != null) return;
+
+        grid[getIndex(block.getColumn(), block.getRow())] = null;
+        grid[index] = block;
+        block.setCell(column, row);
+    }
+
+    /**
+     * @param column the column of the cell
+     * @param row    the row of the cell
+     * @return the block within the given cell or null if the cell is empty or outside of the map
+     */
+    public AbstractBlockModel getBlock(int column, int row) {
+        return isInside(column, row) ? grid[getIndex(column, row)] : null;
+    }
+
+    /**
+     * Collects all blocks around the given cell (the cell itself excluded)
+     *
+     * @param column the column of the cell
+     * @param row    the row of the cell
+     * @param radius the maximum distance in cells (1 for the eight direct neighbours)
+     * @param result the list the found blocks are added to
+     */
+    public void getNeighbours(int column, int row, int radius, List<AbstractBlockModel> result) {
+        int minColumn = Math.max(column - radius, 0);
+        int minRow = Math.max(row - radius, 0);
+        int maxColumn = Math.min(column + radius, GameParameters.MAP_COLUMNS - 1);
+        int maxRow = Math.min(row + radius, GameParameters.MAP_ROWS - 1);
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                AbstractBlockModel block = grid[getIndex(c, r)];
+                if (block != null && (c != column || r != row))
+                    result.add(block);
+            }
+        }
+    }
+
+    /**
+     * Collects all blocks within the given rectangle of cells. Cells outside of the map are ignored.
+     *
+     * @param minColumn the first column (inclusive)
+     * @param minRow    the first row (inclusive)
+     * @param maxColumn the last column (inclusive)
+     * @param maxRow    the last row (inclusive)
+     * @param result    the list the found blocks are added to
+     */
+    public void getBlocks(int minColumn, int minRow, int maxColumn, int maxRow, List<AbstractBlockModel> result) {
+        minColumn = Math.max(minColumn, 0);
+        minRow = Math.max(minRow, 0);
+        maxColumn = Math.min(maxColumn, GameParameters.MAP_COLUMNS - 1);
+        maxRow = Math.min(maxRow, GameParameters.MAP_ROWS - 1);
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                AbstractBlockModel block = grid[getIndex(column, row)];
+                if (block != null)
+                    result.add(block);
+            }
+        }
     }
 
-    public AbstractBlockModel getBlock(String id) {
-        return map.get(id);
+    /**
+     * Finds the first block along a ray by walking through the cells of the grid (DDA).
+     *
+     * @param x           the start x coordinate of the ray (screen coordinates)
+     * @param y           the start y coordinate of the ray (screen coordinates)
+     * @param dx          the x direction of the ray
+     * @param dy          the y direction of the ray
+     * @param maxDistance the maximum length of the ray in pixels
+     * @return the first hit block or null if there is none
+     */
+    public AbstractBlockModel raycast(float x, float y, float dx, float dy, float maxDistance) {
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        if (length == 0) return getBlockAt(x, y);
+
+        dx /= length;
+        dy /= length;
+
+        int column = getColumn(x);
+        int row = getRow(y);
+        int stepColumn = (dx > 0) ? 1 : -1;
+        int stepRow = (dy > 0) ? 1 : -1;
+
+        // Distance along the ray to cross one cell and to reach the next cell border
+        float deltaX = (dx != 0) ? Math.abs(columnWidth / dx) : Float.POSITIVE_INFINITY;
+        float deltaY = (dy != 0) ? Math.abs(rowHeight / dy) : Float.POSITIVE_INFINITY;
+        float nextX = (dx != 0) ? ((column + (dx > 0 ? 1 : 0)) * columnWidth - x) / dx : Float.POSITIVE_INFINITY;
+        float nextY = (dy != 0) ? ((row + (dy > 0 ? 1 : 0)) * rowHeight + offsetY - y) / dy : Float.POSITIVE_INFINITY;
+
+        float distance = 0;
+        while (distance <= maxDistance) {
+            if (isInside(column, row)) {
+                AbstractBlockModel block = grid[getIndex(column, row)];
+                if (block != null) return block;
+            } else if ((column < 0 && stepColumn < 0) || (column >= GameParameters.MAP_COLUMNS && stepColumn > 0)
+                    || (row < 0 && stepRow < 0) || (row >= GameParameters.MAP_ROWS && stepRow > 0)) {
+                // The ray leaves the map and won't come back
+                return null;
+            }
+
+            if (nextX < nextY) {
+                distance = nextX;
+                nextX += deltaX;
+                column += stepColumn;
+            } else {
+                distance = nextY;
+                nextY += deltaY;
+                row += stepRow;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @param x the x coordinate (screen coordinates)
+     * @param y the y coordinate (screen coordinates)
+     * @return the block within the cell containing the given point or null if there is none
+     */
+    public AbstractBlockModel getBlockAt(float x, float y) {
+        return getBlock(getColumn(x), getRow(y));
+    }
+
+    /**
+     * @return the amount of blocks that haven't been removed yet
+     */
+    public int getRemainingBlocks() {
+        return remainingBlocks;
     }
 
     public boolean isEmpty() {
-        return map.isEmpty();
+        return remainingBlocks == 0;
+    }
+
+    private int getColumn(float x) {
+        return (int) Math.floor(x / columnWidth);
+    }
+
+    private int getRow(float y) {
+        return (int) Math.floor((y - offsetY) / rowHeight);
+    }
+
+    private static boolean isInside(int column, int row) {
+        return column >= 0 && column < GameParameters.MAP_COLUMNS && row >= 0 && row < GameParameters.MAP_ROWS;
+    }
+
+    private static int getIndex(int column, int row) {
+        return row * GameParameters.MAP_COLUMNS + column;
     }
 }
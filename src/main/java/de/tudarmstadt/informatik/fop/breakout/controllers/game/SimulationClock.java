@@ -0,0 +1,91 @@
+package de.tudarmstadt.informatik.fop.breakout.controllers.game;
+
+/**
+ * Fixed timestep clock for the gameplay simulation.
+ * <p>
+ * The elapsed frame time is collected in an accumulator and converted into a whole number of simulation ticks with a
+ * constant length. This way the physics don't depend on the frame rate: a 30 Hz and a 144 Hz machine simulate exactly
+ * the same ticks. The remainder of the accumulator is used to interpolate the rendered positions between two ticks.
+ */
+public class SimulationClock {
+
+    private final int maxCatchUpSteps;
+
+    private int tickRate;
+    private int tickLength;
+    private int accumulator = 0;
+
+    /**
+     * @param tickRate        the simulation ticks per second
+     * @param maxCatchUpSteps the maximum amount of ticks simulated in a single frame (the rest is dropped)
+     */
+    public SimulationClock(int tickRate, int maxCatchUpSteps) {
+        this.maxCatchUpSteps = maxCatchUpSteps;
+        setTickRate(tickRate);
+    }
+
+    /**
+     * Adds the elapsed frame time and returns how many simulation ticks are due. If the simulation fell behind more
+     * than the allowed catch up steps (i.e. after a hiccup), the missing time is dropped instead of trying to catch up
+     * forever.
+     *
+     * @param delta the elapsed frame time in milliseconds
+     * @return the amount of ticks that should be simulated now
+     */
+    public int advance(int delta) {
+        accumulator += delta;
+
+        int steps = accumulator / tickLength;
+        if (steps > maxCatchUpSteps) {
+            steps = maxCatchUpSteps;
+            accumulator %= tickLength;
+        } else {
+            accumulator -= steps * tickLength;
+        }
+
+        return steps;
+    }
+
+    /**
+     * Drops the accumulated time, i.e. if the game has been paused in the middle of a frame.
+     */
+    public void reset() {
+        accumulator = 0;
+    }
+
+    /**
+     * @return how far the current frame is between the last and the next tick (between 0 and 1)
+     */
+    public float getAlpha() {
+        return accumulator / (float) tickLength;
+    }
+
+    /**
+     * @return the simulation ticks per second
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Changes the simulation ticks per second. The tick length is rounded to whole milliseconds, because the entity
+     * updates only accept integer deltas.
+     *
+     * @param tickRate the simulation ticks per second (between 1 and 1000)
+     */
+    public void setTickRate(int tickRate) {
+        if (tickRate < 1 || tickRate > 1000)
+            throw new IllegalArgumentException("Tick rate has to be between 1 and 1000 but was " + tickRate);
+
+        this.tickRate = tickRate;
+        this.tickLength = 1000 / tickRate;
+        this.accumulator = 0;
+    }
+
+    /**
+     * @return the length of a single tick in milliseconds
+     */
+    public int getTickLength() {
+        return tickLength;
+    }
+}
@@ -1,10 +1,12 @@
 package de.tudarmstadt.informatik.fop.breakout.controllers.game;
 
 import de.tudarmstadt.informatik.fop.breakout.actions.game.StickMoveAction;
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.events.KeyDownEvent;
 import de.tudarmstadt.informatik.fop.breakout.models.Direction;
 import de.tudarmstadt.informatik.fop.breakout.models.KeyBinding;
 import de.tudarmstadt.informatik.fop.breakout.models.game.StickModel;
+import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 import de.tudarmstadt.informatik.fop.breakout.views.game.StickView;
 import eea.engine.component.Component;
 import org.newdawn.slick.GameContainer;
@@ -14,6 +16,7 @@ import org.newdawn.slick.state.StateBasedGame;
 public class StickController extends Component {
 
     private Vector2f initialPos;
+    private GameplayState gameplayState;
 
     public StickController(String componentID) {
         super(componentID);
@@ -30,11 +33,14 @@ public class StickController extends Component {
 
     public void init(StateBasedGame game, int initialPosX) {
         boolean secondPlayer = getOwnerEntity().getOwner().isSecondPlayer();
+        gameplayState = (GameplayState) game.getState(GameParameters.GAMEPLAY_STATE);
 
-        KeyDownEvent leftEvent = new KeyDownEvent(secondPlayer ? KeyBinding.LEFT_MOVE_PLAYER2 : KeyBinding.LEFT_MOVE);
+        KeyDownEvent leftEvent = new KeyDownEvent(secondPlayer ? KeyBinding.LEFT_MOVE_PLAYER2 : KeyBinding.LEFT_MOVE,
+                gameplayState.getKeyBindingInput());
         leftEvent.addAction(new StickMoveAction(Direction.LEFT, getOwnerEntity()));
 
-        KeyDownEvent rightEvent = new KeyDownEvent(secondPlayer ? KeyBinding.RIGHT_MOVE_PLAYER2 : KeyBinding.RIGHT_MOVE);
+        KeyDownEvent rightEvent = new KeyDownEvent(secondPlayer ? KeyBinding.RIGHT_MOVE_PLAYER2 : KeyBinding.RIGHT_MOVE,
+                gameplayState.getKeyBindingInput());
         rightEvent.addAction(new StickMoveAction(Direction.RIGHT, getOwnerEntity()));
 
         getOwnerEntity().addComponent(leftEvent);
@@ -63,6 +69,7 @@ public class StickController extends Component {
     public void reset() {
         StickModel stick = getOwnerEntity();
         stick.setPosition(initialPos.copy());
+        gameplayState.getCollisionGrid().update(stick);
         StickView view = stick.getView();
         if (view != null) {
             view.resetParticleSystems();
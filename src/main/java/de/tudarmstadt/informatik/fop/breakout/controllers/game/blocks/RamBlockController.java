@@ -3,6 +3,7 @@ package de.tudarmstadt.informatik.fop.breakout.controllers.game.blocks;
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.models.Direction;
 import de.tudarmstadt.informatik.fop.breakout.models.game.blocks.RamBlock;
+import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 import de.tudarmstadt.informatik.fop.breakout.util.Utility;
 import org.newdawn.slick.GameContainer;
 import org.newdawn.slick.geom.Vector2f;
@@ -15,10 +16,8 @@ public class RamBlockController extends SimpleBlockController {
     private Direction direction;
     private int length;
 
-    public RamBlockController(String componentID, Direction direction, int length) {
+    public RamBlockController(String componentID) {
         super(componentID);
-        this.direction = direction;
-        this.length = length;
     }
 
     @Override
@@ -31,6 +30,10 @@ public class RamBlockController extends SimpleBlockController {
         blockModel = getOwnerEntity();
         positionA = blockModel.getPosition().copy();
 
+        // Read on every init, because pooled blocks may ram into another direction on the next map
+        direction = blockModel.getDirection();
+        length = blockModel.getDistance();
+
         switch (direction) {
             case UP:
                 positionB = positionA.copy().add(new Vector2f(0, -(length * GameParameters.BLOCK_HEIGHT)));
@@ -50,5 +53,10 @@ public class RamBlockController extends SimpleBlockController {
     @Override
     public void update(GameContainer gameContainer, StateBasedGame stateBasedGame, int delta) {
         blockModel.setPosition(new Vector2f(Utility.map(blockModel.getRamPosition(), 0, 1, positionA.getX(), positionB.getX()), Utility.map(blockModel.getRamPosition(), 0, 1, positionA.getY(), positionB.getY())));
+
+        // Move the block to its new cells of the broad phase and the map grid
+        GameplayState gameplayState = (GameplayState) stateBasedGame.getState(GameParameters.GAMEPLAY_STATE);
+        gameplayState.getCollisionGrid().update(blockModel);
+        gameplayState.getMapController().updateBlock(blockModel);
     }
 }
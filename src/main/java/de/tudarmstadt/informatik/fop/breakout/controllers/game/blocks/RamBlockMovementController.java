@@ -46,8 +46,11 @@ public class RamBlockMovementController {
     }
 
     public void update(GameplayState state, int delta) {
+        // Position changes were tuned per frame - scale them, so the movement doesn't depend on the tick length
+        float frames = delta * GameParameters.FRAME_RATE / 1000F;
+
         if (!rebounded) {
-            position += velocity * state.getGameSpeedFactor();
+            position += velocity * state.getGameSpeedFactor() * frames;
             velocity += acceleration * delta;
 
             if (position > 1) {
@@ -60,7 +63,7 @@ public class RamBlockMovementController {
                 timeElapsed += delta;
 
 
-                position -= reboundVelocity;
+                position -= reboundVelocity * frames;
                 reboundVelocity -= acceleration * delta;
 
                 if (position > 1) position = 1;
@@ -0,0 +1,61 @@
+package de.tudarmstadt.informatik.fop.breakout.events;
+
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.CollisionGrid;
+
+import eea.engine.entity.Entity;
+import eea.engine.event.basicevents.CollisionEvent;
+
+import org.newdawn.slick.GameContainer;
+import org.newdawn.slick.state.StateBasedGame;
+
+/**
+ * In comparison to the CollisionEvent of EEA this event doesn't test the owner against every entity of the current
+ * state. It only asks the {@link CollisionGrid} for the non-passable entities in the cells the owner overlaps.
+ * <p>
+ * It still extends the EEA CollisionEvent, so actions can cast their component to it like before.
+ *
+ * @see eea.engine.event.basicevents.CollisionEvent
+ */
+public class GridCollisionEvent extends CollisionEvent {
+
+    private final CollisionGrid collisionGrid;
+    private final Class<? extends Entity> filter;
+
+    private Entity collidedEntity;
+
+    /**
+     * Creates a collision event considering all registered entities
+     *
+     * @param collisionGrid the broad phase of the gameplay state
+     */
+    public GridCollisionEvent(CollisionGrid collisionGrid) {
+        this(collisionGrid, Entity.class);
+    }
+
+    /**
+     * Creates a collision event only considering entities of the given type
+     *
+     * @param collisionGrid the broad phase of the gameplay state
+     * @param filter        the type of entities the owner can collide with
+     */
+    public GridCollisionEvent(CollisionGrid collisionGrid, Class<? extends Entity> filter) {
+        this.collisionGrid = collisionGrid;
+        this.filter = filter;
+    }
+
+    @Override
+    protected boolean performAction(GameContainer gc, StateBasedGame sb, int delta) {
+        collidedEntity = collisionGrid.findCollision(getOwnerEntity(), filter);
+        return collidedEntity != null;
+    }
+
+    @Override
+    public Entity getCollidedEntity() {
+        return collidedEntity;
+    }
+
+    @Override
+    public Entity getColidedEntity() {
+        return collidedEntity;
+    }
+}
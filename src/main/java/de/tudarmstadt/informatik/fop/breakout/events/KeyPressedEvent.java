@@ -1,5 +1,6 @@
 package de.tudarmstadt.informatik.fop.breakout.events;
 
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.KeyBindingInput;
 import de.tudarmstadt.informatik.fop.breakout.models.KeyBinding;
 
 import eea.engine.event.Event;
@@ -11,21 +12,30 @@ import org.newdawn.slick.state.StateBasedGame;
  * In comparison to the KeyPressedEvent of EEA this event checks for keydown de.tudarmstadt.informatik.fop.breakout.events using the KeyBinding
  * enum. Then it's easier to change keybinding and starts listening based on the new key without unregister and
  * register the key event.
+ * <p>
+ * The key is looked up in the {@link KeyBindingInput} of the current gameplay step instead of the Slick input, so the
+ * event works the same way with recorded input.
  *
  * @see eea.engine.event.basicevents.KeyPressedEvent
  */
 public class KeyPressedEvent extends Event {
 
     private final KeyBinding keyBinding;
+    private final KeyBindingInput input;
 
-    public KeyPressedEvent(KeyBinding keyBinding) {
+    /**
+     * @param keyBinding the key binding to listen for
+     * @param input      the key binding state of the current gameplay step
+     */
+    public KeyPressedEvent(KeyBinding keyBinding, KeyBindingInput input) {
         super("KeyPressedEvent");
 
         this.keyBinding = keyBinding;
+        this.input = input;
     }
 
     @Override
     protected boolean performAction(GameContainer gc, StateBasedGame sb, int delta) {
-        return gc.getInput().isKeyPressed(keyBinding.getCurrentBinding());
+        return input.isKeyPressed(keyBinding);
     }
 }
@@ -0,0 +1,9 @@
+package de.tudarmstadt.informatik.fop.breakout.exceptions;
+
+public class InvalidReplayFileException extends Exception {
+
+    public InvalidReplayFileException(String arg) {
+        super(arg);
+    }
+
+}
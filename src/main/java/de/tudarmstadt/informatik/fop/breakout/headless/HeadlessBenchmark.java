@@ -0,0 +1,322 @@
+package de.tudarmstadt.informatik.fop.breakout.headless;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.EntityPools;
+import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.newdawn.slick.SlickException;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs a reproducible headless game and measures how long every simulation tick takes.
+ * <p>
+ * The sticks are controlled by the {@link HeadlessSimulation#autoPlay() auto play} and all randomness is seeded, so
+ * the same arguments always simulate the same game. The report contains the ticks per second, the percentiles of the
+ * tick durations, the allocated bytes per tick and the GC pauses during the measurement. The allocated bytes are summed
+ * up over all threads, so the workers moving the pooled balls are included.
+ * <p>
+ * Usage: {@code --benchmark=level3 --frames=100000 --balls=64 --seed=42 [--storm=2000] [--threads=4] [--warmup=1000] [--report=path.json]}
+ */
+public class HeadlessBenchmark {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final String DEFAULT_REPORT = "benchmark-report.json";
+
+    private int levelId = GameParameters.MAP_INITIAL_ID;
+    private int frames = 100000;
+    private int warmupFrames = 1000;
+    private int balls = 1;
+    private int stormBalls = 0;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = 42;
+    private Path reportPath = Paths.get(DEFAULT_REPORT);
+
+    private final List<Long> gcPauses = new ArrayList<>();
+
+    /**
+     * Creates a benchmark configured by the given command line arguments. Unknown arguments are ignored.
+     *
+     * @param args the command line arguments
+     * @return the configured benchmark
+     * @throws IllegalArgumentException if an argument has an invalid value
+     */
+    public static HeadlessBenchmark fromArguments(String[] args) {
+        HeadlessBenchmark benchmark = new HeadlessBenchmark();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) continue;
+
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+
+            try {
+                switch (name) {
+                    case "benchmark":
+                        // Accept the plain id as well as the map file name (i.e. "level3")
+                        benchmark.levelId = Integer.parseInt(value.startsWith(GameParameters.MAP_FILE_PREFIX)
+                                ? value.substring(GameParameters.MAP_FILE_PREFIX.length()) : value);
+                        break;
+                    case "frames":
+                        benchmark.frames = positive(name, Integer.parseInt(value));
+                        break;
+                    case "warmup":
+                        benchmark.warmupFrames = Math.max(0, Integer.parseInt(value));
+                        break;
+                    case "balls":
+                        benchmark.balls = positive(name, Integer.parseInt(value));
+                        break;
+                    case "storm":
+                        benchmark.stormBalls = Math.max(0, Integer.parseInt(value));
+                        break;
+                    case "threads":
+                        benchmark.threads = positive(name, Integer.parseInt(value));
+                        break;
+                    case "seed":
+                        benchmark.seed = Long.parseLong(value);
+                        break;
+                    case "report":
+                        benchmark.reportPath = Paths.get(value);
+                        break;
+                    default:
+                        break;
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value of --" + name + ": " + value);
+            }
+        }
+
+        return benchmark;
+    }
+
+    /**
+     * Runs the benchmark and writes the report
+     *
+     * @return the report as JSON
+     * @throws SlickException if the game cannot be simulated
+     * @throws IOException    if the report cannot be written
+     */
+    public String run() throws SlickException, IOException {
+        HeadlessSimulation simulation = new HeadlessSimulation(levelId, false, seed);
+
+        PlayerModel player = simulation.getGameplayState().getPlayers()[0];
+        for (int i = 1; i < balls; i++)
+            simulation.addBall(player);
+
+        // Pooled balls are added on every level start, like in the ball storm mode of the game
+        simulation.getGameplayState().setBallStormSize(stormBalls);
+        simulation.getGameplayState().addBallStorm(stormBalls);
+        simulation.getGameplayState().getBallPoolController().setParallelism(threads);
+
+        simulation.start();
+
+        // Let the JIT compile the hot paths before measuring
+        for (int i = 0; i < warmupFrames && !simulation.isGameOver(); i++) {
+            simulation.autoPlay();
+            simulation.step();
+        }
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long[] durations = new long[frames];
+        int measured = 0;
+
+        NotificationListener gcListener = this::onGarbageCollection;
+        registerGcListener(gcListener);
+
+        Map<Long, Long> allocatedBefore = getAllocatedBytesPerThread(threadBean);
+        long start = System.nanoTime();
+        try {
+            while (measured < frames && !simulation.isGameOver()) {
+                simulation.autoPlay();
+
+                long tickStart = System.nanoTime();
+                simulation.step();
+                durations[measured++] = System.nanoTime() - tickStart;
+            }
+        } finally {
+            unregisterGcListener(gcListener);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = getAllocatedBytesSince(threadBean, allocatedBefore);
+
+        long allocatedPerTick = (allocated < 0 || measured == 0) ? -1 : allocated / measured;
+
+        String report = createReport(simulation, Arrays.copyOf(durations, measured), elapsed, allocatedPerTick);
+
+        Files.write(reportPath, report.getBytes(StandardCharsets.UTF_8));
+        logger.info("Benchmark report written to {}", reportPath.toAbsolutePath());
+
+        return report;
+    }
+
+    private String createReport(HeadlessSimulation simulation, long[] durations, long elapsed, long allocatedPerTick) {
+        Arrays.sort(durations);
+
+        long gcTotal = 0, gcMax = 0;
+        synchronized (gcPauses) {
+            for (long pause : gcPauses) {
+                gcTotal += pause;
+                gcMax = Math.max(gcMax, pause);
+            }
+        }
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        appendField(json, "level", levelId);
+        appendField(json, "frames", frames);
+        appendField(json, "warmupFrames", warmupFrames);
+        appendField(json, "balls", balls);
+        appendField(json, "stormBalls", stormBalls);
+        appendField(json, "threads", threads);
+        appendField(json, "seed", seed);
+        appendField(json, "simulatedTicks", durations.length);
+        appendField(json, "gameOver", simulation.isGameOver());
+        appendField(json, "tickLengthMs", simulation.getGameplayState().getSimulationClock().getTickLength());
+        appendField(json, "ticksPerSecond", (elapsed > 0) ? durations.length * 1e9 / elapsed : 0);
+        appendField(json, "tickTimeNs", "{ \"p50\": " + percentile(durations, 0.5)
+                + ", \"p99\": " + percentile(durations, 0.99)
+                + ", \"p999\": " + percentile(durations, 0.999)
+                + ", \"max\": " + ((durations.length > 0) ? durations[durations.length - 1] : 0) + " }");
+        appendField(json, "allocatedBytesPerTick", allocatedPerTick);
+        appendField(json, "gcPauses", "{ \"count\": " + gcPauses.size() + ", \"totalMs\": " + gcTotal + ", \"maxMs\": " + gcMax + " }");
+        appendField(json, "entityPools", toJson(simulation.getGameplayState().getEntityPools()));
+        appendField(json, "javaVersion", "\"" + System.getProperty("java.version") + "\"");
+        json.append("  \"availableProcessors\": ").append(Runtime.getRuntime().availableProcessors()).append('\n');
+        json.append("}\n");
+
+        return json.toString();
+    }
+
+    /**
+     * @return the hits and misses per entity pool as JSON object
+     */
+    private static String toJson(EntityPools entityPools) {
+        Map<String, Long> hits = entityPools.getHits();
+        Map<String, Long> misses = entityPools.getMisses();
+
+        StringBuilder json = new StringBuilder("{ ");
+        for (String pool : hits.keySet()) {
+            if (json.length() > 2)
+                json.append(", ");
+            json.append('"').append(pool).append("\": { \"hits\": ").append(hits.get(pool))
+                    .append(", \"misses\": ").append(misses.get(pool)).append(" }");
+        }
+
+        return json.append(" }").toString();
+    }
+
+    private static void appendField(StringBuilder json, String name, Object value) {
+        String text = (value instanceof Double) ? String.format(Locale.ROOT, "%.1f", (Double) value) : String.valueOf(value);
+        json.append("  \"").append(name).append("\": ").append(text).append(",\n");
+    }
+
+    /**
+     * @param sorted   the sorted durations
+     * @param quantile the quantile between 0 and 1
+     * @return the duration at the given quantile (nearest rank) or 0 if there are no durations
+     */
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static int positive(String name, int value) {
+        if (value <= 0)
+            throw new IllegalArgumentException("--" + name + " has to be positive: " + value);
+
+        return value;
+    }
+
+    /**
+     * @return the bytes allocated by every live thread by its id or null if the JVM doesn't support measuring it
+     */
+    public static Map<Long, Long> getAllocatedBytesPerThread(ThreadMXBean threadBean) {
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean))
+            return null;
+
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+        if (!bean.isThreadAllocatedMemorySupported() || !bean.isThreadAllocatedMemoryEnabled())
+            return null;
+
+        long[] threadIds = bean.getAllThreadIds();
+        long[] allocated = bean.getThreadAllocatedBytes(threadIds);
+
+        Map<Long, Long> allocatedPerThread = new HashMap<>();
+        for (int i = 0; i < threadIds.length; i++)
+            if (allocated[i] >= 0)
+                allocatedPerThread.put(threadIds[i], allocated[i]);
+
+        return allocatedPerThread;
+    }
+
+    /**
+     * Sums up the bytes the threads have allocated since the given snapshot. Threads started since then count with all
+     * their allocations, threads that have terminated since then are missing.
+     *
+     * @param before the snapshot of {@link #getAllocatedBytesPerThread(ThreadMXBean)}
+     * @return the allocated bytes or -1 if the JVM doesn't support measuring it
+     */
+    public static long getAllocatedBytesSince(ThreadMXBean threadBean, Map<Long, Long> before) {
+        Map<Long, Long> after = getAllocatedBytesPerThread(threadBean);
+        if (before == null || after == null)
+            return -1;
+
+        long allocated = 0;
+        for (Map.Entry<Long, Long> thread : after.entrySet())
+            allocated += thread.getValue() - before.getOrDefault(thread.getKey(), 0L);
+
+        return allocated;
+    }
+
+    private void onGarbageCollection(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()))
+            return;
+
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        synchronized (gcPauses) {
+            gcPauses.add(info.getGcInfo().getDuration());
+        }
+    }
+
+    private static void registerGcListener(NotificationListener listener) {
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans())
+            if (bean instanceof NotificationEmitter)
+                ((NotificationEmitter) bean).addNotificationListener(listener, null, null);
+    }
+
+    private static void unregisterGcListener(NotificationListener listener) {
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean instanceof NotificationEmitter) {
+                try {
+                    ((NotificationEmitter) bean).removeNotificationListener(listener);
+                } catch (ListenerNotFoundException e) {
+                    // Never registered, nothing to remove
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package de.tudarmstadt.informatik.fop.breakout.headless;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import org.lwjgl.input.Cursor;
+import org.newdawn.slick.Game;
+import org.newdawn.slick.GameContainer;
+import org.newdawn.slick.Image;
+import org.newdawn.slick.opengl.ImageData;
+
+/**
+ * Game container without a display. It never creates an OpenGL context or touches the native LWJGL libraries, so the
+ * gameplay can be simulated on machines without a GPU. The time is taken from {@link System#nanoTime()} instead of the
+ * LWJGL timer.
+ */
+public class HeadlessGameContainer extends GameContainer {
+
+    private final HeadlessInput headlessInput = new HeadlessInput();
+
+    /**
+     * @param game the game that should been simulated
+     */
+    public HeadlessGameContainer(Game game) {
+        super(game);
+
+        width = GameParameters.WINDOW_WIDTH;
+        height = GameParameters.WINDOW_HEIGHT;
+        input = headlessInput;
+    }
+
+    /**
+     * @return the input that can be controlled programmatically
+     */
+    public HeadlessInput getHeadlessInput() {
+        return headlessInput;
+    }
+
+    @Override
+    public long getTime() {
+        return System.nanoTime() / 1000000;
+    }
+
+    @Override
+    public int getScreenWidth() {
+        return width;
+    }
+
+    @Override
+    public int getScreenHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean hasFocus() {
+        return true;
+    }
+
+    @Override
+    public void setIcon(String ref) {
+    }
+
+    @Override
+    public void setIcons(String[] refs) {
+    }
+
+    @Override
+    public void setMouseCursor(String ref, int hotSpotX, int hotSpotY) {
+    }
+
+    @Override
+    public void setMouseCursor(ImageData data, int hotSpotX, int hotSpotY) {
+    }
+
+    @Override
+    public void setMouseCursor(Image image, int hotSpotX, int hotSpotY) {
+    }
+
+    @Override
+    public void setMouseCursor(Cursor cursor, int hotSpotX, int hotSpotY) {
+    }
+
+    @Override
+    public void setDefaultMouseCursor() {
+    }
+
+    @Override
+    public void setMouseGrabbed(boolean grabbed) {
+    }
+
+    @Override
+    public boolean isMouseGrabbed() {
+        return false;
+    }
+}
@@ -0,0 +1,89 @@
+package de.tudarmstadt.informatik.fop.breakout.headless;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import org.newdawn.slick.Input;
+
+/**
+ * Input without a keyboard or mouse device. The key states are set programmatically, so the gameplay can be controlled
+ * without the native LWJGL libraries.
+ * <p>
+ * Like the Slick input, a pressed key is only reported once and consumed afterwards.
+ */
+public class HeadlessInput extends Input {
+
+    private static final int KEY_COUNT = 256;
+
+    private final boolean[] keysDown = new boolean[KEY_COUNT];
+    private final boolean[] keysPressed = new boolean[KEY_COUNT];
+
+    public HeadlessInput() {
+        super(GameParameters.WINDOW_HEIGHT);
+    }
+
+    /**
+     * Holds or releases the given key
+     *
+     * @param key  the key code (i.e. {@link Input#KEY_LEFT})
+     * @param down true if the key should be held down
+     */
+    public void setKeyDown(int key, boolean down) {
+        keysDown[key] = down;
+    }
+
+    /**
+     * Presses the given key once. The press will be reported by the next {@link #isKeyPressed(int)} call.
+     *
+     * @param key the key code (i.e. {@link Input#KEY_SPACE})
+     */
+    public void pressKey(int key) {
+        keysPressed[key] = true;
+    }
+
+    /**
+     * Releases all keys and forgets all pending key presses
+     */
+    public void releaseAll() {
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keysDown[i] = false;
+            keysPressed[i] = false;
+        }
+    }
+
+    @Override
+    public boolean isKeyDown(int code) {
+        return code >= 0 && code < KEY_COUNT && keysDown[code];
+    }
+
+    @Override
+    public boolean isKeyPressed(int code) {
+        if (code < 0 || code >= KEY_COUNT || !keysPressed[code]) return false;
+
+        keysPressed[code] = false;
+        return true;
+    }
+
+    @Override
+    public boolean isMouseButtonDown(int button) {
+        return false;
+    }
+
+    @Override
+    public boolean isMousePressed(int button) {
+        return false;
+    }
+
+    @Override
+    public int getMouseX() {
+        return 0;
+    }
+
+    @Override
+    public int getMouseY() {
+        return 0;
+    }
+
+    @Override
+    public void poll(int width, int height) {
+        // There are no devices to poll
+    }
+}
@@ -0,0 +1,254 @@
+package de.tudarmstadt.informatik.fop.breakout.headless;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.models.KeyBinding;
+import de.tudarmstadt.informatik.fop.breakout.models.game.BallModel;
+import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
+import de.tudarmstadt.informatik.fop.breakout.models.game.StickModel;
+import de.tudarmstadt.informatik.fop.breakout.replay.Replay;
+import de.tudarmstadt.informatik.fop.breakout.replay.ReplayResult;
+import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
+import de.tudarmstadt.informatik.fop.breakout.ui.Breakout;
+import org.newdawn.slick.SlickException;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runs the complete gameplay logic (blocks, items, timeouts, scoring and game over) without a display, OpenGL or the
+ * native LWJGL libraries.
+ * <p>
+ * The game runs in debug and headless mode, so no views, images or sounds are loaded and game over doesn't enter the
+ * game over screen. Every {@link #step()} simulates exactly one fixed tick of the gameplay state, so the simulation runs
+ * as fast as the CPU allows instead of in real time.
+ * <p>
+ * NOTICE: the EEA entity manager is a singleton, so only one simulation can run per JVM at the same time.
+ */
+public class HeadlessSimulation {
+
+    // Distance in pixels between stick and ball the auto play tolerates without moving the stick
+    private static final float AUTO_PLAY_TOLERANCE = 10;
+
+    private final Breakout breakout;
+    private final HeadlessGameContainer container;
+    private final GameplayState gameplayState;
+
+    private long ticks = 0;
+
+    /**
+     * Creates a new headless game and loads the given level
+     *
+     * @param levelId     the map that should been loaded
+     * @param multiplayer true if the game should been started in multiplayer mode
+     * @throws SlickException if the game cannot be initialized
+     */
+    public HeadlessSimulation(int levelId, boolean multiplayer) throws SlickException {
+        this(levelId, multiplayer, new Random(), null, false);
+    }
+
+    /**
+     * Creates a new headless game with a seeded random number generator, so the game can be reproduced
+     *
+     * @param levelId     the map that should been loaded
+     * @param multiplayer true if the game should been started in multiplayer mode
+     * @param seed        the seed of the gameplay random number generator
+     * @throws SlickException if the game cannot be initialized
+     */
+    public HeadlessSimulation(int levelId, boolean multiplayer, long seed) throws SlickException {
+        this(levelId, multiplayer, new Random(seed), null, false);
+    }
+
+    /**
+     * Creates a new headless game with a seeded random number generator and records it, so it can be saved as replay
+     * with {@link #finishRecording()}
+     *
+     * @param levelId     the map that should been loaded
+     * @param multiplayer true if the game should been started in multiplayer mode
+     * @param seed        the seed of the gameplay random number generator
+     * @param recording   true if the game should be recorded
+     * @throws SlickException if the game cannot be initialized
+     */
+    public HeadlessSimulation(int levelId, boolean multiplayer, long seed, boolean recording) throws SlickException {
+        this(levelId, multiplayer, new Random(seed), null, recording);
+    }
+
+    /**
+     * Creates a new headless game which plays back the given replay. Use {@link #playReplay()} to simulate it.
+     *
+     * @param replay the replay that should be played back
+     * @throws SlickException if the game cannot be initialized
+     */
+    public HeadlessSimulation(Replay replay) throws SlickException {
+        this(replay.getMapId(), replay.isMultiplayer(), new Random(), replay, false);
+    }
+
+    private HeadlessSimulation(int levelId, boolean multiplayer, Random random, Replay replay, boolean recording)
+            throws SlickException {
+        // Game over only stops the simulation instead of entering the game over screen
+        Breakout.setHeadless(true);
+        breakout = new Breakout(true, levelId);
+        container = new HeadlessGameContainer(breakout);
+
+        // Initializes all states, the main menu will be the current one
+        breakout.init(container);
+
+        gameplayState = (GameplayState) breakout.getState(GameParameters.GAMEPLAY_STATE);
+        gameplayState.setMultiplayer(multiplayer);
+        gameplayState.setRandom(random);
+        gameplayState.setRecording(recording);
+        if (replay != null)
+            gameplayState.play(replay);
+
+        // The state switch happens within the next update
+        breakout.enterState(GameParameters.GAMEPLAY_STATE);
+        breakout.update(container, 0);
+    }
+
+    /**
+     * Presses the start key, like a player on the 'press key to start' screen
+     */
+    public void start() {
+        container.getHeadlessInput().pressKey(KeyBinding.START_GAME.getCurrentBinding());
+    }
+
+    /**
+     * Simulates a single tick of the gameplay state
+     *
+     * @throws SlickException if an entity update fails
+     */
+    public void step() throws SlickException {
+        breakout.update(container, gameplayState.getSimulationClock().getTickLength());
+        ticks++;
+    }
+
+    /**
+     * Simulates the given amount of ticks or less if the game is over
+     *
+     * @param count the maximum amount of ticks
+     * @return the amount of simulated ticks
+     * @throws SlickException if an entity update fails
+     */
+    public int run(int count) throws SlickException {
+        int simulated = 0;
+        while (simulated < count && !isGameOver()) {
+            step();
+            simulated++;
+        }
+
+        return simulated;
+    }
+
+    /**
+     * Simulates all steps of the replay given to the constructor as fast as possible
+     *
+     * @return the result of the game after the last step
+     * @throws SlickException if an entity update fails
+     */
+    public ReplayResult playReplay() throws SlickException {
+        while (gameplayState.isReplaying())
+            step();
+
+        return ReplayResult.capture(gameplayState);
+    }
+
+    /**
+     * Finishes the recording of the game
+     *
+     * @return the replay of the game or null if it hasn't been recorded
+     */
+    public Replay finishRecording() {
+        return gameplayState.finishRecording();
+    }
+
+    /**
+     * Plays like a simple bot: moves every stick below the nearest ball of its player and restarts the game after a
+     * ball has been lost. Should be called before every {@link #step()}.
+     */
+    public void autoPlay() {
+        HeadlessInput input = getInput();
+
+        for (PlayerModel player : gameplayState.getPlayers()) {
+            if (player.getStickController() == null) continue;
+
+            StickModel stick = player.getStickController().getOwnerEntity();
+            float stickX = stick.getPosition().x;
+            float stickY = stick.getPosition().y;
+
+            // Follow the ball closest to the stick
+            BallModel nearest = null;
+            float nearestDistance = Float.MAX_VALUE;
+            List<BallModel> balls = gameplayState.getBalls();
+            for (int i = 0; i < balls.size(); i++) {
+                BallModel ball = balls.get(i);
+                float distance = Math.abs(ball.getPosition().y - stickY);
+                if (distance < nearestDistance) {
+                    nearest = ball;
+                    nearestDistance = distance;
+                }
+            }
+
+            boolean left = false, right = false;
+            if (nearest != null) {
+                float ballX = nearest.getPosition().x;
+                left = ballX < stickX - AUTO_PLAY_TOLERANCE;
+                right = ballX > stickX + AUTO_PLAY_TOLERANCE;
+            }
+
+            if (player.isSecondPlayer()) {
+                input.setKeyDown(KeyBinding.LEFT_MOVE_PLAYER2.getCurrentBinding(), left);
+                input.setKeyDown(KeyBinding.RIGHT_MOVE_PLAYER2.getCurrentBinding(), right);
+            } else {
+                input.setKeyDown(KeyBinding.LEFT_MOVE.getCurrentBinding(), left);
+                input.setKeyDown(KeyBinding.RIGHT_MOVE.getCurrentBinding(), right);
+            }
+        }
+
+        // Continue after a ball has been lost or a new level has been loaded
+        if (container.isPaused() && !gameplayState.isManuallyPaused() && !isGameOver())
+            start();
+    }
+
+    /**
+     * Adds another ball to the game
+     *
+     * @param controllingPlayer the player who initially controls the ball
+     * @return the created ball
+     * @throws SlickException if the ball cannot be created
+     */
+    public BallModel addBall(PlayerModel controllingPlayer) throws SlickException {
+        return gameplayState.addBall(breakout, controllingPlayer);
+    }
+
+    /**
+     * @return true if all players lost their health points
+     */
+    public boolean isGameOver() {
+        return gameplayState.isGameOver();
+    }
+
+    /**
+     * @return the amount of simulated ticks since the creation
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return the input to control the sticks programmatically
+     */
+    public HeadlessInput getInput() {
+        return container.getHeadlessInput();
+    }
+
+    public HeadlessGameContainer getContainer() {
+        return container;
+    }
+
+    public GameplayState getGameplayState() {
+        return gameplayState;
+    }
+
+    public Breakout getBreakout() {
+        return breakout;
+    }
+}
@@ -0,0 +1,16 @@
+package de.tudarmstadt.informatik.fop.breakout.interfaces;
+
+/**
+ * Interface for entities whose views use shared assets of the asset controller
+ *
+ * @see de.tudarmstadt.informatik.fop.breakout.controllers.AssetController
+ */
+public interface IAssetOwner {
+
+    /**
+     * Releases all assets acquired by the views of this entity. Will be called when the entity is removed from the
+     * game and has to be safe to call multiple times.
+     */
+    void releaseAssets();
+
+}
@@ -0,0 +1,34 @@
+package de.tudarmstadt.informatik.fop.breakout.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded after a ball bounced off a block or stick
+ */
+@Name("breakout.BallCollision")
+@Label("Ball Collision")
+@Category({"Breakout", "Physics"})
+@Description("A ball collided with a block or stick and the collision has been resolved")
+public class BallCollisionEvent extends Event {
+
+    @Label("Ball")
+    public String ballId;
+
+    @Label("Entity")
+    @Description("The id of the block or stick the ball collided with")
+    public String entityId;
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Direction")
+    @Description("The side of the entity that has been hit")
+    public String direction;
+
+    @Label("Smash Mode")
+    public boolean smashMode;
+}
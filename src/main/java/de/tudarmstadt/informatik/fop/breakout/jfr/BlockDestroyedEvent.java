@@ -0,0 +1,33 @@
+package de.tudarmstadt.informatik.fop.breakout.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded after a block ran out of hit points or has been smashed
+ */
+@Name("breakout.BlockDestroyed")
+@Label("Block Destroyed")
+@Category({"Breakout", "Gameplay"})
+public class BlockDestroyedEvent extends Event {
+
+    @Label("Block")
+    public String blockId;
+
+    @Label("Block Type")
+    public String blockType;
+
+    @Label("Column")
+    public int column;
+
+    @Label("Row")
+    public int row;
+
+    @Label("Score Points")
+    public int scorePoints;
+
+    @Label("Remaining Blocks")
+    public int remainingBlocks;
+}
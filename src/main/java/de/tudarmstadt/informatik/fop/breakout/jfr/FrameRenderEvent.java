@@ -0,0 +1,18 @@
+package de.tudarmstadt.informatik.fop.breakout.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded once per frame for the rendering of the gameplay state
+ */
+@Name("breakout.FrameRender")
+@Label("Frame Render")
+@Category({"Breakout", "Frame"})
+public class FrameRenderEvent extends Event {
+
+    @Label("Entities")
+    public int entities;
+}
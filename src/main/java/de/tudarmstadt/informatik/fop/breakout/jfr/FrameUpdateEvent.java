@@ -0,0 +1,23 @@
+package de.tudarmstadt.informatik.fop.breakout.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded once per frame for the update of the gameplay state
+ */
+@Name("breakout.FrameUpdate")
+@Label("Frame Update")
+@Category({"Breakout", "Frame"})
+public class FrameUpdateEvent extends Event {
+
+    @Label("Ticks")
+    @Description("The amount of simulated fixed ticks within the frame")
+    public int ticks;
+
+    @Label("Entities")
+    public int entities;
+}
@@ -0,0 +1,21 @@
+package de.tudarmstadt.informatik.fop.breakout.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded after the highscores have been written to disk
+ */
+@Name("breakout.HighscoreSave")
+@Label("Highscore Save")
+@Category({"Breakout", "Persistence"})
+public class HighscoreSaveEvent extends Event {
+
+    @Label("Entries")
+    public int entries;
+
+    @Label("Path")
+    public String path;
+}
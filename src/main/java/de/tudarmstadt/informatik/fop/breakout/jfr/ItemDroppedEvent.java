@@ -0,0 +1,23 @@
+package de.tudarmstadt.informatik.fop.breakout.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded after a destroyed block dropped an item
+ */
+@Name("breakout.ItemDropped")
+@Label("Item Dropped")
+@Category({"Breakout", "Gameplay"})
+public class ItemDroppedEvent extends Event {
+
+    @Label("Item Type")
+    public String itemType;
+
+    @Label("Block")
+    @Description("The id of the block that dropped the item")
+    public String blockId;
+}
@@ -0,0 +1,24 @@
+package de.tudarmstadt.informatik.fop.breakout.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded after a stick picked up an item. The duration covers the activation of the item.
+ */
+@Name("breakout.ItemPickedUp")
+@Label("Item Picked Up")
+@Category({"Breakout", "Gameplay"})
+public class ItemPickedUpEvent extends Event {
+
+    @Label("Item")
+    public String itemId;
+
+    @Label("Second Player")
+    public boolean secondPlayer;
+
+    @Label("Temporary")
+    public boolean temporary;
+}
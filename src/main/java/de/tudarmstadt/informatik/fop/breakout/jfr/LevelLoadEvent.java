@@ -0,0 +1,47 @@
+package de.tudarmstadt.informatik.fop.breakout.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Recorded after a map has been added to the gameplay state. The duration of the event only covers the installation
+ * on the game thread, because the map may have been parsed in the background before.
+ */
+@Name("breakout.LevelLoad")
+@Label("Level Load")
+@Category({"Breakout", "Loading"})
+public class LevelLoadEvent extends Event {
+
+    @Label("Map")
+    public int mapId;
+
+    @Label("Multiplayer")
+    public boolean multiplayer;
+
+    @Label("Blocks")
+    public int blocks;
+
+    @Label("Parse Duration")
+    @Description("Time to read and parse the map file")
+    @Timespan
+    public long parseDuration;
+
+    @Label("Model Duration")
+    @Description("Time to create the positioned block models")
+    @Timespan
+    public long modelDuration;
+
+    @Label("View Duration")
+    @Description("Time to create the block views, including loading their textures")
+    @Timespan
+    public long viewDuration;
+
+    @Label("Controller Duration")
+    @Description("Time to create the block controllers and add the blocks to the gameplay state")
+    @Timespan
+    public long controllerDuration;
+}
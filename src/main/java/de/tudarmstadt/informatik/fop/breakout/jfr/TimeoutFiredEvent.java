@@ -0,0 +1,27 @@
+package de.tudarmstadt.informatik.fop.breakout.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded after the callback of a due timeout has been called. The duration covers the callback.
+ */
+@Name("breakout.TimeoutFired")
+@Label("Timeout Fired")
+@Category({"Breakout", "Gameplay"})
+public class TimeoutFiredEvent extends Event {
+
+    @Label("Wakeup Time")
+    @Description("The planned wakeup time in game seconds")
+    public float wakeupTime;
+
+    @Label("Delay")
+    @Description("Game seconds between the planned wakeup time and the tick the timeout fired in")
+    public float delay;
+
+    @Label("Repeating")
+    public boolean repeating;
+}
@@ -0,0 +1,101 @@
+package de.tudarmstadt.informatik.fop.breakout.management;
+
+import java.util.Map;
+
+/**
+ * Management interface of a running game, i.e. to watch and tune it from JConsole or VisualVM.
+ * <p>
+ * All durations are measured over the last {@link de.tudarmstadt.informatik.fop.breakout.constants.GameParameters#MANAGEMENT_FRAME_WINDOW}
+ * frames of the gameplay state.
+ */
+public interface GameMXBean {
+
+    /**
+     * @return the frames rendered within the last second
+     */
+    int getFramesPerSecond();
+
+    /**
+     * @return the average duration of a gameplay update in milliseconds
+     */
+    double getAverageUpdateTime();
+
+    /**
+     * @return the maximum duration of a gameplay update in milliseconds
+     */
+    double getMaxUpdateTime();
+
+    /**
+     * @return the average duration of a gameplay rendering in milliseconds
+     */
+    double getAverageRenderTime();
+
+    /**
+     * @return the maximum duration of a gameplay rendering in milliseconds
+     */
+    double getMaxRenderTime();
+
+    /**
+     * @return the amount of entities per game state, by the name of the state
+     */
+    Map<String, Integer> getEntityCounts();
+
+    /**
+     * @return the amount of balls within the current game
+     */
+    int getActiveBalls();
+
+    /**
+     * @return the amount of blocks left on the current map
+     */
+    int getRemainingBlocks();
+
+    /**
+     * @return the amount of scheduled timeouts (i.e. of temporary items)
+     */
+    int getPendingTimeouts();
+
+    /**
+     * @return the amount of image files cached by the asset controller
+     */
+    int getLoadedTextures();
+
+    /**
+     * @return the amount of sound files cached by the sound controller
+     */
+    int getLoadedSounds();
+
+    /**
+     * @return the amount of reused items, balls and blocks per entity pool
+     */
+    Map<String, Long> getEntityPoolHits();
+
+    /**
+     * @return the amount of items, balls and blocks per entity pool that had to be created, because the pool was empty
+     */
+    Map<String, Long> getEntityPoolMisses();
+
+    /**
+     * @return the amount of removed entities per entity pool waiting for reuse
+     */
+    Map<String, Integer> getEntityPoolIdleCounts();
+
+    /**
+     * @return the current game speed (1 is the default speed)
+     */
+    float getGameSpeedFactor();
+
+    boolean isParticleEffectsEnabled();
+
+    void setParticleEffectsEnabled(boolean enabled);
+
+    /**
+     * @return the maximum frame rate or 0 if it is unlimited
+     */
+    int getFrameCap();
+
+    /**
+     * @param frameCap the maximum frame rate or 0 for an unlimited frame rate
+     */
+    void setFrameCap(int frameCap);
+}
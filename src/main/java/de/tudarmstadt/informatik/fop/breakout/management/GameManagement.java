@@ -0,0 +1,193 @@
+package de.tudarmstadt.informatik.fop.breakout.management;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.ClockController;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.MapController;
+import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
+import de.tudarmstadt.informatik.fop.breakout.ui.Breakout;
+import eea.engine.entity.Entity;
+import eea.engine.entity.StateBasedEntityManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.newdawn.slick.state.GameState;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes the metrics of a running game as MXBean registered at the platform MBean server.
+ * <p>
+ * The attributes are read by the JMX threads while the game thread modifies the game, so they are only a snapshot and
+ * may be slightly outdated. Writable attributes only change fields that are read by the game thread on every frame.
+ */
+public class GameManagement implements GameMXBean {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final int[] STATE_IDS = {
+            GameParameters.MAINMENU_STATE, GameParameters.GAMEPLAY_STATE, GameParameters.HIGHSCORE_STATE,
+            GameParameters.CREDITS_STATE, GameParameters.GAMEOVER_STATE, GameParameters.SETTINGS_STATE
+    };
+
+    private final Breakout breakout;
+
+    public GameManagement(Breakout breakout) {
+        this.breakout = breakout;
+    }
+
+    /**
+     * Registers the management interface of the given game. An interface registered by a previous game instance
+     * within the same JVM is replaced.
+     *
+     * @param breakout the running game
+     */
+    public static void register(Breakout breakout) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(GameParameters.MANAGEMENT_OBJECT_NAME);
+
+            if (server.isRegistered(name))
+                server.unregisterMBean(name);
+
+            server.registerMBean(new GameManagement(breakout), name);
+        } catch (JMException e) {
+            logger.error("Failed to register the management interface. The following error occurred: {}", e);
+        }
+    }
+
+    /**
+     * Removes the management interface, if it has been registered
+     */
+    public static void unregister() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(GameParameters.MANAGEMENT_OBJECT_NAME);
+
+            if (server.isRegistered(name))
+                server.unregisterMBean(name);
+        } catch (JMException e) {
+            logger.error("Failed to unregister the management interface. The following error occurred: {}", e);
+        }
+    }
+
+    @Override
+    public int getFramesPerSecond() {
+        return breakout.getContainer().getFPS();
+    }
+
+    @Override
+    public double getAverageUpdateTime() {
+        return toMillis(getGameplayState().getUpdateTimes().getAverage());
+    }
+
+    @Override
+    public double getMaxUpdateTime() {
+        return toMillis(getGameplayState().getUpdateTimes().getMax());
+    }
+
+    @Override
+    public double getAverageRenderTime() {
+        return toMillis(getGameplayState().getRenderTimes().getAverage());
+    }
+
+    @Override
+    public double getMaxRenderTime() {
+        return toMillis(getGameplayState().getRenderTimes().getMax());
+    }
+
+    @Override
+    public Map<String, Integer> getEntityCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int stateId : STATE_IDS) {
+            GameState state = breakout.getState(stateId);
+            List<Entity> entities = StateBasedEntityManager.getInstance().getEntitiesByState(stateId);
+            if (state != null)
+                counts.put(state.getClass().getSimpleName(), (entities != null) ? entities.size() : 0);
+        }
+
+        return counts;
+    }
+
+    @Override
+    public int getActiveBalls() {
+        return getGameplayState().getBallCount();
+    }
+
+    @Override
+    public int getRemainingBlocks() {
+        MapController mapController = getGameplayState().getMapController();
+        return (mapController != null) ? mapController.getRemainingBlocks() : 0;
+    }
+
+    @Override
+    public int getPendingTimeouts() {
+        ClockController clockController = getGameplayState().getClockController();
+        return (clockController != null) ? clockController.getTimeoutCount() : 0;
+    }
+
+    @Override
+    public int getLoadedTextures() {
+        return breakout.getAssetController().getTextureCount();
+    }
+
+    @Override
+    public int getLoadedSounds() {
+        return breakout.getSoundController().getLoadedSoundCount();
+    }
+
+    @Override
+    public Map<String, Long> getEntityPoolHits() {
+        return getGameplayState().getEntityPools().getHits();
+    }
+
+    @Override
+    public Map<String, Long> getEntityPoolMisses() {
+        return getGameplayState().getEntityPools().getMisses();
+    }
+
+    @Override
+    public Map<String, Integer> getEntityPoolIdleCounts() {
+        return getGameplayState().getEntityPools().getIdleCounts();
+    }
+
+    @Override
+    public float getGameSpeedFactor() {
+        return getGameplayState().getGameSpeedFactor();
+    }
+
+    @Override
+    public boolean isParticleEffectsEnabled() {
+        return getGameplayState().isParticleEffectsEnabled();
+    }
+
+    @Override
+    public void setParticleEffectsEnabled(boolean enabled) {
+        getGameplayState().setParticleEffectsEnabled(enabled);
+    }
+
+    @Override
+    public int getFrameCap() {
+        return breakout.getFrameCap();
+    }
+
+    @Override
+    public void setFrameCap(int frameCap) {
+        if (frameCap < 0)
+            throw new IllegalArgumentException("The frame cap must not be negative: " + frameCap);
+
+        breakout.setFrameCap(frameCap);
+    }
+
+    private GameplayState getGameplayState() {
+        return (GameplayState) breakout.getState(GameParameters.GAMEPLAY_STATE);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+}
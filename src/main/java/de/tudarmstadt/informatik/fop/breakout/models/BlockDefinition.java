@@ -0,0 +1,81 @@
+package de.tudarmstadt.informatik.fop.breakout.models;
+
+/**
+ * A single block of a map file as it was parsed, before any model or view has been created.
+ */
+public final class BlockDefinition {
+
+    private final int row;
+    private final int column;
+    private final BlockType type;
+    private final int hits;
+    private final Direction direction;
+    private final int distance;
+
+    private BlockDefinition(int row, int column, BlockType type, int hits, Direction direction, int distance) {
+        this.row = row;
+        this.column = column;
+        this.type = type;
+        this.hits = hits;
+        this.direction = direction;
+        this.distance = distance;
+    }
+
+    /**
+     * Creates the definition of a simple block
+     *
+     * @param row    the row of the block (starting with 0)
+     * @param column the column of the block (starting with 0)
+     * @param hits   the hits necessary to destroy the block
+     * @return the block definition
+     */
+    public static BlockDefinition simple(int row, int column, int hits) {
+        return new BlockDefinition(row, column, BlockType.SIMPLE, hits, null, 0);
+    }
+
+    /**
+     * Creates the definition of a ram block
+     *
+     * @param row       the row of the block (starting with 0)
+     * @param column    the column of the block (starting with 0)
+     * @param direction the direction the block moves to
+     * @param distance  the distance in blocks the block moves
+     * @return the block definition
+     */
+    public static BlockDefinition ram(int row, int column, Direction direction, int distance) {
+        return new BlockDefinition(row, column, BlockType.RAM, 0, direction, distance);
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public BlockType getType() {
+        return type;
+    }
+
+    /**
+     * @return the hits necessary to destroy a simple block (0 for ram blocks)
+     */
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the direction of a ram block (null for simple blocks)
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * @return the distance of a ram block (0 for simple blocks)
+     */
+    public int getDistance() {
+        return distance;
+    }
+}
@@ -0,0 +1,37 @@
+package de.tudarmstadt.informatik.fop.breakout.models;
+
+import de.tudarmstadt.informatik.fop.breakout.util.AliasTable;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The items that can be dropped by each type of block, weighted by their possibility. The tables are built once, so a
+ * drop takes constant time.
+ */
+public final class DropTable {
+
+    private static final Map<BlockType, AliasTable<ItemType>> tables = new EnumMap<>(BlockType.class);
+
+    static {
+        // Simple blocks can drop all items, ram blocks none
+        tables.put(BlockType.SIMPLE, new AliasTable<>(ItemType.values(), ItemType::getPossibility));
+        tables.put(BlockType.RAM, new AliasTable<>(new ItemType[0], ItemType::getPossibility));
+    }
+
+    private DropTable() {
+    }
+
+    /**
+     * Draws a random item the given type of block can drop
+     *
+     * @param blockType the type of the destroyed block
+     * @param random    the random number generator to use
+     * @return the drawn item or null if the block can't drop any item
+     */
+    public static ItemType sample(BlockType blockType, Random random) {
+        AliasTable<ItemType> table = tables.get(blockType);
+        return (table != null) ? table.sample(random) : null;
+    }
+}
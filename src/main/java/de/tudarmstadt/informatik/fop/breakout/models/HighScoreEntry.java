@@ -12,6 +12,8 @@ public class HighScoreEntry implements IHighscoreEntry, Comparable<IHighscoreEnt
     private final String playerName;
     private final int blocksDestroyed;
     private final float elapsedTime;
+    // Computed once, the entries are compared all the time while the leaderboard is sorted
+    private final double points;
 
     /**
      * Creates a new highscore entry
@@ -33,6 +35,7 @@ public class HighScoreEntry implements IHighscoreEntry, Comparable<IHighscoreEnt
         this.blocksDestroyed = blocksDestroyed;
         //keep only three decimal places for better serialization
         this.elapsedTime = Math.round(elapsedTime * 1_000) / 1_000F;
+        this.points = computePoints(blocksDestroyed, this.elapsedTime);
     }
 
     @Override
@@ -52,9 +55,7 @@ public class HighScoreEntry implements IHighscoreEntry, Comparable<IHighscoreEnt
 
     @Override
     public double getPoints() {
-        float points = (float) (Math.pow(blocksDestroyed, 2) * (4 * blocksDestroyed / elapsedTime));
-        //round it with only decimal places
-        return Math.round(points * 100) / 100D;
+        return points;
     }
 
     @Override
@@ -63,6 +64,19 @@ public class HighScoreEntry implements IHighscoreEntry, Comparable<IHighscoreEnt
         return Double.compare(other.getPoints(), getPoints());
     }
 
+    /**
+     * Calculates the points of an entry without creating it, i.e. to compare stored entries
+     *
+     * @param blocksDestroyed amount of blocks destroyed
+     * @param elapsedTime     elapsed time rounded to three decimal places
+     * @return the points an entry with these values would have
+     */
+    public static double computePoints(int blocksDestroyed, float elapsedTime) {
+        float points = (float) (Math.pow(blocksDestroyed, 2) * (4 * blocksDestroyed / elapsedTime));
+        //round it with only decimal places
+        return Math.round(points * 100) / 100D;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (this == other) return true;
@@ -2,23 +2,25 @@ package de.tudarmstadt.informatik.fop.breakout.models;
 
 import de.tudarmstadt.informatik.fop.breakout.actions.game.items.*;
 
+import java.util.function.Supplier;
+
 public enum ItemType {
 
-    FasterItem("src/main/resources/images/faster-spritesheet.png", 1, 0, FasterItemAction.class),
-    SlowerItem("src/main/resources/images/slower-spritesheet.png", 1, 0, SlowerItemAction.class),
-    BiggerItem("src/main/resources/images/bigger-spritesheet.png", 1, 0, BiggerItemAction.class),
-    SmallerItem("src/main/resources/images/smaller-spritesheet.png", 1, 0, SmallerItemAction.class),
-    SmashBallItem("src/main/resources/images/smash-ball-spritesheet.png", 1, 3, SmashBallItemAction.class),
-    SloMoItem("src/main/resources/images/slo-mo-spritesheet.png", 1, 1.5f, SloMoItemAction.class),
-    HealthPointItem("src/main/resources/images/health-point-spritesheet.png", 1, 0, HealthPointItemAction.class),
-    AdditionalBallItem("src/main/resources/images/additional-ball-spritesheet.png", 1, 0, AdditionalBallItemAction.class);
+    FasterItem("src/main/resources/images/faster-spritesheet.png", 1, 0, FasterItemAction::new),
+    SlowerItem("src/main/resources/images/slower-spritesheet.png", 1, 0, SlowerItemAction::new),
+    BiggerItem("src/main/resources/images/bigger-spritesheet.png", 1, 0, BiggerItemAction::new),
+    SmallerItem("src/main/resources/images/smaller-spritesheet.png", 1, 0, SmallerItemAction::new),
+    SmashBallItem("src/main/resources/images/smash-ball-spritesheet.png", 1, 3, SmashBallItemAction::new),
+    SloMoItem("src/main/resources/images/slo-mo-spritesheet.png", 1, 1.5f, SloMoItemAction::new),
+    HealthPointItem("src/main/resources/images/health-point-spritesheet.png", 1, 0, HealthPointItemAction::new),
+    AdditionalBallItem("src/main/resources/images/additional-ball-spritesheet.png", 1, 0, AdditionalBallItemAction::new);
 
     private final String imagePath;
     private final double possibility;
-    private final Class actionHandler;
+    private final Supplier<AbstractItemAction> actionHandler;
     private final float duration;
 
-    ItemType(String imagePath, double possibility, float duration, Class actionHandler) {
+    ItemType(String imagePath, double possibility, float duration, Supplier<AbstractItemAction> actionHandler) {
         this.imagePath = imagePath;
         this.possibility = possibility;
         this.duration = duration;
@@ -37,7 +39,12 @@ public enum ItemType {
         return duration;
     }
 
-    public Class getActionHandler() {
-        return actionHandler;
+    /**
+     * Creates a new action handler, which will be called if a player picks up an item of this type
+     *
+     * @return the new action handler
+     */
+    public AbstractItemAction createActionHandler() {
+        return actionHandler.get();
     }
 }
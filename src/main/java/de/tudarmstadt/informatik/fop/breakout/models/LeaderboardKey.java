@@ -0,0 +1,85 @@
+package de.tudarmstadt.informatik.fop.breakout.models;
+
+import java.util.Objects;
+
+/**
+ * Identifies a leaderboard: the map a game has been started with, the mode and optionally the period the game has
+ * been played in (i.e. a month). A key without a period identifies the all-time leaderboard.
+ */
+public final class LeaderboardKey {
+
+    private final int mapId;
+    private final boolean multiplayer;
+    private final String period;
+
+    /**
+     * @param mapId       the initial map of the games
+     * @param multiplayer true for the games played in multiplayer mode
+     * @param period      the date bucket of the games or null for all games
+     */
+    public LeaderboardKey(int mapId, boolean multiplayer, String period) {
+        this.mapId = mapId;
+        this.multiplayer = multiplayer;
+        this.period = period;
+    }
+
+    /**
+     * @param mapId       the initial map of the games
+     * @param multiplayer true for the games played in multiplayer mode
+     */
+    public LeaderboardKey(int mapId, boolean multiplayer) {
+        this(mapId, multiplayer, null);
+    }
+
+    public int getMapId() {
+        return mapId;
+    }
+
+    public boolean isMultiplayer() {
+        return multiplayer;
+    }
+
+    /**
+     * @return the date bucket or null if this is an all-time leaderboard
+     */
+    public String getPeriod() {
+        return period;
+    }
+
+    /**
+     * @return the all-time leaderboard of the same map and mode
+     */
+    public LeaderboardKey toAllTime() {
+        return period == null ? this : new LeaderboardKey(mapId, multiplayer);
+    }
+
+    /**
+     * @param period the date bucket
+     * @return the leaderboard of the same map and mode for the given period
+     */
+    public LeaderboardKey withPeriod(String period) {
+        return new LeaderboardKey(mapId, multiplayer, period);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (other == null || getClass() != other.getClass()) return false;
+
+        LeaderboardKey otherKey = (LeaderboardKey) other;
+        return mapId == otherKey.mapId
+                && multiplayer == otherKey.multiplayer
+                && Objects.equals(period, otherKey.period);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mapId, multiplayer, period);
+    }
+
+    @Override
+    public String toString() {
+        return "Level " + mapId + " - " + (multiplayer ? "Multiplayer" : "Singleplayer")
+                + " - " + (period == null ? "All time" : period);
+    }
+}
@@ -1,6 +1,11 @@
 package de.tudarmstadt.informatik.fop.breakout.models.game;
 
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.BallController;
+import de.tudarmstadt.informatik.fop.breakout.interfaces.IAssetOwner;
 import de.tudarmstadt.informatik.fop.breakout.util.Utility;
+import de.tudarmstadt.informatik.fop.breakout.views.game.BallView;
+import eea.engine.component.Component;
 import eea.engine.entity.Entity;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -8,18 +13,20 @@ import org.newdawn.slick.geom.Circle;
 import org.newdawn.slick.geom.Shape;
 import org.newdawn.slick.geom.Vector2f;
 
-public class BallModel extends Entity {
+public class BallModel extends Entity implements IAssetOwner {
 
     private static Logger logger = LogManager.getLogger();
 
     private Vector2f velocity;
-    private float radius = 12.5F;
+    private float radius = GameParameters.BALL_RADIUS;
     private int hitPoints = 1;
     private Vector2f[] outline;
     private int numberOfVertices = 30;
 
     private PlayerModel controllingPlayer;
     private boolean smashMode = false;
+    private BallView view;
+    private BallController controller;
 
     public BallModel(String entityID, PlayerModel initialControllingPlayer) {
         super(entityID);
@@ -83,6 +90,40 @@ public class BallModel extends Entity {
         this.smashMode = smashMode;
     }
 
+    @Override
+    public void addComponent(Component component) {
+        if (component instanceof BallView) {
+            view = (BallView) component;
+        } else if (component instanceof BallController) {
+            controller = (BallController) component;
+        }
+        super.addComponent(component);
+    }
+
+    public BallView getView() {
+        return view;
+    }
+
+    public BallController getController() {
+        return controller;
+    }
+
+    /**
+     * Resets the state changed by items, so a pooled ball can be added again like a new one
+     *
+     * @param initialControllingPlayer the player who initially controls the ball, null to drop the previous player
+     */
+    public void reset(PlayerModel initialControllingPlayer) {
+        controllingPlayer = initialControllingPlayer;
+        smashMode = false;
+    }
+
+    @Override
+    public void releaseAssets() {
+        if (view != null)
+            view.release();
+    }
+
     public PlayerModel getControllingPlayer() {
         return controllingPlayer;
     }
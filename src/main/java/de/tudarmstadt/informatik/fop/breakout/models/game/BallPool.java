@@ -0,0 +1,229 @@
+package de.tudarmstadt.informatik.fop.breakout.models.game;
+
+import java.util.Arrays;
+
+/**
+ * Stores lightweight balls (i.e. the balls of the ball storm mode) in primitive arrays instead of one entity per ball.
+ * <p>
+ * A ball is identified by its slot index. Removed slots are chained in a free list and reused by the next added ball,
+ * so adding and removing balls doesn't allocate anything once the arrays are large enough. The arrays grow by doubling
+ * if all slots are in use. Iterate over all slots up to {@link #getSlotCount()} and skip those that aren't
+ * {@link #isAlive(int) alive}.
+ */
+public class BallPool {
+
+    private static final int NO_SLOT = -1;
+
+    private float[] x, y, previousX, previousY, velocityX, velocityY, radius;
+    private int[] owner;
+    private boolean[] smashMode;
+    private boolean[] alive;
+    private int[] nextFree;
+
+    private int slotCount = 0;
+    private int size = 0;
+    private int freeHead = NO_SLOT;
+
+    /**
+     * @param initialCapacity the amount of balls the pool can hold before its arrays have to grow
+     */
+    public BallPool(int initialCapacity) {
+        allocate(Math.max(1, initialCapacity));
+    }
+
+    /**
+     * Adds a new ball
+     *
+     * @param x         the center x
+     * @param y         the center y
+     * @param velocityX the velocity on the x-axis in pixels per millisecond
+     * @param velocityY the velocity on the y-axis in pixels per millisecond
+     * @param radius    the radius
+     * @param owner     the index of the player gaining the points for destroyed blocks
+     * @return the slot index of the ball
+     */
+    public int add(float x, float y, float velocityX, float velocityY, float radius, int owner) {
+        int index;
+        if (freeHead != NO_SLOT) {
+            index = freeHead;
+            freeHead = nextFree[index];
+        } else {
+            if (slotCount == alive.length)
+                allocate(alive.length * 2);
+
+            index = slotCount++;
+        }
+
+        this.x[index] = previousX[index] = x;
+        this.y[index] = previousY[index] = y;
+        this.velocityX[index] = velocityX;
+        this.velocityY[index] = velocityY;
+        this.radius[index] = radius;
+        this.owner[index] = owner;
+        smashMode[index] = false;
+        alive[index] = true;
+        size++;
+
+        return index;
+    }
+
+    /**
+     * Removes the ball and puts its slot onto the free list. Nothing happens if the slot isn't in use.
+     *
+     * @param index the slot index of the ball
+     */
+    public void remove(int index) {
+        if (!alive[index]) return;
+
+        alive[index] = false;
+        nextFree[index] = freeHead;
+        freeHead = index;
+        size--;
+    }
+
+    /**
+     * Removes all balls. The arrays are kept for the next balls.
+     */
+    public void clear() {
+        Arrays.fill(alive, 0, slotCount, false);
+        slotCount = 0;
+        size = 0;
+        freeHead = NO_SLOT;
+    }
+
+    /**
+     * Remembers the current positions of all balls, so they can be rendered between the last two ticks
+     */
+    public void capturePositions() {
+        System.arraycopy(x, 0, previousX, 0, slotCount);
+        System.arraycopy(y, 0, previousY, 0, slotCount);
+    }
+
+    /**
+     * Enables or disables the smash mode of all balls
+     *
+     * @param smashMode true if the balls should destroy every block without bouncing off
+     */
+    public void setSmashMode(boolean smashMode) {
+        Arrays.fill(this.smashMode, 0, slotCount, smashMode);
+    }
+
+    /**
+     * Multiplies the velocity of all balls with the given factor
+     *
+     * @param factor the speed factor
+     */
+    public void scaleVelocities(float factor) {
+        for (int i = 0; i < slotCount; i++) {
+            velocityX[i] *= factor;
+            velocityY[i] *= factor;
+        }
+    }
+
+    private void allocate(int capacity) {
+        x = copy(x, capacity);
+        y = copy(y, capacity);
+        previousX = copy(previousX, capacity);
+        previousY = copy(previousY, capacity);
+        velocityX = copy(velocityX, capacity);
+        velocityY = copy(velocityY, capacity);
+        radius = copy(radius, capacity);
+        owner = (owner == null) ? new int[capacity] : Arrays.copyOf(owner, capacity);
+        smashMode = (smashMode == null) ? new boolean[capacity] : Arrays.copyOf(smashMode, capacity);
+        alive = (alive == null) ? new boolean[capacity] : Arrays.copyOf(alive, capacity);
+        nextFree = (nextFree == null) ? new int[capacity] : Arrays.copyOf(nextFree, capacity);
+    }
+
+    private static float[] copy(float[] array, int capacity) {
+        return (array == null) ? new float[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    /**
+     * @return the amount of balls in the pool
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the amount of slots that have been in use since the last {@link #clear()}, alive or not
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * @return the amount of balls the pool can hold without growing
+     */
+    public int getCapacity() {
+        return alive.length;
+    }
+
+    public boolean isAlive(int index) {
+        return alive[index];
+    }
+
+    public float getX(int index) {
+        return x[index];
+    }
+
+    public float getY(int index) {
+        return y[index];
+    }
+
+    /**
+     * @param index the slot index of the ball
+     * @param alpha the position between the previous (0) and the current tick (1)
+     * @return the interpolated center x
+     */
+    public float getX(int index, float alpha) {
+        return previousX[index] + (x[index] - previousX[index]) * alpha;
+    }
+
+    /**
+     * @param index the slot index of the ball
+     * @param alpha the position between the previous (0) and the current tick (1)
+     * @return the interpolated center y
+     */
+    public float getY(int index, float alpha) {
+        return previousY[index] + (y[index] - previousY[index]) * alpha;
+    }
+
+    public void setPosition(int index, float x, float y) {
+        this.x[index] = x;
+        this.y[index] = y;
+    }
+
+    public float getVelocityX(int index) {
+        return velocityX[index];
+    }
+
+    public float getVelocityY(int index) {
+        return velocityY[index];
+    }
+
+    public void setVelocity(int index, float velocityX, float velocityY) {
+        this.velocityX[index] = velocityX;
+        this.velocityY[index] = velocityY;
+    }
+
+    public float getRadius(int index) {
+        return radius[index];
+    }
+
+    /**
+     * @param index the slot index of the ball
+     * @return the index of the player gaining the points for blocks destroyed by this ball
+     */
+    public int getOwner(int index) {
+        return owner[index];
+    }
+
+    public void setOwner(int index, int owner) {
+        this.owner[index] = owner;
+    }
+
+    public boolean isSmashMode(int index) {
+        return smashMode[index];
+    }
+}
@@ -1,12 +1,18 @@
 package de.tudarmstadt.informatik.fop.breakout.models.game;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.ItemController;
+import de.tudarmstadt.informatik.fop.breakout.interfaces.IAssetOwner;
+import de.tudarmstadt.informatik.fop.breakout.views.game.ItemView;
+import eea.engine.component.Component;
 import eea.engine.entity.Entity;
 import org.newdawn.slick.geom.Vector2f;
 
-public class ItemModel extends Entity {
+public class ItemModel extends Entity implements IAssetOwner {
     private float duration = 0;
     private Vector2f velocity;
+    private ItemView view;
+    private ItemController controller;
 
     public ItemModel(String entityID, float duration) {
         super(entityID);
@@ -25,4 +31,28 @@ public class ItemModel extends Entity {
     public Vector2f getVelocity() {
         return velocity;
     }
+
+    @Override
+    public void addComponent(Component component) {
+        if (component instanceof ItemView) {
+            view = (ItemView) component;
+        } else if (component instanceof ItemController) {
+            controller = (ItemController) component;
+        }
+        super.addComponent(component);
+    }
+
+    public ItemView getView() {
+        return view;
+    }
+
+    public ItemController getController() {
+        return controller;
+    }
+
+    @Override
+    public void releaseAssets() {
+        if (view != null)
+            view.release();
+    }
 }
@@ -28,6 +28,10 @@ public class PlayerModel extends Entity {
         return blockCounter;
     }
 
+    public int getScore() {
+        return score;
+    }
+
     public int getRemainingHealthpoints() {
         return remainingHealthpoints;
     }
@@ -1,13 +1,14 @@
 package de.tudarmstadt.informatik.fop.breakout.models.game;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.interfaces.IAssetOwner;
 import de.tudarmstadt.informatik.fop.breakout.views.game.StickView;
 import eea.engine.component.Component;
 import eea.engine.entity.Entity;
 import org.newdawn.slick.geom.Vector2f;
 
 
-public class StickModel extends Entity {
+public class StickModel extends Entity implements IAssetOwner {
 
     private Vector2f velocity = new Vector2f(GameParameters.STICK_SPEED, 0);
     private final PlayerModel owner;
@@ -62,4 +63,10 @@ public class StickModel extends Entity {
     public StickView getView() {
         return view;
     }
+
+    @Override
+    public void releaseAssets() {
+        if (view != null)
+            view.release();
+    }
 }
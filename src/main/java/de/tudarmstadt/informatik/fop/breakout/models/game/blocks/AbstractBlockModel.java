@@ -1,26 +1,34 @@
 package de.tudarmstadt.informatik.fop.breakout.models.game.blocks;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.blocks.SimpleBlockController;
+import de.tudarmstadt.informatik.fop.breakout.interfaces.IAssetOwner;
 import de.tudarmstadt.informatik.fop.breakout.interfaces.IHitable;
 import de.tudarmstadt.informatik.fop.breakout.models.BlockType;
-import de.tudarmstadt.informatik.fop.breakout.models.ItemType;
 import de.tudarmstadt.informatik.fop.breakout.views.game.blocks.AbstractBlockView;
+import eea.engine.component.Component;
 import eea.engine.entity.Entity;
+import org.newdawn.slick.geom.Vector2f;
 
-public abstract class AbstractBlockModel extends Entity implements IHitable {
+public abstract class AbstractBlockModel extends Entity implements IHitable, IAssetOwner {
 
     private int initialHits = 1;
     private int remainingHits = initialHits;
     private boolean isDestroyed = false;
 
     private int scorePoints = GameParameters.BLOCK_SCOREPOINTS;
-    ItemType droppableItems[] = {};
 
     private AbstractBlockView view;
+    private SimpleBlockController controller;
+
+    // The cell of the map grid containing this block (-1 if the block isn't part of the map)
+    private int column = -1;
+    private int row = -1;
 
     AbstractBlockModel(String entityID) {
         super(entityID);
         setPassable(false);
+        setSize(new Vector2f(GameParameters.BLOCK_WIDTH, GameParameters.BLOCK_HEIGHT));
     }
 
     public int getInitialHits() {
@@ -32,10 +40,6 @@ public abstract class AbstractBlockModel extends Entity implements IHitable {
         this.remainingHits = initialHits;
     }
 
-    public ItemType[] getDroppableItems() {
-        return droppableItems;
-    }
-
     @Override
     public void setHitsLeft(int hitsLeft) {
         remainingHits = hitsLeft;
@@ -64,6 +68,64 @@ public abstract class AbstractBlockModel extends Entity implements IHitable {
         return view;
     }
 
+    @Override
+    public void addComponent(Component component) {
+        if (component instanceof SimpleBlockController)
+            controller = (SimpleBlockController) component;
+
+        super.addComponent(component);
+    }
+
+    /**
+     * @return the controller of the block or null if it hasn't been installed yet
+     */
+    public SimpleBlockController getController() {
+        return controller;
+    }
+
+    /**
+     * Restores a destroyed or removed block, so a pooled block can be placed on another map
+     *
+     * @param initialHits the hits the block takes until it is destroyed
+     */
+    void reset(int initialHits) {
+        setInitialHits(initialHits);
+        isDestroyed = false;
+        setCell(-1, -1);
+    }
+
+    @Override
+    public void releaseAssets() {
+        if (view != null)
+            view.release();
+    }
+
+    /**
+     * Sets the cell of the map grid containing this block. Only the map controller should call this.
+     *
+     * @param column the column of the cell or -1 if the block has been removed from the map
+     * @param row    the row of the cell or -1 if the block has been removed from the map
+     */
+    public void setCell(int column, int row) {
+        this.column = column;
+        this.row = row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return true if the block is part of the map grid
+     */
+    public boolean hasCell() {
+        return column >= 0;
+    }
+
     public void decreaseRemainingHits(int hits) {
         remainingHits -= (remainingHits > hits) ? hits : remainingHits;
     }
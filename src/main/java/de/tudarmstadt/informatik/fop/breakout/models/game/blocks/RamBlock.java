@@ -6,6 +6,8 @@ import de.tudarmstadt.informatik.fop.breakout.models.Direction;
 
 public class RamBlock extends AbstractBlockModel {
 
+    private static final int INITIAL_HITS = 2;
+
     private Direction direction;
     private int distance;
     RamBlockMovementController rbmc;
@@ -15,7 +17,19 @@ public class RamBlock extends AbstractBlockModel {
         this.direction = direction;
         this.distance = distance;
         this.rbmc = rbmc;
-        setInitialHits(2);
+        setInitialHits(INITIAL_HITS);
+    }
+
+    /**
+     * Prepares a pooled block for another map
+     *
+     * @param direction the direction the block rams into
+     * @param distance  the distance in blocks
+     */
+    public void reuse(Direction direction, int distance) {
+        this.direction = direction;
+        this.distance = distance;
+        reset(INITIAL_HITS);
     }
 
     @Override
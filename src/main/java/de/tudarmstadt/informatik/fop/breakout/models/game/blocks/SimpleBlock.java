@@ -1,18 +1,21 @@
 package de.tudarmstadt.informatik.fop.breakout.models.game.blocks;
 
 import de.tudarmstadt.informatik.fop.breakout.models.BlockType;
-import de.tudarmstadt.informatik.fop.breakout.models.ItemType;
-
-import java.util.Arrays;
 
 public class SimpleBlock extends AbstractBlockModel {
 
     public SimpleBlock(String entityID, int initialHits) {
         super(entityID);
         this.setInitialHits(initialHits);
+    }
 
-        // Set all items as default
-        droppableItems = Arrays.copyOf(ItemType.values(), ItemType.values().length);
+    /**
+     * Prepares a pooled block for another map
+     *
+     * @param initialHits the hits the block takes until it is destroyed
+     */
+    public void reuse(int initialHits) {
+        reset(initialHits);
     }
 
     @Override
@@ -0,0 +1,260 @@
+package de.tudarmstadt.informatik.fop.breakout.replay;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.KeyBindingInput;
+import de.tudarmstadt.informatik.fop.breakout.exceptions.InvalidReplayFileException;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A recorded game: the initial map, the seed of the gameplay random number generator and the key binding state of
+ * every gameplay step. Playing back the steps with the same seed simulates exactly the same game.
+ * <p>
+ * A step is either a simulation tick or an update without simulated time (i.e. while the game is paused). Its value
+ * contains the {@link KeyBindingInput#getState() key binding state} and the {@link #TICK_FLAG}.
+ * <p>
+ * File format (all numbers except the seed and the clock are unsigned varints):
+ * <pre>
+ * int magic "BRKR", version, map id, byte multiplayer, long seed, tick rate
+ * step count, run count, runs: (run length, step value XOR previous step value)
+ * player count, per player: (score, destroyed blocks, healthpoints), remaining blocks, float clock seconds
+ * </pre>
+ * The key state rarely changes between two steps, so a game of several minutes takes only a few kilobytes. A replay
+ * has at most {@link GameParameters#REPLAY_MAX_STEPS} steps.
+ */
+public class Replay {
+
+    /**
+     * Marks a step as simulation tick
+     */
+    public static final int TICK_FLAG = 1 << 16;
+
+    private static final int MAGIC = 0x42524B52;
+    private static final int VERSION = 1;
+
+    private final int mapId;
+    private final boolean multiplayer;
+    private final long seed;
+    private final int tickRate;
+    private final int[] steps;
+    private final ReplayResult result;
+
+    /**
+     * @param mapId       the map the game started with
+     * @param multiplayer true if the game has been played in multiplayer mode
+     * @param seed        the seed of the gameplay random number generator
+     * @param tickRate    the simulation ticks per second
+     * @param steps       the value of every gameplay step
+     * @param result      the result at the end of the recording
+     */
+    public Replay(int mapId, boolean multiplayer, long seed, int tickRate, int[] steps, ReplayResult result) {
+        this.mapId = mapId;
+        this.multiplayer = multiplayer;
+        this.seed = seed;
+        this.tickRate = tickRate;
+        this.steps = steps;
+        this.result = result;
+    }
+
+    /**
+     * Reads a replay file
+     *
+     * @param path the path of the replay file
+     * @return the replay
+     * @throws IOException                if the file cannot be read
+     * @throws InvalidReplayFileException if the file isn't a valid replay
+     */
+    public static Replay read(Path path) throws IOException, InvalidReplayFileException {
+        // Replays only take a few kilobytes, reading them at once allows checking the counts against the file size
+        byte[] data = Files.readAllBytes(path);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC)
+                throw new InvalidReplayFileException(path + " is not a replay file");
+
+            int version = readVarint(in);
+            if (version != VERSION)
+                throw new InvalidReplayFileException(path + " has the unsupported version " + version);
+
+            int mapId = readVarint(in);
+            boolean multiplayer = in.readBoolean();
+            long seed = in.readLong();
+            int tickRate = readVarint(in);
+
+            int stepCount = readVarint(in);
+            int runCount = readVarint(in);
+            // Every run takes at least two bytes
+            if (stepCount < 0 || stepCount > GameParameters.REPLAY_MAX_STEPS
+                    || runCount < 0 || runCount > in.available() / 2)
+                throw new InvalidReplayFileException(path + " has an invalid step or run count");
+
+            // Sum up the run lengths first, so only the steps that are actually contained get allocated
+            in.mark(data.length);
+            long contained = 0;
+            for (int run = 0; run < runCount; run++) {
+                int length = readVarint(in);
+                readVarint(in);
+
+                if (length < 0)
+                    throw new InvalidReplayFileException(path + " has an invalid run length " + length);
+                contained += length;
+            }
+
+            if (contained > stepCount)
+                throw new InvalidReplayFileException(path + " contains more steps than declared");
+            if (contained < stepCount)
+                throw new InvalidReplayFileException(path + " contains less steps than declared");
+            in.reset();
+
+            int[] steps = new int[stepCount];
+            int position = 0, value = 0;
+            for (int run = 0; run < runCount; run++) {
+                int length = readVarint(in);
+                value ^= readVarint(in);
+
+                for (int i = 0; i < length; i++)
+                    steps[position++] = value;
+            }
+
+            int playerCount = readVarint(in);
+            if (playerCount < 1 || playerCount > 2)
+                throw new InvalidReplayFileException(path + " has an invalid player count " + playerCount);
+
+            int[] scores = new int[playerCount], blockCounters = new int[playerCount], healthpoints = new int[playerCount];
+            for (int i = 0; i < playerCount; i++) {
+                scores[i] = readVarint(in);
+                blockCounters[i] = readVarint(in);
+                healthpoints[i] = readVarint(in);
+            }
+            int remainingBlocks = readVarint(in);
+            float clockSeconds = in.readFloat();
+
+            return new Replay(mapId, multiplayer, seed, tickRate, steps,
+                    new ReplayResult(scores, blockCounters, healthpoints, remainingBlocks, clockSeconds));
+        } catch (EOFException e) {
+            throw new InvalidReplayFileException(path + " ends unexpectedly");
+        }
+    }
+
+    /**
+     * Writes this replay into a file. Missing directories are created.
+     *
+     * @param path the path of the replay file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            writeVarint(out, VERSION);
+            writeVarint(out, mapId);
+            out.writeBoolean(multiplayer);
+            out.writeLong(seed);
+            writeVarint(out, tickRate);
+
+            writeVarint(out, steps.length);
+            writeVarint(out, countRuns());
+            int previous = 0;
+            for (int start = 0; start < steps.length; ) {
+                int end = start + 1;
+                while (end < steps.length && steps[end] == steps[start])
+                    end++;
+
+                writeVarint(out, end - start);
+                writeVarint(out, steps[start] ^ previous);
+
+                previous = steps[start];
+                start = end;
+            }
+
+            writeVarint(out, result.getPlayerCount());
+            for (int i = 0; i < result.getPlayerCount(); i++) {
+                writeVarint(out, result.getScore(i));
+                writeVarint(out, result.getBlockCounter(i));
+                writeVarint(out, result.getHealthpoints(i));
+            }
+            writeVarint(out, result.getRemainingBlocks());
+            out.writeFloat(result.getClockSeconds());
+        }
+    }
+
+    private int countRuns() {
+        int runs = 0;
+        for (int i = 0; i < steps.length; i++)
+            if (i == 0 || steps[i] != steps[i - 1])
+                runs++;
+
+        return runs;
+    }
+
+    private static void writeVarint(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(DataInput in) throws IOException, InvalidReplayFileException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+
+        throw new InvalidReplayFileException("Varint is too long");
+    }
+
+    public int getMapId() {
+        return mapId;
+    }
+
+    public boolean isMultiplayer() {
+        return multiplayer;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return the simulation ticks per second of the recorded game
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * @return the amount of recorded gameplay steps
+     */
+    public int getStepCount() {
+        return steps.length;
+    }
+
+    /**
+     * @param index the index of the step
+     * @return the value of the step: the key binding state and the {@link #TICK_FLAG}
+     */
+    public int getStep(int index) {
+        return steps[index];
+    }
+
+    /**
+     * @return the result at the end of the recording
+     */
+    public ReplayResult getResult() {
+        return result;
+    }
+}
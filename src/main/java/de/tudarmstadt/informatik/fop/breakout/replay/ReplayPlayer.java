@@ -0,0 +1,50 @@
+package de.tudarmstadt.informatik.fop.breakout.replay;
+
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.KeyBindingInput;
+
+/**
+ * Plays back the gameplay steps of a replay one after another
+ */
+public class ReplayPlayer {
+
+    private final Replay replay;
+    private int position = 0;
+
+    public ReplayPlayer(Replay replay) {
+        this.replay = replay;
+    }
+
+    public Replay getReplay() {
+        return replay;
+    }
+
+    /**
+     * @return true if there are steps left
+     */
+    public boolean hasNext() {
+        return position < replay.getStepCount();
+    }
+
+    /**
+     * @return true if the next step is a simulation tick, false if it doesn't simulate any time
+     */
+    public boolean isNextTick() {
+        return (replay.getStep(position) & Replay.TICK_FLAG) != 0;
+    }
+
+    /**
+     * Moves to the next step
+     *
+     * @return the key binding state of the step
+     */
+    public int next() {
+        return replay.getStep(position++) & KeyBindingInput.STATE_MASK;
+    }
+
+    /**
+     * @return the amount of played back steps
+     */
+    public int getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,60 @@
+package de.tudarmstadt.informatik.fop.breakout.replay;
+
+import java.util.Arrays;
+
+/**
+ * Records the gameplay steps of a running game
+ */
+public class ReplayRecorder {
+
+    private final int mapId;
+    private final boolean multiplayer;
+    private final long seed;
+    private final int tickRate;
+
+    private int[] steps = new int[1024];
+    private int stepCount = 0;
+
+    /**
+     * @param mapId       the map the game starts with
+     * @param multiplayer true if the game is played in multiplayer mode
+     * @param seed        the seed of the gameplay random number generator
+     * @param tickRate    the simulation ticks per second
+     */
+    public ReplayRecorder(int mapId, boolean multiplayer, long seed, int tickRate) {
+        this.mapId = mapId;
+        this.multiplayer = multiplayer;
+        this.seed = seed;
+        this.tickRate = tickRate;
+    }
+
+    /**
+     * Adds a gameplay step
+     *
+     * @param tick     true if the step is a simulation tick, false if no time has been simulated
+     * @param keyState the key binding state of the step
+     */
+    public void record(boolean tick, int keyState) {
+        if (stepCount == steps.length)
+            steps = Arrays.copyOf(steps, steps.length * 2);
+
+        steps[stepCount++] = tick ? (keyState | Replay.TICK_FLAG) : keyState;
+    }
+
+    /**
+     * @return the amount of recorded steps
+     */
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * Finishes the recording
+     *
+     * @param result the result of the game after the last recorded step
+     * @return the replay of the recorded game
+     */
+    public Replay finish(ReplayResult result) {
+        return new Replay(mapId, multiplayer, seed, tickRate, Arrays.copyOf(steps, stepCount), result);
+    }
+}
@@ -0,0 +1,267 @@
+package de.tudarmstadt.informatik.fop.breakout.replay;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.exceptions.InvalidReplayFileException;
+import de.tudarmstadt.informatik.fop.breakout.headless.HeadlessBenchmark;
+import de.tudarmstadt.informatik.fop.breakout.headless.HeadlessSimulation;
+import org.newdawn.slick.SlickException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Plays back every replay of a directory headless and checks the outcome and the performance of each game.
+ * <p>
+ * A replay passes if it ends with the recorded result. The game is deterministic, so this doesn't depend on the
+ * machine. The performance is compared with the budgets of the {@link #BUDGETS_FILE} of the directory, which are keyed
+ * by the file name of the replay without extension:
+ * <pre>
+ * maxTicksPerSecondRegression = 0.5
+ * multi-ball-chaos.maxAllocatedBytesPerTick = 4096
+ * multi-ball-chaos.maxPeakHeapMegabytes = 128
+ * </pre>
+ * The ticks per second depend on the machine, so their baselines are measured by the first run on a machine and kept
+ * in a baselines file (see {@link #BASELINES_PROPERTY}). Later runs may fall below the baseline by the given fraction,
+ * which can be overridden by the system property {@link #REGRESSION_PROPERTY}. Missing budgets aren't checked.
+ * <p>
+ * The measurements also depend on the JIT and the garbage collector, so exceeded budgets are only reported as warnings.
+ * The system property {@link #STRICT_PROPERTY} turns them into failures, i.e. on a dedicated benchmark machine.
+ * <p>
+ * The suite measures gameplay steps, which are ticks except for the few updates while the game is paused.
+ * <p>
+ * Every replay is played once to let the JIT compile the hot paths and once more to measure it.
+ */
+public class ReplayRegressionSuite {
+
+    /**
+     * The name of the budgets file within the replay directory
+     */
+    public static final String BUDGETS_FILE = "budgets.properties";
+
+    /**
+     * The system property overriding the allowed ticks per second regression
+     */
+    public static final String REGRESSION_PROPERTY = "replay.maxRegression";
+
+    /**
+     * The system property with the path of the baselines file, by default {@link #BASELINES_FILE} within the replay
+     * directory
+     */
+    public static final String BASELINES_PROPERTY = "replay.baselines";
+
+    /**
+     * The system property turning exceeded budgets into failures if it's "true"
+     */
+    public static final String STRICT_PROPERTY = "replay.strictBudgets";
+
+    /**
+     * The name of the default baselines file within the replay directory, which belongs to the local machine only
+     */
+    public static final String BASELINES_FILE = "baselines.local.properties";
+
+    private static final String REGRESSION_KEY = "maxTicksPerSecondRegression";
+    private static final double DEFAULT_REGRESSION = 0.5;
+
+    private static final String TABLE_FORMAT = "%-24s %-8s %10s %12s %10s  %s%n";
+
+    private final Path directory;
+    private final Properties budgets = new Properties();
+    private final double maxRegression;
+    private final boolean strict;
+
+    private final Path baselinesPath;
+    private final Properties baselines = new Properties();
+    private boolean baselinesChanged = false;
+
+    /**
+     * Creates a suite of all replays within the given directory
+     *
+     * @param directory the directory containing the replays and the budgets file
+     * @throws IOException if the budgets or the baselines file exists but cannot be read
+     */
+    public ReplayRegressionSuite(Path directory) throws IOException {
+        this.directory = directory;
+
+        load(directory.resolve(BUDGETS_FILE), budgets);
+
+        // An empty property is passed by the Maven profile if the default is used
+        String baselinesFile = System.getProperty(BASELINES_PROPERTY, "");
+        baselinesPath = baselinesFile.trim().isEmpty() ? directory.resolve(BASELINES_FILE) : Paths.get(baselinesFile);
+        load(baselinesPath, baselines);
+
+        strict = Boolean.parseBoolean(System.getProperty(STRICT_PROPERTY, "false").trim());
+
+        // An empty property is passed by the Maven profile if the regression isn't overridden
+        String regression = System.getProperty(REGRESSION_PROPERTY, "");
+        if (regression.trim().isEmpty())
+            regression = budgets.getProperty(REGRESSION_KEY);
+
+        maxRegression = (regression != null) ? Double.parseDouble(regression.trim()) : DEFAULT_REGRESSION;
+    }
+
+    /**
+     * Runs all replays and prints one line per replay
+     *
+     * @return true if all replays passed
+     * @throws IOException                if a replay cannot be read or the baselines cannot be written
+     * @throws InvalidReplayFileException if a file isn't a valid replay
+     * @throws SlickException             if a game cannot be simulated
+     */
+    public boolean run() throws IOException, InvalidReplayFileException, SlickException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + GameParameters.REPLAY_FILE_EXT)) {
+            for (Path path : stream)
+                paths.add(path);
+        }
+        Collections.sort(paths);
+
+        if (paths.isEmpty()) {
+            System.out.println("No replays found in " + directory.toAbsolutePath());
+            return false;
+        }
+
+        System.out.printf(Locale.ROOT, TABLE_FORMAT, "replay", "steps", "ticks/s", "bytes/tick", "heap MB", "result");
+
+        boolean passed = true;
+        for (Path path : paths)
+            passed &= run(path);
+
+        if (baselinesChanged) {
+            try (Writer writer = Files.newBufferedWriter(baselinesPath, StandardCharsets.UTF_8)) {
+                baselines.store(writer, "Ticks per second on this machine, delete a line to measure it again");
+            }
+            System.out.println("Baselines of this machine written to " + baselinesPath);
+        }
+
+        System.out.println(passed ? "All replays passed" : "Replay regression suite FAILED");
+        return passed;
+    }
+
+    private boolean run(Path path) throws IOException, InvalidReplayFileException, SlickException {
+        String name = path.getFileName().toString();
+        name = name.substring(0, name.length() - GameParameters.REPLAY_FILE_EXT.length());
+
+        Replay replay = Replay.read(path);
+
+        // Warmup, the measured run uses the compiled hot paths
+        new HeadlessSimulation(replay).playReplay();
+
+        Measurement measurement = measure(replay);
+
+        List<String> failures = new ArrayList<>();
+        if (!measurement.result.equals(replay.getResult()))
+            failures.add("diverged, expected " + replay.getResult() + " but was " + measurement.result);
+
+        List<String> exceeded = new ArrayList<>();
+        String baselineKey = name + ".ticksPerSecond";
+        String baseline = baselines.getProperty(baselineKey);
+        if (baseline == null) {
+            baselines.setProperty(baselineKey, String.format(Locale.ROOT, "%.0f", measurement.ticksPerSecond));
+            baselinesChanged = true;
+        } else if (measurement.ticksPerSecond < Double.parseDouble(baseline.trim()) * (1 - maxRegression)) {
+            exceeded.add(String.format(Locale.ROOT, "%.0f ticks/s is more than %.0f%% below the baseline of %s",
+                    measurement.ticksPerSecond, maxRegression * 100, baseline.trim()));
+        }
+
+        Double maxAllocated = getBudget(name, "maxAllocatedBytesPerTick");
+        if (maxAllocated != null && measurement.allocatedPerTick > maxAllocated)
+            exceeded.add(measurement.allocatedPerTick + " bytes/tick exceed the budget of " + maxAllocated.longValue());
+
+        Double maxHeap = getBudget(name, "maxPeakHeapMegabytes");
+        if (maxHeap != null && measurement.peakHeapMegabytes > maxHeap)
+            exceeded.add(measurement.peakHeapMegabytes + " MB peak heap exceed the budget of " + maxHeap.longValue());
+
+        if (strict)
+            failures.addAll(exceeded);
+
+        String status = !failures.isEmpty() ? "FAILED" : !exceeded.isEmpty() ? "WARNING" : "ok";
+        if (baseline == null)
+            status += " (new baseline)";
+
+        System.out.printf(Locale.ROOT, TABLE_FORMAT, name, replay.getStepCount(),
+                String.format(Locale.ROOT, "%.0f", measurement.ticksPerSecond), measurement.allocatedPerTick,
+                measurement.peakHeapMegabytes, status);
+        for (String failure : failures)
+            System.out.println("    " + failure);
+        if (!strict) {
+            for (String warning : exceeded)
+                System.out.println("    warning: " + warning);
+        }
+
+        return failures.isEmpty();
+    }
+
+    private Measurement measure(Replay replay) throws SlickException {
+        // Start with an empty heap, so the peak only contains the measured game
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                heapPools.add(pool);
+            }
+        }
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+        HeadlessSimulation simulation = new HeadlessSimulation(replay);
+
+        Map<Long, Long> allocatedBefore = HeadlessBenchmark.getAllocatedBytesPerThread(threadBean);
+        long start = System.nanoTime();
+        ReplayResult result = simulation.playReplay();
+        long elapsed = System.nanoTime() - start;
+        long allocated = HeadlessBenchmark.getAllocatedBytesSince(threadBean, allocatedBefore);
+
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : heapPools)
+            peakHeap += pool.getPeakUsage().getUsed();
+
+        int steps = replay.getStepCount();
+        Measurement measurement = new Measurement();
+        measurement.result = result;
+        measurement.ticksPerSecond = (elapsed > 0) ? steps * 1e9 / elapsed : 0;
+        measurement.allocatedPerTick = (allocated < 0 || steps == 0) ? -1 : allocated / steps;
+        measurement.peakHeapMegabytes = peakHeap / (1024 * 1024);
+        return measurement;
+    }
+
+    private static void load(Path path, Properties properties) throws IOException {
+        if (!Files.exists(path)) return;
+
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+    }
+
+    /**
+     * @return the budget of the given replay or null if it isn't configured
+     * @throws NumberFormatException if the budget isn't a number
+     */
+    private Double getBudget(String replayName, String key) {
+        String value = budgets.getProperty(replayName + "." + key);
+        return (value != null) ? Double.valueOf(value.trim()) : null;
+    }
+
+    private static class Measurement {
+        private ReplayResult result;
+        private double ticksPerSecond;
+        private long allocatedPerTick;
+        private long peakHeapMegabytes;
+    }
+}
@@ -0,0 +1,115 @@
+package de.tudarmstadt.informatik.fop.breakout.replay;
+
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.MapController;
+import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
+import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
+
+import java.util.Arrays;
+
+/**
+ * The state of a game at the end of a replay. A played back replay has to end with the same result as the recorded
+ * game, otherwise the gameplay isn't deterministic anymore.
+ */
+public class ReplayResult {
+
+    private final int[] scores;
+    private final int[] blockCounters;
+    private final int[] healthpoints;
+    private final int remainingBlocks;
+    private final float clockSeconds;
+
+    public ReplayResult(int[] scores, int[] blockCounters, int[] healthpoints, int remainingBlocks, float clockSeconds) {
+        if (scores.length != blockCounters.length || scores.length != healthpoints.length)
+            throw new IllegalArgumentException("Every player needs a score, block counter and healthpoints");
+
+        this.scores = scores.clone();
+        this.blockCounters = blockCounters.clone();
+        this.healthpoints = healthpoints.clone();
+        this.remainingBlocks = remainingBlocks;
+        this.clockSeconds = clockSeconds;
+    }
+
+    /**
+     * Takes the result of the current game of the given state
+     *
+     * @param gameplayState the gameplay state
+     * @return the current result
+     */
+    public static ReplayResult capture(GameplayState gameplayState) {
+        PlayerModel[] players = gameplayState.getPlayers();
+        int[] scores = new int[players.length];
+        int[] blockCounters = new int[players.length];
+        int[] healthpoints = new int[players.length];
+
+        for (int i = 0; i < players.length; i++) {
+            scores[i] = players[i].getScore();
+            blockCounters[i] = players[i].getBlockCounter();
+            healthpoints[i] = players[i].getRemainingHealthpoints();
+        }
+
+        MapController mapController = gameplayState.getMapController();
+        int remainingBlocks = (mapController != null) ? mapController.getRemainingBlocks() : 0;
+
+        return new ReplayResult(scores, blockCounters, healthpoints, remainingBlocks,
+                gameplayState.getClockController().getOwnerEntity().getSeconds());
+    }
+
+    public int getPlayerCount() {
+        return scores.length;
+    }
+
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    public int getBlockCounter(int player) {
+        return blockCounters[player];
+    }
+
+    public int getHealthpoints(int player) {
+        return healthpoints[player];
+    }
+
+    public int getRemainingBlocks() {
+        return remainingBlocks;
+    }
+
+    /**
+     * @return the game time in seconds
+     */
+    public float getClockSeconds() {
+        return clockSeconds;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof ReplayResult)) return false;
+
+        ReplayResult result = (ReplayResult) other;
+        return remainingBlocks == result.remainingBlocks
+                && Float.compare(clockSeconds, result.clockSeconds) == 0
+                && Arrays.equals(scores, result.scores)
+                && Arrays.equals(blockCounters, result.blockCounters)
+                && Arrays.equals(healthpoints, result.healthpoints);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(scores);
+        result = 31 * result + Arrays.hashCode(blockCounters);
+        result = 31 * result + Arrays.hashCode(healthpoints);
+        result = 31 * result + remainingBlocks;
+        result = 31 * result + Float.floatToIntBits(clockSeconds);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "scores=" + Arrays.toString(scores)
+                + ", blocks=" + Arrays.toString(blockCounters)
+                + ", healthpoints=" + Arrays.toString(healthpoints)
+                + ", remainingBlocks=" + remainingBlocks
+                + ", clock=" + clockSeconds;
+    }
+}
@@ -0,0 +1,46 @@
+package de.tudarmstadt.informatik.fop.breakout.replay;
+
+import de.tudarmstadt.informatik.fop.breakout.exceptions.InvalidReplayFileException;
+import de.tudarmstadt.informatik.fop.breakout.headless.HeadlessSimulation;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.newdawn.slick.SlickException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Plays back replays headless as fast as possible and checks if they end with the recorded result
+ */
+public class ReplayVerifier {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private ReplayVerifier() {
+    }
+
+    /**
+     * Plays back the given replay file
+     *
+     * @param path the path of the replay file
+     * @return true if the played back game ends with the recorded score, block counter and clock
+     * @throws IOException                if the file cannot be read
+     * @throws InvalidReplayFileException if the file isn't a valid replay
+     * @throws SlickException             if the game cannot be simulated
+     */
+    public static boolean verify(Path path) throws IOException, InvalidReplayFileException, SlickException {
+        Replay replay = Replay.read(path);
+
+        long start = System.nanoTime();
+        ReplayResult result = new HeadlessSimulation(replay).playReplay();
+        long elapsed = System.nanoTime() - start;
+
+        boolean matches = result.equals(replay.getResult());
+        if (matches)
+            logger.info("Replay {} matches ({} steps in {} ms): {}", path, replay.getStepCount(), elapsed / 1000000, result);
+        else
+            logger.error("Replay {} diverged. Expected {} but was {}", path, replay.getResult(), result);
+
+        return matches;
+    }
+}
@@ -42,10 +42,11 @@ public abstract class AbstractGameState extends BasicGameState {
     public AbstractGameState(int stateId, String imagePath, boolean animation) throws SlickException {
         this.stateId = stateId;
 
-        /*if (isTesting()) {
-            background = (x, y) -> {
+        if (isTesting()) {
+            // No OpenGL context available (unit tests and headless simulation)
+            this.background = (x, y) -> {
             };
-        } else */if (animation) {
+        } else if (animation) {
             this.background = new Image(imagePath);
         } else {
             SpriteSheet sprites = new SpriteSheet(imagePath, GameParameters.WINDOW_WIDTH, GameParameters.WINDOW_HEIGHT);
@@ -59,11 +60,33 @@ public abstract class AbstractGameState extends BasicGameState {
         //draw the background first in order to let others overdraw it
         background.draw(0, 0);
 
-        entityManager.renderEntities(container, game, g);
+        renderEntities(container, game, g);
     }
 
     @Override
     public void update(GameContainer container, StateBasedGame game, int delta) throws SlickException {
+        updateEntities(container, game, delta);
+    }
+
+    /**
+     * Renders all entities of this state
+     *
+     * @param container the game container
+     * @param game      the game instance
+     * @param g         the graphics context
+     */
+    protected void renderEntities(GameContainer container, StateBasedGame game, Graphics g) {
+        entityManager.renderEntities(container, game, g);
+    }
+
+    /**
+     * Updates all entities of this state
+     *
+     * @param container the game container
+     * @param game      the game instance
+     * @param delta     the elapsed time in milliseconds
+     */
+    protected void updateEntities(GameContainer container, StateBasedGame game, int delta) {
         entityManager.updateEntities(container, game, delta);
     }
 
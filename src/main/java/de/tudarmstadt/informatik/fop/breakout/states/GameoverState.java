@@ -4,7 +4,9 @@ import de.tudarmstadt.informatik.fop.breakout.actions.game.NewGameAction;
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.controllers.HighScoreController;
 import de.tudarmstadt.informatik.fop.breakout.models.HighScoreEntry;
+import de.tudarmstadt.informatik.fop.breakout.models.LeaderboardKey;
 import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
+import de.tudarmstadt.informatik.fop.breakout.states.submenu.HighscoreState;
 import de.tudarmstadt.informatik.fop.breakout.ui.Breakout;
 import de.tudarmstadt.informatik.fop.breakout.views.gui.ButtonView;
 import de.tudarmstadt.informatik.fop.breakout.views.gui.TextFieldView;
@@ -34,6 +36,10 @@ public class GameoverState extends AbstractGameState {
     private static final Logger logger = LogManager.getLogger();
 
     private HighScoreController highScoreController;
+    private GameplayState gameplayState;
+    // The leaderboard of the finished game and the player who may enter it
+    private LeaderboardKey leaderboardKey;
+    private int highscorePlayer;
 
     public GameoverState(int id) throws SlickException {
         super(id, GameParameters.GAMEOVER_BACKGROUND_IMAGE);
@@ -47,6 +53,7 @@ public class GameoverState extends AbstractGameState {
 
         addGUI(gameContainer, stateBasedGame);
         highScoreController = ((Breakout) stateBasedGame).getHighScoreController();
+        gameplayState = (GameplayState) stateBasedGame.getState(GameParameters.GAMEPLAY_STATE);
     }
 
     @Override
@@ -77,17 +84,18 @@ public class GameoverState extends AbstractGameState {
     }
 
     public void load(PlayerModel player, float time) {
-        load(new PlayerModel[]{player}, time);
+        load(new PlayerModel[]{player}, time, false);
         nameText[0].getOwnerEntity().setVisible(false);
-
-        int rank = highScoreController.getRank((float) totalScore[0]);
-        // if the score is under the top 10 ask the player to enter his name
-        if (rank < GameParameters.HIGHSCORE_MAX_ENTRIES)
-            showNewHighscoreDialog(rank + 1);
-        else hideNewHighscoreDialog();
     }
 
     public void load(PlayerModel[] players, float time) {
+        load(players, time, true);
+
+        // Suggest the name of the winner
+        nameField.setText(players[highscorePlayer].getDisplayName());
+    }
+
+    private void load(PlayerModel[] players, float time, boolean multiplayer) {
         clearEntities();
         numPlayers = players.length;
 
@@ -96,14 +104,17 @@ public class GameoverState extends AbstractGameState {
         score = new double[numPlayers];
         blocks = new double[numPlayers];
 
+        highscorePlayer = 0;
         for (int i = 0; i < numPlayers; i++) {
             this.totalScore[i] = new HighScoreEntry("", players[i].getBlockCounter(), time).getPoints();
             this.totalBlocks[i] = players[i].getBlockCounter();
+
+            // Only the best player of a multiplayer game is added to the leaderboard
+            if (totalScore[i] > totalScore[highscorePlayer])
+                highscorePlayer = i;
         }
         this.time = time;
 
-        hideNewHighscoreDialog();
-
         addStatsGUI(numPlayers);
 
         for (int i = 0; i < numPlayers; i++) {
@@ -115,6 +126,13 @@ public class GameoverState extends AbstractGameState {
             nameText[i].setText(players[i].getDisplayName());
         }
 
+        leaderboardKey = new LeaderboardKey(gameplayState.getInitialLevelId(), multiplayer);
+        int rank = highScoreController.getRank(leaderboardKey, (float) totalScore[highscorePlayer]);
+        // if the score is under the top 10 ask the player to enter his name
+        if (rank < GameParameters.HIGHSCORE_MAX_ENTRIES)
+            showNewHighscoreDialog(rank + 1);
+        else hideNewHighscoreDialog();
+
         logger.debug("Game over");
         logger.debug("Time: " + time + " score: " + totalScore + " destroyed blocks: " + totalBlocks);
     }
@@ -198,13 +216,11 @@ public class GameoverState extends AbstractGameState {
     }
 
     private void addHighscore(StateBasedGame stateBasedGame) {
-        highScoreController.addEntry(nameField.getText(), (int) totalBlocks[0], time);
-        try {
-            highScoreController.saveToFile();
-        } catch (Exception e) {
-            logger.error("There was an error while writing highscores to file: {}" + e);
-        }
+        // The entry is journaled right away, rewriting the whole highscore file isn't necessary
+        highScoreController.addEntry(leaderboardKey, nameField.getText(), (int) totalBlocks[highscorePlayer],
+                time);
 
+        ((HighscoreState) stateBasedGame.getState(GameParameters.HIGHSCORE_STATE)).show(leaderboardKey);
         stateBasedGame.enterState(GameParameters.HIGHSCORE_STATE);
     }
 
@@ -3,35 +3,59 @@ package de.tudarmstadt.informatik.fop.breakout.states;
 import de.tudarmstadt.informatik.fop.breakout.actions.game.PauseToggleAction;
 import de.tudarmstadt.informatik.fop.breakout.actions.game.StartGameAction;
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.FrameProfiler;
+import de.tudarmstadt.informatik.fop.breakout.controllers.PersistenceWorker;
 import de.tudarmstadt.informatik.fop.breakout.controllers.SoundController;
 import de.tudarmstadt.informatik.fop.breakout.controllers.game.BallController;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.BallPoolController;
 import de.tudarmstadt.informatik.fop.breakout.controllers.game.ClockController;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.CollisionGrid;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.EntityInterpolator;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.EntityPools;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.KeyBindingInput;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.LevelPreloader;
 import de.tudarmstadt.informatik.fop.breakout.controllers.game.MapController;
+import de.tudarmstadt.informatik.fop.breakout.controllers.game.SimulationClock;
 import de.tudarmstadt.informatik.fop.breakout.controllers.game.StickController;
 import de.tudarmstadt.informatik.fop.breakout.controllers.game.blocks.RamBlockMovementController;
 import de.tudarmstadt.informatik.fop.breakout.events.KeyPressedEvent;
 import de.tudarmstadt.informatik.fop.breakout.factories.BorderFactory;
+import de.tudarmstadt.informatik.fop.breakout.interfaces.IAssetOwner;
+import de.tudarmstadt.informatik.fop.breakout.jfr.FrameRenderEvent;
+import de.tudarmstadt.informatik.fop.breakout.jfr.FrameUpdateEvent;
 import de.tudarmstadt.informatik.fop.breakout.models.KeyBinding;
 import de.tudarmstadt.informatik.fop.breakout.models.SoundType;
 import de.tudarmstadt.informatik.fop.breakout.models.game.BallModel;
+import de.tudarmstadt.informatik.fop.breakout.models.game.BallPool;
 import de.tudarmstadt.informatik.fop.breakout.models.game.ClockModel;
 import de.tudarmstadt.informatik.fop.breakout.models.game.PlayerModel;
 import de.tudarmstadt.informatik.fop.breakout.models.game.StickModel;
 import de.tudarmstadt.informatik.fop.breakout.models.gui.BackButton;
+import de.tudarmstadt.informatik.fop.breakout.replay.Replay;
+import de.tudarmstadt.informatik.fop.breakout.replay.ReplayPlayer;
+import de.tudarmstadt.informatik.fop.breakout.replay.ReplayRecorder;
+import de.tudarmstadt.informatik.fop.breakout.replay.ReplayResult;
 import de.tudarmstadt.informatik.fop.breakout.ui.Breakout;
+import de.tudarmstadt.informatik.fop.breakout.util.FrameTimeWindow;
 import de.tudarmstadt.informatik.fop.breakout.views.game.*;
 import eea.engine.component.render.ImageRenderComponent;
 import eea.engine.entity.Entity;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.newdawn.slick.GameContainer;
+import org.newdawn.slick.Graphics;
 import org.newdawn.slick.Image;
 import org.newdawn.slick.SlickException;
 import org.newdawn.slick.geom.Vector2f;
 import org.newdawn.slick.state.StateBasedGame;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Showing the actual game where you can start playing
@@ -42,9 +66,40 @@ public class GameplayState extends AbstractGameState {
 
     private final RamBlockMovementController ramBlockMovementController = new RamBlockMovementController();
     private final List<BallModel> balls = new ArrayList<>();
+    private final BallPool ballPool = new BallPool(GameParameters.BALL_POOL_INITIAL_CAPACITY);
+    private final CollisionGrid collisionGrid = new CollisionGrid();
+    private final SimulationClock simulationClock = new SimulationClock(GameParameters.SIMULATION_TICK_RATE, GameParameters.SIMULATION_MAX_CATCH_UP_STEPS);
+    private final EntityInterpolator entityInterpolator = new EntityInterpolator();
+    private final EntityPools entityPools = new EntityPools();
+    // Removed entities that will be put into their pools at the end of the tick
+    private final List<Entity> removedEntities = new ArrayList<>();
+
+    // Source of all gameplay randomness (i.e. item drops), replaceable to reproduce a game
+    private Random random = new Random();
+    private long gameSeed;
+
+    // The gameplay reads the key bindings from this snapshot taken at the beginning of every step
+    private final KeyBindingInput keyBindingInput = new KeyBindingInput();
+    private boolean recording = false;
+    private ReplayRecorder replayRecorder;
+    private ReplayPlayer replayPlayer;
 
     private GameContainer gameContainer;
     private StateBasedGame stateBasedGame;
+    private LevelPreloader levelPreloader;
+    private BallPoolController ballPoolController;
+    private BallPoolView ballPoolView;
+
+    private FrameProfiler profiler;
+    private PersistenceWorker persistenceWorker;
+    private FrameProfiler.Section ramBlockSection;
+    private FrameProfiler.Section ballPoolSection;
+    private FrameProfiler.Section renderSection;
+    private ProfilerOverlay profilerOverlay;
+
+    // Always measured for the management interface
+    private final FrameTimeWindow updateTimes = new FrameTimeWindow(GameParameters.MANAGEMENT_FRAME_WINDOW);
+    private final FrameTimeWindow renderTimes = new FrameTimeWindow(GameParameters.MANAGEMENT_FRAME_WINDOW);
 
     private MapController mapController;
     private PlayerModel players[] = {};
@@ -54,10 +109,12 @@ public class GameplayState extends AbstractGameState {
     private float gameSpeedFactor = 1;
     private float gameSpeedFactorGoal = 1;
     private int ballIdCounter = 0;
-    private boolean startAsMultiplayer = false, manuallyPaused;
+    private int ballStormSize = 0;
+    private boolean startAsMultiplayer = false, manuallyPaused, gameOver, nextLevelRequested;
     private final int initialLevelId;
 
-    private boolean particleEffects = true;
+    // May be changed by the management interface from another thread
+    private volatile boolean particleEffects = true;
 
     public GameplayState(int id, int initialLevelId) throws SlickException {
         // Load dynamic background
@@ -70,6 +127,15 @@ public class GameplayState extends AbstractGameState {
     public void init(GameContainer gameContainer, StateBasedGame stateBasedGame) throws SlickException {
         this.gameContainer = gameContainer;
         this.stateBasedGame = stateBasedGame;
+        this.levelPreloader = new LevelPreloader(stateBasedGame, this);
+        this.ballPoolController = new BallPoolController(ballPool, (Breakout) stateBasedGame);
+
+        profiler = ((Breakout) stateBasedGame).getFrameProfiler();
+        persistenceWorker = ((Breakout) stateBasedGame).getPersistenceWorker();
+        ramBlockSection = profiler.section("ram blocks");
+        ballPoolSection = profiler.section("ball pool");
+        renderSection = profiler.section("render");
+        profilerOverlay = new ProfilerOverlay(profiler);
 
         if (isTesting()) {
             return;
@@ -79,6 +145,8 @@ public class GameplayState extends AbstractGameState {
         Breakout breakout = (Breakout) stateBasedGame;
         SoundController soundController = breakout.getSoundController();
         soundController.load(SoundType.BLOCK_HIT, SoundType.ITEM_PICKUP, SoundType.STICK_HIT);
+
+        ballPoolView = new BallPoolView(ballPool, breakout.getAssetController());
     }
 
     /**
@@ -94,6 +162,8 @@ public class GameplayState extends AbstractGameState {
             // Initially pause game and reset toggle
             gameContainer.setPaused(true);
             manuallyPaused = false;
+            gameOver = false;
+            nextLevelRequested = false;
 
             // Reset speed
             gameSpeedFactorGoal = 1;
@@ -103,6 +173,7 @@ public class GameplayState extends AbstractGameState {
 
             // Add stick & ball to state
             balls.clear();
+            ballPool.clear();
 
             // Add stick & ball to state
             addStick(stateBasedGame, gameContainer.getWidth() / 2, players[0]);
@@ -113,8 +184,15 @@ public class GameplayState extends AbstractGameState {
                 addBall(stateBasedGame, players[1]);
             }
 
-            mapController = new MapController(stateBasedGame, this, multiplayer);
-            mapController.loadMap(mapId);
+            addBallStorm(ballStormSize);
+
+            // Use the map prepared in the background while the previous level was played, if there is one
+            mapController = levelPreloader.take(mapId, multiplayer);
+            if (mapController == null) {
+                mapController = new MapController(stateBasedGame, this, multiplayer);
+                mapController.prepare(mapId);
+            }
+            mapController.install();
 
             addBorders(multiplayer);
             addEntity(clock);
@@ -125,6 +203,12 @@ public class GameplayState extends AbstractGameState {
             // Initialize start game entity
             addStartGameEntity(gameContainer.getWidth() / 2);
             addPauseEntities(gameContainer);
+
+            // Now that the new level acquired its assets, destroy the textures only the old level used
+            ((Breakout) stateBasedGame).getAssetController().purge();
+
+            // Prepare the following level while this one is played
+            levelPreloader.preload(getNextLevelId(mapId), multiplayer);
         } else {
             logger.error("Some error occurred while initializing a new game: Player count is " + players.length);
         }
@@ -137,6 +221,21 @@ public class GameplayState extends AbstractGameState {
      * @throws SlickException if images cannot be loaded
      */
     public void newGame(boolean multiplayer) throws SlickException {
+        // A game that hasn't been left properly is finished here
+        saveRecording();
+
+        // Every game gets its own seed, so it can be replayed
+        if (replayPlayer != null) {
+            gameSeed = replayPlayer.getReplay().getSeed();
+            simulationClock.setTickRate(replayPlayer.getReplay().getTickRate());
+        } else {
+            gameSeed = random.nextLong();
+        }
+        random = new Random(gameSeed);
+
+        if (recording)
+            replayRecorder = new ReplayRecorder(initialLevelId, multiplayer, gameSeed, simulationClock.getTickRate());
+
         // Reset all given players
         // Basic player implementation
         PlayerModel player1 = new PlayerModel(GameParameters.PLAYER_ID, false);
@@ -171,32 +270,180 @@ public class GameplayState extends AbstractGameState {
      * Switches to the next level or ends the game if there are no more levels.
      */
     public void nextLevel() {
-        int currentMapId = mapController.getMapId();
+        int nextMapId = getNextLevelId(mapController.getMapId());
 
         try {
-            if (currentMapId < GameParameters.MAP_COUNT)
-                loadLevel(++currentMapId);
-            else
-                loadLevel(initialLevelId);
+            loadLevel(nextMapId);
         } catch (SlickException e) {
-            logger.error("Some error occurred while loading map" + currentMapId + ": " + e);
+            logger.error("Some error occurred while loading map" + nextMapId + ": " + e);
         }
     }
 
+    /**
+     * Switches to the next level at the end of the current tick, so the entities aren't replaced while they are
+     * updated (i.e. from within a collision).
+     */
+    public void requestNextLevel() {
+        nextLevelRequested = true;
+    }
+
+    /**
+     * @param mapId the id of the current map
+     * @return the id of the map following the given one
+     */
+    private int getNextLevelId(int mapId) {
+        return (mapId < GameParameters.MAP_COUNT) ? mapId + 1 : initialLevelId;
+    }
+
     @Override
     public void update(GameContainer gameContainer, StateBasedGame stateBasedGame, int delta)
             throws SlickException {
-        super.update(gameContainer, stateBasedGame, delta);
+        // A frame consists of an update and the following render call
+        profiler.endFrame();
+
+        if (gameContainer.getInput().isKeyPressed(GameParameters.PROFILER_TOGGLE_KEY))
+            profiler.setEnabled(!profiler.isEnabled());
+
+        FrameUpdateEvent frameEvent = new FrameUpdateEvent();
+        frameEvent.begin();
+        long start = System.nanoTime();
+
+        int ticks = simulate(delta);
+
+        updateTimes.record(System.nanoTime() - start);
+        frameEvent.end();
+        if (frameEvent.shouldCommit()) {
+            frameEvent.ticks = ticks;
+            frameEvent.entities = entityManager.getEntitiesByState(stateId).size();
+            frameEvent.commit();
+        }
+    }
+
+    /**
+     * Simulates all ticks due within the elapsed time
+     *
+     * @param delta the elapsed time in milliseconds
+     * @return the amount of simulated ticks
+     * @throws SlickException if an entity update fails
+     */
+    private int simulate(int delta) throws SlickException {
+        if (replayPlayer != null)
+            return simulateReplay(delta);
+
+        int steps = simulationClock.advance(delta);
+
+        // Keep processing the input (i.e. starting or pausing the game) on frames without a simulation tick
+        if (steps == 0) {
+            idle();
+            return 0;
+        }
+
+        for (int i = 0; i < steps; i++) {
+            tick();
+
+            // Don't simulate the rest of the frame if the game has been paused meanwhile (i.e. a new level was loaded)
+            if (gameContainer.isPaused()) {
+                simulationClock.reset();
+                return i + 1;
+            }
+        }
+
+        return steps;
+    }
+
+    /**
+     * Plays back the recorded steps due within the elapsed time. Steps without simulated time (i.e. while the game was
+     * paused) are played back immediately.
+     *
+     * @param delta the elapsed time in milliseconds
+     * @return the amount of simulated ticks
+     * @throws SlickException if an entity update fails
+     */
+    private int simulateReplay(int delta) throws SlickException {
+        int steps = simulationClock.advance(delta);
+
+        int ticks = 0;
+        while (replayPlayer.hasNext()) {
+            if (!replayPlayer.isNextTick()) {
+                idle();
+            } else if (ticks < steps) {
+                tick();
+                ticks++;
+            } else {
+                break;
+            }
+        }
 
-        if (!gameContainer.isPaused()) ramBlockMovementController.update(this, delta);
+        if (!replayPlayer.hasNext())
+            finishReplay();
+
+        return ticks;
+    }
+
+    /**
+     * Updates the entities without simulating any time, so the input is processed anyway
+     *
+     * @throws SlickException if an entity update fails
+     */
+    private void idle() throws SlickException {
+        pollInput(false);
+        super.update(gameContainer, stateBasedGame, 0);
+    }
+
+    /**
+     * Takes the key binding state of the next step from the replay or the keyboard and records it if wanted
+     *
+     * @param tick true if the step is a simulation tick
+     */
+    private void pollInput(boolean tick) {
+        if (replayPlayer != null && replayPlayer.hasNext())
+            keyBindingInput.setState(replayPlayer.next());
+        else
+            keyBindingInput.poll(gameContainer.getInput());
+
+        // Longer replays can't be read, so the recording ends with the steps simulated so far
+        if (replayRecorder != null && replayRecorder.getStepCount() == GameParameters.REPLAY_MAX_STEPS) {
+            logger.warn("The recording reached the limit of {} steps", GameParameters.REPLAY_MAX_STEPS);
+            saveRecording();
+        }
+
+        if (replayRecorder != null)
+            replayRecorder.record(tick, keyBindingInput.getState());
+    }
+
+    /**
+     * Simulates exactly one tick with the fixed tick length of the simulation clock, independent of the frame rate.
+     *
+     * @throws SlickException if an entity update fails
+     */
+    public void tick() throws SlickException {
+        int tickLength = simulationClock.getTickLength();
+
+        pollInput(true);
+
+        // Remember the positions before the tick to render in between
+        entityInterpolator.capture(entityManager.getEntitiesByState(stateId));
+        ballPool.capturePositions();
+
+        super.update(gameContainer, stateBasedGame, tickLength);
+
+        if (!gameContainer.isPaused()) {
+            long start = profiler.start();
+            ramBlockMovementController.update(this, tickLength);
+            profiler.stop(ramBlockSection, start);
+
+            start = profiler.start();
+            ballPoolController.update(gameContainer.getWidth(), gameContainer.getHeight(), tickLength);
+            profiler.stop(ballPoolSection, start);
+        }
 
         // Check if game speed fade is needed
         if (gameSpeedFactorGoal != gameSpeedFactor) {
             // Update game speed
             if (gameSpeedFactor < gameSpeedFactorGoal)
-                gameSpeedFactor += GameParameters.GAME_SLOMO_ANIMATION_SPEED * delta;
+                gameSpeedFactor += GameParameters.GAME_SLOMO_ANIMATION_SPEED * tickLength;
             else
-                gameSpeedFactor -= GameParameters.GAME_SLOMO_ANIMATION_SPEED * delta;
+                gameSpeedFactor -= GameParameters.GAME_SLOMO_ANIMATION_SPEED * tickLength;
 
             // If gameSpeed is near it's goal, abort the animation
             if (Math.abs(gameSpeedFactor - gameSpeedFactorGoal) <= 0.01)
@@ -205,6 +452,78 @@ public class GameplayState extends AbstractGameState {
             // Update pitch
             ((Breakout) stateBasedGame).getSoundController().setMusicPitch(gameSpeedFactor);
         }
+
+        recycleRemovedEntities();
+
+        // Swap in the next level between two ticks
+        if (nextLevelRequested)
+            nextLevel();
+    }
+
+    @Override
+    public void render(GameContainer gameContainer, StateBasedGame stateBasedGame, Graphics graphics)
+            throws SlickException {
+        FrameRenderEvent frameEvent = new FrameRenderEvent();
+        frameEvent.begin();
+        long renderStart = System.nanoTime();
+        long start = profiler.start();
+
+        // Render between the last two simulated ticks to avoid stuttering if frame and tick rate differ
+        entityInterpolator.apply(simulationClock.getAlpha());
+        try {
+            super.render(gameContainer, stateBasedGame, graphics);
+        } finally {
+            entityInterpolator.restore();
+        }
+
+        if (ballPoolView != null)
+            ballPoolView.render(simulationClock.getAlpha());
+
+        profiler.stop(renderSection, start);
+        renderTimes.record(System.nanoTime() - renderStart);
+        frameEvent.end();
+        if (frameEvent.shouldCommit()) {
+            frameEvent.entities = entityManager.getEntitiesByState(stateId).size();
+            frameEvent.commit();
+        }
+
+        if (profiler.isEnabled())
+            profilerOverlay.render(graphics);
+    }
+
+    /**
+     * Updates all entities and measures the time per entity type if the profiler is enabled
+     */
+    @Override
+    protected void updateEntities(GameContainer container, StateBasedGame game, int delta) {
+        if (!profiler.isEnabled()) {
+            super.updateEntities(container, game, delta);
+            return;
+        }
+
+        // The entity list is copied on write, so the iterator works on a snapshot like the entity manager does
+        for (Entity entity : entityManager.getEntitiesByState(stateId)) {
+            long start = profiler.start();
+            entity.update(container, game, delta);
+            profiler.stop(profiler.section("update", entity.getClass()), start);
+        }
+    }
+
+    /**
+     * Renders all entities and measures the time per entity type if the profiler is enabled
+     */
+    @Override
+    protected void renderEntities(GameContainer container, StateBasedGame game, Graphics g) {
+        if (!profiler.isEnabled()) {
+            super.renderEntities(container, game, g);
+            return;
+        }
+
+        for (Entity entity : entityManager.getEntitiesByState(stateId)) {
+            long start = profiler.start();
+            entity.render(container, game, g);
+            profiler.stop(profiler.section("render", entity.getClass()), start);
+        }
     }
 
     @Override
@@ -212,6 +531,96 @@ public class GameplayState extends AbstractGameState {
         newGame(startAsMultiplayer);
     }
 
+    @Override
+    public void leave(GameContainer gameContainer, StateBasedGame stateBasedGame) throws SlickException {
+        // The game is over or has been cancelled
+        saveRecording();
+
+        if (replayPlayer != null)
+            finishReplay();
+    }
+
+    /**
+     * Stops the background thread preparing the next level, i.e. when the game is closed
+     */
+    public void shutdown() {
+        levelPreloader.shutdown();
+    }
+
+    /**
+     * Enables or disables the recording of replays. Takes effect with the next new game.
+     *
+     * @param recording true if every game should be recorded
+     */
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Finishes the recording of the current game without saving it
+     *
+     * @return the replay of the current game or null if it isn't recorded
+     */
+    public Replay finishRecording() {
+        if (replayRecorder == null) return null;
+
+        Replay replay = replayRecorder.finish(ReplayResult.capture(this));
+        replayRecorder = null;
+        return replay;
+    }
+
+    /**
+     * Finishes the recording of the current game and lets the persistence worker write it into the recordings
+     * directory, if it is recorded
+     */
+    public void saveRecording() {
+        Replay replay = finishRecording();
+        if (replay == null) return;
+
+        String fileName = "replay-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + GameParameters.REPLAY_FILE_EXT;
+        Path path = Paths.get(GameParameters.REPLAY_RECORDING_PATH, fileName);
+        persistenceWorker.execute(() -> {
+            replay.write(path);
+            logger.info("Replay with {} steps saved to {}", replay.getStepCount(), path);
+        }, ex -> logger.error("Error saving the replay to file", ex));
+    }
+
+    /**
+     * Plays back the given replay instead of the keyboard input. Takes effect with the next new game, which starts
+     * with the map, mode and seed of the replay. The map has to be the initial level of this state.
+     *
+     * @param replay the replay that should be played back
+     */
+    public void play(Replay replay) {
+        if (replay.getMapId() != initialLevelId)
+            throw new IllegalArgumentException("The replay starts with map " + replay.getMapId()
+                    + ", but the initial map is " + initialLevelId);
+
+        replayPlayer = new ReplayPlayer(replay);
+        startAsMultiplayer = replay.isMultiplayer();
+    }
+
+    /**
+     * @return true if a replay is played back currently
+     */
+    public boolean isReplaying() {
+        return replayPlayer != null;
+    }
+
+    /**
+     * Stops the playback and compares the result with the recorded one
+     */
+    private void finishReplay() {
+        Replay replay = replayPlayer.getReplay();
+        replayPlayer = null;
+
+        ReplayResult result = ReplayResult.capture(this);
+        if (result.equals(replay.getResult()))
+            logger.info("Replay finished with the recorded result: {}", result);
+        else
+            logger.warn("Replay diverged from the recording. Expected {} but was {}", replay.getResult(), result);
+    }
+
     /**
      * Adds a entity showing how to start the game.
      *
@@ -224,7 +633,7 @@ public class GameplayState extends AbstractGameState {
         startGameEntity.setSize(new Vector2f(100, 100));
         startGameEntity.addComponent(new StartGameView());
 
-        KeyPressedEvent startGameEvent = new KeyPressedEvent(KeyBinding.START_GAME);
+        KeyPressedEvent startGameEvent = new KeyPressedEvent(KeyBinding.START_GAME, keyBindingInput);
         startGameEvent.addAction(new StartGameAction());
         startGameEntity.addComponent(startGameEvent);
 
@@ -279,7 +688,7 @@ public class GameplayState extends AbstractGameState {
         pauseImage.setPassable(true);
         //key listener
         Entity pauseEntity = new Entity(GameParameters.PAUSE_ID);
-        KeyPressedEvent escapeKeyEvent = new KeyPressedEvent(KeyBinding.PAUSE);
+        KeyPressedEvent escapeKeyEvent = new KeyPressedEvent(KeyBinding.PAUSE, keyBindingInput);
         escapeKeyEvent.addAction(new PauseToggleAction(backButton, pauseImage));
         pauseEntity.addComponent(escapeKeyEvent);
 
@@ -300,26 +709,72 @@ public class GameplayState extends AbstractGameState {
     public BallModel addBall(StateBasedGame stateBasedGame, PlayerModel initialControllingPlayer) throws SlickException {
         boolean secondPlayer = initialControllingPlayer.isSecondPlayer();
 
-        // FORMAT: BALL_[ID][/_VIEW/_CONTROLLER]
-        BallModel ballModel = new BallModel(GameParameters.BALL_ID + "_" + ballIdCounter, initialControllingPlayer);
-        BallController ballController = new BallController(GameParameters.BALL_ID + "_" + ballIdCounter + GameParameters.EXT_CONTROLLER);
-        ballModel.addComponent(ballController);
+        // Reuse a removed ball with all its components, if there is one (it keeps the id it has been created with)
+        BallModel ballModel = entityPools.acquireBall();
+        if (ballModel != null) {
+            ballModel.reset(initialControllingPlayer);
 
-        if (!isTesting()) {
-            BallView ballView = new BallView(GameParameters.BALL_ID + "_" + ballIdCounter + GameParameters.EXT_VIEW);
-            ballModel.addComponent(ballView);
-            ballView.init();
+            if (ballModel.getView() != null)
+                ballModel.getView().init();
+        } else {
+            // FORMAT: BALL_[ID][/_VIEW/_CONTROLLER]
+            ballModel = new BallModel(GameParameters.BALL_ID + "_" + ballIdCounter, initialControllingPlayer);
+            ballModel.addComponent(new BallController(GameParameters.BALL_ID + "_" + ballIdCounter + GameParameters.EXT_CONTROLLER));
+
+            if (!isTesting()) {
+                BallView ballView = new BallView(GameParameters.BALL_ID + "_" + ballIdCounter + GameParameters.EXT_VIEW, ((Breakout) stateBasedGame).getAssetController());
+                ballModel.addComponent(ballView);
+                ballView.init();
+            }
+
+            ballIdCounter++;
         }
 
         balls.add(ballModel);
-        ballController.init(gameContainer, stateBasedGame, secondPlayer);
+        ballModel.getController().init(gameContainer, stateBasedGame, secondPlayer);
         addEntity(ballModel);
 
-        ballIdCounter++;
-
         return ballModel;
     }
 
+    /**
+     * Adds pooled balls starting at the ball positions of the players. The balls are fanned out, so they don't move
+     * along the same path. In multiplayer mode they are split between both players.
+     *
+     * @param count the amount of balls
+     */
+    public void addBallStorm(int count) {
+        boolean multiplayer = isMultiplayer();
+        float speed = (multiplayer ? GameParameters.INITIAL_BALL_SPEED_MULTIPLAYER : GameParameters.INITIAL_BALL_SPEED)
+                * (float) Math.sqrt(2);
+
+        for (int i = 0; i < count; i++) {
+            int owner = multiplayer ? i % 2 : 0;
+            int index = multiplayer ? i / 2 : i;
+            int ownerCount = multiplayer ? (count + 1 - owner) / 2 : count;
+
+            double angle = Math.toRadians(GameParameters.BALL_STORM_SPREAD * ((index + 0.5) / ownerCount - 0.5));
+            float velocityX = (float) Math.sin(angle) * speed;
+            float velocityY = (float) Math.cos(angle) * speed * (owner == 0 ? -1 : 1);
+            float y = (owner == 0) ? GameParameters.BALL_INITIAL_POS_Y : GameParameters.BALL_INITIAL_POS_Y_PLAYER2;
+
+            ballPool.add(gameContainer.getWidth() / 2, y, velocityX, velocityY, GameParameters.BALL_RADIUS, owner);
+        }
+    }
+
+    /**
+     * Sets the amount of pooled balls added on every level start (ball storm mode)
+     *
+     * @param ballStormSize the amount of pooled balls, 0 disables the ball storm
+     */
+    public void setBallStormSize(int ballStormSize) {
+        this.ballStormSize = ballStormSize;
+    }
+
+    public int getBallStormSize() {
+        return ballStormSize;
+    }
+
     /**
      * Adds a player stick to the game
      *
@@ -338,7 +793,7 @@ public class GameplayState extends AbstractGameState {
             stickModel.addComponent(stickController);
 
             if (!isTesting()) {
-                StickView stickView = new StickView();
+                StickView stickView = new StickView(((Breakout) stateBasedGame).getAssetController());
                 stickModel.addComponent(stickView);
 
                 stickView.init();
@@ -356,6 +811,69 @@ public class GameplayState extends AbstractGameState {
         }
     }
 
+    /**
+     * Adds the given entity to this state. Non-passable entities will also be registered in the collision grid.
+     *
+     * @param entity the entity that should be added
+     */
+    @Override
+    public void addEntity(Entity entity) {
+        super.addEntity(entity);
+
+        if (!entity.isPassable())
+            collisionGrid.add(entity);
+    }
+
+    /**
+     * Removes the given entity from this state and releases the shared assets of its views.
+     *
+     * @param entity the entity that should be removed
+     */
+    @Override
+    public void removeEntity(Entity entity) {
+        // The entity manager updates a snapshot of the entities, so a removed entity may still be updated in this tick
+        if (entityPools.isPooled(entity) && entityManager.getEntitiesByState(stateId).contains(entity))
+            removedEntities.add(entity);
+
+        super.removeEntity(entity);
+        collisionGrid.remove(entity);
+
+        if (entity instanceof IAssetOwner)
+            ((IAssetOwner) entity).releaseAssets();
+    }
+
+    /**
+     * Removes all entities and puts items, balls and blocks into their pools. Must not be called while the entities
+     * are updated.
+     */
+    @Override
+    public void clearEntities() {
+        List<Entity> entities = entityManager.getEntitiesByState(stateId);
+        for (Entity entity : entities) {
+            if (entity instanceof IAssetOwner)
+                ((IAssetOwner) entity).releaseAssets();
+
+            if (entityPools.isPooled(entity))
+                removedEntities.add(entity);
+        }
+
+        super.clearEntities();
+        collisionGrid.clear();
+        entityInterpolator.clear();
+
+        recycleRemovedEntities();
+    }
+
+    /**
+     * Puts the entities removed within the last tick into their pools, they aren't updated anymore
+     */
+    private void recycleRemovedEntities() {
+        for (int i = 0; i < removedEntities.size(); i++)
+            entityPools.recycle(removedEntities.get(i));
+
+        removedEntities.clear();
+    }
+
     /**
      * @return the shared ram block movement controller
      */
@@ -404,6 +922,90 @@ public class GameplayState extends AbstractGameState {
         return balls;
     }
 
+    /**
+     * @return the lightweight balls of the ball storm mode, which aren't part of {@link #getBalls()}
+     */
+    public BallPool getBallPool() {
+        return ballPool;
+    }
+
+    /**
+     * @return the pools of removed items, balls and blocks
+     */
+    public EntityPools getEntityPools() {
+        return entityPools;
+    }
+
+    public BallPoolController getBallPoolController() {
+        return ballPoolController;
+    }
+
+    /**
+     * @return the amount of ball entities and pooled balls
+     */
+    public int getBallCount() {
+        return balls.size() + ballPool.size();
+    }
+
+    /**
+     * @return the broad phase containing all non-passable entities of this state
+     */
+    public CollisionGrid getCollisionGrid() {
+        return collisionGrid;
+    }
+
+    /**
+     * @return the fixed timestep clock driving the simulation
+     */
+    public SimulationClock getSimulationClock() {
+        return simulationClock;
+    }
+
+    /**
+     * @return the random number generator of the gameplay
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Replaces the random number generator of the gameplay. The next new game takes its seed from this generator, so
+     * a seeded one reproduces the following games.
+     *
+     * @param random the new random number generator
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * @return the durations of the last updates of this state
+     */
+    public FrameTimeWindow getUpdateTimes() {
+        return updateTimes;
+    }
+
+    /**
+     * @return the durations of the last renderings of this state
+     */
+    public FrameTimeWindow getRenderTimes() {
+        return renderTimes;
+    }
+
+    /**
+     * @return the key binding state of the current step, which should be used instead of the Slick input
+     */
+    public KeyBindingInput getKeyBindingInput() {
+        return keyBindingInput;
+    }
+
+    /**
+     * @return the seed of the random number generator of the current game
+     */
+    public long getGameSeed() {
+        return gameSeed;
+    }
+
     /**
      * @return shared clock controller
      */
@@ -419,6 +1021,13 @@ public class GameplayState extends AbstractGameState {
         return (this.players.length == 2);
     }
 
+    /**
+     * @return the map every game starts with
+     */
+    public int getInitialLevelId() {
+        return initialLevelId;
+    }
+
     /**
      * Check if particle effects should be displayed
      *
@@ -444,4 +1053,17 @@ public class GameplayState extends AbstractGameState {
     public void setManuallyPaused(boolean manuallyPaused) {
         this.manuallyPaused = manuallyPaused;
     }
+
+    /**
+     * Check if all players lost their health points in the current game
+     *
+     * @return true if the game is over
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public void setGameOver(boolean gameOver) {
+        this.gameOver = gameOver;
+    }
 }
@@ -3,26 +3,39 @@ package de.tudarmstadt.informatik.fop.breakout.states.submenu;
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.controllers.HighScoreController;
 import de.tudarmstadt.informatik.fop.breakout.interfaces.IHighscoreEntry;
+import de.tudarmstadt.informatik.fop.breakout.models.LeaderboardKey;
+import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 import de.tudarmstadt.informatik.fop.breakout.ui.Breakout;
 import de.tudarmstadt.informatik.fop.breakout.views.HighScoreEntryView;
 import de.tudarmstadt.informatik.fop.breakout.views.gui.ButtonView;
 import eea.engine.entity.Entity;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.newdawn.slick.Font;
 import org.newdawn.slick.GameContainer;
 import org.newdawn.slick.Graphics;
 import org.newdawn.slick.Image;
+import org.newdawn.slick.Input;
 import org.newdawn.slick.SlickException;
 import org.newdawn.slick.geom.Vector2f;
 import org.newdawn.slick.state.StateBasedGame;
 
-import java.io.IOException;
 import java.util.List;
 
 /**
- * State showing the top ten high scores
+ * State showing the top ten high scores of a leaderboard. The arrow keys switch the map (left/right) and the mode
+ * (up/down), P switches between the all-time and the current period leaderboard.
  */
 public class HighscoreState extends AbstractMenuState {
 
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final String KEYS_HINT = "<- -> level    up/down mode    P period";
+
     private ButtonView buttonResetHighscore;
+    private HighScoreController highScoreController;
+    private GameContainer container;
+    private LeaderboardKey shownKey;
 
     public HighscoreState(int id) throws SlickException {
         super(id, GameParameters.HIGHSCORE_BACKGROUND_IMAGE);
@@ -36,17 +49,18 @@ public class HighscoreState extends AbstractMenuState {
         }
 
         Breakout breakout = (Breakout) game;
-        HighScoreController highScoreController = breakout.getHighScoreController();
+        highScoreController = breakout.getHighScoreController();
+        this.container = container;
+        if (shownKey == null) {
+            GameplayState gameplayState = (GameplayState) game.getState(GameParameters.GAMEPLAY_STATE);
+            shownKey = new LeaderboardKey(gameplayState.getInitialLevelId(), false);
+        }
 
         // Add column identifiers
         addFirstEntry(container);
 
         //add all score entries
-        List<IHighscoreEntry> highscores = highScoreController.getHighscores();
-        for (int index = 0; index < highscores.size(); index++) {
-            IHighscoreEntry entry = highscores.get(index);
-            addScoreEntries(index, entry, container);
-        }
+        showEntries();
 
         Image buttonImage = new Image(GameParameters.HIGHSCORE_RESET_IMAGE).getScaledCopy(GameParameters.HIGHSCORE_RESET_SIZE);
         Image buttonOverImage = new Image(GameParameters.HIGHSCORE_RESET_OVER_IMAGE).getScaledCopy(GameParameters.HIGHSCORE_RESET_SIZE);
@@ -58,11 +72,7 @@ public class HighscoreState extends AbstractMenuState {
             // Reset highscore and save changes to disk
             highScoreController.reset();
             removeEntryEntities();
-            try {
-                highScoreController.saveToFile();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            highScoreController.saveToFile();
         });
 
     }
@@ -74,15 +84,50 @@ public class HighscoreState extends AbstractMenuState {
 
     @Override
     public void enter(GameContainer gameContainer, StateBasedGame stateBasedGame) throws SlickException {
-        Breakout breakout = (Breakout) stateBasedGame;
-        HighScoreController highScoreController = breakout.getHighScoreController();
-
         //add all score entries
-        removeEntryEntities();
-        List<IHighscoreEntry> highscores = highScoreController.getHighscores();
-        for (int index = 0; index < highscores.size(); index++) {
-            IHighscoreEntry entry = highscores.get(index);
-            addScoreEntries(index, entry, gameContainer);
+        showEntries();
+    }
+
+    /**
+     * Selects the leaderboard that is shown
+     *
+     * @param key the leaderboard
+     */
+    public void show(LeaderboardKey key) {
+        shownKey = key;
+    }
+
+    @Override
+    public void keyPressed(int key, char character) {
+        if (shownKey == null)
+            return;
+
+        int mapId = shownKey.getMapId();
+        boolean multiplayer = shownKey.isMultiplayer();
+        String period = shownKey.getPeriod();
+        switch (key) {
+            case Input.KEY_LEFT:
+                mapId = mapId > 1 ? mapId - 1 : GameParameters.MAP_COUNT;
+                break;
+            case Input.KEY_RIGHT:
+                mapId = mapId < GameParameters.MAP_COUNT ? mapId + 1 : 1;
+                break;
+            case Input.KEY_UP:
+            case Input.KEY_DOWN:
+                multiplayer = !multiplayer;
+                break;
+            case Input.KEY_P:
+                period = period == null ? highScoreController.getCurrentPeriod() : null;
+                break;
+            default:
+                return;
+        }
+
+        shownKey = new LeaderboardKey(mapId, multiplayer, period);
+        try {
+            showEntries();
+        } catch (SlickException e) {
+            logger.error("Error showing the leaderboard {} {}", shownKey, e);
         }
     }
 
@@ -91,6 +136,29 @@ public class HighscoreState extends AbstractMenuState {
             throws SlickException {
         super.render(gameContainer, stateBasedGame, graphics);
         buttonResetHighscore.render(gameContainer, graphics);
+
+        if (shownKey != null) {
+            String caption = shownKey.toString();
+            Font font = graphics.getFont();
+            graphics.drawString(caption, (gameContainer.getWidth() - font.getWidth(caption)) / 2F,
+                    GameParameters.HIGHSCORE_ENTRY_START_Y - 3 * font.getLineHeight());
+            graphics.drawString(KEYS_HINT, (gameContainer.getWidth() - font.getWidth(KEYS_HINT)) / 2F,
+                    gameContainer.getHeight() - 2 * font.getLineHeight());
+        }
+    }
+
+    /**
+     * Replaces the shown entries by the top ten of the selected leaderboard
+     *
+     * @throws SlickException on missing entry image
+     */
+    private void showEntries() throws SlickException {
+        removeEntryEntities();
+        List<IHighscoreEntry> highscores = highScoreController.getHighscores(shownKey);
+        for (int index = 0; index < highscores.size(); index++) {
+            IHighscoreEntry entry = highscores.get(index);
+            addScoreEntries(index, entry, container);
+        }
     }
 
     /**
@@ -2,13 +2,26 @@ package de.tudarmstadt.informatik.fop.breakout.ui;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
 import de.tudarmstadt.informatik.fop.breakout.controllers.HighScoreController;
+import de.tudarmstadt.informatik.fop.breakout.controllers.HighScoreMerger;
+import de.tudarmstadt.informatik.fop.breakout.controllers.PersistenceWorker;
+import de.tudarmstadt.informatik.fop.breakout.controllers.AssetController;
+import de.tudarmstadt.informatik.fop.breakout.controllers.FrameProfiler;
 import de.tudarmstadt.informatik.fop.breakout.controllers.SoundController;
 import de.tudarmstadt.informatik.fop.breakout.exceptions.IllegalHighscoreFormat;
+import de.tudarmstadt.informatik.fop.breakout.exceptions.InvalidMapFileException;
+import de.tudarmstadt.informatik.fop.breakout.exceptions.InvalidReplayFileException;
+import de.tudarmstadt.informatik.fop.breakout.headless.HeadlessBenchmark;
+import de.tudarmstadt.informatik.fop.breakout.management.GameManagement;
+import de.tudarmstadt.informatik.fop.breakout.models.LeaderboardKey;
 import de.tudarmstadt.informatik.fop.breakout.models.SoundType;
+import de.tudarmstadt.informatik.fop.breakout.replay.Replay;
+import de.tudarmstadt.informatik.fop.breakout.replay.ReplayRegressionSuite;
+import de.tudarmstadt.informatik.fop.breakout.replay.ReplayVerifier;
 import de.tudarmstadt.informatik.fop.breakout.states.*;
 import de.tudarmstadt.informatik.fop.breakout.states.submenu.CreditsState;
 import de.tudarmstadt.informatik.fop.breakout.states.submenu.HighscoreState;
 import de.tudarmstadt.informatik.fop.breakout.states.submenu.SettingsState;
+import de.tudarmstadt.informatik.fop.breakout.util.MapParser;
 import eea.engine.entity.StateBasedEntityManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -19,7 +32,12 @@ import org.newdawn.slick.state.StateBasedGame;
 
 import java.awt.*;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Breakout extends StateBasedGame implements GameParameters {
 
@@ -31,10 +49,30 @@ public class Breakout extends StateBasedGame implements GameParameters {
         return debug;
     }
 
-    private final SoundController soundController = new SoundController();
-    private final HighScoreController highScoreController = new HighScoreController();
+    // Remember if the game is simulated without a display, i.e. by the HeadlessSimulation
+    private static boolean headless = false;
+
+    public static boolean isHeadless() {
+        return headless;
+    }
+
+    public static void setHeadless(boolean headless) {
+        Breakout.headless = headless;
+    }
+
+    private final SoundController soundController;
+    private final AssetController assetController = new AssetController();
+    private final FrameProfiler frameProfiler = new FrameProfiler();
+    private final PersistenceWorker persistenceWorker = new PersistenceWorker();
+    private final HighScoreController highScoreController = new HighScoreController(persistenceWorker);
 
     private final int initialLevelId;
+    private boolean recording = false;
+    private Replay replay;
+    private int ballStormSize = 0;
+    // Changed by the management interface, applied on the game thread
+    private volatile int frameCap = FRAME_RATE;
+    private int appliedFrameCap = FRAME_RATE;
 
     /**
      * Creates a new Breakout instance with a preset map id
@@ -47,6 +85,7 @@ public class Breakout extends StateBasedGame implements GameParameters {
         Breakout.debug = debug;
 
         this.initialLevelId = initialLevelId;
+        this.soundController = new SoundController(!debug, frameProfiler);
     }
 
     /**
@@ -59,6 +98,43 @@ public class Breakout extends StateBasedGame implements GameParameters {
     }
 
     public static void main(String[] args) throws SlickException {
+        for (String arg : args) {
+            if (arg.equals("--compile-maps")) {
+                compileMaps();
+                return;
+            }
+
+            if (arg.startsWith("--benchmark=")) {
+                if (!runBenchmark(args))
+                    System.exit(1);
+                return;
+            }
+
+            if (arg.startsWith("--verify-replay=")) {
+                if (!verifyReplay(Paths.get(arg.substring("--verify-replay=".length()))))
+                    System.exit(1);
+                return;
+            }
+
+            if (arg.startsWith("--replay-suite=")) {
+                if (!runReplaySuite(Paths.get(arg.substring("--replay-suite=".length()))))
+                    System.exit(1);
+                return;
+            }
+
+            if (arg.startsWith("--merge-highscores=")) {
+                if (!mergeHighscores(args))
+                    System.exit(1);
+                return;
+            }
+
+            if (arg.startsWith("--import-highscores=")) {
+                if (!importHighscores(args))
+                    System.exit(1);
+                return;
+            }
+        }
+
         String nativePath = System.getProperty("user.dir") + "/native/";
         String nativePathOsExt = System.getProperty("os.name").toLowerCase();
 
@@ -82,10 +158,33 @@ public class Breakout extends StateBasedGame implements GameParameters {
 
             // Is a specific level set as run parameter?
             int initialLevelId = GameParameters.MAP_INITIAL_ID;
+            boolean profile = false, record = false;
+            int ballStormSize = 0;
+            Replay replay = null;
             for (String arg : args) {
+                if (arg.equals("--profile"))
+                    profile = true;
+
+                if (arg.equals("--record"))
+                    record = true;
+
+                if (arg.startsWith("--replay=")) {
+                    replay = Replay.read(Paths.get(arg.substring("--replay=".length())));
+                    initialLevelId = replay.getMapId();
+                }
+
+                if (arg.startsWith("--ball-storm=")) {
+                    try {
+                        ballStormSize = Math.max(0, Integer.parseInt(arg.substring("--ball-storm=".length())));
+                    } catch (NumberFormatException e) {
+                        logger.error("Can't parse given ball storm size to int");
+                    }
+                }
+
                 if (arg.startsWith("--level=")) {
                     try {
-                        initialLevelId = Integer.valueOf(arg.split("=")[1]);
+                        if (replay == null)
+                            initialLevelId = Integer.valueOf(arg.split("=")[1]);
                     } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
                         logger.error("Can't parse given level id to int");
                     }
@@ -94,6 +193,12 @@ public class Breakout extends StateBasedGame implements GameParameters {
 
             // Add this StateBasedGame to an AppGameContainer
             Breakout game = new Breakout(false, initialLevelId);
+            game.getFrameProfiler().setEnabled(profile);
+            // Every frame is recorded while the profiler is enabled, also after toggling it in the game
+            game.getFrameProfiler().setRecordingPath(Paths.get(PROFILER_CSV_FILE));
+            game.recording = record;
+            game.replay = replay;
+            game.ballStormSize = ballStormSize;
             AppGameContainer app = new AppGameContainer(game);
 
             // Set the display mode and frame rate
@@ -111,20 +216,211 @@ public class Breakout extends StateBasedGame implements GameParameters {
         }
     }
 
+    /**
+     * Compiles all text maps within the map directory into the binary map format, so they will be loaded faster
+     */
+    private static void compileMaps() {
+        try (DirectoryStream<Path> maps = Files.newDirectoryStream(Paths.get(MAP_FILE_PATH), "*" + MAP_FILE_EXT)) {
+            for (Path source : maps) {
+                String fileName = source.getFileName().toString();
+                Path destination = source.resolveSibling(fileName.substring(0, fileName.length() - MAP_FILE_EXT.length()) + MAP_COMPILED_FILE_EXT);
+
+                try {
+                    MapParser.compile(source, destination);
+                    logger.info("Compiled map {} to {}", source, destination);
+                } catch (InvalidMapFileException e) {
+                    logger.error("Map {} is invalid. The following error occurred: {}", source, e);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to compile the maps. The following error occurred: {}", e);
+        }
+    }
+
+    /**
+     * Plays back the given replay headless and checks its result
+     *
+     * @param path the path of the replay file
+     * @return true if the replay ends with the recorded result
+     */
+    private static boolean verifyReplay(Path path) {
+        try {
+            return ReplayVerifier.verify(path);
+        } catch (IOException | InvalidReplayFileException | SlickException e) {
+            logger.error("The replay {} cannot be played back. The following error occurred: {}", path, e);
+            return false;
+        }
+    }
+
+    /**
+     * Plays back all replays of the given directory and checks their results and performance budgets
+     *
+     * @param directory the directory containing the replays
+     * @return true if all replays passed
+     */
+    private static boolean runReplaySuite(Path directory) {
+        try {
+            return new ReplayRegressionSuite(directory).run();
+        } catch (IOException | InvalidReplayFileException | SlickException | NumberFormatException e) {
+            logger.error("The replay regression suite failed. The following error occurred: {}", e);
+            return false;
+        }
+    }
+
+    /**
+     * Merges the highscore files given as arguments (or all highscore files of given directories) into the file of
+     * the --merge-highscores argument. With --top=N only the best N entries are kept.
+     *
+     * @param args the command line arguments
+     * @return true if the files have been merged
+     */
+    private static boolean mergeHighscores(String[] args) {
+        Path output = null;
+        int limit = -1;
+        List<Path> inputs = new ArrayList<>();
+
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--merge-highscores=")) {
+                    output = Paths.get(arg.substring("--merge-highscores=".length()));
+                } else if (arg.startsWith("--top=")) {
+                    limit = Math.max(0, Integer.parseInt(arg.substring("--top=".length())));
+                } else if (!arg.startsWith("--")) {
+                    addHighscoreFiles(Paths.get(arg), inputs);
+                }
+            }
+
+            HighScoreMerger merger = new HighScoreMerger(output.toAbsolutePath().getParent());
+            if (limit < 0) {
+                merger.merge(inputs, output);
+            } else {
+                HighScoreMerger.write(merger.top(inputs, limit), output);
+            }
+
+            System.out.println("Merged " + merger.getReadEntries() + " entries of " + inputs.size() + " files into "
+                    + merger.getWrittenEntries() + " entries of " + output);
+            return true;
+        } catch (IOException | IllegalHighscoreFormat | NumberFormatException e) {
+            logger.error("The highscore files cannot be merged. The following error occurred: {}", e);
+            return false;
+        }
+    }
+
+    /**
+     * Adds the highscore files of the --import-highscores argument (a file or all highscore files of a directory) to
+     * the all-time leaderboard of the map given by --level (default: the initial map). With --multiplayer they are
+     * added to the multiplayer leaderboard.
+     *
+     * @param args the command line arguments
+     * @return true if the files have been imported
+     */
+    private static boolean importHighscores(String[] args) {
+        int mapId = GameParameters.MAP_INITIAL_ID;
+        boolean multiplayer = false;
+        List<Path> inputs = new ArrayList<>();
+
+        PersistenceWorker worker = new PersistenceWorker();
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--import-highscores=")) {
+                    addHighscoreFiles(Paths.get(arg.substring("--import-highscores=".length())), inputs);
+                } else if (arg.startsWith("--level=")) {
+                    mapId = Integer.parseInt(arg.substring("--level=".length()));
+                } else if (arg.equals("--multiplayer")) {
+                    multiplayer = true;
+                }
+            }
+
+            HighScoreController controller = new HighScoreController(worker);
+            controller.loadFromFile();
+            LeaderboardKey key = new LeaderboardKey(mapId, multiplayer);
+            long imported = controller.importFiles(key, inputs);
+            controller.close();
+
+            System.out.println("Imported " + imported + " entries of " + inputs.size() + " files into " + key);
+            return true;
+        } catch (IOException | IllegalHighscoreFormat | NumberFormatException e) {
+            logger.error("The highscore files cannot be imported. The following error occurred: {}", e);
+            return false;
+        } finally {
+            worker.shutdown(GameParameters.PERSISTENCE_SHUTDOWN_TIMEOUT);
+        }
+    }
+
+    /**
+     * @param path  a highscore file or a directory, whose highscore files are added
+     * @param files the list the files are added to
+     * @throws IOException if the directory can't be read
+     */
+    private static void addHighscoreFiles(Path path, List<Path> files) throws IOException {
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> directoryFiles = Files.newDirectoryStream(path, "*.hsc")) {
+                directoryFiles.forEach(files::add);
+            }
+        } else {
+            files.add(path);
+        }
+    }
+
+    /**
+     * Runs the headless benchmark configured by the command line arguments and prints its report
+     *
+     * @param args the command line arguments
+     * @return true if the benchmark has been run
+     */
+    private static boolean runBenchmark(String[] args) {
+        try {
+            System.out.print(HeadlessBenchmark.fromArguments(args).run());
+            return true;
+        } catch (IllegalArgumentException | SlickException | IOException e) {
+            logger.error("The benchmark failed. The following error occurred: {}", e);
+            return false;
+        }
+    }
+
     @Override
     public boolean closeRequested() {
+        GameManagement.unregister();
+
+        // Keep the recording of a running game, it's written with the highscores before the worker is shut down
+        GameplayState gameplayState = (GameplayState) getState(GAMEPLAY_STATE);
+        gameplayState.saveRecording();
+        gameplayState.shutdown();
+
         //release resources to gracefully free the native data
         soundController.close();
-
-        try {
-            highScoreController.saveToFile();
-        } catch (IOException ex) {
-            logger.error("Error saving highscores to file {}", ex);
+        assetController.close();
+
+        // Keep the measured frames for an offline analysis
+        frameProfiler.close();
+        if (frameProfiler.getFrameCount() > 0) {
+            try {
+                frameProfiler.writeJson(Paths.get(PROFILER_JSON_FILE));
+            } catch (IOException ex) {
+                logger.error("Error saving the profiler summary to file", ex);
+            }
         }
 
+        // The entries have been queued when they were added, only the last writes have to be waited for
+        highScoreController.close();
+        persistenceWorker.shutdown(GameParameters.PERSISTENCE_SHUTDOWN_TIMEOUT);
+
         return super.closeRequested();
     }
 
+    @Override
+    protected void preUpdateState(GameContainer container, int delta) throws SlickException {
+        // Report failed saves of the background thread on the game thread
+        persistenceWorker.dispatchFailures();
+
+        int frameCap = this.frameCap;
+        if (frameCap != appliedFrameCap) {
+            // Slick disables the cap for non-positive frame rates
+            container.setTargetFrameRate((frameCap == 0) ? -1 : frameCap);
+            appliedFrameCap = frameCap;
+        }
+    }
+
     @Override
     public void initStatesList(GameContainer container) throws SlickException {
         //load the sounds here in order to override the default sound volume from slick
@@ -149,6 +445,25 @@ public class Breakout extends StateBasedGame implements GameParameters {
         StateBasedEntityManager.getInstance().addState(CREDITS_STATE);
         StateBasedEntityManager.getInstance().addState(SETTINGS_STATE);
         StateBasedEntityManager.getInstance().addState(GAMEOVER_STATE);
+
+        GameplayState gameplayState = (GameplayState) getState(GAMEPLAY_STATE);
+        // The pooled balls aren't part of a replay, so such games cannot be recorded or played back
+        if (ballStormSize > 0 && (recording || replay != null)) {
+            logger.warn("The ball storm is disabled, because games with pooled balls cannot be recorded or replayed");
+            ballStormSize = 0;
+        }
+
+        gameplayState.setRecording(recording);
+        gameplayState.setBallStormSize(ballStormSize);
+
+        // Watch the replay instead of showing the main menu
+        if (replay != null) {
+            gameplayState.play(replay);
+            enterState(GAMEPLAY_STATE);
+        }
+
+        // Allow watching and tuning the running game from JConsole or VisualVM
+        GameManagement.register(this);
     }
 
     private void loadHighscores() {
@@ -190,4 +505,49 @@ public class Breakout extends StateBasedGame implements GameParameters {
     public SoundController getSoundController() {
         return soundController;
     }
+
+    /**
+     * Get the shared image cache used by all gameplay views.
+     *
+     * @return asset controller
+     */
+    public AssetController getAssetController() {
+        return assetController;
+    }
+
+    /**
+     * Get the background thread that writes all files of the game.
+     *
+     * @return persistence worker
+     */
+    public PersistenceWorker getPersistenceWorker() {
+        return persistenceWorker;
+    }
+
+    /**
+     * Get the profiler measuring the phases of each frame.
+     *
+     * @return frame profiler
+     */
+    public FrameProfiler getFrameProfiler() {
+        return frameProfiler;
+    }
+
+    /**
+     * Get the maximum frame rate, 0 if it's unlimited.
+     *
+     * @return frame cap
+     */
+    public int getFrameCap() {
+        return frameCap;
+    }
+
+    /**
+     * Set the maximum frame rate. May be called by any thread, the cap is applied before the next update.
+     *
+     * @param frameCap the maximum frame rate or 0 for an unlimited frame rate
+     */
+    public void setFrameCap(int frameCap) {
+        this.frameCap = frameCap;
+    }
 }
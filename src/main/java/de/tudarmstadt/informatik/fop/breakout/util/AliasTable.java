@@ -0,0 +1,110 @@
+package de.tudarmstadt.informatik.fop.breakout.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Immutable table to draw weighted random elements in constant time (Walker's alias method with Vose's construction).
+ * <p>
+ * Every column of the table holds an element, the probability to keep it and an alias element which is taken
+ * otherwise. A draw only picks a random column and flips a biased coin, no matter how many elements there are.
+ *
+ * @param <T> type of the elements
+ */
+public final class AliasTable<T> {
+
+    private final Object[] elements;
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    /**
+     * Builds the table for the given elements
+     *
+     * @param elements the elements that can be drawn
+     * @param weight   returns the weight of an element (must not be negative)
+     * @throws IllegalArgumentException if a weight is negative or not a number
+     */
+    public AliasTable(T[] elements, ToDoubleFunction<T> weight) {
+        int count = elements.length;
+
+        double[] weights = new double[count];
+        double totalWeight = 0;
+        for (int i = 0; i < count; i++) {
+            weights[i] = weight.applyAsDouble(elements[i]);
+            if (!(weights[i] >= 0))
+                throw new IllegalArgumentException("Invalid weight " + weights[i] + " of " + elements[i]);
+            totalWeight += weights[i];
+        }
+
+        // A table without any weight can't draw anything
+        if (totalWeight == 0) count = 0;
+
+        this.elements = new Object[count];
+        this.probabilities = new double[count];
+        this.aliases = new int[count];
+        if (count == 0) return;
+
+        System.arraycopy(elements, 0, this.elements, 0, count);
+
+        // Scale the weights, so the average column has a probability of 1
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < count; i++) {
+            weights[i] = weights[i] * count / totalWeight;
+            if (weights[i] < 1)
+                small.push(i);
+            else
+                large.push(i);
+        }
+
+        // Fill every underfull column with the rest of an overfull one
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+
+            probabilities[less] = weights[less];
+            aliases[less] = more;
+
+            weights[more] = (weights[more] + weights[less]) - 1;
+            if (weights[more] < 1)
+                small.push(more);
+            else
+                large.push(more);
+        }
+
+        // The remaining columns are full (apart from rounding errors)
+        while (!large.isEmpty()) {
+            int index = large.pop();
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+        while (!small.isEmpty()) {
+            int index = small.pop();
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+    }
+
+    /**
+     * Draws a random element based on the weights
+     *
+     * @param random the random number generator to use
+     * @return the drawn element or null if the table is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T sample(Random random) {
+        if (elements.length == 0) return null;
+
+        int column = random.nextInt(elements.length);
+        return (T) elements[random.nextDouble() < probabilities[column] ? column : aliases[column]];
+    }
+
+    /**
+     * @return true if no element can be drawn
+     */
+    public boolean isEmpty() {
+        return elements.length == 0;
+    }
+}
@@ -0,0 +1,65 @@
+package de.tudarmstadt.informatik.fop.breakout.util;
+
+/**
+ * Keeps the durations of the last frames to report their average and maximum. Recording is cheap and allocation free,
+ * so it can stay enabled all the time.
+ * <p>
+ * Durations are recorded by the game thread, but may be read by any other thread (i.e. a JMX client). Readers may see
+ * a window that is updated meanwhile, which is fine for monitoring.
+ */
+public class FrameTimeWindow {
+
+    private final long[] durations;
+    private volatile int count = 0;
+    private int next = 0;
+
+    /**
+     * @param size the amount of frames within the window
+     */
+    public FrameTimeWindow(int size) {
+        if (size <= 0)
+            throw new IllegalArgumentException("The window size has to be positive: " + size);
+
+        durations = new long[size];
+    }
+
+    /**
+     * Adds the duration of a frame and drops the oldest one if the window is full
+     *
+     * @param duration the duration in nanoseconds
+     */
+    public void record(long duration) {
+        durations[next] = duration;
+        next = (next + 1) % durations.length;
+
+        if (count < durations.length)
+            count++;
+    }
+
+    /**
+     * @return the average duration within the window in nanoseconds or 0 if no frame has been recorded
+     */
+    public long getAverage() {
+        int length = count;
+        if (length == 0) return 0;
+
+        long sum = 0;
+        for (int i = 0; i < length; i++)
+            sum += durations[i];
+
+        return sum / length;
+    }
+
+    /**
+     * @return the maximum duration within the window in nanoseconds or 0 if no frame has been recorded
+     */
+    public long getMax() {
+        int length = count;
+
+        long max = 0;
+        for (int i = 0; i < length; i++)
+            max = Math.max(max, durations[i]);
+
+        return max;
+    }
+}
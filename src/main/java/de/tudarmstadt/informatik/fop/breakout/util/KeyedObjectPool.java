@@ -0,0 +1,96 @@
+package de.tudarmstadt.informatik.fop.breakout.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * An {@link ObjectPool} per key, i.e. per item type or per block id. Objects are only reused for the key they have
+ * been released with. The counters are summed over all keys.
+ *
+ * @param <K> the type of the keys
+ * @param <T> the type of the pooled objects
+ */
+public class KeyedObjectPool<K, T> {
+
+    private final int maxIdlePerKey;
+    private final Consumer<? super T> resetHook;
+
+    private final Map<K, ObjectPool<T>> pools = new HashMap<>();
+
+    // Acquiring from a key that hasn't been released yet doesn't create its pool
+    private long unknownKeyMisses = 0;
+
+    /**
+     * @param maxIdlePerKey the maximum amount of idle objects per key
+     * @param resetHook     called for every released object
+     */
+    public KeyedObjectPool(int maxIdlePerKey, Consumer<? super T> resetHook) {
+        this.maxIdlePerKey = maxIdlePerKey;
+        this.resetHook = resetHook;
+    }
+
+    /**
+     * @param key the key the object has been released with
+     * @return an idle object or null if there is none for the key
+     */
+    public synchronized T acquire(K key) {
+        ObjectPool<T> pool = pools.get(key);
+        if (pool == null) {
+            unknownKeyMisses++;
+            return null;
+        }
+
+        return pool.acquire();
+    }
+
+    /**
+     * Resets the object and keeps it for the next {@link #acquire(Object)} with the same key
+     *
+     * @param key    the key of the object
+     * @param object the object that isn't used anymore
+     * @return true if the object has been kept
+     */
+    public synchronized boolean release(K key, T object) {
+        return pools.computeIfAbsent(key, k -> new ObjectPool<>(maxIdlePerKey, resetHook)).release(object);
+    }
+
+    /**
+     * Drops all idle objects. The counters are kept.
+     */
+    public synchronized void clear() {
+        pools.values().forEach(ObjectPool::clear);
+    }
+
+    public synchronized long getHits() {
+        long hits = 0;
+        for (ObjectPool<T> pool : pools.values())
+            hits += pool.getHits();
+
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        long misses = unknownKeyMisses;
+        for (ObjectPool<T> pool : pools.values())
+            misses += pool.getMisses();
+
+        return misses;
+    }
+
+    public synchronized long getDiscarded() {
+        long discarded = 0;
+        for (ObjectPool<T> pool : pools.values())
+            discarded += pool.getDiscarded();
+
+        return discarded;
+    }
+
+    public synchronized int getIdleCount() {
+        int idle = 0;
+        for (ObjectPool<T> pool : pools.values())
+            idle += pool.getIdleCount();
+
+        return idle;
+    }
+}
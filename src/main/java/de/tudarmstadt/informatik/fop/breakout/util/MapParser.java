@@ -0,0 +1,267 @@
+package de.tudarmstadt.informatik.fop.breakout.util;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.exceptions.InvalidMapFileException;
+import de.tudarmstadt.informatik.fop.breakout.models.BlockDefinition;
+import de.tudarmstadt.informatik.fop.breakout.models.BlockType;
+import de.tudarmstadt.informatik.fop.breakout.models.Direction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads map files and compiles them into the binary map format.
+ * <p>
+ * Text maps ({@link GameParameters#MAP_FILE_EXT}) consist of {@link GameParameters#MAP_ROWS} lines with
+ * {@link GameParameters#MAP_COLUMNS} comma separated cells each. A cell is either "0" (no block), the hits of a simple
+ * block or the direction ('u', 'd', 'l' or 'r') followed by the distance of a ram block.
+ * <p>
+ * Compiled maps ({@link GameParameters#MAP_COMPILED_FILE_EXT}) start with a header (magic, version, rows, columns and
+ * block count) followed by one fixed-width record per block:
+ * <pre>
+ * row (1 byte) | column (1 byte) | type (1 byte) | hits (1 byte) | direction (1 byte) | distance (1 byte) | padding (2 bytes)
+ * </pre>
+ */
+public final class MapParser {
+
+    private static final int MAGIC = 0x42524B4D; // "BRKM"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 2 + 2 + 4;
+    private static final int RECORD_SIZE = 8;
+    private static final int NO_DIRECTION = 0xFF;
+    private static final int MAX_RECORD_VALUE = 0xFF;
+
+    private static final BlockType[] BLOCK_TYPES = BlockType.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private MapParser() {
+    }
+
+    /**
+     * Reads a text or compiled map file, depending on its extension
+     *
+     * @param path path to the map file
+     * @return all blocks of the map ordered by row and column
+     * @throws InvalidMapFileException if the map is invalid
+     * @throws IOException             if the file cannot be read
+     */
+    public static List<BlockDefinition> read(Path path) throws InvalidMapFileException, IOException {
+        if (path.getFileName().toString().endsWith(GameParameters.MAP_COMPILED_FILE_EXT))
+            return readCompiled(path);
+
+        return parse(Files.readAllBytes(path), path.toString());
+    }
+
+    /**
+     * Parses the content of a text map file within a single pass
+     *
+     * @param content the raw content of the map file (ASCII)
+     * @param source  name of the map used in error messages
+     * @return all blocks of the map ordered by row and column
+     * @throws InvalidMapFileException if the map is invalid
+     */
+    public static List<BlockDefinition> parse(byte[] content, String source) throws InvalidMapFileException {
+        List<BlockDefinition> blocks = new ArrayList<>();
+
+        int length = content.length;
+        int position = 0;
+        int row = 0;
+
+        while (position < length) {
+            if (row >= GameParameters.MAP_ROWS)
+                throw new InvalidMapFileException(source + ": invalid row count. The map has more than " + GameParameters.MAP_ROWS + " rows");
+
+            int column = 0;
+            while (true) {
+                if (column >= GameParameters.MAP_COLUMNS)
+                    throw new InvalidMapFileException(source + ": invalid column count at row " + (row + 1) + ". The row has more than " + GameParameters.MAP_COLUMNS + " columns");
+
+                // Parse a single cell
+                int start = position;
+                char prefix = 0;
+                if (position < length && isDirection(content[position]))
+                    prefix = (char) content[position++];
+
+                int value = 0;
+                int digits = 0;
+                while (position < length && content[position] >= '0' && content[position] <= '9') {
+                    value = value * 10 + (content[position++] - '0');
+                    if (value > MAX_RECORD_VALUE)
+                        throw invalidCell(source, row, column, "value is greater than " + MAX_RECORD_VALUE);
+                    digits++;
+                }
+
+                if (digits == 0 || (position < length && !isSeparator(content[position])))
+                    throw invalidCell(source, row, column, "unknown block type '" + token(content, start) + "'");
+
+                if (prefix != 0)
+                    blocks.add(BlockDefinition.ram(row, column, toDirection(prefix), value));
+                else if (value != 0)
+                    blocks.add(BlockDefinition.simple(row, column, value));
+
+                column++;
+
+                if (position < length && content[position] == ',') {
+                    position++;
+                } else {
+                    break;
+                }
+            }
+
+            if (column != GameParameters.MAP_COLUMNS)
+                throw new InvalidMapFileException(source + ": invalid column count at row " + (row + 1) + ". The read column count was: " + column);
+
+            // Skip the line break (\n or \r\n)
+            if (position < length && content[position] == '\r')
+                position++;
+            if (position < length && content[position] == '\n')
+                position++;
+
+            row++;
+        }
+
+        if (row != GameParameters.MAP_ROWS)
+            throw new InvalidMapFileException(source + ": invalid row count. The read row count was: " + row);
+
+        return blocks;
+    }
+
+    /**
+     * Reads a compiled map file through a memory mapped file channel
+     *
+     * @param path path to the compiled map file
+     * @return all blocks of the map ordered by row and column
+     * @throws InvalidMapFileException if the map is invalid
+     * @throws IOException             if the file cannot be read
+     */
+    public static List<BlockDefinition> readCompiled(Path path) throws InvalidMapFileException, IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE)
+                throw new InvalidMapFileException(path + ": the file is too small for a compiled map");
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+
+            if (buffer.getInt() != MAGIC)
+                throw new InvalidMapFileException(path + ": the file isn't a compiled map");
+
+            int version = buffer.getInt();
+            if (version != VERSION)
+                throw new InvalidMapFileException(path + ": unsupported map version " + version);
+
+            int rows = buffer.getShort();
+            int columns = buffer.getShort();
+            if (rows != GameParameters.MAP_ROWS || columns != GameParameters.MAP_COLUMNS)
+                throw new InvalidMapFileException(path + ": invalid map size " + rows + "x" + columns);
+
+            int count = buffer.getInt();
+            if (count < 0 || size != HEADER_SIZE + (long) count * RECORD_SIZE)
+                throw new InvalidMapFileException(path + ": the block count " + count + " doesn't match the file size");
+
+            List<BlockDefinition> blocks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int row = buffer.get() & 0xFF;
+                int column = buffer.get() & 0xFF;
+                int type = buffer.get() & 0xFF;
+                int hits = buffer.get() & 0xFF;
+                int direction = buffer.get() & 0xFF;
+                int distance = buffer.get() & 0xFF;
+                buffer.getShort(); // padding
+
+                if (row >= rows || column >= columns)
+                    throw new InvalidMapFileException(path + ": block " + i + " is outside of the map");
+                if (type >= BLOCK_TYPES.length)
+                    throw new InvalidMapFileException(path + ": block " + i + " has an unknown type " + type);
+
+                switch (BLOCK_TYPES[type]) {
+                    case RAM:
+                        if (direction >= DIRECTIONS.length)
+                            throw new InvalidMapFileException(path + ": block " + i + " has an unknown direction " + direction);
+                        blocks.add(BlockDefinition.ram(row, column, DIRECTIONS[direction], distance));
+                        break;
+                    default:
+                        if (hits == 0)
+                            throw new InvalidMapFileException(path + ": block " + i + " has no hits");
+                        blocks.add(BlockDefinition.simple(row, column, hits));
+                        break;
+                }
+            }
+
+            return blocks;
+        }
+    }
+
+    /**
+     * Compiles a text map file into the binary map format
+     *
+     * @param source      path to the text map file
+     * @param destination path of the compiled map file
+     * @throws InvalidMapFileException if the text map is invalid
+     * @throws IOException             if a file cannot be read or written
+     */
+    public static void compile(Path source, Path destination) throws InvalidMapFileException, IOException {
+        List<BlockDefinition> blocks = parse(Files.readAllBytes(source), source.toString());
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + blocks.size() * RECORD_SIZE).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putShort((short) GameParameters.MAP_ROWS);
+        buffer.putShort((short) GameParameters.MAP_COLUMNS);
+        buffer.putInt(blocks.size());
+
+        for (BlockDefinition block : blocks) {
+            buffer.put((byte) block.getRow());
+            buffer.put((byte) block.getColumn());
+            buffer.put((byte) block.getType().ordinal());
+            buffer.put((byte) block.getHits());
+            buffer.put((byte) (block.getDirection() == null ? NO_DIRECTION : block.getDirection().ordinal()));
+            buffer.put((byte) block.getDistance());
+            buffer.putShort((short) 0);
+        }
+
+        Files.write(destination, buffer.array());
+    }
+
+    private static boolean isDirection(byte c) {
+        return c == 'u' || c == 'd' || c == 'l' || c == 'r';
+    }
+
+    private static boolean isSeparator(byte c) {
+        return c == ',' || c == '\r' || c == '\n';
+    }
+
+    private static Direction toDirection(char c) {
+        switch (c) {
+            case 'u':
+                return Direction.UP;
+            case 'd':
+                return Direction.DOWN;
+            case 'l':
+                return Direction.LEFT;
+            default:
+                return Direction.RIGHT;
+        }
+    }
+
+    private static InvalidMapFileException invalidCell(String source, int row, int column, String reason) {
+        return new InvalidMapFileException(source + ": invalid cell at row " + (row + 1) + ", column " + (column + 1) + ": " + reason);
+    }
+
+    private static String token(byte[] content, int start) {
+        int end = start;
+        while (end < content.length && !isSeparator(content[end]))
+            end++;
+
+        return new String(content, start, end - start, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,112 @@
+package de.tudarmstadt.informatik.fop.breakout.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keeps released objects for reuse, so objects that are created and thrown away all the time (i.e. entities with all
+ * their components) don't have to be allocated again.
+ * <p>
+ * {@link #acquire()} returns null if there is no idle object, the caller creates a new one then. Objects are reset by
+ * the reset hook when they are released and have to be configured by the caller after they have been acquired. The
+ * hits and misses of {@link #acquire()} are counted to tune the pool sizes.
+ * <p>
+ * All methods are synchronized, so objects may be released and acquired by different threads (i.e. by the level
+ * preloader).
+ *
+ * @param <T> the type of the pooled objects
+ */
+public class ObjectPool<T> {
+
+    private final int maxIdle;
+    private final Consumer<? super T> resetHook;
+
+    // Used as a stack, so the most recently used object (the one most likely in the cache) is reused first
+    private final List<T> idle = new ArrayList<>();
+
+    private long hits = 0;
+    private long misses = 0;
+    private long discarded = 0;
+
+    /**
+     * @param maxIdle   the maximum amount of idle objects, further released objects are left to the garbage collector
+     * @param resetHook called for every released object, i.e. to drop references to other objects
+     */
+    public ObjectPool(int maxIdle, Consumer<? super T> resetHook) {
+        if (maxIdle < 0)
+            throw new IllegalArgumentException("The maximum amount of idle objects must not be negative: " + maxIdle);
+
+        this.maxIdle = maxIdle;
+        this.resetHook = resetHook;
+    }
+
+    /**
+     * @return an idle object or null if the pool is empty
+     */
+    public synchronized T acquire() {
+        if (idle.isEmpty()) {
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return idle.remove(idle.size() - 1);
+    }
+
+    /**
+     * Resets the object and keeps it for the next {@link #acquire()}. Objects that are already idle are ignored, so
+     * releasing an object twice doesn't hand it out twice.
+     *
+     * @param object the object that isn't used anymore
+     * @return true if the object has been kept, false if the pool is full or the object is already idle
+     */
+    public synchronized boolean release(T object) {
+        for (int i = 0; i < idle.size(); i++)
+            if (idle.get(i) == object) return false;
+
+        if (idle.size() >= maxIdle) {
+            discarded++;
+            return false;
+        }
+
+        resetHook.accept(object);
+        idle.add(object);
+        return true;
+    }
+
+    /**
+     * Drops all idle objects. The counters are kept.
+     */
+    public synchronized void clear() {
+        idle.clear();
+    }
+
+    /**
+     * @return the amount of objects that have been reused
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the amount of objects that had to be created, because the pool was empty
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the amount of released objects that have been dropped, because the pool was full
+     */
+    public synchronized long getDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * @return the amount of objects waiting for reuse
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+}
@@ -0,0 +1,221 @@
+package de.tudarmstadt.informatik.fop.breakout.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+
+/**
+ * Sorted collection with access by position (a treap with subtree sizes). Inserting an element, looking up the rank
+ * of a value and jumping to a position take O(log n) expected time, so even a large table can be paged through.
+ * <p>
+ * Equal elements are kept in the order they have been added, like a stable sort would do.
+ *
+ * @param <T> type of the elements
+ */
+public class OrderStatisticTree<T> implements Iterable<T> {
+
+    private static final class Node<T> {
+        private final T element;
+        private final int priority;
+
+        private Node<T> left, right;
+        private int size = 1;
+
+        private Node(T element, int priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+
+    private final Comparator<? super T> comparator;
+    // The priorities only keep the tree balanced, they don't change the order of the elements
+    private final SplittableRandom random = new SplittableRandom();
+
+    private Node<T> root;
+
+    /**
+     * @param comparator the order of the elements
+     */
+    public OrderStatisticTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Inserts the element behind all elements that are less or equal
+     *
+     * @param element the new element
+     * @return the position of the inserted element
+     */
+    public int add(T element) {
+        int position = rank(other -> comparator.compare(other, element) <= 0);
+        root = insert(root, new Node<>(element, random.nextInt()), position);
+        return position;
+    }
+
+    /**
+     * Counts the elements in front of the first element that doesn't match the predicate. The predicate has to match
+     * a prefix of the sorted elements, i.e. all elements that are better than a given score.
+     *
+     * @param precedes returns true for the elements in front of the searched position
+     * @return the amount of matching elements
+     */
+    public int rank(Predicate<? super T> precedes) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (precedes.test(node.element)) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * @param position the position in the sorted elements
+     * @return the element at that position
+     * @throws IndexOutOfBoundsException if the position is negative or not less than the size
+     */
+    public T get(int position) {
+        if (position < 0 || position >= size())
+            throw new IndexOutOfBoundsException("Position " + position + " of " + size() + " elements");
+
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (position < leftSize) {
+                node = node.left;
+            } else if (position == leftSize) {
+                return node.element;
+            } else {
+                position -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Copies a page of the sorted elements
+     *
+     * @param offset the position of the first element
+     * @param limit  the maximum amount of elements
+     * @return the elements from offset on, less than limit if the end has been reached
+     */
+    public List<T> subList(int offset, int limit) {
+        List<T> page = new ArrayList<>(Math.max(0, Math.min(limit, size() - offset)));
+        Iterator<T> iterator = iterator(offset);
+        while (page.size() < limit && iterator.hasNext())
+            page.add(iterator.next());
+
+        return page;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * @param offset the position of the first element
+     * @return an iterator over the sorted elements starting at the given position
+     */
+    public Iterator<T> iterator(int offset) {
+        // The path to the element at offset, without the nodes the iteration has already passed
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (offset < leftSize) {
+                path.push(node);
+                node = node.left;
+            } else if (offset == leftSize) {
+                path.push(node);
+                break;
+            } else {
+                offset -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (path.isEmpty())
+                    throw new NoSuchElementException();
+
+                Node<T> next = path.pop();
+                for (Node<T> node = next.right; node != null; node = node.left)
+                    path.push(node);
+
+                return next.element;
+            }
+        };
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> inserted, int position) {
+        if (node == null)
+            return inserted;
+
+        node.size++;
+        int leftSize = size(node.left);
+        if (position <= leftSize) {
+            node.left = insert(node.left, inserted, position);
+            if (node.left.priority > node.priority)
+                node = rotateRight(node);
+        } else {
+            node.right = insert(node.right, inserted, position - leftSize - 1);
+            if (node.right.priority > node.priority)
+                node = rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        left.size = node.size;
+        node.size = size(node.left) + size(node.right) + 1;
+        return left;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        right.size = node.size;
+        node.size = size(node.left) + size(node.right) + 1;
+        return right;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
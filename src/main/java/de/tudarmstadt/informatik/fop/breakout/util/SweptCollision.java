@@ -0,0 +1,158 @@
+package de.tudarmstadt.informatik.fop.breakout.util;
+
+/**
+ * Continuous collision tests between a moving circle (the ball) and an axis aligned box (blocks, borders and sticks).
+ * <p>
+ * All methods work on primitive floats and write their contact normal into a caller provided array, so they don't
+ * allocate anything and can be called for every ball in every frame.
+ */
+public final class SweptCollision {
+
+    /**
+     * Returned if the circle doesn't hit the box on its way
+     */
+    public static final float NO_HIT = -1;
+
+    private SweptCollision() {
+    }
+
+    /**
+     * Calculates the time of impact of a circle moving from (x, y) by (dx, dy) against a box. The circle hits the
+     * box, if its center hits the box expanded by the radius (with rounded corners).
+     * <p>
+     * Circles already overlapping the box at the start or moving away from it are ignored.
+     *
+     * @param x      the circle center x at the start of the movement
+     * @param y      the circle center y at the start of the movement
+     * @param dx     the movement on the x-axis
+     * @param dy     the movement on the y-axis
+     * @param radius the circle radius
+     * @param minX   the left side of the box
+     * @param minY   the top side of the box
+     * @param maxX   the right side of the box
+     * @param maxY   the bottom side of the box
+     * @param normal an array of at least two elements the contact normal (pointing away from the box) is written to
+     * @return the fraction of the movement between 0 and 1 at which the contact happens or {@link #NO_HIT}
+     */
+    public static float timeOfImpact(float x, float y, float dx, float dy, float radius,
+                                     float minX, float minY, float maxX, float maxY, float[] normal) {
+        // Slab test against the box expanded by the radius
+        float enterX, exitX, enterY, exitY;
+
+        if (dx == 0) {
+            if (x <= minX - radius || x >= maxX + radius) return NO_HIT;
+            enterX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        } else {
+            float t1 = (minX - radius - x) / dx;
+            float t2 = (maxX + radius - x) / dx;
+            enterX = Math.min(t1, t2);
+            exitX = Math.max(t1, t2);
+        }
+
+        if (dy == 0) {
+            if (y <= minY - radius || y >= maxY + radius) return NO_HIT;
+            enterY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else {
+            float t1 = (minY - radius - y) / dy;
+            float t2 = (maxY + radius - y) / dy;
+            enterY = Math.min(t1, t2);
+            exitY = Math.max(t1, t2);
+        }
+
+        float enter = Math.max(enterX, enterY);
+        float exit = Math.min(exitX, exitY);
+
+        // Overlapping at the start (enter < 0) will be handled by the overlap resolution
+        if (enter > exit || enter > 1 || enter < 0) return NO_HIT;
+
+        float hitX = x + dx * enter;
+        float hitY = y + dy * enter;
+
+        boolean insideX = hitX >= minX && hitX <= maxX;
+        boolean insideY = hitY >= minY && hitY <= maxY;
+
+        if (insideX || insideY) {
+            // The center hit one of the straight sides
+            if (enterX > enterY) {
+                normal[0] = (dx > 0) ? -1 : 1;
+                normal[1] = 0;
+            } else {
+                normal[0] = 0;
+                normal[1] = (dy > 0) ? -1 : 1;
+            }
+
+            return enter;
+        }
+
+        // The center is in one of the rounded corner regions - test against the circle around that corner
+        float cornerX = (hitX < minX) ? minX : maxX;
+        float cornerY = (hitY < minY) ? minY : maxY;
+
+        float offsetX = x - cornerX;
+        float offsetY = y - cornerY;
+
+        float a = dx * dx + dy * dy;
+        float b = 2 * (offsetX * dx + offsetY * dy);
+        float c = offsetX * offsetX + offsetY * offsetY - radius * radius;
+
+        float discriminant = b * b - 4 * a * c;
+        if (c <= 0 || discriminant < 0) return NO_HIT;
+
+        float t = (float) ((-b - Math.sqrt(discriminant)) / (2 * a));
+        if (t < 0 || t > 1) return NO_HIT;
+
+        normal[0] = (offsetX + dx * t) / radius;
+        normal[1] = (offsetY + dy * t) / radius;
+
+        return t;
+    }
+
+    /**
+     * Calculates how deep a circle overlaps a box.
+     *
+     * @param x      the circle center x
+     * @param y      the circle center y
+     * @param radius the circle radius
+     * @param minX   the left side of the box
+     * @param minY   the top side of the box
+     * @param maxX   the right side of the box
+     * @param maxY   the bottom side of the box
+     * @param normal an array of at least two elements the direction the circle has to be pushed out is written to
+     * @return the penetration depth or a value <= 0 if they don't overlap
+     */
+    public static float penetration(float x, float y, float radius,
+                                    float minX, float minY, float maxX, float maxY, float[] normal) {
+        float closestX = Math.max(minX, Math.min(x, maxX));
+        float closestY = Math.max(minY, Math.min(y, maxY));
+
+        float offsetX = x - closestX;
+        float offsetY = y - closestY;
+        float distanceSquared = offsetX * offsetX + offsetY * offsetY;
+
+        if (distanceSquared > 0) {
+            float distance = (float) Math.sqrt(distanceSquared);
+            normal[0] = offsetX / distance;
+            normal[1] = offsetY / distance;
+
+            return radius - distance;
+        }
+
+        // The center is inside the box - push it out over the nearest side
+        float left = x - minX;
+        float right = maxX - x;
+        float top = y - minY;
+        float bottom = maxY - y;
+        float nearest = Math.min(Math.min(left, right), Math.min(top, bottom));
+
+        normal[0] = 0;
+        normal[1] = 0;
+        if (nearest == top) normal[1] = -1;
+        else if (nearest == bottom) normal[1] = 1;
+        else if (nearest == left) normal[0] = -1;
+        else normal[0] = 1;
+
+        return radius + nearest;
+    }
+}
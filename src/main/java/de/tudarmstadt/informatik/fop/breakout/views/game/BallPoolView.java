@@ -0,0 +1,49 @@
+package de.tudarmstadt.informatik.fop.breakout.views.game;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.AssetController;
+import de.tudarmstadt.informatik.fop.breakout.models.game.BallPool;
+
+import org.newdawn.slick.Image;
+import org.newdawn.slick.SlickException;
+import org.newdawn.slick.SpriteSheet;
+
+/**
+ * Draws all balls of a {@link BallPool} with the first frame of the ball sprite sheet.
+ * <p>
+ * The texture is bound once and every ball is added as textured quad to the same batch, so thousands of balls take a
+ * single draw call instead of one per ball. It isn't an entity, so it has to be rendered by the state.
+ */
+public class BallPoolView {
+
+    private final BallPool pool;
+    private final Image sprite;
+
+    public BallPoolView(BallPool pool, AssetController assetController) throws SlickException {
+        this.pool = pool;
+
+        // Kept for the lifetime of the state, like the sound effects
+        int size = (int) (GameParameters.BALL_RADIUS * 2);
+        SpriteSheet spriteSheet = assetController.acquireSpriteSheet(GameParameters.BALL_SPRITESHEET, 0.5F, size, size);
+        sprite = spriteSheet.getSprite(0, 0);
+    }
+
+    /**
+     * Renders all balls between their previous and current position
+     *
+     * @param alpha the position between the previous (0) and the current tick (1)
+     */
+    public void render(float alpha) {
+        if (pool.size() == 0) return;
+
+        sprite.startUse();
+        int slotCount = pool.getSlotCount();
+        for (int i = 0; i < slotCount; i++) {
+            if (!pool.isAlive(i)) continue;
+
+            float radius = pool.getRadius(i);
+            sprite.drawEmbedded(pool.getX(i, alpha) - radius, pool.getY(i, alpha) - radius, radius * 2, radius * 2);
+        }
+        sprite.endUse();
+    }
+}
@@ -1,6 +1,7 @@
 package de.tudarmstadt.informatik.fop.breakout.views.game;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.AssetController;
 import de.tudarmstadt.informatik.fop.breakout.models.game.BallModel;
 
 import eea.engine.component.RenderComponent;
@@ -15,22 +16,45 @@ import org.newdawn.slick.state.StateBasedGame;
 
 public class BallView extends RenderComponent {
 
+    private final AssetController assetController;
     private SpriteSheet spriteSheet;
     private Animation animation;
     private BallModel ball;
     private boolean isPaused = true;
+    private boolean released = false;
 
-    public BallView(String id) throws SlickException {
+    public BallView(String id, AssetController assetController) {
         super(id);
 
-        spriteSheet = new SpriteSheet(GameParameters.BALL_SPRITESHEET, 50, 50);
-        animation = new Animation(spriteSheet, 70);
+        this.assetController = assetController;
     }
 
-    public void init() {
+    /**
+     * Acquires the shared sprite sheet. Pooled balls call this again after the sprite sheet has been released, the
+     * animation is only recreated if the texture has been purged meanwhile.
+     *
+     * @throws SlickException if the sprite sheet cannot be loaded
+     */
+    public void init() throws SlickException {
+        if (spriteSheet != null && !released) return;
+
         ball = (BallModel) getOwnerEntity();
-        spriteSheet = new SpriteSheet(spriteSheet.getScaledCopy(0.5F), (int) (ball.getRadius() * 2), (int) (ball.getRadius() * 2));
-        animation = new Animation(spriteSheet, 70);
+        SpriteSheet previous = spriteSheet;
+        spriteSheet = assetController.acquireSpriteSheet(GameParameters.BALL_SPRITESHEET, 0.5F, (int) (ball.getRadius() * 2), (int) (ball.getRadius() * 2));
+        released = false;
+
+        if (spriteSheet != previous)
+            animation = new Animation(spriteSheet, 70);
+    }
+
+    /**
+     * Releases the shared sprite sheet. Nothing happens if it has already been released.
+     */
+    public void release() {
+        if (released || spriteSheet == null) return;
+
+        assetController.release(spriteSheet);
+        released = true;
     }
 
     @Override
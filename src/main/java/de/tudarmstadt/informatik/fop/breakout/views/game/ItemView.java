@@ -1,6 +1,7 @@
 package de.tudarmstadt.informatik.fop.breakout.views.game;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.AssetController;
 import de.tudarmstadt.informatik.fop.breakout.models.ItemType;
 import de.tudarmstadt.informatik.fop.breakout.models.game.ItemModel;
 import eea.engine.component.RenderComponent;
@@ -10,23 +11,59 @@ import org.newdawn.slick.state.StateBasedGame;
 
 public class ItemView extends RenderComponent {
 
+    private final AssetController assetController;
+    private final String imagePath;
+    private final int tileSize;
     private SpriteSheet spritesheet;
     private Animation animation;
     private ItemModel itemModel;
     private boolean isPaused = false;
+    private boolean released = false;
 
-    public ItemView(String id, ItemModel itemModel, ItemType itemType) throws SlickException {
+    public ItemView(String id, ItemModel itemModel, ItemType itemType, AssetController assetController) throws SlickException {
         super(id);
         this.itemModel = itemModel;
+        this.assetController = assetController;
 
-        Image image = new Image(itemType.getImagePath());
-        int imageWidth = (int) (GameParameters.ITEM_IMAGE_SIZE * image.getHeight());
+        this.imagePath = itemType.getImagePath();
 
-        spritesheet = new SpriteSheet(image.getScaledCopy(GameParameters.ITEM_IMAGE_SIZE), imageWidth, imageWidth);
+        // The tiles are squares with the height of the scaled image
+        Image image = assetController.acquireImage(imagePath, GameParameters.ITEM_IMAGE_SIZE);
+        tileSize = image.getHeight();
+        assetController.release(image);
+
+        spritesheet = assetController.acquireSpriteSheet(imagePath, GameParameters.ITEM_IMAGE_SIZE, tileSize, tileSize);
 
         animation = new Animation(spritesheet, 600 / spritesheet.getHorizontalCount());
     }
 
+    /**
+     * Acquires the shared sprite sheet again after it has been released, so a pooled item can be dropped again. The
+     * animation is only recreated if the texture has been purged meanwhile.
+     *
+     * @throws SlickException if the sprite sheet cannot be loaded
+     */
+    public void acquire() throws SlickException {
+        if (!released) return;
+
+        SpriteSheet previous = spritesheet;
+        spritesheet = assetController.acquireSpriteSheet(imagePath, GameParameters.ITEM_IMAGE_SIZE, tileSize, tileSize);
+        released = false;
+
+        if (spritesheet != previous)
+            animation = new Animation(spritesheet, 600 / spritesheet.getHorizontalCount());
+    }
+
+    /**
+     * Releases the shared sprite sheet. Nothing happens if it has already been released.
+     */
+    public void release() {
+        if (released) return;
+
+        assetController.release(spritesheet);
+        released = true;
+    }
+
     @Override
     public Vector2f getSize() {
         int width = spritesheet.getWidth() / spritesheet.getHorizontalCount();
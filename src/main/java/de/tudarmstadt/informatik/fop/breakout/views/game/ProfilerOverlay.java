@@ -0,0 +1,97 @@
+package de.tudarmstadt.informatik.fop.breakout.views.game;
+
+import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.FrameProfiler;
+
+import org.newdawn.slick.Color;
+import org.newdawn.slick.Graphics;
+
+/**
+ * Draws the frame times of the last frames as bar graph and the sections of the frame profiler taking the most time.
+ * It isn't an entity, so it doesn't measure itself and is drawn on top of all entities.
+ *
+ * @see FrameProfiler
+ */
+public class ProfilerOverlay {
+
+    private static final int MARGIN = 10;
+    private static final int LINE_HEIGHT = 16;
+    private static final int GRAPH_HEIGHT = 60;
+
+    // Frame time in nanoseconds at the top of the graph and of the target line (60 fps)
+    private static final long GRAPH_MAX_TIME = 33333333;
+    private static final long TARGET_FRAME_TIME = 16666667;
+
+    private static final Color BACKGROUND_COLOR = new Color(0, 0, 0, 0.7f);
+    private static final Color BAR_COLOR = new Color(80, 200, 80);
+    private static final Color SLOW_BAR_COLOR = new Color(220, 60, 60);
+
+    private final FrameProfiler profiler;
+    private final FrameProfiler.Section[] topSections = new FrameProfiler.Section[GameParameters.PROFILER_TOP_SECTIONS];
+
+    public ProfilerOverlay(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public void render(Graphics graphics) {
+        Color oldColor = graphics.getColor();
+
+        int width = FrameProfiler.HISTORY_SIZE;
+        int height = GRAPH_HEIGHT + (topSections.length + 1) * LINE_HEIGHT + MARGIN;
+
+        graphics.setColor(BACKGROUND_COLOR);
+        graphics.fillRect(MARGIN, MARGIN, width + 2 * MARGIN + 150, height + MARGIN);
+
+        drawGraph(graphics, 2 * MARGIN, 2 * MARGIN);
+        drawSections(graphics, 2 * MARGIN, 2 * MARGIN + GRAPH_HEIGHT + MARGIN);
+
+        graphics.setColor(oldColor);
+    }
+
+    /**
+     * Draws one bar per frame of the history, the newest frame on the right
+     */
+    private void drawGraph(Graphics graphics, float x, float y) {
+        int length = profiler.getHistoryLength();
+        float right = x + FrameProfiler.HISTORY_SIZE;
+        float bottom = y + GRAPH_HEIGHT;
+
+        for (int age = 0; age < length; age++) {
+            long frameTime = profiler.getFrameTime(age);
+            float barHeight = Math.min(GRAPH_HEIGHT, GRAPH_HEIGHT * frameTime / (float) GRAPH_MAX_TIME);
+
+            graphics.setColor(frameTime > TARGET_FRAME_TIME ? SLOW_BAR_COLOR : BAR_COLOR);
+            graphics.drawLine(right - age, bottom, right - age, bottom - barHeight);
+        }
+
+        float targetY = bottom - GRAPH_HEIGHT * TARGET_FRAME_TIME / (float) GRAPH_MAX_TIME;
+        graphics.setColor(Color.white);
+        graphics.drawLine(x, targetY, right, targetY);
+
+        String frameTime = (length > 0) ? formatMillis(profiler.getFrameTime(0)) + " ms" : "-";
+        graphics.drawString(frameTime, right + MARGIN, y);
+    }
+
+    /**
+     * Draws the average time per frame and the average calls per frame of the slowest sections
+     */
+    private void drawSections(Graphics graphics, float x, float y) {
+        graphics.setColor(Color.white);
+        graphics.drawString("section  avg ms  calls", x, y);
+
+        int count = profiler.getTopSections(topSections);
+        for (int i = 0; i < count; i++) {
+            FrameProfiler.Section section = topSections[i];
+            String line = section.getName() + "  " + formatMillis(section.getAverage()) + "  "
+                    + Math.round(section.getAverageCalls());
+            graphics.drawString(line, x, y + (i + 1) * LINE_HEIGHT);
+        }
+    }
+
+    private static String formatMillis(long nanos) {
+        // Two decimal places without String.format, which is expensive within the render loop
+        long hundredths = nanos / 10000;
+        long fraction = hundredths % 100;
+        return (hundredths / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+}
@@ -1,6 +1,7 @@
 package de.tudarmstadt.informatik.fop.breakout.views.game;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.AssetController;
 import de.tudarmstadt.informatik.fop.breakout.models.game.StickModel;
 import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 import de.tudarmstadt.informatik.fop.breakout.util.Utility;
@@ -30,6 +31,8 @@ public class StickView extends RenderComponent {
 
     private static final Logger logger = LogManager.getLogger();
 
+    private final AssetController assetController;
+    private final Image sharedLeftImage, sharedMiddleImage, sharedRightImage, sharedFlameParticle;
     private Image leftImage;
     private Image rightImage;
     private Image middleImage;
@@ -39,17 +42,22 @@ public class StickView extends RenderComponent {
     private ConfigurableEmitter flameRightEmitter;
     private int currentThrustTime = 0;
     private boolean isSecondPlayer = false;
+    private boolean released = false;
 
-    public StickView() throws SlickException {
+    public StickView(AssetController assetController) throws SlickException {
         super(GameParameters.STICK_ID + GameParameters.EXT_VIEW);
+        this.assetController = assetController;
 
-        leftImage = new Image(GameParameters.STICK_LEFT_IMAGE);
-        middleImage = new Image(GameParameters.STICK_MIDDLE_IMAGE);
-        rightImage = new Image(GameParameters.STICK_RIGHT_IMAGE);
+        sharedLeftImage = assetController.acquireImage(GameParameters.STICK_LEFT_IMAGE, 1);
+        sharedMiddleImage = assetController.acquireImage(GameParameters.STICK_MIDDLE_IMAGE, 1);
+        sharedRightImage = assetController.acquireImage(GameParameters.STICK_RIGHT_IMAGE, 1);
+        leftImage = sharedLeftImage;
+        middleImage = sharedMiddleImage;
+        rightImage = sharedRightImage;
 
-        Image flameParticle = new Image(GameParameters.FLAME_PARTICLE_IMAGE);
-        flameLeftParticleSystem = new ParticleSystem(flameParticle, 700);
-        flameRightParticleSystem = new ParticleSystem(flameParticle, 700);
+        sharedFlameParticle = assetController.acquireImage(GameParameters.FLAME_PARTICLE_IMAGE, 1);
+        flameLeftParticleSystem = new ParticleSystem(sharedFlameParticle, 700);
+        flameRightParticleSystem = new ParticleSystem(sharedFlameParticle, 700);
 
         try {
             File flameLeftEmitterFile = Paths.get("." + GameParameters.FLAME_LEFT_EMITTER_FILE).toFile();
@@ -83,6 +91,19 @@ public class StickView extends RenderComponent {
         }
     }
 
+    /**
+     * Releases the shared images. Nothing happens if they have already been released.
+     */
+    public void release() {
+        if (released) return;
+
+        assetController.release(sharedLeftImage);
+        assetController.release(sharedMiddleImage);
+        assetController.release(sharedRightImage);
+        assetController.release(sharedFlameParticle);
+        released = true;
+    }
+
     @Override
     public Vector2f getSize() {
         //the model size will be resized every time so rely on that object
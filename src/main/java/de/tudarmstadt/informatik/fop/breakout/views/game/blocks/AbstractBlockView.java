@@ -1,6 +1,7 @@
 package de.tudarmstadt.informatik.fop.breakout.views.game.blocks;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.AssetController;
 import de.tudarmstadt.informatik.fop.breakout.models.game.blocks.AbstractBlockModel;
 import de.tudarmstadt.informatik.fop.breakout.states.GameplayState;
 import eea.engine.component.RenderComponent;
@@ -13,16 +14,65 @@ import org.newdawn.slick.state.StateBasedGame;
 
 public class AbstractBlockView extends RenderComponent {
 
-    SpriteSheet spritesheet;
-    SpriteSheet deathSpritesheet;
+    private final AssetController assetController;
+    private String spritesheetPath, deathSpritesheetPath;
+    private SpriteSheet spritesheet;
+    private SpriteSheet deathSpritesheet;
+    private boolean released = true;
     private int hitsTaken = 0;
     private boolean deathAnimationPlays = false;
     private int currentDeathAnimationTime = 0;
 
-    AbstractBlockView(String id) throws SlickException {
+    /**
+     * Creates a block view using the shared sprite sheets of the asset controller
+     *
+     * @param id                   the component id
+     * @param spritesheetPath      the sprite sheet with one tile per taken hit
+     * @param deathSpritesheetPath the sprite sheet of the death animation
+     * @param assetController      the shared asset cache
+     * @throws SlickException if the sprite sheets cannot be loaded
+     */
+    AbstractBlockView(String id, String spritesheetPath, String deathSpritesheetPath, AssetController assetController) throws SlickException {
         super(id);
-        spritesheet = new SpriteSheet(GameParameters.SIMPLE_BLOCK_1_SPRITESHEET, GameParameters.BLOCK_WIDTH, GameParameters.BLOCK_HEIGHT);
-        deathSpritesheet = new SpriteSheet(GameParameters.SIMPLE_BLOCK_1_DEATH_SPRITESHEET, GameParameters.BLOCK_WIDTH, GameParameters.BLOCK_HEIGHT);
+        this.assetController = assetController;
+
+        acquire(spritesheetPath, deathSpritesheetPath);
+    }
+
+    /**
+     * Prepares the view of a pooled block for another map: acquires the sprite sheets again and restarts without
+     * taken hits and death animation
+     *
+     * @param block the block owning this view
+     * @throws SlickException if the sprite sheets cannot be loaded
+     */
+    public void reuse(AbstractBlockModel block) throws SlickException {
+        acquire(spritesheetPath, deathSpritesheetPath);
+    }
+
+    void acquire(String spritesheetPath, String deathSpritesheetPath) throws SlickException {
+        release();
+
+        this.spritesheetPath = spritesheetPath;
+        this.deathSpritesheetPath = deathSpritesheetPath;
+        spritesheet = assetController.acquireSpriteSheet(spritesheetPath, 1, GameParameters.BLOCK_WIDTH, GameParameters.BLOCK_HEIGHT);
+        deathSpritesheet = assetController.acquireSpriteSheet(deathSpritesheetPath, 1, GameParameters.BLOCK_WIDTH, GameParameters.BLOCK_HEIGHT);
+        released = false;
+
+        hitsTaken = 0;
+        deathAnimationPlays = false;
+        currentDeathAnimationTime = 0;
+    }
+
+    /**
+     * Releases the shared sprite sheets. Nothing happens if they have already been released.
+     */
+    public void release() {
+        if (released) return;
+
+        assetController.release(spritesheet);
+        assetController.release(deathSpritesheet);
+        released = true;
     }
 
     public void updateImage(int hitsTaken) {
@@ -1,26 +1,44 @@
 package de.tudarmstadt.informatik.fop.breakout.views.game.blocks;
 
 import de.tudarmstadt.informatik.fop.breakout.constants.GameParameters;
+import de.tudarmstadt.informatik.fop.breakout.controllers.AssetController;
+import de.tudarmstadt.informatik.fop.breakout.models.game.blocks.AbstractBlockModel;
 import org.newdawn.slick.SlickException;
-import org.newdawn.slick.SpriteSheet;
 
 public class SimpleBlockView extends AbstractBlockView {
 
-    public SimpleBlockView(int hits, String id) throws SlickException {
-        super(id);
+    public SimpleBlockView(int hits, String id, AssetController assetController) throws SlickException {
+        super(id, getSpritesheet(hits), getDeathSpritesheet(hits), assetController);
+    }
+
+    /**
+     * Uses the sprite sheets of the hits of the block, they may differ from the previous map
+     */
+    @Override
+    public void reuse(AbstractBlockModel block) throws SlickException {
+        int hits = block.getInitialHits();
+        acquire(getSpritesheet(hits), getDeathSpritesheet(hits));
+    }
+
+    private static String getSpritesheet(int hits) {
+        switch (hits) {
+            case 2:
+                return GameParameters.SIMPLE_BLOCK_2_SPRITESHEET;
+            case 3:
+                return GameParameters.SIMPLE_BLOCK_3_SPRITESHEET;
+            default:
+                return GameParameters.SIMPLE_BLOCK_1_SPRITESHEET;
+        }
+    }
+
+    private static String getDeathSpritesheet(int hits) {
         switch (hits) {
-            case 1:
-                spritesheet = new SpriteSheet(GameParameters.SIMPLE_BLOCK_1_SPRITESHEET, GameParameters.BLOCK_WIDTH, GameParameters.BLOCK_HEIGHT);
-                deathSpritesheet = new SpriteSheet(GameParameters.SIMPLE_BLOCK_1_DEATH_SPRITESHEET, GameParameters.BLOCK_WIDTH, GameParameters.BLOCK_HEIGHT);
-                break;
             case 2:
-                spritesheet = new SpriteSheet(GameParameters.SIMPLE_BLOCK_2_SPRITESHEET, GameParameters.BLOCK_WIDTH, GameParameters.BLOCK_HEIGHT);
-                deathSpritesheet = new SpriteSheet(GameParameters.SIMPLE_BLOCK_2_DEATH_SPRITESHEET, GameParameters.BLOCK_WIDTH, GameParameters.BLOCK_HEIGHT);
-                break;
+                return GameParameters.SIMPLE_BLOCK_2_DEATH_SPRITESHEET;
             case 3:
-                spritesheet = new SpriteSheet(GameParameters.SIMPLE_BLOCK_3_SPRITESHEET, GameParameters.BLOCK_WIDTH, GameParameters.BLOCK_HEIGHT);
-                deathSpritesheet = new SpriteSheet(GameParameters.SIMPLE_BLOCK_3_DEATH_SPRITESHEET, GameParameters.BLOCK_WIDTH, GameParameters.BLOCK_HEIGHT);
-                break;
+                return GameParameters.SIMPLE_BLOCK_3_DEATH_SPRITESHEET;
+            default:
+                return GameParameters.SIMPLE_BLOCK_1_DEATH_SPRITESHEET;
         }
     }
 }